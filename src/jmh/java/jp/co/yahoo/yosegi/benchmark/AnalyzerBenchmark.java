@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.spread.analyzer.ColumnAnalizerFactory;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare analyzing all rows and analyzing a sample of rows for the optimizer.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class AnalyzerBenchmark {
+
+  @Param( { "100000" } )
+  public int rows;
+
+  @Param( { "10" , "10000" } )
+  public int cardinality;
+
+  @Param( { "0.0" , "0.5" } )
+  public double nullRatio;
+
+  /**
+   * The number of rows read by the analyzer. 0 means all rows.
+   */
+  @Param( { "0" , "4096" } )
+  public int sampleRows;
+
+  private IColumn stringColumn;
+  private IColumn longColumn;
+
+  /**
+   * Create the columns.
+   */
+  @Setup
+  public void setup() throws IOException {
+    stringColumn = BenchmarkData.createStringColumn( rows , cardinality , nullRatio );
+    longColumn = BenchmarkData.createLongColumn( rows , cardinality , nullRatio );
+  }
+
+  /**
+   * Analyze the string column.
+   */
+  @Benchmark
+  public IColumnAnalizeResult analizeString() throws IOException {
+    return ColumnAnalizerFactory.get( stringColumn , sampleRows ).analize();
+  }
+
+  /**
+   * Analyze the long column.
+   */
+  @Benchmark
+  public IColumnAnalizeResult analizeLong() throws IOException {
+    return ColumnAnalizerFactory.get( longColumn , sampleRows ).analize();
+  }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Create the datasets of the benchmarks.
+ * The same parameters always create the same data.
+ */
+public final class BenchmarkData {
+
+  private static final long SEED = 20210401L;
+
+  private BenchmarkData() {}
+
+  /**
+   * Create a string column that has cardinality distinct values.
+   */
+  public static IColumn createStringColumn(
+      final int rows , final int cardinality , final double nullRatio ) throws IOException {
+    Random random = new Random( SEED );
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      if ( random.nextDouble() < nullRatio ) {
+        continue;
+      }
+      column.add( ColumnType.STRING , new StringObj( createString( random , cardinality ) ) , i );
+    }
+    return column;
+  }
+
+  /**
+   * Create a long column that has cardinality distinct values.
+   */
+  public static IColumn createLongColumn(
+      final int rows , final int cardinality , final double nullRatio ) throws IOException {
+    Random random = new Random( SEED );
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      if ( random.nextDouble() < nullRatio ) {
+        continue;
+      }
+      column.add( ColumnType.LONG , new LongObj( createLong( random , cardinality ) ) , i );
+    }
+    return column;
+  }
+
+  /**
+   * Create a Spread of a sorted "ts" column and the columns nested in nestingDepth levels.
+   * The value of "ts" starts from tsOffset.
+   */
+  public static Spread createSpread(
+      final int rows ,
+      final int cardinality ,
+      final double nullRatio ,
+      final int nestingDepth ,
+      final long tsOffset ) throws IOException {
+    Random random = new Random( SEED + tsOffset );
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < rows ; i++ ) {
+      Map<String,Object> row = new HashMap<String,Object>();
+      row.put( "ts" , new LongObj( tsOffset + i ) );
+      Map<String,Object> current = row;
+      for ( int depth = 0 ; depth < nestingDepth ; depth++ ) {
+        Map<String,Object> child = new HashMap<String,Object>();
+        current.put( "child" , child );
+        current = child;
+      }
+      if ( nullRatio <= random.nextDouble() ) {
+        current.put( "name" , new StringObj( createString( random , cardinality ) ) );
+      }
+      if ( nullRatio <= random.nextDouble() ) {
+        current.put( "value" , new LongObj( createLong( random , cardinality ) ) );
+      }
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  /**
+   * Create the bytes of text that has cardinality distinct words.
+   */
+  public static byte[] createText( final int length , final int cardinality ) {
+    Random random = new Random( SEED );
+    StringBuilder builder = new StringBuilder( length + 32 );
+    while ( builder.length() < length ) {
+      builder.append( createString( random , cardinality ) ).append( ' ' );
+    }
+    byte[] text = builder.toString().getBytes( StandardCharsets.UTF_8 );
+    return Arrays.copyOf( text , length );
+  }
+
+  private static String createString( final Random random , final int cardinality ) {
+    return "value-" + random.nextInt( cardinality );
+  }
+
+  private static long createLong( final Random random , final int cardinality ) {
+    return 1000000L + random.nextInt( cardinality );
+  }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
+import jp.co.yahoo.yosegi.compressor.FindCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure compress and decompress of the compressors.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class CompressorBenchmark {
+
+  @Param( {
+      "jp.co.yahoo.yosegi.compressor.DefaultCompressor" ,
+      "jp.co.yahoo.yosegi.compressor.GzipCompressor" ,
+      "jp.co.yahoo.yosegi.compressor.SnappyCompressor" ,
+      "jp.co.yahoo.yosegi.compressor.FramedLZ4CommonsCompressor" ,
+      "jp.co.yahoo.yosegi.compressor.ZstdCompressor" } )
+  public String compressorClassName;
+
+  @Param( { "1048576" } )
+  public int length;
+
+  @Param( { "10" , "100000" } )
+  public int cardinality;
+
+  @Param( { "BEST_SPEED" , "DEFAULT" , "BEST_COMPRESSION" } )
+  public String policy;
+
+  private ICompressor compressor;
+  private byte[] data;
+  private byte[] compressed;
+  private byte[] buffer;
+
+  /**
+   * Create the data and its compressed binary.
+   */
+  @Setup
+  public void setup() throws IOException {
+    compressor = FindCompressor.get( compressorClassName );
+    data = BenchmarkData.createText( length , cardinality );
+    compressed = compress();
+    buffer = new byte[ compressor.getDecompressSize( compressed , 0 , compressed.length ) ];
+  }
+
+  @Benchmark
+  public byte[] compress() throws IOException {
+    CompressResult compressResult =
+        new CompressResult( CompressionPolicy.valueOf( policy ) , 1.0d );
+    return compressor.compress( data , 0 , data.length , compressResult );
+  }
+
+  @Benchmark
+  public int decompress() throws IOException {
+    return compressor.decompressAndSet( compressed , 0 , compressed.length , buffer );
+  }
+
+}
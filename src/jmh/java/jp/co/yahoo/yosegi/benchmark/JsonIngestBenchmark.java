@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonStreamSpreadReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare adding newline-delimited JSON to Spread through JsonNode trees and by streaming.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class JsonIngestBenchmark {
+
+  private static final long SEED = 20210401L;
+
+  @Param( { "10000" } )
+  public int rows;
+
+  @Param( { "100" } )
+  public int cardinality;
+
+  private byte[] json;
+
+  /**
+   * Create the newline-delimited JSON.
+   */
+  @Setup
+  public void setup() {
+    Random random = new Random( SEED );
+    StringBuilder builder = new StringBuilder();
+    for ( int i = 0 ; i < rows ; i++ ) {
+      builder.append( String.format(
+          "{\"id\":%d,\"name\":\"name-%d\",\"score\":%d.5,\"flag\":%b,"
+          + "\"child\":{\"code\":\"code-%d\",\"count\":%d}}\n" ,
+          i ,
+          random.nextInt( cardinality ) ,
+          random.nextInt( cardinality ) ,
+          random.nextBoolean() ,
+          random.nextInt( cardinality ) ,
+          random.nextInt( cardinality ) ) );
+    }
+    json = builder.toString().getBytes( StandardCharsets.UTF_8 );
+  }
+
+  /**
+   * Read each line as a JsonNode tree and add it with addParserRow().
+   */
+  @Benchmark
+  public Spread tree() throws IOException {
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    try ( BufferedReader reader = new BufferedReader( new InputStreamReader(
+        new ByteArrayInputStream( json ) , StandardCharsets.UTF_8 ) ) ) {
+      for ( String line = reader.readLine() ; line != null ; line = reader.readLine() ) {
+        spread.addParserRow( messageReader.create( line ) );
+      }
+    }
+    return spread;
+  }
+
+  /**
+   * Add the tokens directly with JacksonStreamSpreadReader.
+   */
+  @Benchmark
+  public Spread stream() throws IOException {
+    Spread spread = new Spread();
+    try ( JacksonStreamSpreadReader reader =
+        new JacksonStreamSpreadReader( new ByteArrayInputStream( json ) ) ) {
+      while ( reader.hasNext() ) {
+        reader.append( spread );
+      }
+    }
+    return spread;
+  }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.util.io.IReadSupporter;
+import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
+import jp.co.yahoo.yosegi.util.io.NumberToBinaryUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare reading values one by one and reading them in bulk from IReadSupporter.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class ReadSupporterBenchmark {
+
+  @Param( { "65536" } )
+  public int rows;
+
+  /**
+   * Maximum value of the data, which decides the byte width of the ReadSupporter.
+   */
+  @Param( { "255" , "16777215" , "1099511627775" , "9223372036854775807" } )
+  public long max;
+
+  private NumberToBinaryUtils.ILongConverter converter;
+  private byte[] binary;
+  private long[] values;
+
+  /**
+   * Create the encoded binary.
+   */
+  @Setup
+  public void setup() throws IOException {
+    converter = NumberToBinaryUtils.getLongConverter( 0 , max );
+    binary = new byte[ converter.calcBinarySize( rows ) ];
+    IWriteSupporter writer = converter.toWriteSuppoter( rows , binary , 0 , binary.length );
+    long step = Math.max( 1L , max / rows );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      writer.putLong( ( i * step ) % max );
+    }
+    values = new long[rows];
+  }
+
+  /**
+   * Read with getLong() for each value.
+   */
+  @Benchmark
+  public long[] getLong() throws IOException {
+    IReadSupporter reader = converter.toReadSupporter( binary , 0 , binary.length );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      values[i] = reader.getLong();
+    }
+    return values;
+  }
+
+  /**
+   * Read all values with getLong( long[] , int , int ).
+   */
+  @Benchmark
+  public long[] getLongBulk() throws IOException {
+    IReadSupporter reader = converter.toReadSupporter( binary , 0 , binary.length );
+    reader.getLong( values , 0 , rows );
+    return values;
+  }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.inmemory.ArrowValueVectorRawConverter;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.spread.expression.AndExpressionNode;
+import jp.co.yahoo.yosegi.spread.expression.ExecuterNode;
+import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
+import jp.co.yahoo.yosegi.spread.expression.StringExtractNode;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.ValueVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure reading a file with block index pruning and loading to Arrow.
+ * The file has sorted "ts" values, and the filter selects about 1% of the rows.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class ReaderBenchmark {
+
+  private static final int SPREAD_ROWS = 10000;
+
+  @Param( { "100" } )
+  public int spreads;
+
+  @Param( { "1000" } )
+  public int cardinality;
+
+  @Param( { "0.1" } )
+  public double nullRatio;
+
+  @Param( { "1" } )
+  public int nestingDepth;
+
+  @Param( { "none" , "block" , "spread" } )
+  public String pushdown;
+
+  private byte[] binary;
+  private IExpressionNode node;
+  private BufferAllocator allocator;
+
+  /**
+   * Write the file to read.
+   * "spread" keeps the range index of each Spread.
+   */
+  @Setup
+  public void setup() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( 1024 * 1024 * 4 ) );
+    config.set( "block.maker.spread.range.index" , Boolean.toString( "spread".equals( pushdown ) ) );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( YosegiWriter writer = new YosegiWriter( out , config ) ) {
+      for ( int i = 0 ; i < spreads ; i++ ) {
+        writer.append( BenchmarkData.createSpread(
+            SPREAD_ROWS , cardinality , nullRatio , nestingDepth , (long)i * SPREAD_ROWS ) );
+      }
+    }
+    binary = out.toByteArray();
+
+    if ( ! "none".equals( pushdown ) ) {
+      long totalRows = (long)spreads * SPREAD_ROWS;
+      long start = totalRows / 2;
+      AndExpressionNode andNode = new AndExpressionNode();
+      andNode.addChildNode( new ExecuterNode( new StringExtractNode( "ts" ) ,
+          new NumberRangeFilter(
+              new LongObj( start ) , true , new LongObj( start + totalRows / 100 ) , false ) ) );
+      node = andNode;
+    }
+    allocator = new RootAllocator( Long.MAX_VALUE );
+  }
+
+  @TearDown
+  public void tearDown() {
+    allocator.close();
+  }
+
+  private YosegiReader createReader() throws IOException {
+    YosegiReader reader = new YosegiReader();
+    if ( node != null ) {
+      reader.setBlockSkipIndex( node );
+    }
+    reader.setNewStream( new ByteArrayInputStream( binary ) , binary.length , new Configuration() );
+    return reader;
+  }
+
+  @Benchmark
+  public long readSpread() throws IOException {
+    long rows = 0;
+    try ( YosegiReader reader = createReader() ) {
+      while ( reader.hasNext() ) {
+        Spread spread = reader.next();
+        if ( spread.getColumnSize() != 0 ) {
+          rows += spread.size();
+        }
+      }
+    }
+    return rows;
+  }
+
+  @Benchmark
+  public long readArrow() throws IOException {
+    long rows = 0;
+    ArrowValueVectorRawConverter converter = new ArrowValueVectorRawConverter( allocator , null );
+    ValueVector vector = null;
+    try ( YosegiReader reader = createReader() ) {
+      while ( reader.hasNext() ) {
+        vector = converter.convert( reader.nextRaw() , reader.getCurrentSpreadSize() );
+        rows += vector.getValueCount();
+      }
+    } finally {
+      if ( vector != null ) {
+        vector.close();
+      }
+    }
+    return rows;
+  }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.inmemory.YosegiLoaderFactory;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure toBinary and load of the string column makers.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class StringColumnBinaryMakerBenchmark {
+
+  @Param( {
+      "jp.co.yahoo.yosegi.binary.maker.RleStringColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.DictionaryRleStringColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker" } )
+  public String makerClassName;
+
+  @Param( { "100000" } )
+  public int rows;
+
+  @Param( { "10" , "10000" } )
+  public int cardinality;
+
+  @Param( { "0.0" , "0.5" } )
+  public double nullRatio;
+
+  private IColumnBinaryMaker maker;
+  private ColumnBinaryMakerConfig config;
+  private IColumn column;
+  private ColumnBinary columnBinary;
+  private YosegiLoaderFactory loaderFactory;
+
+  /**
+   * Create the column and its binary.
+   */
+  @Setup
+  public void setup() throws IOException {
+    maker = FindColumnBinaryMaker.get( makerClassName );
+    config = new ColumnBinaryMakerConfig();
+    column = BenchmarkData.createStringColumn( rows , cardinality , nullRatio );
+    columnBinary = toBinary();
+    loaderFactory = new YosegiLoaderFactory();
+  }
+
+  @Benchmark
+  public ColumnBinary toBinary() throws IOException {
+    return maker.toBinary( config , null , new CompressResultNode() , column );
+  }
+
+  @Benchmark
+  public IColumn load() throws IOException {
+    return loaderFactory.create( columnBinary , rows );
+  }
+
+}
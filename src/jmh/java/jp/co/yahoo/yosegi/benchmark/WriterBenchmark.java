@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure YosegiWriter.append with the datasets of different shapes.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class WriterBenchmark {
+
+  @Param( { "100000" } )
+  public int rows;
+
+  @Param( { "10" , "10000" } )
+  public int cardinality;
+
+  @Param( { "0.0" , "0.5" } )
+  public double nullRatio;
+
+  @Param( { "0" , "3" } )
+  public int nestingDepth;
+
+  @Param( { "1" , "4" } )
+  public int encodeThreads;
+
+  private Spread spread;
+  private Configuration config;
+
+  /**
+   * Create the Spread to write.
+   */
+  @Setup
+  public void setup() throws IOException {
+    spread = BenchmarkData.createSpread( rows , cardinality , nullRatio , nestingDepth , 0 );
+    config = new Configuration();
+    config.set( "block.maker.encode.threads" , Integer.toString( encodeThreads ) );
+  }
+
+  @Benchmark
+  public int append() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( YosegiWriter writer = new YosegiWriter( out , config ) ) {
+      writer.append( spread );
+    }
+    return out.size();
+  }
+
+}
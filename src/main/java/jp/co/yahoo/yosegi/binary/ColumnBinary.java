@@ -18,12 +18,16 @@
 
 package jp.co.yahoo.yosegi.binary;
 
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
 import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
+import jp.co.yahoo.yosegi.compressor.FindCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ColumnTypeFactory;
 import jp.co.yahoo.yosegi.stats.ColumnStats;
 import jp.co.yahoo.yosegi.stats.SummaryStats;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
 
@@ -89,6 +93,26 @@ public class ColumnBinary {
   public int loadSize;
   public boolean isSetLoadSize;
 
+  /**
+   * Bloom filter of the values made by IColumnBinaryMaker.
+   * It is not serialized and is only used to create the block index when writing.
+   */
+  public BloomFilter bloomFilter;
+
+  /**
+   * Key of ColumnBinaryCache set by the block reader.
+   * It is not serialized, and if it is null, the decompressed data is not cached.
+   */
+  public ColumnBinaryCacheKey cacheKey;
+
+  /**
+   * Data decompressed in advance by {@link #predecompress(int, int)}.
+   * It is not serialized.
+   */
+  private byte[] predecompressBinary;
+  private int predecompressStart;
+  private int predecompressLength;
+
   /**
    * Create an object initialized with argument values.
    * There is a risk that the value set at initialization is rewritten
@@ -154,6 +178,45 @@ public class ColumnBinary {
     return length;
   }
 
+  /**
+   * Decompresses the range of {@link #binary} with the compressor of this column.
+   * If {@link #cacheKey} is set, the result is shared through ColumnBinaryCache.
+   * If the range is decompressed in advance, the data is returned without decompression.
+   *
+   * @param start binary start position.
+   * @param length binary length.
+   *
+   * @return The decompressed byte array. It must not be modified.
+   */
+  public byte[] decompress( final int start , final int length ) throws IOException {
+    if ( predecompressBinary != null
+        && predecompressStart == start
+        && predecompressLength == length ) {
+      return predecompressBinary;
+    }
+    ICompressor compressor = FindCompressor.get( compressorClassName );
+    if ( cacheKey == null ) {
+      return compressor.decompress( binary , start , length );
+    }
+    return ColumnBinaryCache.getInstance().decompress(
+        cacheKey , compressor , binary , start , length );
+  }
+
+  /**
+   * Decompresses the range of {@link #binary} in advance and keeps the data,
+   * so that the later {@link #decompress(int, int)} of the same range does not decompress.
+   * Used to decompress the data on the thread reading ahead of the consumer.
+   *
+   * @param start binary start position.
+   * @param length binary length.
+   */
+  public void predecompress( final int start , final int length ) throws IOException {
+    byte[] data = decompress( start , length );
+    predecompressStart = start;
+    predecompressLength = length;
+    predecompressBinary = data;
+  }
+
   /**
    * Returns the binary size of this object.
    * The difference from {@link #binarySize ()} is that it does not include children.
@@ -346,6 +409,10 @@ public class ColumnBinary {
     if ( isSetLoadSize ) {
       newColumnBinary.setRepetitions( repetitions , loadSize );
     }
+    newColumnBinary.bloomFilter = bloomFilter;
+    newColumnBinary.predecompressBinary = predecompressBinary;
+    newColumnBinary.predecompressStart = predecompressStart;
+    newColumnBinary.predecompressLength = predecompressLength;
     return newColumnBinary;
   }
 
@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary;
+
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of the decompressed column data shared by readers.
+ *
+ * <p>The entries are evicted in LRU order when the total bytes exceed maxBytes.
+ * The decompression is done outside the lock,
+ * so a miss of one reader does not block the other readers.
+ * If readers miss the same data at the same time, each of them decompresses it.</p>
+ *
+ * <p>The cached byte array is shared by the readers and must not be modified.</p>
+ *
+ * <p>The size of the process-wide instance is taken from the system property
+ * "yosegi.column.cache.max.bytes", or set once by the application with setMaxBytes().
+ * The readers do not change it.</p>
+ */
+public final class ColumnBinaryCache {
+
+  public static final long DEFAULT_MAX_BYTES = 256L * 1024L * 1024L;
+
+  private static final ColumnBinaryCache INSTANCE = new ColumnBinaryCache(
+      Long.getLong( "yosegi.column.cache.max.bytes" , DEFAULT_MAX_BYTES ) );
+
+  private final Map<RangeKey,byte[]> cacheMap =
+      new LinkedHashMap<RangeKey,byte[]>( 16 , 0.75f , true );
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  private long maxBytes;
+  private long currentBytes;
+
+  private static final class RangeKey {
+
+    private final ColumnBinaryCacheKey key;
+    private final int start;
+    private final int length;
+
+    RangeKey( final ColumnBinaryCacheKey key , final int start , final int length ) {
+      this.key = key;
+      this.start = start;
+      this.length = length;
+    }
+
+    @Override
+    public boolean equals( final Object obj ) {
+      if ( ! ( obj instanceof RangeKey ) ) {
+        return false;
+      }
+      RangeKey other = (RangeKey)obj;
+      return start == other.start && length == other.length && key.equals( other.key );
+    }
+
+    @Override
+    public int hashCode() {
+      return ( key.hashCode() * 31 + start ) * 31 + length;
+    }
+
+  }
+
+  public ColumnBinaryCache( final long maxBytes ) {
+    this.maxBytes = maxBytes;
+  }
+
+  public static ColumnBinaryCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get the decompressed data of the range of the column,
+   * and decompress and cache it if it is not cached.
+   */
+  public byte[] decompress(
+      final ColumnBinaryCacheKey key ,
+      final ICompressor compressor ,
+      final byte[] binary ,
+      final int start ,
+      final int length ) throws IOException {
+    RangeKey rangeKey = new RangeKey( key , start , length );
+    byte[] result = get( rangeKey );
+    if ( result != null ) {
+      hitCount.incrementAndGet();
+      return result;
+    }
+    missCount.incrementAndGet();
+    result = compressor.decompress( binary , start , length );
+    put( rangeKey , result );
+    return result;
+  }
+
+  private synchronized byte[] get( final RangeKey rangeKey ) {
+    return cacheMap.get( rangeKey );
+  }
+
+  private synchronized void put( final RangeKey rangeKey , final byte[] data ) {
+    if ( maxBytes < data.length ) {
+      return;
+    }
+    byte[] old = cacheMap.put( rangeKey , data );
+    if ( old != null ) {
+      currentBytes -= old.length;
+    }
+    currentBytes += data.length;
+    evict();
+  }
+
+  private void evict() {
+    Iterator<byte[]> iterator = cacheMap.values().iterator();
+    while ( maxBytes < currentBytes && iterator.hasNext() ) {
+      currentBytes -= iterator.next().length;
+      iterator.remove();
+      evictionCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Change the upper limit of the total bytes and evict the entries over it.
+   * The entries used by all readers of the process can be evicted,
+   * so call it for the process-wide instance before the readers start.
+   */
+  public synchronized void setMaxBytes( final long maxBytes ) {
+    this.maxBytes = maxBytes;
+    evict();
+  }
+
+  public synchronized long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public synchronized long getCurrentBytes() {
+    return currentBytes;
+  }
+
+  public synchronized int size() {
+    return cacheMap.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Remove all entries. The counters are not reset.
+   */
+  public synchronized void clear() {
+    cacheMap.clear();
+    currentBytes = 0;
+  }
+
+}
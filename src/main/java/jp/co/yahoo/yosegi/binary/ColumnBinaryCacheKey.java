@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Identifies the data of a column in a file for ColumnBinaryCache.
+ *
+ * <p>The source id must change when the file is rewritten,
+ * for example the path , the length and the modification time of the file.
+ * The column path is kept as the list of the column names,
+ * so a column name that contains "/" does not collide with a nested column.</p>
+ */
+public final class ColumnBinaryCacheKey {
+
+  private final String sourceId;
+  private final long blockOffset;
+  private final int spreadIndex;
+  private final List<String> columnPath;
+
+  /**
+   * Create a key of the spread in the block.
+   * The keys of the columns are created by getChild().
+   */
+  public ColumnBinaryCacheKey(
+      final String sourceId ,
+      final long blockOffset ,
+      final int spreadIndex ) {
+    this( sourceId , blockOffset , spreadIndex , Collections.<String>emptyList() );
+  }
+
+  private ColumnBinaryCacheKey(
+      final String sourceId ,
+      final long blockOffset ,
+      final int spreadIndex ,
+      final List<String> columnPath ) {
+    this.sourceId = sourceId;
+    this.blockOffset = blockOffset;
+    this.spreadIndex = spreadIndex;
+    this.columnPath = columnPath;
+  }
+
+  public String getSourceId() {
+    return sourceId;
+  }
+
+  public long getBlockOffset() {
+    return blockOffset;
+  }
+
+  public int getSpreadIndex() {
+    return spreadIndex;
+  }
+
+  public List<String> getColumnPath() {
+    return columnPath;
+  }
+
+  /**
+   * Create the key of the child column.
+   */
+  public ColumnBinaryCacheKey getChild( final String columnName ) {
+    List<String> childPath = new ArrayList<String>( columnPath.size() + 1 );
+    childPath.addAll( columnPath );
+    childPath.add( columnName );
+    return new ColumnBinaryCacheKey(
+        sourceId , blockOffset , spreadIndex , Collections.unmodifiableList( childPath ) );
+  }
+
+  @Override
+  public boolean equals( final Object obj ) {
+    if ( this == obj ) {
+      return true;
+    }
+    if ( ! ( obj instanceof ColumnBinaryCacheKey ) ) {
+      return false;
+    }
+    ColumnBinaryCacheKey other = (ColumnBinaryCacheKey)obj;
+    return blockOffset == other.blockOffset
+        && spreadIndex == other.spreadIndex
+        && sourceId.equals( other.sourceId )
+        && columnPath.equals( other.columnPath );
+  }
+
+  @Override
+  public int hashCode() {
+    int result = sourceId.hashCode();
+    result = 31 * result + Long.hashCode( blockOffset );
+    result = 31 * result + spreadIndex;
+    return 31 * result + columnPath.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s:%d:%d:%s" , sourceId , blockOffset , spreadIndex , columnPath );
+  }
+
+}
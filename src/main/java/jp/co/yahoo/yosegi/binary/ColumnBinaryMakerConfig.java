@@ -74,6 +74,12 @@ public class ColumnBinaryMakerConfig {
   public CompressionPolicy compressionPolicy;
   public double allowedRatio;
 
+  /**
+   * Bits per distinct value of the bloom filter block index.
+   * If it is 0 or less, the bloom filter is not created.
+   */
+  public int bloomFilterBitsPerKey;
+
   /**
    * Initialize with the default value.
    * Each variable is set to the newly created object.
@@ -135,6 +141,7 @@ public class ColumnBinaryMakerConfig {
     this.stringMakerClass = otherConfig.stringMakerClass;
     this.compressionPolicy = otherConfig.compressionPolicy;
     this.allowedRatio = otherConfig.allowedRatio;
+    this.bloomFilterBitsPerKey = otherConfig.bloomFilterBitsPerKey;
   }
 
   /**
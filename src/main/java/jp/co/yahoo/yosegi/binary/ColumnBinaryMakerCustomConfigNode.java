@@ -76,6 +76,8 @@ public class ColumnBinaryMakerCustomConfigNode {
         currentConfig.stringMakerClass = FindColumnBinaryMaker.get( value );
       } else if ( "compressor_class".equals( paramName ) ) {
         currentConfig.compressorClass = FindCompressor.get( value );
+      } else if ( "bloom_filter_bits_per_key".equals( paramName ) ) {
+        currentConfig.bloomFilterBitsPerKey = Integer.parseInt( value );
       } else {
         currentConfig.param.set( paramName , value );
       }
@@ -95,6 +97,18 @@ public class ColumnBinaryMakerCustomConfigNode {
     childConfigNode.put( columnName , child );
   }
 
+  /**
+   * Create a node of the same column with the given config.
+   * The child nodes are shared with this node.
+   */
+  public ColumnBinaryMakerCustomConfigNode replaceCurrentConfig(
+      final ColumnBinaryMakerConfig config ) throws IOException {
+    ColumnBinaryMakerCustomConfigNode result =
+        new ColumnBinaryMakerCustomConfigNode( currentColumnName , config );
+    result.childConfigNode.putAll( childConfigNode );
+    return result;
+  }
+
   public ColumnBinaryMakerConfig getCurrentConfig() {
     return currentConfig;
   }
@@ -125,6 +125,11 @@ public final class ColumnBinaryMakerNameShortCut {
     CLASS_NAME_PAIR.set(
         "jp.co.yahoo.yosegi.binary.maker.DictionaryRleStringColumnBinaryMaker" , "DRLE4" );
 
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" , "BP3" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.BitPackedIndexStringColumnBinaryMaker" , "BP4" );
+
   }
 
   private ColumnBinaryMakerNameShortCut() {}
@@ -29,6 +29,8 @@ public class CompressResultNode {
   private final Map<String,Map<String,CompressResult>> currentCompressResult;
   private final Map<String,CompressResultNode> childNode;
 
+  private byte[] dictionary;
+
   public CompressResultNode() {
     currentCompressResult = new HashMap<String,Map<String,CompressResult>>();
     childNode = new HashMap<String,CompressResultNode>();
@@ -39,11 +41,21 @@ public class CompressResultNode {
    */
   public CompressResultNode getChild( final String childName ) {
     if ( ! childNode.containsKey( childName ) ) {
-      childNode.put( childName , new CompressResultNode() );
+      CompressResultNode child = new CompressResultNode();
+      child.setDictionary( dictionary );
+      childNode.put( childName , child );
     }
     return childNode.get( childName );
   }
 
+  /**
+   * Set the compression dictionary of this node.
+   * It is passed on to the CompressResult and child nodes created after this call.
+   */
+  public void setDictionary( final byte[] dictionary ) {
+    this.dictionary = dictionary;
+  }
+
   /**
    * Get ColressBinaryMaker class name and CompressResult from the name that identifies the process.
    */
@@ -58,8 +70,9 @@ public class CompressResultNode {
     Map<String,CompressResult> makerCompressResultMap
         = currentCompressResult.get( makerClassName );
     if ( ! makerCompressResultMap.containsKey( processName ) ) {
-      makerCompressResultMap.put(
-          processName , new CompressResult( compressionPolicy , allowedRatio ) );
+      CompressResult compressResult = new CompressResult( compressionPolicy , allowedRatio );
+      compressResult.setDictionary( dictionary );
+      makerCompressResultMap.put( processName , compressResult );
     }
     return makerCompressResultMap.get( processName );
   }
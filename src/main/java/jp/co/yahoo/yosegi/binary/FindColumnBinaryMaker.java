@@ -22,14 +22,14 @@ import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.util.FindClass;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FindColumnBinaryMaker {
 
   private static final Object LOCK = new Object();
   private static final Map<String,IColumnBinaryMaker> CACHE =
-      new HashMap<String,IColumnBinaryMaker>();
+      new ConcurrentHashMap<String,IColumnBinaryMaker>();
 
   private FindColumnBinaryMaker() {}
 
@@ -37,12 +37,12 @@ public final class FindColumnBinaryMaker {
    * Create an IColumnBinaryMaker from the class name.
    */
   public static IColumnBinaryMaker get( final String target ) throws IOException {
-    if ( CACHE.containsKey( target ) ) {
-      return CACHE.get( target );
-    }
     if ( target == null || target.isEmpty() ) {
       throw new IOException( "IColumnBinaryMaker class name is null or empty." );
     }
+    if ( CACHE.containsKey( target ) ) {
+      return CACHE.get( target );
+    }
     Object obj = FindClass.getObject(
         target , true , FindColumnBinaryMaker.class.getClassLoader() );
     if ( ! ( obj instanceof IColumnBinaryMaker ) ) {
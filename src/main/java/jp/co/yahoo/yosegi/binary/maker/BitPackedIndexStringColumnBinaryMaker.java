@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackEncoder;
+
+import java.io.IOException;
+
+/**
+ * Dictionary string column maker that stores the dictionary indexes with BitPackEncoder.
+ * The layout is the same as OptimizedNullArrayStringColumnBinaryMaker except for the indexes.
+ */
+public class BitPackedIndexStringColumnBinaryMaker
+    extends AbstractOptimizedNullArrayStringColumnBinaryMaker {
+
+  @Override
+  protected IIndexWriter createIndexWriter(
+      final int[] indexArray , final int rowCount , final int dicSize ) {
+    long[] packIndexArray = new long[rowCount];
+    for ( int i = 0 ; i < rowCount ; i++ ) {
+      packIndexArray[i] = indexArray[i];
+    }
+    int binarySize = BitPackEncoder.calcBinarySize( packIndexArray , rowCount , false );
+    return new IIndexWriter() {
+      @Override
+      public int getBinarySize() {
+        return binarySize;
+      }
+
+      @Override
+      public void write( final byte[] buffer , final int start , final int length ) {
+        BitPackEncoder.toBinary( packIndexArray , rowCount , false , buffer , start );
+      }
+    };
+  }
+
+  @Override
+  protected int calcIndexBinarySize( final int rowCount , final int dicSize ) {
+    return BitPackEncoder.calcBinarySize( rowCount , 0 , dicSize );
+  }
+
+  @Override
+  protected void readIndex(
+      final byte[] buffer ,
+      final int start ,
+      final int length ,
+      final int[] indexArray ,
+      final int rowCount ,
+      final int dicSize ) throws IOException {
+    BitPackEncoder.unpack( buffer , start , length , indexArray , rowCount );
+  }
+
+}
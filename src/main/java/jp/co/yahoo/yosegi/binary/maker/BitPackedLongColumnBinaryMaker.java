@@ -0,0 +1,354 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
+import jp.co.yahoo.yosegi.inmemory.ILoader;
+import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
+import jp.co.yahoo.yosegi.inmemory.LoadType;
+import jp.co.yahoo.yosegi.spread.analyzer.ByteColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IntegerColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.LongColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.ShortColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackEncoder;
+import jp.co.yahoo.yosegi.util.io.diffencoder.NumEncoderUtil;
+import jp.co.yahoo.yosegi.util.io.nullencoder.NullBinaryEncoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Integral column maker that stores the not null values with BitPackEncoder.
+ * Delta mode is used when it is smaller than frame of reference mode.
+ */
+public class BitPackedLongColumnBinaryMaker implements IColumnBinaryMaker {
+
+  // Metadata layout
+  // ColumnStart, rowCount, nullIndexLength
+  private static final int META_LENGTH = Integer.BYTES * 3;
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    long[] longArray = new long[column.size()];
+    boolean[] isNullArray = new boolean[column.size()];
+
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    int rowCount = 0;
+    int nullCount = 0;
+    int nullMaxIndex = 0;
+    int notNullMaxIndex = 0;
+
+    int startIndex = 0;
+    for ( ; startIndex < column.size() ; startIndex++ ) {
+      ICell cell = column.get(startIndex);
+      if ( cell.getType() != ColumnType.NULL ) {
+        break;
+      }
+    }
+
+    for ( int i = startIndex,arrayIndex = 0 ; i < column.size() ; i++,arrayIndex++ ) {
+      ICell cell = column.get(i);
+      if ( cell.getType() == ColumnType.NULL ) {
+        nullCount++;
+        nullMaxIndex = arrayIndex;
+        isNullArray[arrayIndex] = true;
+        continue;
+      }
+      notNullMaxIndex = arrayIndex;
+      long target = ( (PrimitiveCell) cell ).getRow().getLong();
+      min = Math.min( min , target );
+      max = Math.max( max , target );
+      longArray[rowCount] = target;
+      rowCount++;
+    }
+
+    if ( nullCount == 0
+        && min == max
+        && startIndex == 0 ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          OptimizedNullArrayDumpLongColumnBinaryMaker.createConstObjectFromNum(
+              column.getColumnType() , min ) ,
+          column.getColumnName() ,
+          column.size() );
+    }
+
+    int nullIndexLength = NullBinaryEncoder.getBinarySize(
+        nullCount , rowCount , nullMaxIndex , notNullMaxIndex );
+    boolean isDelta = BitPackEncoder.isDeltaSmaller( longArray , rowCount );
+    int valueLength = BitPackEncoder.calcBinarySize( longArray , rowCount , isDelta );
+
+    byte[] binaryRaw = new byte[ META_LENGTH + nullIndexLength + valueLength ];
+
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binaryRaw );
+    wrapBuffer.putInt( startIndex );
+    wrapBuffer.putInt( rowCount );
+    wrapBuffer.putInt( nullIndexLength );
+    NullBinaryEncoder.toBinary(
+        binaryRaw ,
+        META_LENGTH ,
+        nullIndexLength ,
+        isNullArray ,
+        nullCount ,
+        rowCount ,
+        nullMaxIndex ,
+        notNullMaxIndex );
+    BitPackEncoder.toBinary(
+        longArray , rowCount , isDelta , binaryRaw , META_LENGTH + nullIndexLength );
+
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0"  ,
+        currentConfig.compressionPolicy ,
+        currentConfig.allowedRatio );
+    byte[] compressBinary = currentConfig.compressorClass.compress(
+        binaryRaw , 0 , binaryRaw.length , compressResult );
+
+    byte[] binary = new byte[ Long.BYTES * 2 + compressBinary.length ];
+
+    wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
+    wrapBuffer.put( compressBinary );
+
+    ColumnBinary result = new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        column.getColumnType() ,
+        column.size() ,
+        binaryRaw.length ,
+        NumEncoderUtil.getLogicalSize( rowCount , column.getColumnType() ) ,
+        -1 ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+    if ( 0 < currentConfig.bloomFilterBitsPerKey ) {
+      BloomFilter bloomFilter =
+          BloomFilter.create( rowCount , currentConfig.bloomFilterBitsPerKey );
+      for ( int i = 0 ; i < rowCount ; i++ ) {
+        bloomFilter.add( BloomFilter.hash( longArray[i] ) );
+      }
+      result.bloomFilter = bloomFilter;
+    }
+    return result;
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    int startIndex = analizeResult.getRowStart();
+    int maxIndex = analizeResult.getRowEnd();
+    int nullCount = analizeResult.getNullCount() - startIndex;
+    int notNullCount = analizeResult.getRowCount();
+
+    int nullIndexLength =
+        NullBinaryEncoder.getBinarySize( nullCount , notNullCount , maxIndex , maxIndex );
+
+    long min;
+    long max;
+    switch ( analizeResult.getColumnType() ) {
+      case BYTE:
+        min = (long)( (ByteColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (ByteColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      case SHORT:
+        min = (long)( (ShortColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (ShortColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      case INTEGER:
+        min = (long)( (IntegerColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (IntegerColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      case LONG:
+        min = ( (LongColumnAnalizeResult) analizeResult ).getMin();
+        max = ( (LongColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      default:
+        min = Long.MIN_VALUE;
+        max = Long.MAX_VALUE;
+        break;
+    }
+    int valueLength = BitPackEncoder.calcBinarySize( notNullCount , min , max );
+
+    return META_LENGTH + nullIndexLength + valueLength;
+  }
+
+  @Override
+  public void predecompress( final ColumnBinary columnBinary ) throws IOException {
+    columnBinary.predecompress(
+        columnBinary.binaryStart + ( Long.BYTES * 2 ) ,
+        columnBinary.binaryLength - ( Long.BYTES * 2 ) );
+  }
+
+  @Override
+  public LoadType getLoadType( final ColumnBinary columnBinary , final int loadSize ) {
+    if ( columnBinary.isSetLoadSize ) {
+      return LoadType.DICTIONARY;
+    }
+    return LoadType.SEQUENTIAL;
+  }
+
+  private class BinaryMeta {
+    public final int startIndex;
+    public final int rowCount;
+    public final boolean[] isNullArray;
+    public final long[] valueArray;
+
+    private BinaryMeta( final ColumnBinary columnBinary ) throws IOException {
+      int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
+      int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
+
+      byte[] binary = columnBinary.decompress( start , length );
+
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      startIndex = wrapBuffer.getInt();
+      rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+
+      isNullArray = NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+      valueArray = new long[rowCount];
+      BitPackEncoder.unpack(
+          binary ,
+          META_LENGTH + nullIndexLength ,
+          binary.length - META_LENGTH - nullIndexLength ,
+          valueArray ,
+          rowCount );
+    }
+  }
+
+  private void loadFromColumnBinary(
+      final ColumnBinary columnBinary , final ISequentialLoader loader ) throws IOException {
+    BinaryMeta meta = new BinaryMeta( columnBinary );
+    for ( int i = 0 ; i < meta.startIndex ; i++ ) {
+      loader.setNull( i );
+    }
+    loader.setLongArray( meta.startIndex , meta.isNullArray , meta.valueArray );
+    // NOTE: null padding up to load size
+    int endIndex = meta.startIndex + meta.isNullArray.length;
+    for ( int i = endIndex ; i < loader.getLoadSize() ; i++ ) {
+      loader.setNull( i );
+    }
+  }
+
+  private void loadFromExpandColumnBinary(
+      final ColumnBinary columnBinary , final IDictionaryLoader loader ) throws IOException {
+    BinaryMeta meta = new BinaryMeta( columnBinary );
+    int[] repetitions = columnBinary.repetitions;
+    int lastIndex = meta.startIndex + meta.isNullArray.length - 1;
+
+    // NOTE: Calculate dictionarySize
+    int dictionarySize = 0;
+    for ( int i = 0 ; i < repetitions.length ; i++ ) {
+      if ( repetitions[i] < 0 ) {
+        throw new IOException( "Repetition must be equal to or greater than 0." );
+      }
+      if ( i > lastIndex
+          || repetitions[i] == 0
+          || i < meta.startIndex
+          || meta.isNullArray[i - meta.startIndex] ) {
+        continue;
+      }
+      dictionarySize++;
+    }
+    loader.createDictionary( dictionarySize );
+
+    int currentIndex = 0;
+    int dictionaryIndex = 0;
+    int valueIndex = 0;
+    for ( int i = 0 ; i < repetitions.length ; i++ ) {
+      boolean isNull =
+          i > lastIndex || i < meta.startIndex || meta.isNullArray[i - meta.startIndex];
+      if ( isNull ) {
+        for ( int j = 0 ; j < repetitions[i] ; j++ ) {
+          loader.setNull( currentIndex );
+          currentIndex++;
+        }
+        continue;
+      }
+      long value = meta.valueArray[valueIndex];
+      valueIndex++;
+      if ( repetitions[i] == 0 ) {
+        continue;
+      }
+      loader.setLongToDic( dictionaryIndex , value );
+      for ( int j = 0 ; j < repetitions[i] ; j++ ) {
+        loader.setDictionaryIndex( currentIndex , dictionaryIndex );
+        currentIndex++;
+      }
+      dictionaryIndex++;
+    }
+  }
+
+  @Override
+  public void load( final ColumnBinary columnBinary , final ILoader loader ) throws IOException {
+    if ( columnBinary.isSetLoadSize ) {
+      if ( loader.getLoaderType() != LoadType.DICTIONARY ) {
+        throw new IOException( "Loader type is not DICTIONARY." );
+      }
+      loadFromExpandColumnBinary( columnBinary , (IDictionaryLoader) loader );
+    } else {
+      if ( loader.getLoaderType() != LoadType.SEQUENTIAL ) {
+        throw new IOException( "Loader type is not SEQUENTIAL." );
+      }
+      loadFromColumnBinary( columnBinary , (ISequentialLoader) loader );
+    }
+    loader.finish();
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    Long min = Long.valueOf( wrapBuffer.getLong() );
+    Long max = Long.valueOf( wrapBuffer.getLong() );
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    IBlockIndex blockIndex = new LongRangeBlockIndex( min , max );
+    if ( columnBinary.bloomFilter != null ) {
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , columnBinary.bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex );
+  }
+}
@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
@@ -336,13 +334,7 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
         + dicLength;
   }
 
-  @Override
-  public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
-    return LoadType.DICTIONARY;
-  }
-
-  private void loadFromColumnBinary(final ColumnBinary columnBinary, IDictionaryLoader loader)
-      throws IOException {
+  private static int getHeaderSize(final ColumnBinary columnBinary) {
     ByteBuffer headerWrapBuffer =
         ByteBuffer.wrap(columnBinary.binary, columnBinary.binaryStart, columnBinary.binaryLength);
     int minCharLength = headerWrapBuffer.getInt();
@@ -351,11 +343,28 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
     int maxCharLength = headerWrapBuffer.getInt();
     headerWrapBuffer.position(headerWrapBuffer.position() + maxCharLength);
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
+    return headerSize;
+  }
+
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    int headerSize = getHeaderSize(columnBinary);
+    columnBinary.predecompress(
+        columnBinary.binaryStart + headerSize,
+        columnBinary.binaryLength - headerSize);
+  }
+
+  @Override
+  public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
+    return LoadType.DICTIONARY;
+  }
+
+  private void loadFromColumnBinary(final ColumnBinary columnBinary, IDictionaryLoader loader)
+      throws IOException {
+    int headerSize = getHeaderSize(columnBinary);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
     byte[] binary =
-        compressor.decompress(
-            columnBinary.binary,
+        columnBinary.decompress(
             columnBinary.binaryStart + headerSize,
             columnBinary.binaryLength - headerSize);
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
@@ -431,19 +440,10 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
 
   private void loadFromExpandColumnBinary(final ColumnBinary columnBinary, IDictionaryLoader loader)
       throws IOException {
-    ByteBuffer headerWrapBuffer =
-        ByteBuffer.wrap(columnBinary.binary, columnBinary.binaryStart, columnBinary.binaryLength);
-    int minCharLength = headerWrapBuffer.getInt();
-    headerWrapBuffer.position(headerWrapBuffer.position() + minCharLength);
-
-    int maxCharLength = headerWrapBuffer.getInt();
-    headerWrapBuffer.position(headerWrapBuffer.position() + maxCharLength);
-    int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
+    int headerSize = getHeaderSize(columnBinary);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
     byte[] binary =
-        compressor.decompress(
-            columnBinary.binary,
+        columnBinary.decompress(
             columnBinary.binaryStart + headerSize,
             columnBinary.binaryLength - headerSize);
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
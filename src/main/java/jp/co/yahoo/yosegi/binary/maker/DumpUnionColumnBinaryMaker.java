@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.IUnionLoader;
 import jp.co.yahoo.yosegi.inmemory.LoadType;
@@ -191,6 +189,11 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker {
     return analizeResult.getColumnSize();
   }
 
+  @Override
+  public void predecompress( final ColumnBinary columnBinary ) throws IOException {
+    columnBinary.predecompress( columnBinary.binaryStart , columnBinary.binaryLength );
+  }
+
   @Override
   public LoadType getLoadType( final ColumnBinary columnBinary , final int loadSize ) {
     return LoadType.UNION;
@@ -207,9 +210,8 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker {
       unionLoader.loadChild( child , loader.getLoadSize() );
     }
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] cellBinary = compressor.decompress(
-        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    byte[] cellBinary = columnBinary.decompress(
+        columnBinary.binaryStart , columnBinary.binaryLength );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( cellBinary );
 
     if (columnBinary.isSetLoadSize) {
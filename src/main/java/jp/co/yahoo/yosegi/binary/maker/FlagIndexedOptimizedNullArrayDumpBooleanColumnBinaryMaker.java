@@ -22,8 +22,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.BooleanBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
 import jp.co.yahoo.yosegi.inmemory.LoadType;
@@ -57,8 +55,7 @@ public class FlagIndexedOptimizedNullArrayDumpBooleanColumnBinaryMaker
   private static byte[] decompressBinary(final ColumnBinary columnBinary) throws IOException {
     int start = columnBinary.binaryStart + BooleanBlockIndex.BitFlags.LENGTH;
     int length = columnBinary.binaryLength - BooleanBlockIndex.BitFlags.LENGTH;
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    return compressor.decompress(columnBinary.binary, start, length);
+    return columnBinary.decompress(start, length);
   }
 
   private BooleanBlockIndex.BitFlags getBitFlags(final ColumnBinary columnBinary) {
@@ -189,6 +186,13 @@ public class FlagIndexedOptimizedNullArrayDumpBooleanColumnBinaryMaker
     return analizeResult.getColumnSize();
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(
+        columnBinary.binaryStart + BooleanBlockIndex.BitFlags.LENGTH,
+        columnBinary.binaryLength - BooleanBlockIndex.BitFlags.LENGTH);
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     return LoadType.SEQUENTIAL;
@@ -56,6 +56,15 @@ public interface IColumnBinaryMaker {
       final ILoader loader ) throws IOException {
   }
 
+  /**
+   * Decompress the data of this column in advance with ColumnBinary#predecompress,
+   * so that the later load does not decompress it.
+   * The children of the column are not decompressed.
+   * By default, nothing is decompressed in advance.
+   */
+  default void predecompress( final ColumnBinary columnBinary ) throws IOException {
+  }
+
   void setBlockIndexNode(
       final BlockIndexNode parentNode ,
       final ColumnBinary columnBinary ,
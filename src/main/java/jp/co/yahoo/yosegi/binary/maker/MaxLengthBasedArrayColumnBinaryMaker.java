@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IArrayLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.IRunLengthEncodingArrayLoader;
@@ -139,6 +137,11 @@ public class MaxLengthBasedArrayColumnBinaryMaker implements IColumnBinaryMaker
     return Integer.BYTES * analizeResult.getColumnSize();
   }
 
+  @Override
+  public void predecompress( final ColumnBinary columnBinary ) throws IOException {
+    columnBinary.predecompress( columnBinary.binaryStart , columnBinary.binaryLength );
+  }
+
   @Override
   public LoadType getLoadType( final ColumnBinary columnBinary , final int loadSize ) {
     if (columnBinary.isSetLoadSize) {
@@ -150,9 +153,8 @@ public class MaxLengthBasedArrayColumnBinaryMaker implements IColumnBinaryMaker
 
   private void loadFromColumnBinary(
       final ColumnBinary columnBinary , final IArrayLoader loader ) throws IOException {
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] decompressBuffer = compressor.decompress(
-        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    byte[] decompressBuffer = columnBinary.decompress(
+        columnBinary.binaryStart , columnBinary.binaryLength );
     int maxSize = ByteBuffer.wrap( decompressBuffer ).getInt();
     NumberToBinaryUtils.IIntConverter encoder = NumberToBinaryUtils.getIntConverter( 0 , maxSize );
     IReadSupporter reader = encoder.toReadSupporter(
@@ -212,9 +214,8 @@ public class MaxLengthBasedArrayColumnBinaryMaker implements IColumnBinaryMaker
       return;
     }
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] decompressBuffer = compressor.decompress(
-        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    byte[] decompressBuffer = columnBinary.decompress(
+        columnBinary.binaryStart , columnBinary.binaryLength );
     int maxSize = ByteBuffer.wrap( decompressBuffer ).getInt();
     NumberToBinaryUtils.IIntConverter encoder = NumberToBinaryUtils.getIntConverter( 0 , maxSize );
     IReadSupporter reader = encoder.toReadSupporter(
@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
@@ -42,8 +40,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
-import jp.co.yahoo.yosegi.util.DetermineMinMax;
-import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
+import jp.co.yahoo.yosegi.util.LongIndexDictionary;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.NumberToBinaryUtils;
@@ -55,9 +52,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryMaker {
 
@@ -75,12 +70,13 @@ public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryM
     if ( currentConfigNode != null ) {
       currentConfig = currentConfigNode.getCurrentConfig();
     }
-    Map<Double,Integer> dicMap = new HashMap<Double,Integer>();
+    LongIndexDictionary dicMap = new LongIndexDictionary();
     double[] dicArray = new double[column.size()];
     int[] indexArray = new int[column.size()];
     boolean[] isNullArray = new boolean[column.size()];
 
-    DetermineMinMax<Double> detemineMinMax = DetermineMinMaxFactory.createDouble();
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
     int rowCount = 0;
     int nullCount = 0;
     int nullMaxIndex = 0;
@@ -105,23 +101,28 @@ public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryM
       notNullMaxIndex = arrayIndex;
       PrimitiveCell primitiveCell = (PrimitiveCell) cell;
       PrimitiveObject primitiveObj = primitiveCell.getRow();
-      Double target = Double.valueOf( primitiveObj.getDouble() );
+      double target = primitiveObj.getDouble();
 
-      if ( ! dicMap.containsKey( target ) ) {
-        detemineMinMax.set( target );
-        int dicIndex = dicMap.size();
-        dicMap.put( target , dicIndex );
-        dicArray[dicIndex] = target.doubleValue();
+      int dicSize = dicMap.size();
+      int dicIndex = dicMap.add( target );
+      if ( dicIndex == dicSize ) {
+        if ( 0 < Double.compare( min , target ) ) {
+          min = target;
+        }
+        if ( Double.compare( max , target ) < 0 ) {
+          max = target;
+        }
+        dicArray[dicIndex] = target;
       }
-      indexArray[rowCount] = dicMap.get( target );
+      indexArray[rowCount] = dicIndex;
       rowCount++;
     }
 
     if ( nullCount == 0
-        && detemineMinMax.getMin().equals( detemineMinMax.getMax() )
+        && Double.compare( min , max ) == 0
         && startIndex == 0 ) {
       return ConstantColumnBinaryMaker.createColumnBinary(
-          new DoubleObj( detemineMinMax.getMin() ) , column.getColumnName() , column.size() );
+          new DoubleObj( min ) , column.getColumnName() , column.size() );
     }
 
     NumberToBinaryUtils.IIntConverter indexConverter =
@@ -177,8 +178,8 @@ public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryM
     byte[] binary = new byte[ Double.BYTES * 2 + compressBinary.length ];
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-    wrapBuffer.putDouble( detemineMinMax.getMin() );
-    wrapBuffer.putDouble( detemineMinMax.getMax() );
+    wrapBuffer.putDouble( min );
+    wrapBuffer.putDouble( max );
     wrapBuffer.put( compressBinary );
 
     return new ColumnBinary(
@@ -214,6 +215,13 @@ public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryM
     return META_LENGTH + nullIndexLength + indexLength + dicLength;
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(
+        columnBinary.binaryStart + (Double.BYTES * 2),
+        columnBinary.binaryLength - (Double.BYTES * 2));
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     if (columnBinary.isSetLoadSize) {
@@ -227,13 +235,12 @@ public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryM
     int start = columnBinary.binaryStart + (Double.BYTES * 2);
     int length = columnBinary.binaryLength - (Double.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
     ByteOrder order = wrapBuffer.get() == (byte) 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-    int startIndex = wrapBuffer.getInt();
+    final int startIndex = wrapBuffer.getInt();
     final int rowCount = wrapBuffer.getInt();
     int nullIndexLength = wrapBuffer.getInt();
     int indexLength = wrapBuffer.getInt();
@@ -243,31 +250,27 @@ public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryM
     NumberToBinaryUtils.IIntConverter indexConverter =
         NumberToBinaryUtils.getIntConverter(0, dicSize);
 
-    boolean[] isNullArray = NullBinaryEncoder.toIsNullArray(binary, META_LENGTH, nullIndexLength);
-
     IReadSupporter dicReader =
         ByteBufferSupporterFactory.createReadSupporter(
             binary, META_LENGTH + nullIndexLength + indexLength, dicLength, order);
     double[] dicArray = new double[dicSize];
-    for (int i = 0; i < dicArray.length; i++) {
-      dicArray[i] = dicReader.getDouble();
-    }
+    dicReader.getDouble(dicArray, 0, dicArray.length);
 
     IReadSupporter indexReader =
         indexConverter.toReadSupporter(binary, META_LENGTH + nullIndexLength, indexLength);
-    int index = 0;
-    for (; index < startIndex; index++) {
-      loader.setNull(index);
+    int[] indexArray = new int[rowCount];
+    indexReader.getInt(indexArray, 0, rowCount);
+    double[] values = new double[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      values[i] = dicArray[indexArray[i]];
     }
-    for (int i = 0; i < isNullArray.length; i++, index++) {
-      if (isNullArray[i]) {
-        loader.setNull(index);
-      } else {
-        loader.setDouble(index, dicArray[indexReader.getInt()]);
-      }
+    boolean[] isNullArray = NullBinaryEncoder.toIsNullArray(binary, META_LENGTH, nullIndexLength);
+    for (int i = 0; i < startIndex; i++) {
+      loader.setNull(i);
     }
+    loader.setDoubleArray(startIndex, isNullArray, values);
     // NOTE: null padding up to load size
-    for (int i = index; i < loader.getLoadSize(); i++) {
+    for (int i = startIndex + isNullArray.length; i < loader.getLoadSize(); i++) {
       loader.setNull(i);
     }
   }
@@ -277,8 +280,7 @@ public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryM
     int start = columnBinary.binaryStart + (Double.BYTES * 2);
     int length = columnBinary.binaryLength - (Double.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -299,9 +301,7 @@ public class OptimizedNullArrayDoubleColumnBinaryMaker implements IColumnBinaryM
         ByteBufferSupporterFactory.createReadSupporter(
             binary, META_LENGTH + nullIndexLength + indexLength, dicLength, order);
     double[] dicArray = new double[dicSize];
-    for (int i = 0; i < dicArray.length; i++) {
-      dicArray[i] = dicReader.getDouble();
-    }
+    dicReader.getDouble(dicArray, 0, dicArray.length);
 
     IReadSupporter indexReader =
         indexConverter.toReadSupporter(binary, META_LENGTH + nullIndexLength, indexLength);
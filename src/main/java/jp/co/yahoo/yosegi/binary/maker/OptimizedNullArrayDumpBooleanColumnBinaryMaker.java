@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
 import jp.co.yahoo.yosegi.inmemory.LoadType;
@@ -175,6 +173,11 @@ public class OptimizedNullArrayDumpBooleanColumnBinaryMaker implements IColumnBi
     return analizeResult.getColumnSize();
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(columnBinary.binaryStart, columnBinary.binaryLength);
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     return LoadType.SEQUENTIAL;
@@ -182,10 +185,9 @@ public class OptimizedNullArrayDumpBooleanColumnBinaryMaker implements IColumnBi
 
   private void loadFromColumnBinary(final ColumnBinary columnBinary, final ISequentialLoader loader)
       throws IOException {
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
     byte[] binary =
-        compressor.decompress(
-            columnBinary.binary, columnBinary.binaryStart, columnBinary.binaryLength);
+        columnBinary.decompress(
+            columnBinary.binaryStart, columnBinary.binaryLength);
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
     int startIndex = wrapBuffer.getInt();
     int nullLength = wrapBuffer.getInt();
@@ -217,10 +219,9 @@ public class OptimizedNullArrayDumpBooleanColumnBinaryMaker implements IColumnBi
 
   private void loadFromExpandColumnBinary(
       final ColumnBinary columnBinary, final ISequentialLoader loader) throws IOException {
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
     byte[] binary =
-        compressor.decompress(
-            columnBinary.binary, columnBinary.binaryStart, columnBinary.binaryLength);
+        columnBinary.decompress(
+            columnBinary.binaryStart, columnBinary.binaryLength);
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
     int startIndex = wrapBuffer.getInt();
     int nullLength = wrapBuffer.getInt();
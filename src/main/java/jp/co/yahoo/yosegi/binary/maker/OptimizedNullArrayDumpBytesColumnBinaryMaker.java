@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
@@ -220,6 +218,11 @@ public class OptimizedNullArrayDumpBytesColumnBinaryMaker implements IColumnBina
         + bytesAnalizeResult.getLogicalDataSize();
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(columnBinary.binaryStart, columnBinary.binaryLength);
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     if (columnBinary.isSetLoadSize) {
@@ -230,10 +233,9 @@ public class OptimizedNullArrayDumpBytesColumnBinaryMaker implements IColumnBina
 
   private void loadFromColumnBinary(final ColumnBinary columnBinary, final ISequentialLoader loader)
       throws IOException {
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
     byte[] binary =
-        compressor.decompress(
-            columnBinary.binary, columnBinary.binaryStart, columnBinary.binaryLength);
+        columnBinary.decompress(
+            columnBinary.binaryStart, columnBinary.binaryLength);
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
     ByteOrder order = wrapBuffer.get() == (byte) 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
     int startIndex = wrapBuffer.getInt();
@@ -276,10 +278,9 @@ public class OptimizedNullArrayDumpBytesColumnBinaryMaker implements IColumnBina
 
   private void loadFromExpandColumnBinary(
       final ColumnBinary columnBinary, final IDictionaryLoader loader) throws IOException {
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
     byte[] binary =
-        compressor.decompress(
-            columnBinary.binary, columnBinary.binaryStart, columnBinary.binaryLength);
+        columnBinary.decompress(
+            columnBinary.binaryStart, columnBinary.binaryLength);
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
     ByteOrder order = wrapBuffer.get() == (byte) 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
     int startIndex = wrapBuffer.getInt();
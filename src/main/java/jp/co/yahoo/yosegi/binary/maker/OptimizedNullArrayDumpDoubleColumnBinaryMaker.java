@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
@@ -41,8 +39,6 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
-import jp.co.yahoo.yosegi.util.DetermineMinMax;
-import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.nullencoder.NullBinaryEncoder;
@@ -76,7 +72,8 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
     double[] doubleArray = new double[column.size()];
     boolean[] isNullArray = new boolean[column.size()];
 
-    DetermineMinMax<Double> detemineMinMax = DetermineMinMaxFactory.createDouble();
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
     int rowCount = 0;
     int nullCount = 0;
     int nullMaxIndex = 0;
@@ -101,17 +98,22 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
       notNullMaxIndex = arrayIndex;
       PrimitiveCell primitiveCell = (PrimitiveCell) cell;
       PrimitiveObject primitiveObj = primitiveCell.getRow();
-      Double target = Double.valueOf( primitiveObj.getDouble() );
-      detemineMinMax.set( target );
-      doubleArray[rowCount] = target.doubleValue();
+      double target = primitiveObj.getDouble();
+      if ( 0 < Double.compare( min , target ) ) {
+        min = target;
+      }
+      if ( Double.compare( max , target ) < 0 ) {
+        max = target;
+      }
+      doubleArray[rowCount] = target;
       rowCount++;
     }
 
     if ( nullCount == 0
-        && detemineMinMax.getMin().equals( detemineMinMax.getMax() )
+        && Double.compare( min , max ) == 0
         && startIndex == 0 ) {
       return ConstantColumnBinaryMaker.createColumnBinary(
-          new DoubleObj( detemineMinMax.getMin() ) , column.getColumnName() , column.size() );
+          new DoubleObj( min ) , column.getColumnName() , column.size() );
     }
 
     ByteOrder order = ByteOrder.nativeOrder();
@@ -153,8 +155,8 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
     byte[] binary = new byte[ Double.BYTES * 2 + compressBinary.length ];
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-    wrapBuffer.putDouble( detemineMinMax.getMin() );
-    wrapBuffer.putDouble( detemineMinMax.getMax() );
+    wrapBuffer.putDouble( min );
+    wrapBuffer.putDouble( max );
     wrapBuffer.put( compressBinary );
 
     return new ColumnBinary(
@@ -187,6 +189,13 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
     return META_LENGTH + nullIndexLength + valueLength;
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(
+        columnBinary.binaryStart + (Double.BYTES * 2),
+        columnBinary.binaryLength - (Double.BYTES * 2));
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     if (columnBinary.isSetLoadSize) {
@@ -200,8 +209,7 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
     int start = columnBinary.binaryStart + (Double.BYTES * 2);
     int length = columnBinary.binaryLength - (Double.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -215,19 +223,14 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
     IReadSupporter valueReader =
         ByteBufferSupporterFactory.createReadSupporter(
             binary, META_LENGTH + nullIndexLength, valueBinaryLength, order);
-    int index = 0;
-    for (; index < startIndex; index++) {
-      loader.setNull(index);
-    }
-    for (int i = 0; i < isNullArray.length; i++, index++) {
-      if (isNullArray[i]) {
-        loader.setNull(index);
-      } else {
-        loader.setDouble(index, valueReader.getDouble());
-      }
+    double[] values = new double[valueBinaryLength / Double.BYTES];
+    valueReader.getDouble(values, 0, values.length);
+    for (int i = 0; i < startIndex; i++) {
+      loader.setNull(i);
     }
+    loader.setDoubleArray(startIndex, isNullArray, values);
     // NOTE: null padding up to load size
-    for (int i = index; i < loader.getLoadSize(); i++) {
+    for (int i = startIndex + isNullArray.length; i < loader.getLoadSize(); i++) {
       loader.setNull(i);
     }
   }
@@ -237,8 +240,7 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
     int start = columnBinary.binaryStart + (Double.BYTES * 2);
     int length = columnBinary.binaryLength - (Double.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.FloatRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
 import jp.co.yahoo.yosegi.inmemory.LoadType;
@@ -40,8 +38,6 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
-import jp.co.yahoo.yosegi.util.DetermineMinMax;
-import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.nullencoder.NullBinaryEncoder;
@@ -75,7 +71,8 @@ public class OptimizedNullArrayDumpFloatColumnBinaryMaker implements IColumnBina
     float[] floatArray = new float[column.size()];
     boolean[] isNullArray = new boolean[column.size()];
 
-    DetermineMinMax<Float> detemineMinMax = DetermineMinMaxFactory.createFloat();
+    float min = Float.MAX_VALUE;
+    float max = -Float.MAX_VALUE;
     int rowCount = 0;
     int nullCount = 0;
     int nullMaxIndex = 0;
@@ -100,17 +97,22 @@ public class OptimizedNullArrayDumpFloatColumnBinaryMaker implements IColumnBina
       notNullMaxIndex = arrayIndex;
       PrimitiveCell primitiveCell = (PrimitiveCell) cell;
       PrimitiveObject primitiveObj = primitiveCell.getRow();
-      Float target = Float.valueOf( primitiveObj.getFloat() );
-      detemineMinMax.set( target );
-      floatArray[rowCount] = target.floatValue();
+      float target = primitiveObj.getFloat();
+      if ( 0 < Float.compare( min , target ) ) {
+        min = target;
+      }
+      if ( Float.compare( max , target ) < 0 ) {
+        max = target;
+      }
+      floatArray[rowCount] = target;
       rowCount++;
     }
 
     if ( nullCount == 0
-        && detemineMinMax.getMin().equals( detemineMinMax.getMax() )
+        && Float.compare( min , max ) == 0
         && startIndex == 0 ) {
       return ConstantColumnBinaryMaker.createColumnBinary(
-          new FloatObj( detemineMinMax.getMin() ) , column.getColumnName() , column.size() );
+          new FloatObj( min ) , column.getColumnName() , column.size() );
     }
 
     ByteOrder order = ByteOrder.nativeOrder();
@@ -152,8 +154,8 @@ public class OptimizedNullArrayDumpFloatColumnBinaryMaker implements IColumnBina
     byte[] binary = new byte[ Float.BYTES * 2 + compressBinary.length ];
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-    wrapBuffer.putFloat( detemineMinMax.getMin() );
-    wrapBuffer.putFloat( detemineMinMax.getMax() );
+    wrapBuffer.putFloat( min );
+    wrapBuffer.putFloat( max );
     wrapBuffer.put( compressBinary );
 
     return new ColumnBinary(
@@ -186,6 +188,13 @@ public class OptimizedNullArrayDumpFloatColumnBinaryMaker implements IColumnBina
     return META_LENGTH + nullIndexLength + valueLength;
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(
+        columnBinary.binaryStart + (Float.BYTES * 2),
+        columnBinary.binaryLength - (Float.BYTES * 2));
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     return LoadType.SEQUENTIAL;
@@ -196,8 +205,7 @@ public class OptimizedNullArrayDumpFloatColumnBinaryMaker implements IColumnBina
     int start = columnBinary.binaryStart + (Float.BYTES * 2);
     int length = columnBinary.binaryLength - (Float.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -211,19 +219,14 @@ public class OptimizedNullArrayDumpFloatColumnBinaryMaker implements IColumnBina
     IReadSupporter valueReader =
         ByteBufferSupporterFactory.createReadSupporter(
             binary, META_LENGTH + nullIndexLength, valueBinaryLength, order);
-    int index = 0;
-    for (; index < startIndex; index++) {
-      loader.setNull(index);
-    }
-    for (int i = 0; i < isNullArray.length; i++, index++) {
-      if (isNullArray[i]) {
-        loader.setNull(index);
-      } else {
-        loader.setFloat(index, valueReader.getFloat());
-      }
+    float[] values = new float[valueBinaryLength / Float.BYTES];
+    valueReader.getFloat(values, 0, values.length);
+    for (int i = 0; i < startIndex; i++) {
+      loader.setNull(i);
     }
+    loader.setFloatArray(startIndex, isNullArray, values);
     // NOTE: null padding up to load size
-    for (int i = index; i < loader.getLoadSize(); i++) {
+    for (int i = startIndex + isNullArray.length; i < loader.getLoadSize(); i++) {
       loader.setNull(i);
     }
   }
@@ -233,8 +236,7 @@ public class OptimizedNullArrayDumpFloatColumnBinaryMaker implements IColumnBina
     int start = columnBinary.binaryStart + (Float.BYTES * 2);
     int length = columnBinary.binaryLength - (Float.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -23,10 +23,11 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
@@ -47,8 +48,6 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
-import jp.co.yahoo.yosegi.util.DetermineMinMax;
-import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
 import jp.co.yahoo.yosegi.util.io.diffencoder.INumEncoder;
 import jp.co.yahoo.yosegi.util.io.diffencoder.NumEncoderUtil;
 import jp.co.yahoo.yosegi.util.io.nullencoder.NullBinaryEncoder;
@@ -96,7 +95,8 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
     long[] longArray = new long[column.size()];
     boolean[] isNullArray = new boolean[column.size()];
 
-    DetermineMinMax<Long> detemineMinMax = DetermineMinMaxFactory.createLong();
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     int rowCount = 0;
     int nullCount = 0;
     int nullMaxIndex = 0;
@@ -121,17 +121,18 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
       notNullMaxIndex = arrayIndex;
       PrimitiveCell primitiveCell = (PrimitiveCell) cell;
       PrimitiveObject primitiveObj = primitiveCell.getRow();
-      Long target = Long.valueOf( primitiveObj.getLong() );
-      detemineMinMax.set( target );
-      longArray[rowCount] = target.longValue();
+      long target = primitiveObj.getLong();
+      min = Math.min( min , target );
+      max = Math.max( max , target );
+      longArray[rowCount] = target;
       rowCount++;
     }
 
     if ( nullCount == 0
-        && detemineMinMax.getMin().equals( detemineMinMax.getMax() )
+        && min == max
         && startIndex == 0 ) {
       return ConstantColumnBinaryMaker.createColumnBinary(
-          createConstObjectFromNum( column.getColumnType() , detemineMinMax.getMin() ) ,
+          createConstObjectFromNum( column.getColumnType() , min ) ,
           column.getColumnName() ,
           column.size() );
     }
@@ -141,7 +142,7 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
         nullCount , rowCount , nullMaxIndex , notNullMaxIndex );
 
     INumEncoder valueEncoder =
-        NumEncoderUtil.createEncoder( detemineMinMax.getMin() , detemineMinMax.getMax() );
+        NumEncoderUtil.createEncoder( min , max );
     int valueLength = valueEncoder.calcBinarySize( rowCount );
 
     byte[] binaryRaw = new byte[ META_LENGTH + nullIndexLength + valueLength ];
@@ -178,11 +179,11 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
     byte[] binary = new byte[ Long.BYTES * 2 + compressBinary.length ];
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-    wrapBuffer.putLong( detemineMinMax.getMin() );
-    wrapBuffer.putLong( detemineMinMax.getMax() );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
     wrapBuffer.put( compressBinary );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -195,6 +196,15 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
         0 ,
         binary.length ,
         null );
+    if ( 0 < currentConfig.bloomFilterBitsPerKey ) {
+      BloomFilter bloomFilter =
+          BloomFilter.create( rowCount , currentConfig.bloomFilterBitsPerKey );
+      for ( int i = 0 ; i < rowCount ; i++ ) {
+        bloomFilter.add( BloomFilter.hash( longArray[i] ) );
+      }
+      result.bloomFilter = bloomFilter;
+    }
+    return result;
   }
 
   @Override
@@ -243,6 +253,13 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
     return META_LENGTH + nullIndexLength + valueLength;
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(
+        columnBinary.binaryStart + (Long.BYTES * 2),
+        columnBinary.binaryLength - (Long.BYTES * 2));
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     if (columnBinary.isSetLoadSize) {
@@ -261,8 +278,7 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
     int start = columnBinary.binaryStart + (Long.BYTES * 2);
     int length = columnBinary.binaryLength - (Long.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -289,8 +305,7 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
     int start = columnBinary.binaryStart + (Long.BYTES * 2);
     int length = columnBinary.binaryLength - (Long.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -341,6 +356,10 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    IBlockIndex blockIndex = new LongRangeBlockIndex( min , max );
+    if ( columnBinary.bloomFilter != null ) {
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , columnBinary.bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex );
   }
 }
@@ -23,10 +23,11 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
@@ -86,6 +87,10 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
     int nullCount = 0;
     int nullMaxIndex = 0;
     int notNullMaxIndex = 0;
+    BloomFilter bloomFilter = null;
+    if ( 0 < currentConfig.bloomFilterBitsPerKey ) {
+      bloomFilter = BloomFilter.create( column.size() , currentConfig.bloomFilterBitsPerKey );
+    }
 
     int startIndex = 0;
     for ( ; startIndex < column.size() ; startIndex++ ) {
@@ -116,6 +121,9 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
 
       lengthMinMax.set( obj.length );
       detemineMinMax.set( strObj );
+      if ( bloomFilter != null ) {
+        bloomFilter.add( BloomFilter.hash( strObj ) );
+      }
 
       totalLength += obj.length;
       logicalDataLength += Integer.BYTES + obj.length;
@@ -203,7 +211,7 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
     binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
     binaryWrapBuffer.put( compressBinaryRaw );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -216,6 +224,8 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
         0 ,
         binary.length ,
         null );
+    result.bloomFilter = bloomFilter;
+    return result;
   }
 
   @Override
@@ -251,16 +261,7 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
         + stringAnalizeResult.getTotalUtf8ByteSize();
   }
 
-  @Override
-  public LoadType getLoadType( final ColumnBinary columnBinary , final int loadSize ) {
-    if (columnBinary.isSetLoadSize) {
-      return LoadType.DICTIONARY;
-    }
-    return LoadType.SEQUENTIAL;
-  }
-
-  private void loadFromColumnBinary(
-      final ColumnBinary columnBinary , final ISequentialLoader loader ) throws IOException {
+  private static int getHeaderSize( final ColumnBinary columnBinary ) {
     ByteBuffer headerWrapBuffer = ByteBuffer.wrap(
         columnBinary.binary ,
         columnBinary.binaryStart ,
@@ -271,10 +272,30 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
     int maxCharLength = headerWrapBuffer.getInt();
     headerWrapBuffer.position( headerWrapBuffer.position() + maxCharLength );
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
+    return headerSize;
+  }
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress(
-        columnBinary.binary ,
+  @Override
+  public void predecompress( final ColumnBinary columnBinary ) throws IOException {
+    int headerSize = getHeaderSize( columnBinary );
+    columnBinary.predecompress(
+        columnBinary.binaryStart + headerSize ,
+        columnBinary.binaryLength - headerSize );
+  }
+
+  @Override
+  public LoadType getLoadType( final ColumnBinary columnBinary , final int loadSize ) {
+    if (columnBinary.isSetLoadSize) {
+      return LoadType.DICTIONARY;
+    }
+    return LoadType.SEQUENTIAL;
+  }
+
+  private void loadFromColumnBinary(
+      final ColumnBinary columnBinary , final ISequentialLoader loader ) throws IOException {
+    int headerSize = getHeaderSize( columnBinary );
+
+    byte[] binary = columnBinary.decompress(
         columnBinary.binaryStart + headerSize ,
         columnBinary.binaryLength - headerSize );
 
@@ -329,20 +350,9 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
       return;
     }
 
-    ByteBuffer headerWrapBuffer = ByteBuffer.wrap(
-        columnBinary.binary ,
-        columnBinary.binaryStart ,
-        columnBinary.binaryLength );
-    int minCharLength = headerWrapBuffer.getInt();
-    headerWrapBuffer.position( headerWrapBuffer.position() + minCharLength );
-
-    int maxCharLength = headerWrapBuffer.getInt();
-    headerWrapBuffer.position( headerWrapBuffer.position() + maxCharLength );
-    int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
+    int headerSize = getHeaderSize( columnBinary );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress(
-        columnBinary.binary ,
+    byte[] binary = columnBinary.decompress(
         columnBinary.binaryStart + headerSize ,
         columnBinary.binaryLength - headerSize );
 
@@ -460,7 +470,11 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
     String max = new String( maxCharArray );
 
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new StringRangeBlockIndex( min , max ) );
+    IBlockIndex blockIndex = new StringRangeBlockIndex( min , max );
+    if ( columnBinary.bloomFilter != null ) {
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , columnBinary.bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex );
   }
 
 }
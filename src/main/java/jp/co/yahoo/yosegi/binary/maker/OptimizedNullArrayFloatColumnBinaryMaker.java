@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.FloatRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
 import jp.co.yahoo.yosegi.inmemory.ISequentialLoader;
 import jp.co.yahoo.yosegi.inmemory.LoadType;
@@ -40,8 +38,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
-import jp.co.yahoo.yosegi.util.DetermineMinMax;
-import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
+import jp.co.yahoo.yosegi.util.LongIndexDictionary;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.NumberToBinaryUtils;
@@ -53,9 +50,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMaker {
 
@@ -73,12 +68,13 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
     if ( currentConfigNode != null ) {
       currentConfig = currentConfigNode.getCurrentConfig();
     }
-    Map<Float,Integer> dicMap = new HashMap<Float,Integer>();
+    LongIndexDictionary dicMap = new LongIndexDictionary();
     float[] dicArray = new float[column.size()];
     int[] indexArray = new int[column.size()];
     boolean[] isNullArray = new boolean[column.size()];
 
-    DetermineMinMax<Float> detemineMinMax = DetermineMinMaxFactory.createFloat();
+    float min = Float.MAX_VALUE;
+    float max = -Float.MAX_VALUE;
     int rowCount = 0;
     int nullCount = 0;
     int nullMaxIndex = 0;
@@ -103,23 +99,28 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
       notNullMaxIndex = arrayIndex;
       PrimitiveCell primitiveCell = (PrimitiveCell) cell;
       PrimitiveObject primitiveObj = primitiveCell.getRow();
-      Float target = Float.valueOf( primitiveObj.getFloat() );
+      float target = primitiveObj.getFloat();
 
-      if ( ! dicMap.containsKey( target ) ) {
-        detemineMinMax.set( target );
-        int dicIndex = dicMap.size();
-        dicMap.put( target , dicIndex );
-        dicArray[dicIndex] = target.floatValue();
+      int dicSize = dicMap.size();
+      int dicIndex = dicMap.add( target );
+      if ( dicIndex == dicSize ) {
+        if ( 0 < Float.compare( min , target ) ) {
+          min = target;
+        }
+        if ( Float.compare( max , target ) < 0 ) {
+          max = target;
+        }
+        dicArray[dicIndex] = target;
       }
-      indexArray[rowCount] = dicMap.get( target );
+      indexArray[rowCount] = dicIndex;
       rowCount++;
     }
 
     if ( nullCount == 0
-        && detemineMinMax.getMin().equals( detemineMinMax.getMax() )
+        && Float.compare( min , max ) == 0
         && startIndex == 0 ) {
       return ConstantColumnBinaryMaker.createColumnBinary(
-          new FloatObj( detemineMinMax.getMin() ) , column.getColumnName() , column.size() );
+          new FloatObj( min ) , column.getColumnName() , column.size() );
     }
 
     NumberToBinaryUtils.IIntConverter indexConverter =
@@ -175,8 +176,8 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
     byte[] binary = new byte[ Float.BYTES * 2 + compressBinary.length ];
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-    wrapBuffer.putFloat( detemineMinMax.getMin() );
-    wrapBuffer.putFloat( detemineMinMax.getMax() );
+    wrapBuffer.putFloat( min );
+    wrapBuffer.putFloat( max );
     wrapBuffer.put( compressBinary );
 
     return new ColumnBinary(
@@ -212,6 +213,13 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
     return META_LENGTH + nullIndexLength + indexLength + dicLength;
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(
+        columnBinary.binaryStart + (Float.BYTES * 2),
+        columnBinary.binaryLength - (Float.BYTES * 2));
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     return LoadType.SEQUENTIAL;
@@ -222,13 +230,12 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
     int start = columnBinary.binaryStart + (Float.BYTES * 2);
     int length = columnBinary.binaryLength - (Float.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
     ByteOrder order = wrapBuffer.get() == (byte) 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-    int startIndex = wrapBuffer.getInt();
+    final int startIndex = wrapBuffer.getInt();
     final int rowCount = wrapBuffer.getInt();
     int nullIndexLength = wrapBuffer.getInt();
     int indexLength = wrapBuffer.getInt();
@@ -238,31 +245,27 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
     NumberToBinaryUtils.IIntConverter indexConverter =
         NumberToBinaryUtils.getIntConverter(0, dicSize);
 
-    boolean[] isNullArray = NullBinaryEncoder.toIsNullArray(binary, META_LENGTH, nullIndexLength);
-
     IReadSupporter dicReader =
         ByteBufferSupporterFactory.createReadSupporter(
             binary, META_LENGTH + nullIndexLength + indexLength, dicLength, order);
     float[] dicArray = new float[dicSize];
-    for (int i = 0; i < dicArray.length; i++) {
-      dicArray[i] = dicReader.getFloat();
-    }
+    dicReader.getFloat(dicArray, 0, dicArray.length);
 
     IReadSupporter indexReader =
         indexConverter.toReadSupporter(binary, META_LENGTH + nullIndexLength, indexLength);
-    int index = 0;
-    for (; index < startIndex; index++) {
-      loader.setNull(index);
+    int[] indexArray = new int[rowCount];
+    indexReader.getInt(indexArray, 0, rowCount);
+    float[] values = new float[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      values[i] = dicArray[indexArray[i]];
     }
-    for (int i = 0; i < isNullArray.length; i++, index++) {
-      if (isNullArray[i]) {
-        loader.setNull(index);
-      } else {
-        loader.setFloat(index, dicArray[indexReader.getInt()]);
-      }
+    boolean[] isNullArray = NullBinaryEncoder.toIsNullArray(binary, META_LENGTH, nullIndexLength);
+    for (int i = 0; i < startIndex; i++) {
+      loader.setNull(i);
     }
+    loader.setFloatArray(startIndex, isNullArray, values);
     // NOTE: null padding up to load size
-    for (int i = index; i < loader.getLoadSize(); i++) {
+    for (int i = startIndex + isNullArray.length; i < loader.getLoadSize(); i++) {
       loader.setNull(i);
     }
   }
@@ -272,8 +275,7 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
     int start = columnBinary.binaryStart + (Float.BYTES * 2);
     int length = columnBinary.binaryLength - (Float.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -294,9 +296,7 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
         ByteBufferSupporterFactory.createReadSupporter(
             binary, META_LENGTH + nullIndexLength + indexLength, dicLength, order);
     float[] dicArray = new float[dicSize];
-    for (int i = 0; i < dicArray.length; i++) {
-      dicArray[i] = dicReader.getFloat();
-    }
+    dicReader.getFloat(dicArray, 0, dicArray.length);
 
     IReadSupporter indexReader =
         indexConverter.toReadSupporter(binary, META_LENGTH + nullIndexLength, indexLength);
@@ -23,10 +23,11 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
@@ -49,8 +50,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
-import jp.co.yahoo.yosegi.util.DetermineMinMax;
-import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
+import jp.co.yahoo.yosegi.util.LongIndexDictionary;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.NumberToBinaryUtils;
@@ -64,9 +64,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMaker {
 
@@ -101,12 +99,13 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     if ( currentConfigNode != null ) {
       currentConfig = currentConfigNode.getCurrentConfig();
     }
-    Map<Long,Integer> dicMap = new HashMap<Long,Integer>();
+    LongIndexDictionary dicMap = new LongIndexDictionary();
     long[] dicArray = new long[column.size()];
     int[] indexArray = new int[column.size()];
     boolean[] isNullArray = new boolean[column.size()];
 
-    DetermineMinMax<Long> detemineMinMax = DetermineMinMaxFactory.createLong();
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     int rowCount = 0;
     int nullCount = 0;
     int nullMaxIndex = 0;
@@ -131,23 +130,24 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
       notNullMaxIndex = arrayIndex;
       PrimitiveCell primitiveCell = (PrimitiveCell) cell;
       PrimitiveObject primitiveObj = primitiveCell.getRow();
-      Long target = Long.valueOf( primitiveObj.getLong() );
-
-      if ( ! dicMap.containsKey( target ) ) {
-        detemineMinMax.set( target );
-        int dicIndex = dicMap.size();
-        dicMap.put( target , dicIndex );
-        dicArray[dicIndex] = target.longValue();
+      long target = primitiveObj.getLong();
+
+      int dicSize = dicMap.size();
+      int dicIndex = dicMap.add( target );
+      if ( dicIndex == dicSize ) {
+        min = Math.min( min , target );
+        max = Math.max( max , target );
+        dicArray[dicIndex] = target;
       }
-      indexArray[rowCount] = dicMap.get( target );
+      indexArray[rowCount] = dicIndex;
       rowCount++;
     }
 
     if ( nullCount == 0
-        && detemineMinMax.getMin().equals( detemineMinMax.getMax() )
+        && min == max
         && startIndex == 0 ) {
       return ConstantColumnBinaryMaker.createColumnBinary(
-          createConstObjectFromNum( column.getColumnType() , detemineMinMax.getMin() ) ,
+          createConstObjectFromNum( column.getColumnType() , min ) ,
           column.getColumnName() ,
           column.size() );
     }
@@ -158,7 +158,7 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     int indexLength = indexConverter.calcBinarySize( rowCount );
 
     INumEncoder dicEncoder =
-        NumEncoderUtil.createEncoder( detemineMinMax.getMin() , detemineMinMax.getMax() );
+        NumEncoderUtil.createEncoder( min , max );
     int dicLength = dicEncoder.calcBinarySize( dicMap.size() );
 
     ByteOrder order = ByteOrder.nativeOrder();
@@ -207,11 +207,11 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     byte[] binary = new byte[ Long.BYTES * 2 + compressBinary.length ];
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-    wrapBuffer.putLong( detemineMinMax.getMin() );
-    wrapBuffer.putLong( detemineMinMax.getMax() );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
     wrapBuffer.put( compressBinary );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -224,6 +224,15 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
         0 ,
         binary.length ,
         null );
+    if ( 0 < currentConfig.bloomFilterBitsPerKey ) {
+      BloomFilter bloomFilter =
+          BloomFilter.create( dicMap.size() , currentConfig.bloomFilterBitsPerKey );
+      for ( int i = 0 ; i < dicMap.size() ; i++ ) {
+        bloomFilter.add( BloomFilter.hash( dicArray[i] ) );
+      }
+      result.bloomFilter = bloomFilter;
+    }
+    return result;
   }
 
   @Override
@@ -276,6 +285,13 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     return META_LENGTH + nullIndexLength + indexLength + dicLength;
   }
 
+  @Override
+  public void predecompress(final ColumnBinary columnBinary) throws IOException {
+    columnBinary.predecompress(
+        columnBinary.binaryStart + (Long.BYTES * 2),
+        columnBinary.binaryLength - (Long.BYTES * 2));
+  }
+
   @Override
   public LoadType getLoadType(final ColumnBinary columnBinary, final int loadSize) {
     if (columnBinary.isSetLoadSize) {
@@ -293,13 +309,12 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     int start = columnBinary.binaryStart + (Long.BYTES * 2);
     int length = columnBinary.binaryLength - (Long.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
     ByteOrder order = wrapBuffer.get() == (byte) 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-    int startIndex = wrapBuffer.getInt();
+    final int startIndex = wrapBuffer.getInt();
     final int rowCount = wrapBuffer.getInt();
     int dicSize = wrapBuffer.getInt();
     int nullIndexLength = wrapBuffer.getInt();
@@ -308,8 +323,6 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     NumberToBinaryUtils.IIntConverter indexConverter =
         NumberToBinaryUtils.getIntConverter(0, dicSize);
 
-    boolean[] isNullArray = NullBinaryEncoder.toIsNullArray(binary, META_LENGTH, nullIndexLength);
-
     INumEncoder dicEncoder = NumEncoderUtil.createEncoder(min, max);
     IDictionary dic = new PrimitiveObjectDictionary(dicSize);
     dicEncoder.setDictionary(
@@ -317,19 +330,19 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
 
     IReadSupporter indexReader =
         indexConverter.toReadSupporter(binary, META_LENGTH + nullIndexLength, indexLength);
-    int index = 0;
-    for (; index < startIndex; index++) {
-      loader.setNull(index);
+    int[] indexArray = new int[rowCount];
+    indexReader.getInt(indexArray, 0, rowCount);
+    long[] values = new long[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      values[i] = dic.getPrimitiveObject(indexArray[i]).getLong();
     }
-    for (int i = 0; i < isNullArray.length; i++, index++) {
-      if (isNullArray[i]) {
-        loader.setNull(index);
-      } else {
-        loader.setLong(index, dic.getPrimitiveObject(indexReader.getInt()).getLong());
-      }
+    boolean[] isNullArray = NullBinaryEncoder.toIsNullArray(binary, META_LENGTH, nullIndexLength);
+    for (int i = 0; i < startIndex; i++) {
+      loader.setNull(i);
     }
+    loader.setLongArray(startIndex, isNullArray, values);
     // NOTE: null padding up to load size
-    for (int i = index; i < loader.getLoadSize(); i++) {
+    for (int i = startIndex + isNullArray.length; i < loader.getLoadSize(); i++) {
       loader.setNull(i);
     }
   }
@@ -343,8 +356,7 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     int start = columnBinary.binaryStart + (Long.BYTES * 2);
     int length = columnBinary.binaryLength - (Long.BYTES * 2);
 
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
-    byte[] binary = compressor.decompress(columnBinary.binary, start, length);
+    byte[] binary = columnBinary.decompress(start, length);
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap(binary, 0, binary.length);
 
@@ -442,6 +454,10 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    IBlockIndex blockIndex = new LongRangeBlockIndex( min , max );
+    if ( columnBinary.bloomFilter != null ) {
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , columnBinary.bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex );
   }
 }
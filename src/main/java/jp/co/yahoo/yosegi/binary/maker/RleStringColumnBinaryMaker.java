@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IDictionaryLoader;
 import jp.co.yahoo.yosegi.inmemory.ILoader;
@@ -300,12 +298,7 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
         + nullIgnoreRleTotalLength;
   }
 
-  @Override
-  public LoadType getLoadType( final ColumnBinary columnBinary , final int loadSize ) {
-    return LoadType.DICTIONARY;
-  }
-
-  private byte[] getDecompressBinary( final ColumnBinary columnBinary ) throws IOException {
+  private static int getHeaderSize( final ColumnBinary columnBinary ) {
     ByteBuffer headerWrapBuffer = ByteBuffer.wrap(
         columnBinary.binary ,
         columnBinary.binaryStart ,
@@ -316,10 +309,26 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
     int maxCharLength = headerWrapBuffer.getInt();
     headerWrapBuffer.position( headerWrapBuffer.position() + maxCharLength );
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
+    return headerSize;
+  }
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress(
-        columnBinary.binary ,
+  @Override
+  public void predecompress( final ColumnBinary columnBinary ) throws IOException {
+    int headerSize = getHeaderSize( columnBinary );
+    columnBinary.predecompress(
+        columnBinary.binaryStart + headerSize ,
+        columnBinary.binaryLength - headerSize );
+  }
+
+  @Override
+  public LoadType getLoadType( final ColumnBinary columnBinary , final int loadSize ) {
+    return LoadType.DICTIONARY;
+  }
+
+  private byte[] getDecompressBinary( final ColumnBinary columnBinary ) throws IOException {
+    int headerSize = getHeaderSize( columnBinary );
+
+    byte[] binary = columnBinary.decompress(
         columnBinary.binaryStart + headerSize ,
         columnBinary.binaryLength - headerSize );
     return binary;
@@ -60,4 +60,24 @@ public class BinaryMakerOptimizer {
     return rootNode;
   }
 
+  /**
+   * Re-optimize the config node created from the previous Spread.
+   * Only the columns whose estimated size has drifted by more than the ratio are replaced,
+   * and the columns which are not in this Spread are kept.
+   */
+  public ColumnBinaryMakerCustomConfigNode reoptimizeConfigNode(
+      final ColumnBinaryMakerCustomConfigNode rootNode ,
+      final IOptimizerFactory factory ,
+      final double ratio ) throws IOException {
+    ColumnBinaryMakerConfig commonConfig = rootNode.getCurrentConfig();
+    for ( Map.Entry<String,BinaryMakerOptimizerNode> entry : childNodeMap.entrySet() ) {
+      ColumnBinaryMakerCustomConfigNode childNode = entry.getValue().reoptimizeConfigNode(
+          commonConfig , rootNode.getChildConfigNode( entry.getKey() ) , factory , ratio );
+      if ( childNode != null ) {
+        rootNode.addChildConfigNode( entry.getKey() , childNode );
+      }
+    }
+    return rootNode;
+  }
+
 }
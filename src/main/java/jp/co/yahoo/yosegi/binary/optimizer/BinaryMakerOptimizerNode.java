@@ -20,6 +20,7 @@ package jp.co.yahoo.yosegi.binary.optimizer;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
 
 import java.io.IOException;
@@ -70,4 +71,42 @@ public class BinaryMakerOptimizerNode {
     return currentNode;
   }
 
+  /**
+   * Re-optimize the node created from the previous Spread.
+   * The maker is replaced only if the estimated size of the current maker
+   * exceeds the size of the optimal maker by more than the ratio.
+   */
+  public ColumnBinaryMakerCustomConfigNode reoptimizeConfigNode(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentNode ,
+      final IOptimizerFactory factory ,
+      final double ratio ) throws IOException {
+    if ( currentNode == null ) {
+      return createConfigNode( commonConfig , factory );
+    }
+    ColumnBinaryMakerCustomConfigNode resultNode = currentNode;
+    IOptimizer optimizer = factory.get( analizeResult.getColumnType() );
+    ColumnBinaryMakerConfig optimalConfig =
+        optimizer.getColumnBinaryMakerConfig( commonConfig , analizeResult );
+    if ( optimalConfig != null ) {
+      IColumnBinaryMaker currentMaker =
+          currentNode.getCurrentConfig().getColumnMaker( analizeResult.getColumnType() );
+      IColumnBinaryMaker optimalMaker =
+          optimalConfig.getColumnMaker( analizeResult.getColumnType() );
+      int currentSize = currentMaker.calcBinarySize( analizeResult );
+      int optimalSize = optimalMaker.calcBinarySize( analizeResult );
+      if ( currentMaker != optimalMaker && optimalSize * ratio < currentSize ) {
+        resultNode = currentNode.replaceCurrentConfig( optimalConfig );
+      }
+    }
+    for ( Map.Entry<String,BinaryMakerOptimizerNode> entry : childNodeMap.entrySet() ) {
+      ColumnBinaryMakerCustomConfigNode childNode = entry.getValue().reoptimizeConfigNode(
+          commonConfig , resultNode.getChildConfigNode( entry.getKey() ) , factory , ratio );
+      if ( childNode != null ) {
+        resultNode.addChildConfigNode( entry.getKey() , childNode );
+      }
+    }
+    return resultNode;
+  }
+
 }
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.optimizer;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.config.YosegiConfiguration;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.analyzer.Analyzer;
+
+import java.io.IOException;
+
+/**
+ * Re-optimize the makers of the Spreads after the first one.
+ * A Spread is analyzed again every interval Spreads.
+ */
+public class BinaryMakerReoptimizer {
+
+  private final IOptimizerFactory factory;
+  private final double ratio;
+  private final int interval;
+  private final int analyzerSampleRows;
+
+  private int spreadCount;
+
+  /**
+   * Create the re-optimizer from the settings of the config.
+   * Returns null if the re-optimization is disabled.
+   */
+  public static BinaryMakerReoptimizer create(
+      final Configuration config , final IOptimizerFactory factory ) {
+    if ( ! YosegiConfiguration.useBinaryReoptimizer( config ) ) {
+      return null;
+    }
+    return new BinaryMakerReoptimizer(
+        factory ,
+        YosegiConfiguration.getBinaryReoptimizeRatio( config ) ,
+        YosegiConfiguration.getBinaryReoptimizeInterval( config ) ,
+        YosegiConfiguration.getAnalyzerSampleRows( config ) );
+  }
+
+  /**
+   * Set the settings of the re-optimization.
+   */
+  public BinaryMakerReoptimizer(
+      final IOptimizerFactory factory ,
+      final double ratio ,
+      final int interval ,
+      final int analyzerSampleRows ) {
+    this.factory = factory;
+    this.ratio = ratio;
+    this.interval = interval;
+    this.analyzerSampleRows = analyzerSampleRows;
+  }
+
+  /**
+   * Returns the config node for the Spread.
+   * If the Spread is not on the interval, configNode is returned as is.
+   */
+  public ColumnBinaryMakerCustomConfigNode reoptimize(
+      final Spread spread ,
+      final ColumnBinaryMakerCustomConfigNode configNode ) throws IOException {
+    spreadCount++;
+    if ( spreadCount % interval != 0 ) {
+      return configNode;
+    }
+    // NOTE: Replace only the makers whose estimated size has drifted from the optimal one,
+    //       because the first Spread does not always represent the data of the whole file.
+    BinaryMakerOptimizer optimizer =
+        new BinaryMakerOptimizer( Analyzer.analize( spread , analyzerSampleRows ) );
+    return optimizer.reoptimizeConfigNode( configNode , factory , ratio );
+  }
+
+}
@@ -42,6 +42,8 @@ public class ByteOptimizer implements IOptimizer {
           "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ),
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ),
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ),
     };
   }
 
@@ -40,6 +40,8 @@ public class IntegerOptimizer implements IOptimizer {
     makerArray = new IColumnBinaryMaker[]{
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ),
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ),
     };
   }
 
@@ -25,6 +25,9 @@ public class BlockReadOffset implements Comparable<BlockReadOffset> {
   public final int length;
   public final byte[] buffer;
 
+  /** Index of the spread of the range , or -1 if the range is for all spreads. */
+  public final int spreadIndex;
+
   /**
    * Set byte array of blocks.
    */
@@ -32,10 +35,23 @@ public class BlockReadOffset implements Comparable<BlockReadOffset> {
       final int streamStart ,
       final int bufferStart,
       final int length , final byte[] buffer ) {
+    this( streamStart , bufferStart , length , buffer , -1 );
+  }
+
+  /**
+   * Set byte array of the spread in blocks.
+   */
+  public BlockReadOffset(
+      final int streamStart ,
+      final int bufferStart,
+      final int length ,
+      final byte[] buffer ,
+      final int spreadIndex ) {
     this.streamStart = streamStart;
     this.bufferStart = bufferStart;
     this.length = length;
     this.buffer = buffer;
+    this.spreadIndex = spreadIndex;
   }
 
   @Override
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * View a range of IBlockSource as InputStream.
+ */
+public class BlockSourceInputStream extends InputStream {
+
+  private final IBlockSource source;
+  private final long end;
+  private long position;
+
+  /**
+   * Read length bytes from start of the source.
+   */
+  public BlockSourceInputStream(
+      final IBlockSource source , final long start , final long length ) throws IOException {
+    this.source = source;
+    this.position = start;
+    this.end = Math.min( source.size() , start + length );
+  }
+
+  public IBlockSource getSource() {
+    return source;
+  }
+
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if ( end <= position ) {
+      return -1;
+    }
+    byte[] buffer = new byte[1];
+    source.read( position , buffer , 0 , 1 );
+    position++;
+    return buffer[0] & 0xff;
+  }
+
+  @Override
+  public int read( final byte[] buffer , final int start , final int length ) throws IOException {
+    if ( length == 0 ) {
+      return 0;
+    }
+    if ( end <= position ) {
+      return -1;
+    }
+    int readLength = (int)Math.min( length , end - position );
+    source.read( position , buffer , start , readLength );
+    position += readLength;
+    return readLength;
+  }
+
+  @Override
+  public long skip( final long length ) {
+    if ( length <= 0 ) {
+      return 0;
+    }
+    long skipLength = Math.min( length , end - position );
+    position += skipLength;
+    return skipLength;
+  }
+
+  @Override
+  public int available() {
+    return (int)Math.min( Integer.MAX_VALUE , end - position );
+  }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read the range of a byte array as a file.
+ * Each object has its own source id,
+ * so the readers share the decompressed column data only through the same object.
+ */
+public class ByteArrayBlockSource implements IBlockSource {
+
+  private static final AtomicLong SOURCE_COUNT = new AtomicLong();
+
+  private final byte[] data;
+  private final int start;
+  private final int length;
+  private final String sourceId;
+
+  public ByteArrayBlockSource( final byte[] data ) {
+    this( data , 0 , data.length );
+  }
+
+  /**
+   * Use the range of the byte array as a file.
+   */
+  public ByteArrayBlockSource( final byte[] data , final int start , final int length ) {
+    this.data = data;
+    this.start = start;
+    this.length = length;
+    sourceId = "bytes:" + SOURCE_COUNT.incrementAndGet();
+  }
+
+  @Override
+  public long size() {
+    return length;
+  }
+
+  @Override
+  public void read(
+      final long position ,
+      final byte[] buffer ,
+      final int bufferStart ,
+      final int readLength ) throws IOException {
+    if ( position < 0 || length < position + readLength ) {
+      throw new IOException( String.format(
+          "Read range is out of source. position=%d, length=%d, source size=%d" ,
+          position , readLength , length ) );
+    }
+    System.arraycopy( data , start + (int)position , buffer , bufferStart , readLength );
+  }
+
+  @Override
+  public String getSourceId() {
+    return sourceId;
+  }
+
+  @Override
+  public void close() {}
+
+}
@@ -47,6 +47,8 @@ public class ColumnBinaryTree {
   private int dataSize;
   private int allBinaryStart;
   private int allBinaryLength;
+  private boolean metaOnly;
+  private boolean mergeReadOffset = true;
 
   public ColumnBinaryTree() {
     columnNameNode = new ColumnNameNode( "root" );
@@ -118,10 +120,29 @@ public class ColumnBinaryTree {
     return currentCount;
   }
 
+  /**
+   * If true, the column data is not read and ColumnBinary has no binary.
+   */
+  public void setMetaOnly( final boolean metaOnly ) {
+    this.metaOnly = metaOnly;
+  }
+
+  /**
+   * If false, the read ranges are kept for each spread
+   * even if all spreads of the column are read.
+   */
+  public void setMergeReadOffset( final boolean mergeReadOffset ) {
+    this.mergeReadOffset = mergeReadOffset;
+  }
+
   public int getChildSize() {
     return childCount;
   }
 
+  public List<String> getChildNameList() {
+    return new ArrayList<String>( childKeyList );
+  }
+
   /**
    * Obtain the offset that needs to be read.
    */
@@ -135,6 +156,17 @@ public class ColumnBinaryTree {
     return result;
   }
 
+  /**
+   * Obtain the offset that needs to be read for the child column and its descendants.
+   */
+  public List<BlockReadOffset> getChildBlockReadOffset( final String childName ) {
+    ColumnBinaryTree childTree = childTreeMap.get( childName );
+    if ( childTree == null ) {
+      return new ArrayList<BlockReadOffset>();
+    }
+    return childTree.getBlockReadOffset();
+  }
+
   /**
    * Set a filter to determine if it is necessary to read column data.
    */
@@ -171,6 +203,8 @@ public class ColumnBinaryTree {
       String childName = new String( metaBinary , offset , childNameLength );
       offset += childNameLength;
       ColumnBinaryTree childColumnBinary = new ColumnBinaryTree();
+      childColumnBinary.setMetaOnly( metaOnly );
+      childColumnBinary.setMergeReadOffset( mergeReadOffset );
       boolean isAppend = true;
       if ( isNeedAllChild ) {
         isAppend = true;
@@ -207,7 +241,7 @@ public class ColumnBinaryTree {
     if ( currentMetaBinaryLength != 0 ) {
       byte[] childBuffer = null;
       int childStartDataOffset = 0;
-      if ( ! columnNameNode.isDisable() ) {
+      if ( ! columnNameNode.isDisable() && ! metaOnly ) {
         childBuffer = new byte[allBinaryLength];
       }
       for ( int startOffset = offset ; offset < startOffset + currentMetaBinaryLength ; ) {
@@ -234,12 +268,13 @@ public class ColumnBinaryTree {
                 childList );
           if ( spreadIndexDict == null
               || spreadIndexDict.contains( Integer.valueOf( currentCount ) ) ) {
-            if ( allBinaryLength != 0 ) {
+            if ( allBinaryLength != 0 && ! metaOnly ) {
               blockReadOffsetList.add( new BlockReadOffset(
                   childColumnBinary.binaryStart ,
                   childStartDataOffset ,
                   childColumnBinary.binaryLength ,
-                  childBuffer ) );
+                  childBuffer ,
+                  currentCount ) );
             }
             currentColumnBinaryList.add( childColumnBinary );
           } else {
@@ -251,7 +286,8 @@ public class ColumnBinaryTree {
         offset += metaBinaryLength;
         currentCount++;
       }
-      if ( allBinaryLength != 0 && currentCount == blockReadOffsetList.size() ) {
+      if ( allBinaryLength != 0 && ! metaOnly && mergeReadOffset
+          && currentCount == blockReadOffsetList.size() ) {
         blockReadOffsetList.clear();
         blockReadOffsetList.add(
             new BlockReadOffset( allBinaryStart , 0 , allBinaryLength , childBuffer ) );
@@ -25,6 +25,7 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.optimizer.BinaryMakerOptimizer;
+import jp.co.yahoo.yosegi.binary.optimizer.BinaryMakerReoptimizer;
 import jp.co.yahoo.yosegi.binary.optimizer.IOptimizerFactory;
 import jp.co.yahoo.yosegi.blockindex.EncryptionSupportedBlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
@@ -75,6 +76,8 @@ public class EncryptionSupportedBlockWriter implements IBlockWriter {
   private EncryptionSupportedColumnBinaryTree columnTree;
   private boolean makeCustomConfig;
   private IOptimizerFactory optimizerFactory;
+  private BinaryMakerReoptimizer reoptimizer;
+  private int analyzerSampleRows;
   private ICompressor compressor;
   private byte[] compressorClassNameBytes;
   private byte[] headerBytes;
@@ -102,6 +105,11 @@ public class EncryptionSupportedBlockWriter implements IBlockWriter {
     if ( YosegiConfiguration.useUserColumnMakerSetting( config ) ) {
       makeCustomConfig = false;
     }
+    reoptimizer = null;
+    if ( makeCustomConfig ) {
+      reoptimizer = BinaryMakerReoptimizer.create( config , optimizerFactory );
+    }
+    analyzerSampleRows = YosegiConfiguration.getAnalyzerSampleRows( config );
 
     keyStore = YosegiConfiguration.getKeyStore( config );
     encryptorFactory = YosegiConfiguration.getEncryptorFactory( config );
@@ -168,10 +176,13 @@ public class EncryptionSupportedBlockWriter implements IBlockWriter {
   @Override
   public List<ColumnBinary> convertRow( final Spread spread ) throws IOException {
     if ( makeCustomConfig ) {
-      List<IColumnAnalizeResult> analizeResultList = Analyzer.analize( spread );
+      List<IColumnAnalizeResult> analizeResultList =
+          Analyzer.analize( spread , analyzerSampleRows );
       BinaryMakerOptimizer optimizer = new BinaryMakerOptimizer( analizeResultList );
       configNode = optimizer.createConfigNode( configNode.getCurrentConfig() , optimizerFactory );
       makeCustomConfig = false;
+    } else if ( reoptimizer != null ) {
+      configNode = reoptimizer.reoptimize( spread , configNode );
     }
     List<ColumnBinary> result = new ArrayList<ColumnBinary>();
     for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
@@ -447,6 +458,20 @@ public class EncryptionSupportedBlockWriter implements IBlockWriter {
     return EncryptionSupportedBlockReader.class.getName();
   }
 
+  @Override
+  public int getSpreadCount() {
+    return spreadSizeList.size();
+  }
+
+  @Override
+  public int getRowCount() {
+    int rowCount = 0;
+    for ( Integer spreadSize : spreadSizeList ) {
+      rowCount += spreadSize.intValue();
+    }
+    return rowCount;
+  }
+
   @Override
   public void close() throws IOException {
     spreadSizeList.clear();
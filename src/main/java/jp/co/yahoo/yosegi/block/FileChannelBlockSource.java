@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read the file with positional reads of FileChannel.
+ * Positional reads do not change the position of the channel,
+ * so this object can be shared by multiple readers.
+ */
+public class FileChannelBlockSource implements IBlockSource {
+
+  private final FileChannel channel;
+  private final boolean closeChannel;
+  private final String sourceId;
+
+  public FileChannelBlockSource( final Path path ) throws IOException {
+    this( FileChannel.open( path , StandardOpenOption.READ ) , true ,
+        IBlockSource.createFileSourceId( path ) );
+  }
+
+  /**
+   * Read from the given FileChannel.
+   * If closeChannel is true, the channel is closed with this object.
+   * The file of the channel is unknown, so the source has no id.
+   */
+  public FileChannelBlockSource( final FileChannel channel , final boolean closeChannel ) {
+    this( channel , closeChannel , null );
+  }
+
+  private FileChannelBlockSource(
+      final FileChannel channel , final boolean closeChannel , final String sourceId ) {
+    this.channel = channel;
+    this.closeChannel = closeChannel;
+    this.sourceId = sourceId;
+  }
+
+  @Override
+  public long size() throws IOException {
+    return channel.size();
+  }
+
+  @Override
+  public void read(
+      final long position ,
+      final byte[] buffer ,
+      final int start ,
+      final int length ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    long readPosition = position;
+    while ( wrapBuffer.hasRemaining() ) {
+      int readLength = channel.read( wrapBuffer , readPosition );
+      if ( readLength < 0 ) {
+        throw new EOFException( String.format(
+            "Reached the end of file. position=%d, length=%d" , position , length ) );
+      }
+      readPosition += readLength;
+    }
+  }
+
+  @Override
+  public String getSourceId() {
+    return sourceId;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if ( closeChannel ) {
+      channel.close();
+    }
+  }
+
+}
@@ -0,0 +1,254 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The footer of a file that has the offset, length, Spread count, row count
+ * and BlockIndexNode binary of each block.
+ * The footer is written at the end of the last block, so the readers that do not know
+ * the footer read it as the padding of the last block.
+ *
+ * <p>Layout : MAGIC , block count , blocks ,
+ * footer length (from MAGIC to the end of blocks) , MAGIC.
+ * Block : offset(long) , length , Spread count , row count ,
+ * index length (-1 if there is no index) , index binary.
+ */
+public class FileFooter {
+
+  private static final byte[] MAGIC = new byte[]{'$','C','F','T'};
+
+  public static final int TAIL_SIZE = Integer.BYTES + MAGIC.length;
+
+  private static final int BLOCK_ENTRY_MIN_SIZE = Long.BYTES + ( Integer.BYTES * 4 );
+
+  private final List<BlockEntry> blockEntryList;
+
+  public static class BlockEntry {
+
+    private final long offset;
+    private final int length;
+    private final int spreadCount;
+    private final int rowCount;
+    private final byte[] blockIndexBinary;
+
+    /**
+     * Set the information of the block.
+     * If the block has no index , blockIndexBinary is null.
+     */
+    public BlockEntry(
+        final long offset ,
+        final int length ,
+        final int spreadCount ,
+        final int rowCount ,
+        final byte[] blockIndexBinary ) {
+      this.offset = offset;
+      this.length = length;
+      this.spreadCount = spreadCount;
+      this.rowCount = rowCount;
+      this.blockIndexBinary = blockIndexBinary;
+    }
+
+    public long getOffset() {
+      return offset;
+    }
+
+    public int getLength() {
+      return length;
+    }
+
+    public int getSpreadCount() {
+      return spreadCount;
+    }
+
+    public int getRowCount() {
+      return rowCount;
+    }
+
+    public byte[] getBlockIndexBinary() {
+      return blockIndexBinary;
+    }
+
+    /**
+     * Create the BlockIndexNode of the block.
+     * Returns null if the block has no index.
+     */
+    public BlockIndexNode getBlockIndexNode() throws IOException {
+      if ( blockIndexBinary == null || blockIndexBinary.length == 0 ) {
+        return null;
+      }
+      return BlockIndexNode.createFromBinary( blockIndexBinary , 0 );
+    }
+
+    private int getBinarySize() {
+      int indexLength = blockIndexBinary == null ? 0 : blockIndexBinary.length;
+      return BLOCK_ENTRY_MIN_SIZE + indexLength;
+    }
+
+  }
+
+  public FileFooter( final List<BlockEntry> blockEntryList ) {
+    this.blockEntryList = new ArrayList<BlockEntry>( blockEntryList );
+  }
+
+  public List<BlockEntry> getBlockEntryList() {
+    return Collections.unmodifiableList( blockEntryList );
+  }
+
+  /**
+   * Get the total row count of the file.
+   */
+  public long getRowCount() {
+    long rowCount = 0;
+    for ( BlockEntry entry : blockEntryList ) {
+      rowCount += entry.getRowCount();
+    }
+    return rowCount;
+  }
+
+  /**
+   * Get the size of the converted byte array.
+   */
+  public int getBinarySize() {
+    int length = MAGIC.length + Integer.BYTES;
+    for ( BlockEntry entry : blockEntryList ) {
+      length += entry.getBinarySize();
+    }
+    return length + TAIL_SIZE;
+  }
+
+  /**
+   * Convert this object to a byte array.
+   */
+  public byte[] toBinary() {
+    byte[] result = new byte[ getBinarySize() ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.put( MAGIC );
+    wrapBuffer.putInt( blockEntryList.size() );
+    for ( BlockEntry entry : blockEntryList ) {
+      wrapBuffer.putLong( entry.getOffset() );
+      wrapBuffer.putInt( entry.getLength() );
+      wrapBuffer.putInt( entry.getSpreadCount() );
+      wrapBuffer.putInt( entry.getRowCount() );
+      if ( entry.blockIndexBinary == null ) {
+        wrapBuffer.putInt( -1 );
+      } else {
+        wrapBuffer.putInt( entry.blockIndexBinary.length );
+        wrapBuffer.put( entry.blockIndexBinary );
+      }
+    }
+    wrapBuffer.putInt( result.length - TAIL_SIZE );
+    wrapBuffer.put( MAGIC );
+    return result;
+  }
+
+  /**
+   * Creates its own object from the byte array.
+   * If the counts or the lengths do not fit in the byte array, IOException is thrown.
+   */
+  public static FileFooter createFromBinary(
+      final byte[] buffer , final int start , final int length ) throws IOException {
+    if ( start < 0 || length < 0 || buffer.length - start < length ) {
+      throw new IOException( String.format(
+          "Invalid file footer range. start=%d, length=%d, buffer size=%d" ,
+          start , length , buffer.length ) );
+    }
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    checkRemaining( wrapBuffer , MAGIC.length + Integer.BYTES );
+    byte[] magic = new byte[MAGIC.length];
+    wrapBuffer.get( magic );
+    if ( ! Arrays.equals( magic , MAGIC ) ) {
+      throw new IOException( "Invalid file footer." );
+    }
+    int blockCount = wrapBuffer.getInt();
+    if ( blockCount < 0 || wrapBuffer.remaining() / BLOCK_ENTRY_MIN_SIZE < blockCount ) {
+      throw new IOException( String.format(
+          "Invalid block count of file footer. block count=%d, remaining=%d" ,
+          blockCount , wrapBuffer.remaining() ) );
+    }
+    List<BlockEntry> blockEntryList = new ArrayList<BlockEntry>( blockCount );
+    for ( int i = 0 ; i < blockCount ; i++ ) {
+      checkRemaining( wrapBuffer , BLOCK_ENTRY_MIN_SIZE );
+      long offset = wrapBuffer.getLong();
+      int blockLength = wrapBuffer.getInt();
+      int spreadCount = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int indexLength = wrapBuffer.getInt();
+      byte[] blockIndexBinary = null;
+      if ( indexLength < -1 ) {
+        throw new IOException( String.format(
+            "Invalid index length of file footer. index length=%d" , indexLength ) );
+      }
+      if ( 0 <= indexLength ) {
+        checkRemaining( wrapBuffer , indexLength );
+        blockIndexBinary = new byte[indexLength];
+        wrapBuffer.get( blockIndexBinary );
+      }
+      blockEntryList.add(
+          new BlockEntry( offset , blockLength , spreadCount , rowCount , blockIndexBinary ) );
+    }
+    return new FileFooter( blockEntryList );
+  }
+
+  private static void checkRemaining(
+      final ByteBuffer wrapBuffer , final int size ) throws IOException {
+    if ( wrapBuffer.remaining() < size ) {
+      throw new IOException( String.format(
+          "File footer is truncated. required=%d, remaining=%d" ,
+          size , wrapBuffer.remaining() ) );
+    }
+  }
+
+  /**
+   * Read the footer from the end of the file.
+   * Returns null if the file has no footer.
+   */
+  public static FileFooter read( final IBlockSource source ) throws IOException {
+    long fileSize = source.size();
+    if ( fileSize < TAIL_SIZE ) {
+      return null;
+    }
+    byte[] tail = new byte[TAIL_SIZE];
+    source.read( fileSize - TAIL_SIZE , tail , 0 , TAIL_SIZE );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( tail );
+    int footerLength = wrapBuffer.getInt();
+    byte[] magic = new byte[MAGIC.length];
+    wrapBuffer.get( magic );
+    if ( ! Arrays.equals( magic , MAGIC )
+        || footerLength < MAGIC.length + Integer.BYTES
+        || fileSize - TAIL_SIZE < footerLength ) {
+      return null;
+    }
+    byte[] footer = new byte[footerLength];
+    source.read( fileSize - TAIL_SIZE - footerLength , footer , 0 , footerLength );
+    if ( ! Arrays.equals( Arrays.copyOf( footer , MAGIC.length ) , MAGIC ) ) {
+      return null;
+    }
+    return createFromBinary( footer , 0 , footerLength );
+  }
+
+}
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * The header of a file that has the block size and the class name of the block reader.
+ * The file of variable-length blocks has a different MAGIC,
+ * so the readers that expect padded blocks do not read it.
+ *
+ * <p>Layout : MAGIC , block size , class name length , class name(UTF-16).
+ */
+public class FileHeader {
+
+  private static final byte[] MAGIC = new byte[]{'$','C','L','M'};
+  private static final byte[] VARIABLE_BLOCK_MAGIC = new byte[]{'$','C','L','V'};
+
+  private final int blockSize;
+  private final String readerClassName;
+  private final boolean variableBlock;
+  private final int binarySize;
+
+  /**
+   * Set the information of the file.
+   */
+  public FileHeader(
+      final int blockSize , final String readerClassName , final boolean variableBlock ) {
+    this.blockSize = blockSize;
+    this.readerClassName = readerClassName;
+    this.variableBlock = variableBlock;
+    binarySize = MAGIC.length + Integer.BYTES + Integer.BYTES + getClassNameLength();
+  }
+
+  private FileHeader(
+      final int blockSize ,
+      final String readerClassName ,
+      final boolean variableBlock ,
+      final int binarySize ) {
+    this.blockSize = blockSize;
+    this.readerClassName = readerClassName;
+    this.variableBlock = variableBlock;
+    this.binarySize = binarySize;
+  }
+
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  public String getReaderClassName() {
+    return readerClassName;
+  }
+
+  public boolean isVariableBlock() {
+    return variableBlock;
+  }
+
+  /**
+   * Get the size of the header in the file.
+   */
+  public int getBinarySize() {
+    return binarySize;
+  }
+
+  private int getClassNameLength() {
+    return BlockReaderNameShortCut.getShortCutName( readerClassName ).length() * Character.BYTES;
+  }
+
+  /**
+   * Convert this object to a byte array.
+   */
+  public byte[] toBinary() {
+    final String shortCutName = BlockReaderNameShortCut.getShortCutName( readerClassName );
+    final int classNameLength = getClassNameLength();
+    byte[] header = new byte[ getBinarySize() ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header );
+    final CharBuffer viewCharBuffer = wrapBuffer.asCharBuffer();
+    int offset = 0;
+    if ( variableBlock ) {
+      wrapBuffer.put( VARIABLE_BLOCK_MAGIC , 0 , VARIABLE_BLOCK_MAGIC.length );
+    } else {
+      wrapBuffer.put( MAGIC , 0 , MAGIC.length );
+    }
+    offset += MAGIC.length;
+    wrapBuffer.putInt( offset , blockSize );
+    offset += Integer.BYTES;
+    wrapBuffer.putInt( offset , classNameLength );
+    offset += Integer.BYTES;
+    viewCharBuffer.position( offset / Character.BYTES );
+    viewCharBuffer.put( shortCutName.toCharArray() );
+    return header;
+  }
+
+  /**
+   * Read the header from the beginning of the file.
+   */
+  public static FileHeader read( final InputStream in ) throws IOException {
+    byte[] magic = new byte[MAGIC.length];
+    InputStreamUtils.read( in , magic , 0 , MAGIC.length );
+
+    boolean variableBlock = Arrays.equals( magic , VARIABLE_BLOCK_MAGIC );
+    if ( ! variableBlock && ! Arrays.equals( magic , MAGIC) ) {
+      throw new IOException( "Invalid binary." );
+    }
+
+    byte[] blockSizeBytes = new byte[Integer.BYTES];
+    InputStreamUtils.read( in , blockSizeBytes , 0 , Integer.BYTES );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( blockSizeBytes );
+    final int readBlockSize = wrapBuffer.getInt( 0 );
+
+    byte[] blockClassLength = new byte[Integer.BYTES];
+    ByteBuffer wrapLengthBuffer = ByteBuffer.wrap( blockClassLength );
+    InputStreamUtils.read( in , blockClassLength , 0 , Integer.BYTES );
+    int classNameSize = wrapLengthBuffer.getInt( 0 );
+
+    byte[] blockClass = new byte[classNameSize];
+    InputStreamUtils.read( in , blockClass , 0 , classNameSize );
+    ByteBuffer classNameBuffer = ByteBuffer.wrap( blockClass );
+    CharBuffer viewCharBuffer = classNameBuffer.asCharBuffer();
+    char[] classNameChars = new char[ classNameSize / Character.BYTES ];
+    viewCharBuffer.get( classNameChars );
+    String blockReaderClass = BlockReaderNameShortCut.getClassName( new String( classNameChars ) );
+
+    return new FileHeader(
+        readBlockSize ,
+        blockReaderClass ,
+        variableBlock ,
+        MAGIC.length + ( Integer.BYTES * 2 ) + classNameSize );
+  }
+
+}
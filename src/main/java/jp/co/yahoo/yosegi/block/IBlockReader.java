@@ -38,12 +38,31 @@ public interface IBlockReader {
 
   void setStream( final InputStream in , final int blockSize ) throws IOException;
 
+  /**
+   * Set the block of blockSize bytes from blockStart of the source.
+   * By default, the range is read as InputStream.
+   */
+  default void setBlockSource(
+      final IBlockSource source ,
+      final long blockStart ,
+      final int blockSize ) throws IOException {
+    setStream( new BlockSourceInputStream( source , blockStart , blockSize ) , blockSize );
+  }
+
   boolean hasNext() throws IOException;
 
   Spread next() throws IOException;
 
   List<ColumnBinary> nextRaw() throws IOException;
 
+  /**
+   * Decompress the column data of the spreads not yet returned in advance,
+   * so that the consumer of nextRaw does not decompress them.
+   * By default, nothing is decompressed in advance.
+   */
+  default void predecompress() throws IOException {
+  }
+
   int getBlockReadCount();
 
   int getBlockCount();
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A random access source of the file to read blocks.
+ * Unlike InputStream, a block reader can read only the range it needs.
+ * The implementation must be safe to read from multiple threads.
+ */
+public interface IBlockSource extends AutoCloseable {
+
+  long size() throws IOException;
+
+  /**
+   * Read the length bytes from the position of the file into the buffer.
+   */
+  void read(
+      final long position ,
+      final byte[] buffer ,
+      final int start ,
+      final int length ) throws IOException;
+
+  /**
+   * Returns the id that identifies the content of this source, or null if it is unknown.
+   * The id must change when the file is rewritten.
+   * The readers share the decompressed column data only for the sources that have an id.
+   */
+  default String getSourceId() throws IOException {
+    return null;
+  }
+
+  /**
+   * Create the source id of the file from the length, the modification time and the path.
+   */
+  static String createFileSourceId( final Path path ) throws IOException {
+    return String.format( "%d:%d:%s" ,
+        Files.size( path ) ,
+        Files.getLastModifiedTime( path ).toMillis() ,
+        path.toAbsolutePath().normalize() );
+  }
+
+  @Override
+  void close() throws IOException;
+
+}
@@ -48,6 +48,38 @@ public interface IBlockWriter {
 
   String getReaderClassName();
 
+  /**
+   * Get the Spread count of the block to be written next.
+   * Returns -1 if this writer does not support it.
+   */
+  default int getSpreadCount() {
+    return -1;
+  }
+
+  /**
+   * Get the row count of the block to be written next.
+   * Returns -1 if this writer does not support it.
+   */
+  default int getRowCount() {
+    return -1;
+  }
+
+  /**
+   * Get the BlockIndexNode binary of the block to be written next.
+   * Returns null if the index can not be read outside of the block.
+   */
+  default byte[] getBlockIndexBinary() throws IOException {
+    return null;
+  }
+
+  /**
+   * Whether the written block can be copied to another file as it is.
+   * Returns false if the block depends on the file, such as the encrypted block.
+   */
+  default boolean canCopyBlock() {
+    return false;
+  }
+
   void close() throws IOException;
 
 }
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read the file through memory mapped buffers.
+ * Since a MappedByteBuffer can not exceed 2GB,
+ * the file is mapped in segments of segmentSize bytes.
+ */
+public class MappedFileBlockSource implements IBlockSource {
+
+  private static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024 * 1024;
+
+  private final MappedByteBuffer[] segmentArray;
+  private final int segmentSize;
+  private final long fileSize;
+  private final String sourceId;
+
+  public MappedFileBlockSource( final Path path ) throws IOException {
+    this( path , DEFAULT_SEGMENT_SIZE );
+  }
+
+  /**
+   * Map the whole file with the specified segment size.
+   */
+  public MappedFileBlockSource( final Path path , final int segmentSize ) throws IOException {
+    if ( segmentSize <= 0 ) {
+      throw new IllegalArgumentException( "Segment size must be greater than 0." );
+    }
+    this.segmentSize = segmentSize;
+    sourceId = IBlockSource.createFileSourceId( path );
+    try ( FileChannel channel = FileChannel.open( path , StandardOpenOption.READ ) ) {
+      fileSize = channel.size();
+      int segmentCount = (int)( ( fileSize + segmentSize - 1 ) / segmentSize );
+      segmentArray = new MappedByteBuffer[segmentCount];
+      for ( int i = 0 ; i < segmentCount ; i++ ) {
+        long segmentStart = (long)i * segmentSize;
+        segmentArray[i] = channel.map(
+            FileChannel.MapMode.READ_ONLY ,
+            segmentStart ,
+            Math.min( segmentSize , fileSize - segmentStart ) );
+      }
+    }
+  }
+
+  @Override
+  public long size() {
+    return fileSize;
+  }
+
+  @Override
+  public void read(
+      final long position ,
+      final byte[] buffer ,
+      final int start ,
+      final int length ) throws IOException {
+    if ( position < 0 || fileSize < position + length ) {
+      throw new IOException( String.format(
+          "Read range is out of file. position=%d, length=%d, file size=%d" ,
+          position , length , fileSize ) );
+    }
+    long readPosition = position;
+    int bufferOffset = start;
+    int remaining = length;
+    while ( 0 < remaining ) {
+      int segmentIndex = (int)( readPosition / segmentSize );
+      int segmentOffset = (int)( readPosition % segmentSize );
+      // The position of the mapped buffer is not shared between threads.
+      ByteBuffer segment = segmentArray[segmentIndex].duplicate();
+      int readLength = Math.min( remaining , segment.limit() - segmentOffset );
+      segment.position( segmentOffset );
+      segment.get( buffer , bufferOffset , readLength );
+      readPosition += readLength;
+      bufferOffset += readLength;
+      remaining -= readLength;
+    }
+  }
+
+  @Override
+  public String getSourceId() {
+    return sourceId;
+  }
+
+  @Override
+  public void close() {}
+
+}
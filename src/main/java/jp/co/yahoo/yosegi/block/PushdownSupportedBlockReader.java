@@ -19,6 +19,8 @@
 package jp.co.yahoo.yosegi.block;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryCache;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryCacheKey;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
@@ -31,9 +33,11 @@ import jp.co.yahoo.yosegi.inmemory.SpreadRawConverter;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.expand.ExpandFunctionFactory;
 import jp.co.yahoo.yosegi.spread.expand.IExpandFunction;
+import jp.co.yahoo.yosegi.spread.expand.NotExpandFunction;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
 import jp.co.yahoo.yosegi.spread.flatten.FlattenFunctionFactory;
 import jp.co.yahoo.yosegi.spread.flatten.IFlattenFunction;
+import jp.co.yahoo.yosegi.spread.flatten.NotFlattenFunction;
 import jp.co.yahoo.yosegi.stats.SummaryStats;
 import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
 
@@ -48,10 +52,13 @@ import java.util.Set;
 
 public class PushdownSupportedBlockReader implements IBlockReader {
 
+  private static final int DEFAULT_READ_COALESCE_SIZE = 1024 * 64;
+
   private final Block block;
   private final ColumnBinaryTree columnBinaryTree = new ColumnBinaryTree();
   private final List<Integer> spreadSizeList = new ArrayList<Integer>();
   private final SummaryStats readSummaryStats = new SummaryStats();
+  private final Set<Integer> lateSkipSpreadIndexDict = new HashSet<Integer>();
 
   private ColumnNameNode columnFilterNode;
   private int readCount;
@@ -61,6 +68,13 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   private BlockIndexNode blockIndexNode = new BlockIndexNode();
   private IExpressionNode blockSkipIndex;
   private long readBytes = 0;
+  private int readCoalesceSize = DEFAULT_READ_COALESCE_SIZE;
+  private boolean metaOnly;
+  private boolean useColumnCache;
+  private String cacheSourceId;
+  private long cacheBlockOffset = -1;
+  private Set<Integer> readSpreadIndexDict;
+  private boolean lateMaterialization;
 
   public PushdownSupportedBlockReader() {
     block = new Block();
@@ -77,10 +91,33 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     return result;
   }
 
+  /**
+   * Set up the reader.
+   * If "reader.block.meta.only" is true, only the header and meta of the block are read,
+   * and ColumnBinary has no column data.
+   * It is used to read the statistics , and expand and flatten are not applied.
+   * If "reader.column.cache" is true, the decompressed column data of the blocks
+   * read from IBlockSource is shared by the readers through ColumnBinaryCache.
+   * The data is identified by IBlockSource.getSourceId(),
+   * and the sources without an id are not cached.
+   * The size of the process-wide cache is set by ColumnBinaryCache.setMaxBytes().
+   * If "reader.block.late.materialization" is true and blockSkipIndex is set,
+   * the columns of blockSkipIndex are read and evaluated first,
+   * and the other columns are read only for the spreads that have matched rows.
+   * The consumer receives the predicate columns as ColumnBinary and decodes them again,
+   * so the predicate columns of the matched spreads are decoded twice.
+   * Unless the column cache is enabled, they are also decompressed twice.
+   */
   @Override
   public void setup( final Configuration config ) throws IOException {
     expandFunction = ExpandFunctionFactory.get( config );
     flattenFunction = FlattenFunctionFactory.get( config );
+    readCoalesceSize = config.getInt(
+        "reader.block.read.coalesce.size" , DEFAULT_READ_COALESCE_SIZE );
+    metaOnly = config.get( "reader.block.meta.only" , "false" ).equals( "true" );
+    lateMaterialization =
+        config.get( "reader.block.late.materialization" , "false" ).equals( "true" );
+    useColumnCache = config.get( "reader.column.cache" , "false" ).equals( "true" );
 
     columnFilterNode = new ColumnNameNode( "root" );
     List<String[]> needColumnList =
@@ -139,6 +176,15 @@ public class PushdownSupportedBlockReader implements IBlockReader {
 
   @Override
   public void setStream( final InputStream in , final int blockSize ) throws IOException {
+    cacheSourceId = null;
+    cacheBlockOffset = -1;
+    setStream( in , blockSize , null );
+  }
+
+  private void setStream(
+      final InputStream in ,
+      final int blockSize ,
+      final BlockSourceInputStream sourceIn ) throws IOException {
     clear();
     byte[] compressorClassLengthBytes = new byte[Integer.BYTES];
     InputStreamUtils.read( in , compressorClassLengthBytes , 0 , Integer.BYTES );
@@ -163,8 +209,10 @@ public class PushdownSupportedBlockReader implements IBlockReader {
       blockIndexList = blockSkipIndex.getBlockSpreadIndex( blockIndexNode );
     }
     if ( blockIndexList != null && blockIndexList.isEmpty() ) {
-      InputStreamUtils.skip(
-          in , blockSize - ( 4 + compressorClassLength + 4 + blockIndexBinary.length ) );
+      if ( sourceIn == null ) {
+        InputStreamUtils.skip(
+            in , blockSize - ( 4 + compressorClassLength + 4 + blockIndexBinary.length ) );
+      }
     } else {
       Set<Integer> spreadIndexDict = null;
       if ( blockIndexList != null ) {
@@ -173,17 +221,27 @@ public class PushdownSupportedBlockReader implements IBlockReader {
       setStream(
           in ,
           blockSize - ( 4 + compressorClassLength + 4 + blockIndexBinary.length ) ,
-          spreadIndexDict );
+          spreadIndexDict ,
+          sourceIn );
     }
   }
 
   private void setStream(
       final InputStream in ,
       final int blockSize ,
-      final Set<Integer> spreadIndexDict ) throws IOException {
+      final Set<Integer> spreadIndexDict ,
+      final BlockSourceInputStream sourceIn ) throws IOException {
     spreadSizeList.clear();
     columnBinaryTree.clear();
+    lateSkipSpreadIndexDict.clear();
+    readSpreadIndexDict = spreadIndexDict;
+    Set<String> predicateColumnNameSet = null;
+    if ( sourceIn != null ) {
+      predicateColumnNameSet = getPredicateColumnNameSet();
+    }
     columnBinaryTree.setColumnFilter( columnFilterNode );
+    columnBinaryTree.setMetaOnly( metaOnly );
+    columnBinaryTree.setMergeReadOffset( predicateColumnNameSet == null );
 
     byte[] spreadSizeLengthBytes = new byte[Integer.BYTES];
     ByteBuffer wrapBuffer = ByteBuffer.wrap( spreadSizeLengthBytes );
@@ -214,14 +272,26 @@ public class PushdownSupportedBlockReader implements IBlockReader {
 
     block.setColumnBinaryTree( columnBinaryTree );
 
+    List<BlockReadOffset> readOffsetList = columnBinaryTree.getBlockReadOffset();
+    Collections.sort( readOffsetList );
+
+    if ( sourceIn != null ) {
+      if ( predicateColumnNameSet == null ) {
+        readColumnData( sourceIn.getSource() , sourceIn.getPosition() , readOffsetList );
+      } else {
+        readColumnDataLate(
+            sourceIn.getSource() , sourceIn.getPosition() , predicateColumnNameSet );
+      }
+      readCount = 0;
+      return;
+    }
+
     int dataBufferLength =
         blockSize
         - metaLength
         - Integer.BYTES
         - Integer.BYTES
         - Integer.BYTES * spreadSizeLength;
-    List<BlockReadOffset> readOffsetList = columnBinaryTree.getBlockReadOffset();
-    Collections.sort( readOffsetList );
 
     int inOffset = 0;
     for ( BlockReadOffset blockReadOffset : readOffsetList ) {
@@ -238,6 +308,171 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     readCount = 0;
   }
 
+  /**
+   * Read only the column data required from the source.
+   * The header and meta of the block are read in order,
+   * and the column data is read by the positional read.
+   */
+  @Override
+  public void setBlockSource(
+      final IBlockSource source ,
+      final long blockStart ,
+      final int blockSize ) throws IOException {
+    BlockSourceInputStream sourceIn =
+        new BlockSourceInputStream( source , blockStart , blockSize );
+    cacheSourceId = useColumnCache ? source.getSourceId() : null;
+    cacheBlockOffset = blockStart;
+    setStream( sourceIn , blockSize , sourceIn );
+  }
+
+  /**
+   * Get the top level column names of blockSkipIndex for the late materialization.
+   * Returns null if the late materialization can not be applied,
+   * for example when the columns of the expression are not known or not read,
+   * or when expand and flatten change the columns.
+   */
+  private Set<String> getPredicateColumnNameSet() {
+    if ( ! lateMaterialization
+        || blockSkipIndex == null
+        || metaOnly
+        || ! ( expandFunction instanceof NotExpandFunction )
+        || ! ( flattenFunction instanceof NotFlattenFunction ) ) {
+      return null;
+    }
+    List<String[]> columnPathList = blockSkipIndex.getColumnPathList();
+    if ( columnPathList == null || columnPathList.isEmpty() ) {
+      return null;
+    }
+    Set<String> result = new HashSet<String>();
+    for ( String[] columnPath : columnPathList ) {
+      if ( columnPath.length == 0 || ! isReadColumn( columnPath ) ) {
+        return null;
+      }
+      result.add( columnPath[0] );
+    }
+    return result;
+  }
+
+  private boolean isReadColumn( final String[] columnPath ) {
+    ColumnNameNode currentNode = columnFilterNode;
+    for ( String columnName : columnPath ) {
+      if ( currentNode.isNeedAllChild() ) {
+        return true;
+      }
+      currentNode = currentNode.getChild( columnName );
+      if ( currentNode == null ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Read the columns of blockSkipIndex and evaluate the spreads,
+   * and then read the other columns of the spreads that have matched rows.
+   * The spreads that have no matched row are returned as the skipped spread.
+   * The predicate columns are returned as raw ColumnBinary and decoded again by the consumer.
+   * If ColumnBinaryCache is enabled, the second decode reuses the decompressed data.
+   */
+  private void readColumnDataLate(
+      final IBlockSource source ,
+      final long dataStart ,
+      final Set<String> predicateColumnNameSet ) throws IOException {
+    List<BlockReadOffset> predicateOffsetList = new ArrayList<BlockReadOffset>();
+    List<BlockReadOffset> otherOffsetList = new ArrayList<BlockReadOffset>();
+    for ( String childName : columnBinaryTree.getChildNameList() ) {
+      if ( predicateColumnNameSet.contains( childName ) ) {
+        predicateOffsetList.addAll( columnBinaryTree.getChildBlockReadOffset( childName ) );
+      } else {
+        otherOffsetList.addAll( columnBinaryTree.getChildBlockReadOffset( childName ) );
+      }
+    }
+    Collections.sort( predicateOffsetList );
+    readColumnData( source , dataStart , predicateOffsetList );
+
+    SpreadRawConverter converter = new SpreadRawConverter();
+    for ( int i = 0 ; i < block.size() ; i++ ) {
+      if ( readSpreadIndexDict != null && ! readSpreadIndexDict.contains( i ) ) {
+        continue;
+      }
+      // NOTE: The consumer decodes the predicate columns again, so they share the cache.
+      setCacheKey( block.get( i ) , i );
+      List<ColumnBinary> predicateColumnList = new ArrayList<ColumnBinary>();
+      for ( ColumnBinary columnBinary : block.get( i ) ) {
+        if ( predicateColumnNameSet.contains( columnBinary.columnName ) ) {
+          predicateColumnList.add( columnBinary );
+        }
+      }
+      boolean[] result = blockSkipIndex.exec(
+          converter.convert( predicateColumnList , spreadSizeList.get( i ) ) );
+      if ( result != null && ! containsTrue( result ) ) {
+        lateSkipSpreadIndexDict.add( i );
+      }
+    }
+
+    List<BlockReadOffset> readOffsetList = new ArrayList<BlockReadOffset>();
+    for ( BlockReadOffset blockReadOffset : otherOffsetList ) {
+      if ( ! lateSkipSpreadIndexDict.contains( blockReadOffset.spreadIndex ) ) {
+        readOffsetList.add( blockReadOffset );
+      }
+    }
+    Collections.sort( readOffsetList );
+    readColumnData( source , dataStart , readOffsetList );
+  }
+
+  private static boolean containsTrue( final boolean[] result ) {
+    for ( boolean isMatch : result ) {
+      if ( isMatch ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Read the column data with the positional read.
+   * Ranges whose gap is within readCoalesceSize are read at once,
+   * so that reading many small columns does not issue many small reads.
+   */
+  private void readColumnData(
+      final IBlockSource source ,
+      final long dataStart ,
+      final List<BlockReadOffset> readOffsetList ) throws IOException {
+    int index = 0;
+    while ( index < readOffsetList.size() ) {
+      BlockReadOffset first = readOffsetList.get( index );
+      int rangeEnd = first.streamStart + first.length;
+      int nextIndex = index + 1;
+      while ( nextIndex < readOffsetList.size() ) {
+        BlockReadOffset next = readOffsetList.get( nextIndex );
+        if ( readCoalesceSize < next.streamStart - rangeEnd ) {
+          break;
+        }
+        rangeEnd = Math.max( rangeEnd , next.streamStart + next.length );
+        nextIndex++;
+      }
+
+      if ( nextIndex == index + 1 ) {
+        source.read(
+            dataStart + first.streamStart , first.buffer , first.bufferStart , first.length );
+      } else {
+        byte[] rangeBuffer = new byte[ rangeEnd - first.streamStart ];
+        source.read( dataStart + first.streamStart , rangeBuffer , 0 , rangeBuffer.length );
+        for ( int i = index ; i < nextIndex ; i++ ) {
+          BlockReadOffset blockReadOffset = readOffsetList.get( i );
+          System.arraycopy(
+              rangeBuffer ,
+              blockReadOffset.streamStart - first.streamStart ,
+              blockReadOffset.buffer ,
+              blockReadOffset.bufferStart ,
+              blockReadOffset.length );
+        }
+      }
+      readBytes += rangeEnd - first.streamStart;
+      index = nextIndex;
+    }
+  }
+
   @Override
   public boolean hasNext() throws IOException {
     return readCount < block.size();
@@ -256,6 +491,13 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   public List<ColumnBinary> nextRaw() throws IOException {
     List<ColumnBinary> columnBinaryList = block.get( readCount );
     readCount++;
+    if ( lateSkipSpreadIndexDict.contains( readCount - 1 ) ) {
+      return new ArrayList<ColumnBinary>();
+    }
+    if ( metaOnly ) {
+      return columnBinaryList;
+    }
+    setCacheKey( columnBinaryList , readCount - 1 );
     int loadSize = expandFunction.expandFromColumnBinary(
         columnBinaryList , getCurrentSpreadSize() );
     if ( getCurrentSpreadSize() != loadSize ) {
@@ -264,6 +506,68 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     return flattenFunction.flattenFromColumnBinary( columnBinaryList );
   }
 
+  /**
+   * Decompress the columns of the spreads not yet returned.
+   * The spreads whose data is not read and the spreads skipped by blockSkipIndex are ignored.
+   */
+  @Override
+  public void predecompress() throws IOException {
+    if ( metaOnly ) {
+      return;
+    }
+    for ( int i = readCount ; i < block.size() ; i++ ) {
+      if ( lateSkipSpreadIndexDict.contains( i )
+          || ( readSpreadIndexDict != null && ! readSpreadIndexDict.contains( i ) ) ) {
+        continue;
+      }
+      predecompress( block.get( i ) );
+    }
+  }
+
+  private static void predecompress(
+      final List<ColumnBinary> columnBinaryList ) throws IOException {
+    for ( ColumnBinary columnBinary : columnBinaryList ) {
+      if ( columnBinary == null ) {
+        continue;
+      }
+      FindColumnBinaryMaker.get( columnBinary.makerClassName ).predecompress( columnBinary );
+      if ( columnBinary.columnBinaryList != null ) {
+        predecompress( columnBinary.columnBinaryList );
+      }
+    }
+  }
+
+  /**
+   * Set the key of ColumnBinaryCache to the columns of the spread.
+   * The spreads skipped by blockSkipIndex are not cached because their data is not read.
+   */
+  private void setCacheKey(
+      final List<ColumnBinary> columnBinaryList , final int spreadIndex ) {
+    if ( cacheSourceId == null || cacheBlockOffset < 0 ) {
+      return;
+    }
+    if ( readSpreadIndexDict != null
+        && ! readSpreadIndexDict.contains( Integer.valueOf( spreadIndex ) ) ) {
+      return;
+    }
+    ColumnBinaryCacheKey rootKey =
+        new ColumnBinaryCacheKey( cacheSourceId , cacheBlockOffset , spreadIndex );
+    setCacheKey( columnBinaryList , rootKey );
+  }
+
+  private void setCacheKey(
+      final List<ColumnBinary> columnBinaryList , final ColumnBinaryCacheKey parentKey ) {
+    for ( ColumnBinary columnBinary : columnBinaryList ) {
+      if ( columnBinary == null ) {
+        continue;
+      }
+      columnBinary.cacheKey = parentKey.getChild( columnBinary.columnName );
+      if ( columnBinary.columnBinaryList != null ) {
+        setCacheKey( columnBinary.columnBinaryList , columnBinary.cacheKey );
+      }
+    }
+  }
+
   @Override
   public int getBlockReadCount() {
     return readCount;
@@ -298,6 +602,7 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   public void clear() {
     spreadSizeList.clear();
     columnBinaryTree.clear();
+    lateSkipSpreadIndexDict.clear();
     readCount = 0;
     readBytes = 0;
     block.setColumnBinaryTree( null );
@@ -25,6 +25,7 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.optimizer.BinaryMakerOptimizer;
+import jp.co.yahoo.yosegi.binary.optimizer.BinaryMakerReoptimizer;
 import jp.co.yahoo.yosegi.binary.optimizer.FindOptimizerFactory;
 import jp.co.yahoo.yosegi.binary.optimizer.IOptimizerFactory;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
@@ -33,6 +34,7 @@ import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
 import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.config.YosegiConfiguration;
 import jp.co.yahoo.yosegi.message.parser.IParser;
 import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
 import jp.co.yahoo.yosegi.spread.Spread;
@@ -43,9 +45,14 @@ import jp.co.yahoo.yosegi.util.ByteArrayData;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class PushdownSupportedBlockWriter implements IBlockWriter {
 
@@ -61,8 +68,15 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
   private ColumnBinaryTree columnTree;
   private boolean makeCustomConfig;
   private IOptimizerFactory optimizerFactory;
+  private BinaryMakerReoptimizer reoptimizer;
+  private int analyzerSampleRows;
   private ICompressor compressor;
   private byte[] compressorClassNameBytes;
+  private boolean spreadRangeIndex;
+  private boolean externalDictionary;
+  private int encodeThreads = 1;
+  private Executor encodeExecutor;
+  private ForkJoinPool encodePool;
 
   private byte[] headerBytes;
 
@@ -85,6 +99,10 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
       defaultConfig.compressorClass =
           FindCompressor.get( config.get( "spread.column.maker.default.compress.class" ) );
     }
+    if ( config.containsKey( "spread.column.maker.default.bloom.filter.bits.per.key" ) ) {
+      defaultConfig.bloomFilterBitsPerKey =
+          config.getInt( "spread.column.maker.default.bloom.filter.bits.per.key" , 0 );
+    }
     if ( config.containsKey( "compress.optimize.allowed.ratio" ) ) {
       double allowedRatio = config.getDouble( "compress.optimize.allowed.ratio" , 1.25d );
       if ( 0 < Double.valueOf( allowedRatio ).compareTo( 0d ) ) {
@@ -106,6 +124,11 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
       configNode = new ColumnBinaryMakerCustomConfigNode( "root" , defaultConfig );
     }
     compressResultNode = new CompressResultNode();
+    reoptimizer = null;
+    if ( makeCustomConfig ) {
+      reoptimizer = BinaryMakerReoptimizer.create( config , optimizerFactory );
+    }
+    analyzerSampleRows = YosegiConfiguration.getAnalyzerSampleRows( config );
 
     metaBuffer = new ByteArrayData( META_BUFFER_SIZE );
     columnTree = new ColumnBinaryTree();
@@ -116,6 +139,68 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
         "jp.co.yahoo.yosegi.compressor.DefaultCompressor" ) );
     compressorClassNameBytes = CompressorNameShortCut.getShortCutName(
         compressor.getClass().getName() ).getBytes( "UTF-8" );
+
+    spreadRangeIndex =
+        config.get( "block.maker.spread.range.index" , "false" ).equals( "true" );
+    externalDictionary =
+        config.get( "block.maker.compress.external.dictionary" , "false" ).equals( "true" );
+    shutdownEncodePool();
+    encodeThreads = config.getInt( "block.maker.encode.threads" , 1 );
+  }
+
+  /**
+   * Encode the columns of a Spread on the given Executor.
+   * The Executor is not shut down by this writer.
+   * If null is set, the columns are encoded by "block.maker.encode.threads".
+   */
+  public void setEncodeExecutor( final Executor encodeExecutor ) {
+    this.encodeExecutor = encodeExecutor;
+  }
+
+  private Executor getEncodeExecutor() {
+    if ( encodeExecutor != null ) {
+      return encodeExecutor;
+    }
+    if ( encodeThreads <= 1 ) {
+      return null;
+    }
+    if ( encodePool == null ) {
+      encodePool = new ForkJoinPool( encodeThreads );
+    }
+    return encodePool;
+  }
+
+  private void shutdownEncodePool() {
+    if ( encodePool != null ) {
+      encodePool.shutdown();
+      encodePool = null;
+    }
+  }
+
+  /**
+   * Set the compression dictionary of the column.
+   * The child columns of the column use the same dictionary.
+   * It must be called after setup.
+   * The dictionary is registered with the compressor of the column,
+   * and IOException is thrown if the compressor does not support dictionaries.
+   * The dictionary is not written to the file, and a reader must register it
+   * with the compressor as well,
+   * so "block.maker.compress.external.dictionary" must be true.
+   */
+  public void setCompressDictionary(
+      final String columnName , final byte[] dictionary ) throws IOException {
+    if ( ! externalDictionary ) {
+      throw new IOException( "The compression dictionary is not stored in the file. "
+          + "Set block.maker.compress.external.dictionary=true "
+          + "if the reader registers the dictionary." );
+    }
+    ColumnBinaryMakerConfig columnConfig = configNode.getCurrentConfig();
+    ColumnBinaryMakerCustomConfigNode childConfigNode = configNode.getChildConfigNode( columnName );
+    if ( childConfigNode != null ) {
+      columnConfig = childConfigNode.getCurrentConfig();
+    }
+    columnConfig.compressorClass.registerCompressDictionary( dictionary );
+    compressResultNode.getChild( columnName ).setDictionary( dictionary );
   }
 
   @Override
@@ -134,12 +219,7 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
   @Override
   public void append(
         final int spreadSize , final List<ColumnBinary> binaryList ) throws IOException {
-    for ( ColumnBinary columnBinary : binaryList ) {
-      if ( columnBinary != null ) {
-        IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
-        maker.setBlockIndexNode( blockIndexNode , columnBinary , getRegisterSpreadCount() );
-      }
-    }
+    setBlockIndexNode( blockIndexNode , binaryList );
     spreadSizeList.add( spreadSize );
 
     columnTree.addChild( binaryList );
@@ -151,30 +231,79 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
   @Override
   public List<ColumnBinary> convertRow( final Spread spread ) throws IOException {
     if ( makeCustomConfig ) {
-      List<IColumnAnalizeResult> analizeResultList = Analyzer.analize( spread );
+      List<IColumnAnalizeResult> analizeResultList =
+          Analyzer.analize( spread , analyzerSampleRows );
       BinaryMakerOptimizer optimizer = new BinaryMakerOptimizer( analizeResultList );
       configNode = optimizer.createConfigNode( configNode.getCurrentConfig() , optimizerFactory );
       makeCustomConfig = false;
+    } else if ( reoptimizer != null ) {
+      configNode = reoptimizer.reoptimize( spread , configNode );
     }
-    List<ColumnBinary> result = new ArrayList<ColumnBinary>();
+    Executor executor = getEncodeExecutor();
+    if ( executor == null || spread.getColumnSize() <= 1 ) {
+      List<ColumnBinary> result = new ArrayList<ColumnBinary>();
+      for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
+        result.add( toBinary( spread.getColumn( i ) ) );
+      }
+      return result;
+    }
+
+    // CompressResultNode is not thread-safe,
+    // so the child nodes are created here and each task only touches its own subtree.
+    List<CompletableFuture<ColumnBinary>> futureList =
+        new ArrayList<CompletableFuture<ColumnBinary>>();
     for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
       IColumn column = spread.getColumn( i );
-      ColumnBinaryMakerConfig commonConfig = configNode.getCurrentConfig();
-      ColumnBinaryMakerCustomConfigNode childConfigNode =
-          configNode.getChildConfigNode( column.getColumnName() );
-      IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
-      if ( childConfigNode != null ) {
-        maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
+      CompressResultNode childCompressResultNode =
+          compressResultNode.getChild( column.getColumnName() );
+      futureList.add( CompletableFuture.supplyAsync(
+          () -> toBinaryUnchecked( column , childCompressResultNode ) , executor ) );
+    }
+    List<ColumnBinary> result = new ArrayList<ColumnBinary>();
+    for ( CompletableFuture<ColumnBinary> future : futureList ) {
+      try {
+        result.add( future.get() );
+      } catch ( InterruptedException ex ) {
+        Thread.currentThread().interrupt();
+        throw new IOException( ex );
+      } catch ( ExecutionException ex ) {
+        Throwable cause = ex.getCause();
+        if ( cause instanceof UncheckedIOException ) {
+          throw ( (UncheckedIOException)cause ).getCause();
+        }
+        throw new IOException( cause );
       }
-      result.add( maker.toBinary(
-          commonConfig ,
-          childConfigNode ,
-          compressResultNode.getChild( column.getColumnName() ) ,
-          column ) );
     }
     return result;
   }
 
+  private ColumnBinary toBinary( final IColumn column ) throws IOException {
+    return toBinary( column , compressResultNode.getChild( column.getColumnName() ) );
+  }
+
+  private ColumnBinary toBinary(
+      final IColumn column ,
+      final CompressResultNode childCompressResultNode ) throws IOException {
+    ColumnBinaryMakerConfig commonConfig = configNode.getCurrentConfig();
+    ColumnBinaryMakerCustomConfigNode childConfigNode =
+        configNode.getChildConfigNode( column.getColumnName() );
+    IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
+    if ( childConfigNode != null ) {
+      maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
+    }
+    return maker.toBinary( commonConfig , childConfigNode , childCompressResultNode , column );
+  }
+
+  private ColumnBinary toBinaryUnchecked(
+      final IColumn column ,
+      final CompressResultNode childCompressResultNode ) {
+    try {
+      return toBinary( column , childCompressResultNode );
+    } catch ( IOException ex ) {
+      throw new UncheckedIOException( ex );
+    }
+  }
+
   @Override
   public boolean canAppend( final List<ColumnBinary> binaryList ) throws IOException {
     boolean result = sizeAfterAppend( binaryList ) <= blockSize;
@@ -186,16 +315,33 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
   }
 
   /**
-   * Calculate the data size after addition.
+   * Set the index of the Spread to be appended.
+   * If "block.maker.spread.range.index" is true,
+   * the range of each Spread is kept so that the reader can skip Spreads in the block.
    */
-  public int sizeAfterAppend( final List<ColumnBinary> binaryList ) throws IOException {
-    BlockIndexNode cloneBlockIndexNode = blockIndexNode.clone();
+  private void setBlockIndexNode(
+      final BlockIndexNode targetNode , final List<ColumnBinary> binaryList ) throws IOException {
+    BlockIndexNode spreadNode = targetNode;
+    if ( spreadRangeIndex ) {
+      spreadNode = new BlockIndexNode();
+    }
     for ( ColumnBinary columnBinary : binaryList ) {
       if ( columnBinary != null ) {
         IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
-        maker.setBlockIndexNode( cloneBlockIndexNode , columnBinary , getRegisterSpreadCount() );
+        maker.setBlockIndexNode( spreadNode , columnBinary , getRegisterSpreadCount() );
       }
     }
+    if ( spreadRangeIndex ) {
+      targetNode.setSpreadBlockIndex( spreadNode , getRegisterSpreadCount() );
+    }
+  }
+
+  /**
+   * Calculate the data size after addition.
+   */
+  public int sizeAfterAppend( final List<ColumnBinary> binaryList ) throws IOException {
+    BlockIndexNode cloneBlockIndexNode = blockIndexNode.clone();
+    setBlockIndexNode( cloneBlockIndexNode , binaryList );
     int appendSpreadSizeBinary = Integer.BYTES;
     return blockMetaSize()
         + appendSpreadSizeBinary
@@ -308,11 +454,38 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     return PushdownSupportedBlockReader.class.getName();
   }
 
+  @Override
+  public boolean canCopyBlock() {
+    return true;
+  }
+
+  @Override
+  public int getSpreadCount() {
+    return spreadSizeList.size();
+  }
+
+  @Override
+  public int getRowCount() {
+    int rowCount = 0;
+    for ( Integer spreadSize : spreadSizeList ) {
+      rowCount += spreadSize.intValue();
+    }
+    return rowCount;
+  }
+
+  @Override
+  public byte[] getBlockIndexBinary() throws IOException {
+    byte[] result = new byte[ blockIndexNode.getBinarySize() ];
+    blockIndexNode.toBinary( result , 0 );
+    return result;
+  }
+
   @Override
   public void close() throws IOException {
     spreadSizeList.clear();
     metaBuffer.clear();
     columnTree.clear();
+    shutdownEncodePool();
   }
 
   private int getRegisterSpreadCount() {
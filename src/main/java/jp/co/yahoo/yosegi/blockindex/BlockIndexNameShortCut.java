@@ -36,6 +36,8 @@ public final class BlockIndexNameShortCut {
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.blockindex.FullRangeBlockIndex"   , "FR0" );
 
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.blockindex.BooleanBlockIndex"   , "BI0" );
+
+    CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex"   , "BF0" );
   }
 
   private BlockIndexNameShortCut() {}
@@ -63,6 +63,33 @@ public class BlockIndexNode {
     }
   }
 
+  /**
+   * Set the Index of a Spread to this Node and its children.
+   * Supported indexes are kept for each Spread by FullRangeBlockIndex.
+   */
+  public void setSpreadBlockIndex( final BlockIndexNode spreadNode , final int spreadIndex ) {
+    if ( isDisable ) {
+      return;
+    }
+    if ( spreadNode.isDisable ) {
+      disable();
+      return;
+    }
+    IBlockIndex spreadBlockIndex = spreadNode.blockIndex;
+    if ( spreadBlockIndex != null ) {
+      if ( FullRangeBlockIndex.isSupported( spreadBlockIndex ) ) {
+        spreadBlockIndex = new FullRangeBlockIndex( spreadIndex , spreadBlockIndex );
+      }
+      setBlockIndex( spreadBlockIndex );
+    }
+    for ( Map.Entry<String,BlockIndexNode> entry : spreadNode.childContainer.entrySet() ) {
+      if ( isDisable ) {
+        return;
+      }
+      getChildNode( entry.getKey() ).setSpreadBlockIndex( entry.getValue() , spreadIndex );
+    }
+  }
+
   /**
    * Invalidate Index of this Node.
    */
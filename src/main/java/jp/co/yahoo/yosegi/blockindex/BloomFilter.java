@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.blockindex;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A bloom filter of 64 bit hashes.
+ * The bit positions are made by double hashing of the upper and lower 32 bits.
+ */
+public class BloomFilter {
+
+  public static final int DEFAULT_BITS_PER_KEY = 10;
+
+  private static final int MAX_HASH_COUNT = 16;
+
+  private final long[] bits;
+  private final int hashCount;
+
+  public BloomFilter( final long[] bits , final int hashCount ) {
+    this.bits = bits;
+    this.hashCount = hashCount;
+  }
+
+  /**
+   * Create a filter for the expected number of keys.
+   * If expectedKeys is unknown, pass the number of rows.
+   */
+  public static BloomFilter create( final int expectedKeys , final int bitsPerKey ) {
+    long bitLength = (long)Math.max( 1 , expectedKeys ) * Math.max( 1 , bitsPerKey );
+    int wordLength = (int)Math.min( Integer.MAX_VALUE / Long.BYTES , ( bitLength + 63 ) / 64 );
+    int hashCount = (int)Math.round( Math.max( 1 , bitsPerKey ) * Math.log( 2 ) );
+    hashCount = Math.max( 1 , Math.min( MAX_HASH_COUNT , hashCount ) );
+    return new BloomFilter( new long[wordLength] , hashCount );
+  }
+
+  /**
+   * Hash a long value.
+   */
+  public static long hash( final long value ) {
+    long mixed = ( value ^ ( value >>> 33 ) ) * 0xff51afd7ed558ccdL;
+    mixed = ( mixed ^ ( mixed >>> 33 ) ) * 0xc4ceb9fe1a85ec53L;
+    return mixed ^ ( mixed >>> 33 );
+  }
+
+  /**
+   * Hash a string value from its UTF-16 chars.
+   */
+  public static long hash( final String value ) {
+    long mixed = 0xcbf29ce484222325L;
+    for ( int i = 0 ; i < value.length() ; i++ ) {
+      mixed ^= value.charAt( i );
+      mixed *= 0x100000001b3L;
+    }
+    return hash( mixed ^ value.length() );
+  }
+
+  /**
+   * Add the hash of a value.
+   */
+  public void add( final long hash ) {
+    long bitLength = (long)bits.length * 64;
+    int hash1 = (int)hash;
+    // An odd step does not cycle within the power of two bit length.
+    int hash2 = (int)( hash >>> 32 ) | 1;
+    for ( int i = 0 ; i < hashCount ; i++ ) {
+      long bitIndex = ( ( hash1 + (long)i * hash2 ) & Long.MAX_VALUE ) % bitLength;
+      bits[ (int)( bitIndex >>> 6 ) ] |= 1L << bitIndex;
+    }
+  }
+
+  /**
+   * Returns false if the value of the hash is never added.
+   */
+  public boolean mightContain( final long hash ) {
+    long bitLength = (long)bits.length * 64;
+    int hash1 = (int)hash;
+    int hash2 = (int)( hash >>> 32 ) | 1;
+    for ( int i = 0 ; i < hashCount ; i++ ) {
+      long bitIndex = ( ( hash1 + (long)i * hash2 ) & Long.MAX_VALUE ) % bitLength;
+      if ( ( bits[ (int)( bitIndex >>> 6 ) ] & ( 1L << bitIndex ) ) == 0 ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int getHashCount() {
+    return hashCount;
+  }
+
+  public int getBinarySize() {
+    return Integer.BYTES * 2 + Long.BYTES * bits.length;
+  }
+
+  /**
+   * Write this filter to the buffer.
+   */
+  public void toBinary( final ByteBuffer wrapBuffer ) {
+    wrapBuffer.putInt( hashCount );
+    wrapBuffer.putInt( bits.length );
+    for ( long word : bits ) {
+      wrapBuffer.putLong( word );
+    }
+  }
+
+  /**
+   * Read a filter from the buffer.
+   */
+  public static BloomFilter createFromBinary( final ByteBuffer wrapBuffer ) {
+    int hashCount = wrapBuffer.getInt();
+    long[] bits = new long[ wrapBuffer.getInt() ];
+    for ( int i = 0 ; i < bits.length ; i++ ) {
+      bits[i] = wrapBuffer.getLong();
+    }
+    return new BloomFilter( bits , hashCount );
+  }
+
+  @Override
+  public BloomFilter clone() {
+    return new BloomFilter( bits.clone() , hashCount );
+  }
+
+}
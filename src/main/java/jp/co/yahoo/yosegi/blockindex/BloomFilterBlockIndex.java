@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.blockindex;
+
+import jp.co.yahoo.yosegi.spread.column.filter.FilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringDictionaryFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.StringFilterType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Block index that holds a range index of the block and a bloom filter for each Spread.
+ * The range index is checked first,
+ * and equality filters are checked with the bloom filter of each Spread.
+ * Supports StringRangeBlockIndex and LongRangeBlockIndex as range index.
+ *
+ * <p>If it is merged with a range index without bloom filter,
+ * the bloom filters are dropped and only the range index is used.
+ */
+public class BloomFilterBlockIndex implements IBlockIndex {
+
+  private IBlockIndex rangeIndex;
+  private boolean hasAllSpreadFilter;
+  private List<SpreadBloomFilter> childList = new ArrayList<SpreadBloomFilter>();
+
+  public BloomFilterBlockIndex() {}
+
+  /**
+   * Set an initial value to create a new object.
+   */
+  public BloomFilterBlockIndex(
+      final IBlockIndex rangeIndex , final int spreadIndex , final BloomFilter bloomFilter ) {
+    getTypeToByte( rangeIndex.getBlockIndexType() );
+    this.rangeIndex = rangeIndex;
+    hasAllSpreadFilter = true;
+    childList.add( new SpreadBloomFilter( spreadIndex , bloomFilter ) );
+  }
+
+  private static final class SpreadBloomFilter {
+
+    private final int index;
+    private final BloomFilter bloomFilter;
+
+    public SpreadBloomFilter( final int index , final BloomFilter bloomFilter ) {
+      this.index = index;
+      this.bloomFilter = bloomFilter;
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    public BloomFilter getBloomFilter() {
+      return bloomFilter;
+    }
+
+  }
+
+  private static byte getTypeToByte( final BlockIndexType type ) {
+    switch ( type ) {
+      case RANGE_STRING:
+        return 0;
+      case RANGE_LONG:
+        return 1;
+      default:
+        throw new UnsupportedOperationException( "Unsupport index type : " + type );
+    }
+  }
+
+  private static IBlockIndex getByteToBlockIndex( final byte type ) {
+    switch ( type ) {
+      case 0:
+        return new StringRangeBlockIndex();
+      case 1:
+        return new LongRangeBlockIndex();
+      default:
+        throw new UnsupportedOperationException( "Unsupport index type" );
+    }
+  }
+
+  public IBlockIndex getRangeIndex() {
+    return rangeIndex;
+  }
+
+  @Override
+  public BlockIndexType getBlockIndexType() {
+    return BlockIndexType.BLOOM_FILTER;
+  }
+
+  @Override
+  public IBlockIndex clone() {
+    BloomFilterBlockIndex result = new BloomFilterBlockIndex();
+    result.rangeIndex = rangeIndex.clone();
+    result.hasAllSpreadFilter = hasAllSpreadFilter;
+    // The bloom filters are not modified after creation, so they are shared.
+    result.childList.addAll( childList );
+    return result;
+  }
+
+  @Override
+  public boolean merge( final IBlockIndex blockIndex ) {
+    if ( blockIndex instanceof BloomFilterBlockIndex ) {
+      BloomFilterBlockIndex bloomFilterBlockIndex = (BloomFilterBlockIndex)blockIndex;
+      if ( ! rangeIndex.merge( bloomFilterBlockIndex.getRangeIndex() ) ) {
+        return false;
+      }
+      if ( hasAllSpreadFilter && bloomFilterBlockIndex.hasAllSpreadFilter ) {
+        childList.addAll( bloomFilterBlockIndex.childList );
+      } else {
+        hasAllSpreadFilter = false;
+        childList.clear();
+      }
+      return true;
+    }
+    if ( ! rangeIndex.merge( blockIndex ) ) {
+      return false;
+    }
+    hasAllSpreadFilter = false;
+    childList.clear();
+    return true;
+  }
+
+  @Override
+  public int getBinarySize() {
+    int total = Byte.BYTES + Integer.BYTES + rangeIndex.getBinarySize()
+        + Byte.BYTES + Integer.BYTES;
+    for ( SpreadBloomFilter child : childList ) {
+      total += Integer.BYTES + child.getBloomFilter().getBinarySize();
+    }
+    return total;
+  }
+
+  @Override
+  public byte[] toBinary() {
+    byte[] result = new byte[getBinarySize()];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    byte[] rangeBinary = rangeIndex.toBinary();
+    wrapBuffer.put( getTypeToByte( rangeIndex.getBlockIndexType() ) );
+    wrapBuffer.putInt( rangeBinary.length );
+    wrapBuffer.put( rangeBinary );
+    wrapBuffer.put( hasAllSpreadFilter ? (byte)1 : (byte)0 );
+    wrapBuffer.putInt( childList.size() );
+    for ( SpreadBloomFilter child : childList ) {
+      wrapBuffer.putInt( child.getIndex() );
+      child.getBloomFilter().toBinary( wrapBuffer );
+    }
+    return result;
+  }
+
+  @Override
+  public void setFromBinary( final byte[] buffer , final int start , final int length ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    rangeIndex = getByteToBlockIndex( wrapBuffer.get() );
+    byte[] rangeBinary = new byte[ wrapBuffer.getInt() ];
+    wrapBuffer.get( rangeBinary , 0 , rangeBinary.length );
+    rangeIndex.setFromBinary( rangeBinary , 0 , rangeBinary.length );
+    hasAllSpreadFilter = wrapBuffer.get() == (byte)1;
+    int num = wrapBuffer.getInt();
+    childList.clear();
+    for ( int i = 0 ; i < num ; i++ ) {
+      int spreadIndex = wrapBuffer.getInt();
+      childList.add(
+          new SpreadBloomFilter( spreadIndex , BloomFilter.createFromBinary( wrapBuffer ) ) );
+    }
+  }
+
+  private long[] getSearchHashList( final IFilter filter ) {
+    switch ( rangeIndex.getBlockIndexType() ) {
+      case RANGE_STRING:
+        switch ( filter.getFilterType() ) {
+          case STRING:
+            IStringFilter stringFilter = (IStringFilter)filter;
+            if ( stringFilter.getStringFilterType() != StringFilterType.PERFECT ) {
+              return null;
+            }
+            return new long[]{ BloomFilter.hash( stringFilter.getSearchString() ) };
+          case STRING_DICTIONARY:
+            Set<String> dictionary = ( (IStringDictionaryFilter)filter ).getDictionary();
+            long[] result = new long[ dictionary.size() ];
+            int index = 0;
+            for ( String str : dictionary ) {
+              result[index++] = BloomFilter.hash( str );
+            }
+            return result;
+          default:
+            return null;
+        }
+      case RANGE_LONG:
+        if ( filter.getFilterType() != FilterType.NUMBER ) {
+          return null;
+        }
+        NumberFilter numberFilter = (NumberFilter)filter;
+        if ( numberFilter.getNumberFilterType() != NumberFilterType.EQUAL ) {
+          return null;
+        }
+        try {
+          return new long[]{ BloomFilter.hash( numberFilter.getNumberObject().getLong() ) };
+        } catch ( NumberFormatException | IOException ex ) {
+          return null;
+        }
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * From the filter condition, apply the filter corresponding to
+   * this Index and obtain the index of Spread that needs to be read.
+   */
+  @Override
+  public List<Integer> getBlockSpreadIndex( final IFilter filter ) {
+    List<Integer> rangeResult = rangeIndex.getBlockSpreadIndex( filter );
+    if ( rangeResult != null || ! hasAllSpreadFilter ) {
+      return rangeResult;
+    }
+    long[] hashList = getSearchHashList( filter );
+    if ( hashList == null ) {
+      return null;
+    }
+    List<Integer> result = new ArrayList<Integer>();
+    for ( SpreadBloomFilter child : childList ) {
+      for ( long hash : hashList ) {
+        if ( child.getBloomFilter().mightContain( hash ) ) {
+          result.add( child.getIndex() );
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public IBlockIndex getNewInstance() {
+    return new BloomFilterBlockIndex();
+  }
+
+}
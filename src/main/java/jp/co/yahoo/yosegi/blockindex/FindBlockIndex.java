@@ -21,12 +21,13 @@ package jp.co.yahoo.yosegi.blockindex;
 import jp.co.yahoo.yosegi.util.FindClass;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FindBlockIndex {
 
-  private static final Map<String,IBlockIndex> CACHE = new HashMap<String,IBlockIndex>();
+  private static final Map<String,IBlockIndex> CACHE =
+      new ConcurrentHashMap<String,IBlockIndex>();
 
   private FindBlockIndex() {}
 
@@ -34,14 +35,14 @@ public final class FindBlockIndex {
    * Get IBlockIndex from class name.
    */
   public static IBlockIndex get( final String target ) throws IOException {
+    if ( target == null || target.isEmpty() ) {
+      throw new IOException( "IBlockIndex class name is null or empty." );
+    }
     IBlockIndex cacheResult = CACHE.get( target );
     if ( cacheResult != null ) {
       return cacheResult.getNewInstance();
     }
 
-    if ( target == null || target.isEmpty() ) {
-      throw new IOException( "IBlockIndex class name is null or empty." );
-    }
     Object obj = FindClass.getObject( target , true , FindBlockIndex.class.getClassLoader() );
     if ( ! ( obj instanceof IBlockIndex ) ) {
       throw new IOException( "Invalid IBlockIndex class : " + target );
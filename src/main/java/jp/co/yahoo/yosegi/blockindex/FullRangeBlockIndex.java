@@ -24,6 +24,11 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Block index that keeps the index of each Spread in the block.
+ * Unlike the range index merged into one range per block,
+ * the Spreads that need to be read can be selected inside the block.
+ */
 public class FullRangeBlockIndex implements IBlockIndex {
 
   public List<RangeBlockIndex> childList = new ArrayList<RangeBlockIndex>();
@@ -34,6 +39,17 @@ public class FullRangeBlockIndex implements IBlockIndex {
    * Set an initial value to create a new object.
    */
   public FullRangeBlockIndex( final int spreadIndex , final IBlockIndex index ) {
+    if ( ! isSupported( index ) ) {
+      throw new UnsupportedOperationException(
+          "Unsupport index type : " + index.getBlockIndexType() );
+    }
+    childList.add( new RangeBlockIndex( spreadIndex , index ) );
+  }
+
+  /**
+   * Determine whether the index can be kept for each Spread.
+   */
+  public static boolean isSupported( final IBlockIndex index ) {
     switch ( index.getBlockIndexType() ) {
       case RANGE_STRING:
       case RANGE_BYTE:
@@ -42,12 +58,11 @@ public class FullRangeBlockIndex implements IBlockIndex {
       case RANGE_LONG:
       case RANGE_FLOAT:
       case RANGE_DOUBLE:
-        break;
+      case BLOOM_FILTER:
+        return true;
       default:
-        throw new UnsupportedOperationException(
-            "Unsupport index type : " + index.getBlockIndexType() );
+        return false;
     }
-    childList.add( new RangeBlockIndex( spreadIndex , index ) );
   }
 
   private final class RangeBlockIndex {
@@ -103,6 +118,8 @@ public class FullRangeBlockIndex implements IBlockIndex {
         return 5;
       case RANGE_DOUBLE:
         return 6;
+      case BLOOM_FILTER:
+        return 7;
       default:
         throw new UnsupportedOperationException( "Unsupport index type : " + type );
     }
@@ -127,6 +144,8 @@ public class FullRangeBlockIndex implements IBlockIndex {
         return new FloatRangeBlockIndex();
       case 6:
         return new DoubleRangeBlockIndex();
+      case 7:
+        return new BloomFilterBlockIndex();
       default:
         throw new UnsupportedOperationException( "Unsupport index type"  );
     }
@@ -195,12 +214,20 @@ public class FullRangeBlockIndex implements IBlockIndex {
 
   /**
    * Get the index of Spread that needs to be read.
+   * Spreads without the column have no entry, so the null filters read all Spreads.
    */
   public List<Integer> getBlockSpreadIndex( final IFilter filter ) {
+    switch ( filter.getFilterType() ) {
+      case NULL:
+      case NOT_NULL:
+        return null;
+      default:
+        break;
+    }
     List<Integer> result = new ArrayList<Integer>();
     for ( RangeBlockIndex index : childList ) {
       List<Integer> childResult = index.getBlockIndex().getBlockSpreadIndex( filter );
-      if ( childResult == null ) {
+      if ( childResult == null || ! childResult.isEmpty() ) {
         result.add( index.getIndex() );
       }
     }
@@ -54,6 +54,9 @@ public class LongRangeBlockIndex implements IBlockIndex {
 
   @Override
   public boolean merge( final IBlockIndex blockIndex ) {
+    if ( blockIndex instanceof BloomFilterBlockIndex ) {
+      return merge( ( (BloomFilterBlockIndex)blockIndex ).getRangeIndex() );
+    }
     if ( ! ( blockIndex instanceof LongRangeBlockIndex ) ) {
       return false;
     }
@@ -57,6 +57,9 @@ public class StringRangeBlockIndex implements IBlockIndex {
 
   @Override
   public boolean merge( final IBlockIndex blockIndex ) {
+    if ( blockIndex instanceof BloomFilterBlockIndex ) {
+      return merge( ( (BloomFilterBlockIndex)blockIndex ).getRangeIndex() );
+    }
     if ( ! ( blockIndex instanceof StringRangeBlockIndex ) ) {
       return false;
     }
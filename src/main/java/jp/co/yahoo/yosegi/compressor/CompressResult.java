@@ -28,6 +28,7 @@ public class CompressResult {
   private boolean isEnd = false;
   private double startLevelDataRatio = -1.0d;
   private int currentLevel = 0;
+  private byte[] dictionary;
 
   public CompressResult( final CompressionPolicy compressionPolicy , final double allowedRatio ) {
     this.compressionPolicy = compressionPolicy;
@@ -48,6 +49,22 @@ public class CompressResult {
     return currentLevel;
   }
 
+  /**
+   * Get the dictionary for compression.
+   * Returns null if no dictionary is set.
+   */
+  public byte[] getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Set the dictionary for compression.
+   * Compressors that do not support dictionaries ignore it.
+   */
+  public void setDictionary( final byte[] dictionary ) {
+    this.dictionary = dictionary;
+  }
+
   /**
    * Feed back the result after compression.
    */
@@ -35,6 +35,7 @@ public final class CompressorNameShortCut {
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.SnappyCommonsCompressor" , "snappy" );
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.LzmaCommonsCompressor" , "lzma" );
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.ZstdCommonsCompressor" , "zstd" );
+    CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.ZstdCompressor" , "zstd_2" );
   }
 
   private CompressorNameShortCut() {}
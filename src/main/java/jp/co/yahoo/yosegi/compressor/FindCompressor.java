@@ -21,13 +21,13 @@ package jp.co.yahoo.yosegi.compressor;
 import jp.co.yahoo.yosegi.util.FindClass;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FindCompressor {
 
   private static final Object LOCK = new Object();
-  private static final Map<String,ICompressor> CACHE = new HashMap<String,ICompressor>();
+  private static final Map<String,ICompressor> CACHE = new ConcurrentHashMap<String,ICompressor>();
 
   private FindCompressor() {}
 
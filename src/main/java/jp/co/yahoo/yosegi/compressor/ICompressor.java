@@ -53,4 +53,13 @@ public interface ICompressor {
       final int length ,
       final byte[] buffer ) throws IOException;
 
+  /**
+   * Register the dictionary so that the data compressed with it can be decompressed.
+   * The compressor that does not support dictionaries throws IOException.
+   */
+  default void registerCompressDictionary( final byte[] dictionary ) throws IOException {
+    throw new IOException(
+        getClass().getName() + " does not support the compression dictionary." );
+  }
+
 }
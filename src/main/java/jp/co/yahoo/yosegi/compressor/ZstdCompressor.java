@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compress with the byte array API of zstd-jni.
+ * Compression and decompression contexts are reused from a bounded pool per dictionary.
+ * The contexts that do not fit in the pool are closed after use.
+ * The binary is the decompressed length, the dictionary id and a zstd frame.
+ * A dictionary id of 0 means that no dictionary was used.
+ * The dictionary is not stored in the binary,
+ * so register it with registerDictionary() before reading the binary.
+ */
+public class ZstdCompressor implements ICompressor {
+
+  private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+  private static final Map<Integer,byte[]> DICTIONARY =
+      new ConcurrentHashMap<Integer,byte[]>();
+
+  private static final int MAX_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+  private static final Map<Integer,BlockingQueue<ZstdCompressCtx>> COMPRESS_CONTEXT =
+      new ConcurrentHashMap<Integer,BlockingQueue<ZstdCompressCtx>>();
+  private static final Map<Integer,BlockingQueue<ZstdDecompressCtx>> DECOMPRESS_CONTEXT =
+      new ConcurrentHashMap<Integer,BlockingQueue<ZstdDecompressCtx>>();
+
+  /**
+   * Register the dictionary used for decompression.
+   * Returns the dictionary id.
+   */
+  public static int registerDictionary( final byte[] dictionary ) throws IOException {
+    int dictionaryId = getDictionaryId( dictionary );
+    DICTIONARY.put( dictionaryId , dictionary );
+    return dictionaryId;
+  }
+
+  /**
+   * Train a dictionary from the sample binaries.
+   */
+  public static byte[] trainDictionary(
+      final List<byte[]> sampleList , final int dictionarySize ) throws IOException {
+    int sampleSize = 0;
+    for ( byte[] sample : sampleList ) {
+      sampleSize += sample.length;
+    }
+    ZstdDictTrainer trainer = new ZstdDictTrainer( sampleSize , dictionarySize );
+    for ( byte[] sample : sampleList ) {
+      trainer.addSample( sample );
+    }
+    try {
+      return trainer.trainSamples();
+    } catch ( ZstdException ex ) {
+      throw new IOException( ex );
+    }
+  }
+
+  private int getCompressLevel( final CompressionPolicy compressionPolicy ) {
+    switch ( compressionPolicy ) {
+      case BEST_SPEED:
+        return 1;
+      case SPEED:
+        return 2;
+      case DEFAULT:
+        return 3;
+      case BEST_COMPRESSION:
+        return 19;
+      default:
+        return 3;
+    }
+  }
+
+  /**
+   * Returns the dictionary id of a zstd dictionary.
+   */
+  public static int getDictionaryId( final byte[] dictionary ) throws IOException {
+    int dictionaryId = (int)Zstd.getDictIdFromDict( dictionary );
+    if ( dictionaryId == 0 ) {
+      throw new IOException( "This binary is not a zstd dictionary." );
+    }
+    return dictionaryId;
+  }
+
+  private static ZstdCompressCtx getCompressContext(
+      final int dictionaryId , final byte[] dictionary ) {
+    ZstdCompressCtx context = COMPRESS_CONTEXT.computeIfAbsent(
+        dictionaryId , key -> new ArrayBlockingQueue<ZstdCompressCtx>( MAX_POOL_SIZE ) ).poll();
+    if ( context == null ) {
+      context = new ZstdCompressCtx();
+      context.setDictID( false );
+      if ( dictionary != null ) {
+        context.loadDict( dictionary );
+      }
+    }
+    return context;
+  }
+
+  private static void releaseCompressContext(
+      final int dictionaryId , final ZstdCompressCtx context ) {
+    if ( ! COMPRESS_CONTEXT.get( dictionaryId ).offer( context ) ) {
+      context.close();
+    }
+  }
+
+  private static ZstdDecompressCtx getDecompressContext(
+      final int dictionaryId ) throws IOException {
+    ZstdDecompressCtx context = DECOMPRESS_CONTEXT.computeIfAbsent(
+        dictionaryId , key -> new ArrayBlockingQueue<ZstdDecompressCtx>( MAX_POOL_SIZE ) ).poll();
+    if ( context == null ) {
+      byte[] dictionary = null;
+      if ( dictionaryId != 0 ) {
+        dictionary = DICTIONARY.get( dictionaryId );
+        if ( dictionary == null ) {
+          throw new IOException(
+              "The zstd dictionary " + Integer.toUnsignedString( dictionaryId )
+              + " is not registered." );
+        }
+      }
+      context = new ZstdDecompressCtx();
+      if ( dictionary != null ) {
+        context.loadDict( dictionary );
+      }
+    }
+    return context;
+  }
+
+  private static void releaseDecompressContext(
+      final int dictionaryId , final ZstdDecompressCtx context ) {
+    if ( ! DECOMPRESS_CONTEXT.get( dictionaryId ).offer( context ) ) {
+      context.close();
+    }
+  }
+
+  @Override
+  public void registerCompressDictionary( final byte[] dictionary ) throws IOException {
+    registerDictionary( dictionary );
+  }
+
+  @Override
+  public byte[] compress(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final CompressResult compressResult ) throws IOException {
+    int level = getCompressLevel( compressResult.getCompressionPolicy() );
+    int optLevel = compressResult.getCurrentLevel();
+    if ( ( level - optLevel ) < 1 ) {
+      compressResult.setEnd();
+      optLevel = compressResult.getCurrentLevel();
+    }
+    byte[] dictionary = compressResult.getDictionary();
+    int dictionaryId = 0;
+    if ( dictionary != null ) {
+      dictionaryId = getDictionaryId( dictionary );
+    }
+
+    byte[] retVal = new byte[ HEADER_SIZE + (int)Zstd.compressBound( length ) ];
+    int compressLength;
+    ZstdCompressCtx context = getCompressContext( dictionaryId , dictionary );
+    try {
+      context.setLevel( level - optLevel );
+      compressLength = context.compressByteArray(
+          retVal , HEADER_SIZE , retVal.length - HEADER_SIZE , data , start , length );
+    } catch ( ZstdException ex ) {
+      throw new IOException( ex );
+    } finally {
+      releaseCompressContext( dictionaryId , context );
+    }
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( retVal );
+    wrapBuffer.putInt( length );
+    wrapBuffer.putInt( dictionaryId );
+
+    compressResult.feedBack( length , compressLength );
+
+    return Arrays.copyOf( retVal , HEADER_SIZE + compressLength );
+  }
+
+  @Override
+  public int getDecompressSize(
+      final byte[] data , final int start , final int length ) throws IOException {
+    return ByteBuffer.wrap( data , start , length ).getInt();
+  }
+
+  @Override
+  public byte[] decompress(
+      final byte[] data , final int start , final int length ) throws IOException {
+    byte[] retVal = new byte[ getDecompressSize( data , start , length ) ];
+    decompressAndSet( data , start , length , retVal );
+    return retVal;
+  }
+
+  @Override
+  public int decompressAndSet(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final byte[] buffer ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
+    int dataLength = wrapBuffer.getInt();
+    int dictionaryId = wrapBuffer.getInt();
+    if ( dataLength == 0 ) {
+      return 0;
+    }
+    ZstdDecompressCtx context = getDecompressContext( dictionaryId );
+    int size;
+    try {
+      size = context.decompressByteArray(
+          buffer , 0 , dataLength , data , start + HEADER_SIZE , length - HEADER_SIZE );
+    } catch ( ZstdException ex ) {
+      throw new IOException( ex );
+    } finally {
+      releaseDecompressContext( dictionaryId , context );
+    }
+    if ( size != dataLength ) {
+      throw new IOException( "Broken data." );
+    }
+    return dataLength;
+  }
+
+}
@@ -51,6 +51,15 @@ public final class YosegiConfiguration {
   public static final String PROP_COLUMN_MAKER_OPTIMIZER_CLASS =
       "spread.column.maker.use.auto.optimizer.factory.class";
 
+  public static final String PROP_COLUMN_MAKER_REOPTIMIZE =
+      "spread.column.maker.reoptimize";
+  public static final String PROP_COLUMN_MAKER_REOPTIMIZE_RATIO =
+      "spread.column.maker.reoptimize.ratio";
+  public static final String PROP_COLUMN_MAKER_REOPTIMIZE_INTERVAL =
+      "spread.column.maker.reoptimize.interval";
+  public static final String PROP_COLUMN_MAKER_ANALYZER_SAMPLE_ROWS =
+      "spread.column.maker.analyzer.sample.rows";
+
   public static final String PROP_COMPRESS_OPTIMIZE_ALLOWED_RATIO =
       "compress.optimize.allowed.ratio";
 
@@ -82,6 +91,48 @@ public final class YosegiConfiguration {
     }
   }
 
+  /**
+   * Whether to re-optimize the makers on the Spreads after the first one.
+   * It is used only with the optimizer.
+   */
+  public static boolean useBinaryReoptimizer( final Configuration config ) {
+    return config.get( PROP_COLUMN_MAKER_REOPTIMIZE , "false" ).equals( "true" );
+  }
+
+  /**
+   * Get the ratio of the estimated sizes to replace the maker of a column.
+   */
+  public static double getBinaryReoptimizeRatio( final Configuration config ) {
+    double ratio = config.getDouble( PROP_COLUMN_MAKER_REOPTIMIZE_RATIO , 1.5d );
+    if ( 1d <= ratio ) {
+      return ratio;
+    } else {
+      return 1.5d;
+    }
+  }
+
+  /**
+   * Get the number of Spreads between re-optimizations.
+   * Each re-optimization analyzes the whole Spread unless the sample rows are set,
+   * so the default is not every Spread.
+   */
+  public static int getBinaryReoptimizeInterval( final Configuration config ) {
+    int interval = config.getInt( PROP_COLUMN_MAKER_REOPTIMIZE_INTERVAL , 10 );
+    if ( 1 <= interval ) {
+      return interval;
+    } else {
+      return 10;
+    }
+  }
+
+  /**
+   * Get the number of rows read to analyze a column for the optimizer.
+   * 0 means all rows are analyzed.
+   */
+  public static int getAnalyzerSampleRows( final Configuration config ) {
+    return Math.max( 0 , config.getInt( PROP_COLUMN_MAKER_ANALYZER_SAMPLE_ROWS , 0 ) );
+  }
+
   /**
    * Whether to use column maker setting.
    */
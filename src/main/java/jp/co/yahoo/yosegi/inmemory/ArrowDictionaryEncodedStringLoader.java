@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.ByteObj;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.ShortObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+
+import java.io.IOException;
+
+/**
+ * A loader that keeps the dictionary of the column binary as an Arrow dictionary.
+ * Each row holds only the index of the dictionary.
+ */
+public class ArrowDictionaryEncodedStringLoader implements IDictionaryLoader<ValueVector> {
+
+  private final IntVector vector;
+  private final VarCharVector dictionaryVector;
+  private final int loadSize;
+  private boolean[] hasValueArray;
+
+  /**
+   * A loader that holds the dictionary indexes.
+   */
+  public ArrowDictionaryEncodedStringLoader(
+      final IntVector vector , final VarCharVector dictionaryVector , final int loadSize ) {
+    this.vector = vector;
+    this.vector.allocateNew( loadSize );
+    this.vector.setValueCount( loadSize );
+    this.dictionaryVector = dictionaryVector;
+    this.dictionaryVector.allocateNew();
+    this.loadSize = loadSize;
+    hasValueArray = new boolean[0];
+  }
+
+  @Override
+  public int getLoadSize() {
+    return loadSize;
+  }
+
+  @Override
+  public ValueVector build() throws IOException {
+    dictionaryVector.setValueCount( hasValueArray.length );
+    return vector;
+  }
+
+  @Override
+  public void finish() throws IOException {
+  }
+
+  @Override
+  public void setNull( final int index ) throws IOException {
+    vector.setNull( index );
+  }
+
+  @Override
+  public void createDictionary( final int dictionarySize ) throws IOException {
+    hasValueArray = new boolean[dictionarySize];
+  }
+
+  @Override
+  public void setDictionaryIndex( final int index , final int dicIndex ) throws IOException {
+    if ( hasValueArray[dicIndex] ) {
+      vector.set( index , dicIndex );
+    } else {
+      setNull( index );
+    }
+  }
+
+  @Override
+  public void setNullToDic( final int index ) throws IOException {
+    hasValueArray[index] = false;
+  }
+
+  @Override
+  public void setBytesToDic(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    dictionaryVector.setSafe( index , value , start , length );
+    hasValueArray[index] = true;
+  }
+
+  @Override
+  public void setStringToDic( final int index , final String value ) throws IOException {
+    setBytesToDic( index , new StringObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setBooleanToDic( final int index , final boolean value ) throws IOException {
+    setBytesToDic( index , new BooleanObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setByteToDic( final int index , final byte value ) throws IOException {
+    setBytesToDic( index , new ByteObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setShortToDic( final int index , final short value ) throws IOException {
+    setBytesToDic( index , new ShortObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setIntegerToDic( final int index , final int value ) throws IOException {
+    setBytesToDic( index , new IntegerObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setLongToDic( final int index , final long value ) throws IOException {
+    setBytesToDic( index , new LongObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setFloatToDic( final int index , final float value ) throws IOException {
+    setBytesToDic( index , new FloatObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setDoubleToDic( final int index , final double value ) throws IOException {
+    setBytesToDic( index , new DoubleObj( value ).getBytes() );
+  }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the dictionaries of the string columns loaded as Arrow dictionary encoded vectors.
+ *
+ * <p>A string column is loaded as an IntVector of dictionary indexes,
+ * and its field has a DictionaryEncoding whose id is used to lookup the dictionary.
+ * The same column keeps the same id and dictionary vector across batches.
+ * The dictionary vectors are owned by this provider and released by close().</p>
+ */
+public class ArrowDictionaryProvider implements DictionaryProvider, AutoCloseable {
+
+  private static final ArrowType.Int INDEX_TYPE = new ArrowType.Int( 32 , true );
+
+  private final BufferAllocator allocator;
+  private final Map<Long,Dictionary> dictionaryMap = new HashMap<Long,Dictionary>();
+  private long nextId;
+
+  public ArrowDictionaryProvider( final BufferAllocator allocator ) {
+    this.allocator = allocator;
+  }
+
+  /**
+   * Get the index vector of the column, and create it if it does not exist.
+   */
+  public IntVector getOrCreateIndexVector( final StructVector parent , final String columnName ) {
+    DictionaryEncoding encoding = findEncoding( parent , columnName );
+    if ( encoding == null ) {
+      encoding = new DictionaryEncoding( nextId++ , false , INDEX_TYPE );
+    }
+    return parent.addOrGet(
+        columnName , new FieldType( true , INDEX_TYPE , encoding , null ) , IntVector.class );
+  }
+
+  /**
+   * Get the dictionary vector of the index vector.
+   */
+  public VarCharVector getDictionaryVector( final IntVector indexVector ) {
+    DictionaryEncoding encoding = indexVector.getField().getDictionary();
+    Dictionary dictionary = dictionaryMap.get( encoding.getId() );
+    if ( dictionary == null ) {
+      VarCharVector dictionaryVector = new VarCharVector(
+          indexVector.getField().getName() , allocator );
+      dictionary = new Dictionary( dictionaryVector , encoding );
+      dictionaryMap.put( encoding.getId() , dictionary );
+    }
+    return (VarCharVector)dictionary.getVector();
+  }
+
+  private DictionaryEncoding findEncoding( final StructVector parent , final String columnName ) {
+    for ( Field child : parent.getField().getChildren() ) {
+      if ( child.getName().equals( columnName )
+          && child.getDictionary() != null
+          && dictionaryMap.containsKey( child.getDictionary().getId() ) ) {
+        return child.getDictionary();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Dictionary lookup( final long id ) {
+    return dictionaryMap.get( id );
+  }
+
+  public Set<Long> getDictionaryIds() {
+    return dictionaryMap.keySet();
+  }
+
+  @Override
+  public void close() {
+    for ( Dictionary dictionary : dictionaryMap.values() ) {
+      dictionary.getVector().close();
+    }
+    dictionaryMap.clear();
+  }
+
+}
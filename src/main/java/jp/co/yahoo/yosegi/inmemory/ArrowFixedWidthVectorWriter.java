@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BitVectorHelper;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Write decoded primitive arrays directly to the data and validity buffers
+ * of a fixed width vector.
+ *
+ * <p>The caller must check the range with canWrite() first,
+ * because the buffers are not reallocated as setSafe() does.</p>
+ */
+final class ArrowFixedWidthVectorWriter {
+
+  private ArrowFixedWidthVectorWriter() {}
+
+  /**
+   * Whether the rows fit in the current capacity of the vector.
+   */
+  static boolean canWrite(
+      final BaseFixedWidthVector vector , final int startIndex , final int rows ) {
+    return 0 <= startIndex && startIndex + rows <= vector.getValueCapacity();
+  }
+
+  static void writeInt(
+      final BaseFixedWidthVector vector ,
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final int[] values ) {
+    ArrowBuf dataBuffer = vector.getDataBuffer();
+    if ( hasNoNull( isNullArray ) ) {
+      toByteBuffer( dataBuffer , startIndex , isNullArray.length , Integer.BYTES )
+          .asIntBuffer().put( values , 0 , isNullArray.length );
+      setValidRange( vector.getValidityBuffer() , startIndex , isNullArray.length );
+      return;
+    }
+    int valueIndex = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( ! isNullArray[i] ) {
+        dataBuffer.setInt( (long)( startIndex + i ) * Integer.BYTES , values[valueIndex++] );
+      }
+    }
+    setValidity( vector.getValidityBuffer() , startIndex , isNullArray );
+  }
+
+  static void writeLong(
+      final BaseFixedWidthVector vector ,
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final long[] values ) {
+    ArrowBuf dataBuffer = vector.getDataBuffer();
+    if ( hasNoNull( isNullArray ) ) {
+      toByteBuffer( dataBuffer , startIndex , isNullArray.length , Long.BYTES )
+          .asLongBuffer().put( values , 0 , isNullArray.length );
+      setValidRange( vector.getValidityBuffer() , startIndex , isNullArray.length );
+      return;
+    }
+    int valueIndex = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( ! isNullArray[i] ) {
+        dataBuffer.setLong( (long)( startIndex + i ) * Long.BYTES , values[valueIndex++] );
+      }
+    }
+    setValidity( vector.getValidityBuffer() , startIndex , isNullArray );
+  }
+
+  static void writeFloat(
+      final BaseFixedWidthVector vector ,
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final float[] values ) {
+    ArrowBuf dataBuffer = vector.getDataBuffer();
+    if ( hasNoNull( isNullArray ) ) {
+      toByteBuffer( dataBuffer , startIndex , isNullArray.length , Float.BYTES )
+          .asFloatBuffer().put( values , 0 , isNullArray.length );
+      setValidRange( vector.getValidityBuffer() , startIndex , isNullArray.length );
+      return;
+    }
+    int valueIndex = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( ! isNullArray[i] ) {
+        dataBuffer.setFloat( (long)( startIndex + i ) * Float.BYTES , values[valueIndex++] );
+      }
+    }
+    setValidity( vector.getValidityBuffer() , startIndex , isNullArray );
+  }
+
+  static void writeDouble(
+      final BaseFixedWidthVector vector ,
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final double[] values ) {
+    ArrowBuf dataBuffer = vector.getDataBuffer();
+    if ( hasNoNull( isNullArray ) ) {
+      toByteBuffer( dataBuffer , startIndex , isNullArray.length , Double.BYTES )
+          .asDoubleBuffer().put( values , 0 , isNullArray.length );
+      setValidRange( vector.getValidityBuffer() , startIndex , isNullArray.length );
+      return;
+    }
+    int valueIndex = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( ! isNullArray[i] ) {
+        dataBuffer.setDouble( (long)( startIndex + i ) * Double.BYTES , values[valueIndex++] );
+      }
+    }
+    setValidity( vector.getValidityBuffer() , startIndex , isNullArray );
+  }
+
+  private static boolean hasNoNull( final boolean[] isNullArray ) {
+    for ( boolean isNull : isNullArray ) {
+      if ( isNull ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static ByteBuffer toByteBuffer(
+      final ArrowBuf dataBuffer , final int startIndex , final int rows , final int width ) {
+    // NOTE: Arrow buffers are little endian.
+    return dataBuffer.nioBuffer( (long)startIndex * width , rows * width )
+        .order( ByteOrder.LITTLE_ENDIAN );
+  }
+
+  private static void setValidity(
+      final ArrowBuf validityBuffer , final int startIndex , final boolean[] isNullArray ) {
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( isNullArray[i] ) {
+        BitVectorHelper.unsetBit( validityBuffer , startIndex + i );
+      } else {
+        BitVectorHelper.setBit( validityBuffer , startIndex + i );
+      }
+    }
+  }
+
+  private static void setValidRange(
+      final ArrowBuf validityBuffer , final int startIndex , final int rows ) {
+    int index = startIndex;
+    int end = startIndex + rows;
+    for ( ; index < end && ( index & 7 ) != 0 ; index++ ) {
+      BitVectorHelper.setBit( validityBuffer , index );
+    }
+    for ( ; index + 8 <= end ; index += 8 ) {
+      validityBuffer.setByte( index >>> 3 , 0xFF );
+    }
+    for ( ; index < end ; index++ ) {
+      BitVectorHelper.setBit( validityBuffer , index );
+    }
+  }
+
+}
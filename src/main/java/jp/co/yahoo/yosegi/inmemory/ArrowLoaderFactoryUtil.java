@@ -170,16 +170,19 @@ public final class ArrowLoaderFactoryUtil {
     private final BufferAllocator allocator;
     private final String columnName;
     private final IField schema;
+    private final ArrowDictionaryProvider dictionaryProvider;
 
     private ArrowSpreadLoaderFactory(
         final ValueVector vector ,
         final BufferAllocator allocator ,
         final String columnName ,
-        final IField schema ) {
+        final IField schema ,
+        final ArrowDictionaryProvider dictionaryProvider ) {
       this.vector = vector;
       this.allocator = allocator;
       this.columnName = columnName;
       this.schema = schema;
+      this.dictionaryProvider = dictionaryProvider;
     }
 
     @Override
@@ -192,7 +195,8 @@ public final class ArrowLoaderFactoryUtil {
               createValueVector( vector , allocator , columnName , ColumnType.SPREAD ) ,
               allocator ,
               schema ,
-              loadSize );
+              loadSize ,
+              dictionaryProvider );
         default :
           return new ArrowNullLoader(
               createValueVector( vector , allocator , columnName , ColumnType.SPREAD ) ,
@@ -530,6 +534,46 @@ public final class ArrowLoaderFactoryUtil {
 
   }
 
+  private static class ArrowDictionaryEncodedStringLoaderFactory
+      implements ILoaderFactory<ValueVector> {
+
+    private final StructVector vector;
+    private final String columnName;
+    private final ArrowDictionaryProvider dictionaryProvider;
+
+    private ArrowDictionaryEncodedStringLoaderFactory(
+        final StructVector vector ,
+        final String columnName ,
+        final ArrowDictionaryProvider dictionaryProvider ) {
+      this.vector = vector;
+      this.columnName = columnName;
+      this.dictionaryProvider = dictionaryProvider;
+    }
+
+    @Override
+    public ILoader<ValueVector> createLoader(
+        final ColumnBinary columnBinary ,
+        final int loadSize ) throws IOException {
+      IntVector indexVector = dictionaryProvider.getOrCreateIndexVector( vector , columnName );
+      VarCharVector dictionaryVector = dictionaryProvider.getDictionaryVector( indexVector );
+      switch ( getLoadType( columnBinary , loadSize ) ) {
+        case SEQUENTIAL :
+          return new ArrowSequentialDictionaryEncodedStringLoader(
+              indexVector , dictionaryVector , loadSize );
+        case DICTIONARY :
+          return new ArrowDictionaryEncodedStringLoader(
+              indexVector , dictionaryVector , loadSize );
+        case CONST :
+          return new ArrowConstDictionaryEncodedStringLoader(
+              indexVector , dictionaryVector , loadSize );
+        default :
+          dictionaryVector.reset();
+          return new ArrowNullLoader( indexVector , loadSize );
+      }
+    }
+
+  }
+
   private static class ArrowBytesLoaderFactory implements ILoaderFactory<ValueVector> {
 
     private final ValueVector vector;
@@ -791,6 +835,19 @@ public final class ArrowLoaderFactoryUtil {
       final ValueVector vector ,
       final BufferAllocator allocator ,
       final IField schema ) {
+    return createLoaderFactory( vector , allocator , schema , null );
+  }
+
+  /**
+   * Create loader factory from schema type.
+   * If dictionaryProvider is not null, the string columns in the struct are loaded
+   * as dictionary encoded vectors.
+   */
+  public static ILoaderFactory<ValueVector> createLoaderFactory(
+      final ValueVector vector ,
+      final BufferAllocator allocator ,
+      final IField schema ,
+      final ArrowDictionaryProvider dictionaryProvider ) {
     ColumnType columnType;
     switch ( schema.getFieldType() ) {
       case UNION:
@@ -836,7 +893,8 @@ public final class ArrowLoaderFactoryUtil {
       default:
         columnType = ColumnType.NULL;
     }
-    return createLoaderFactory( vector , allocator , schema.getName() , schema , columnType );
+    return createLoaderFactory(
+        vector , allocator , schema.getName() , schema , columnType , dictionaryProvider );
   }
 
   /**
@@ -848,6 +906,21 @@ public final class ArrowLoaderFactoryUtil {
       final String columnName ,
       final IField schema ,
       final ColumnType columnType ) {
+    return createLoaderFactory( vector , allocator , columnName , schema , columnType , null );
+  }
+
+  /**
+   * Create loader factory from column type.
+   * If dictionaryProvider is not null, the string columns in the struct are loaded
+   * as dictionary encoded vectors.
+   */
+  public static ILoaderFactory<ValueVector> createLoaderFactory(
+      final ValueVector vector ,
+      final BufferAllocator allocator ,
+      final String columnName ,
+      final IField schema ,
+      final ColumnType columnType ,
+      final ArrowDictionaryProvider dictionaryProvider ) {
     switch ( columnType ) {
       case UNION:
         return new ArrowUnionLoaderFactory(
@@ -861,7 +934,7 @@ public final class ArrowLoaderFactoryUtil {
       case STRUCT:
       case SPREAD:
         return new ArrowSpreadLoaderFactory(
-            vector , allocator , columnName , schema );
+            vector , allocator , columnName , schema , dictionaryProvider );
 
       case BOOLEAN:
         return new ArrowBooleanLoaderFactory(
@@ -888,6 +961,10 @@ public final class ArrowLoaderFactoryUtil {
             vector , allocator , columnName );
 
       case STRING:
+        if ( dictionaryProvider != null && vector instanceof StructVector ) {
+          return new ArrowDictionaryEncodedStringLoaderFactory(
+              (StructVector)vector , columnName , dictionaryProvider );
+        }
         return new ArrowStringLoaderFactory(
             vector , allocator , columnName );
       case BYTES:
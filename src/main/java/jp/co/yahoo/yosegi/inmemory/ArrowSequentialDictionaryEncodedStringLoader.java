@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.ByteObj;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.ShortObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A loader that creates an Arrow dictionary from sequential elements.
+ * The same values share one entry of the dictionary.
+ */
+public class ArrowSequentialDictionaryEncodedStringLoader
+    implements ISequentialLoader<ValueVector> {
+
+  private final IntVector vector;
+  private final VarCharVector dictionaryVector;
+  private final int loadSize;
+  private final Map<ByteBuffer,Integer> dictionaryIndexMap = new HashMap<ByteBuffer,Integer>();
+
+  /**
+   * A loader that holds the dictionary indexes.
+   */
+  public ArrowSequentialDictionaryEncodedStringLoader(
+      final IntVector vector , final VarCharVector dictionaryVector , final int loadSize ) {
+    this.vector = vector;
+    this.vector.allocateNew( loadSize );
+    this.vector.setValueCount( loadSize );
+    this.dictionaryVector = dictionaryVector;
+    this.dictionaryVector.allocateNew();
+    this.loadSize = loadSize;
+  }
+
+  @Override
+  public int getLoadSize() {
+    return loadSize;
+  }
+
+  @Override
+  public ValueVector build() throws IOException {
+    dictionaryVector.setValueCount( dictionaryIndexMap.size() );
+    return vector;
+  }
+
+  @Override
+  public void finish() throws IOException {
+  }
+
+  @Override
+  public void setNull( final int index ) throws IOException {
+    vector.setNull( index );
+  }
+
+  @Override
+  public void setBytes(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    Integer dicIndex = dictionaryIndexMap.get( ByteBuffer.wrap( value , start , length ) );
+    if ( dicIndex == null ) {
+      dicIndex = dictionaryIndexMap.size();
+      dictionaryVector.setSafe( dicIndex , value , start , length );
+      byte[] key = Arrays.copyOfRange( value , start , start + length );
+      dictionaryIndexMap.put( ByteBuffer.wrap( key ) , dicIndex );
+    }
+    vector.set( index , dicIndex );
+  }
+
+  @Override
+  public void setString( final int index , final String value ) throws IOException {
+    setBytes( index , new StringObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setBoolean( final int index , final boolean value ) throws IOException {
+    setBytes( index , new BooleanObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setByte( final int index , final byte value ) throws IOException {
+    setBytes( index , new ByteObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setShort( final int index , final short value ) throws IOException {
+    setBytes( index , new ShortObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setInteger( final int index , final int value ) throws IOException {
+    setBytes( index , new IntegerObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setLong( final int index , final long value ) throws IOException {
+    setBytes( index , new LongObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setFloat( final int index , final float value ) throws IOException {
+    setBytes( index , new FloatObj( value ).getBytes() );
+  }
+
+  @Override
+  public void setDouble( final int index , final double value ) throws IOException {
+    setBytes( index , new DoubleObj( value ).getBytes() );
+  }
+
+}
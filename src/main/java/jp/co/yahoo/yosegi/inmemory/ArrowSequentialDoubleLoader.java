@@ -106,6 +106,18 @@ public class ArrowSequentialDoubleLoader implements ISequentialLoader<ValueVecto
     vector.setSafe( index , value );
   }
 
+  @Override
+  public void setDoubleArray(
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final double[] values ) throws IOException {
+    if ( ArrowFixedWidthVectorWriter.canWrite( vector , startIndex , isNullArray.length ) ) {
+      ArrowFixedWidthVectorWriter.writeDouble( vector , startIndex , isNullArray , values );
+    } else {
+      ISequentialLoader.super.setDoubleArray( startIndex , isNullArray , values );
+    }
+  }
+
   private void setDownCastOrNull( final int index , final PrimitiveObject obj ) throws IOException {
     try {
       setDouble( index , obj.getDouble() );
@@ -101,6 +101,18 @@ public class ArrowSequentialFloatLoader implements ISequentialLoader<ValueVector
     vector.setSafe( index , value );
   }
 
+  @Override
+  public void setFloatArray(
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final float[] values ) throws IOException {
+    if ( ArrowFixedWidthVectorWriter.canWrite( vector , startIndex , isNullArray.length ) ) {
+      ArrowFixedWidthVectorWriter.writeFloat( vector , startIndex , isNullArray , values );
+    } else {
+      ISequentialLoader.super.setFloatArray( startIndex , isNullArray , values );
+    }
+  }
+
   @Override
   public void setDouble( final int index , final double value ) throws IOException {
     setDownCastOrNull( index , new DoubleObj( value ) );
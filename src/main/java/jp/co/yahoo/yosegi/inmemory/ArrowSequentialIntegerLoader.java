@@ -89,6 +89,18 @@ public class ArrowSequentialIntegerLoader implements ISequentialLoader<ValueVect
     vector.setSafe( index , value );
   }
 
+  @Override
+  public void setIntegerArray(
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final int[] values ) throws IOException {
+    if ( ArrowFixedWidthVectorWriter.canWrite( vector , startIndex , isNullArray.length ) ) {
+      ArrowFixedWidthVectorWriter.writeInt( vector , startIndex , isNullArray , values );
+    } else {
+      ISequentialLoader.super.setIntegerArray( startIndex , isNullArray , values );
+    }
+  }
+
   @Override
   public void setLong( final int index , final long value ) throws IOException {
     setDownCastOrNull( index , new LongObj( value ) );
@@ -93,6 +93,18 @@ public class ArrowSequentialLongLoader implements ISequentialLoader<ValueVector>
     vector.setSafe( index , value );
   }
 
+  @Override
+  public void setLongArray(
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final long[] values ) throws IOException {
+    if ( ArrowFixedWidthVectorWriter.canWrite( vector , startIndex , isNullArray.length ) ) {
+      ArrowFixedWidthVectorWriter.writeLong( vector , startIndex , isNullArray , values );
+    } else {
+      ISequentialLoader.super.setLongArray( startIndex , isNullArray , values );
+    }
+  }
+
   @Override
   public void setFloat( final int index , final float value ) throws IOException {
     setDownCastOrNull( index , new FloatObj( value ) );
@@ -34,6 +34,7 @@ public class ArrowStructLoader implements ISpreadLoader<ValueVector> {
   private final BufferAllocator allocator;
   private final StructContainerField schema;
   private final int loadSize;
+  private final ArrowDictionaryProvider dictionaryProvider;
 
   /**
    * Init.
@@ -43,6 +44,18 @@ public class ArrowStructLoader implements ISpreadLoader<ValueVector> {
       final BufferAllocator allocator ,
       final IField schema ,
       final int loadSize ) {
+    this( vector , allocator , schema , loadSize , null );
+  }
+
+  /**
+   * Load the string columns as dictionary encoded vectors if dictionaryProvider is not null.
+   */
+  public ArrowStructLoader(
+      final ValueVector vector ,
+      final BufferAllocator allocator ,
+      final IField schema ,
+      final int loadSize ,
+      final ArrowDictionaryProvider dictionaryProvider ) {
     this.vector = (StructVector)vector;
     this.vector.allocateNew();
     this.vector.setValueCount( loadSize );
@@ -52,6 +65,7 @@ public class ArrowStructLoader implements ISpreadLoader<ValueVector> {
     this.allocator = allocator;
     this.schema = (StructContainerField)schema;
     this.loadSize = loadSize;
+    this.dictionaryProvider = dictionaryProvider;
   }
 
   @Override
@@ -77,7 +91,7 @@ public class ArrowStructLoader implements ISpreadLoader<ValueVector> {
       final ColumnBinary columnBinary , final int childLoadSize ) throws IOException {
     if ( schema.containsKey( columnBinary.columnName ) ) {
       ILoaderFactory<ValueVector> factory = ArrowLoaderFactoryUtil.createLoaderFactory(
-          vector , allocator , schema.get( columnBinary.columnName ) );
+          vector , allocator , schema.get( columnBinary.columnName ) , dictionaryProvider );
       factory.create( columnBinary , childLoadSize );
     }
   }
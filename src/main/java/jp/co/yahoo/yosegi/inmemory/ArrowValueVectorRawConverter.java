@@ -37,6 +37,7 @@ public class ArrowValueVectorRawConverter implements IRawConverter<ValueVector>
   private final StructVector root;
   private final BufferAllocator allocator;
   private final StructContainerField schema;
+  private final ArrowDictionaryProvider dictionaryProvider;
 
   /**
    * Init.
@@ -44,11 +45,23 @@ public class ArrowValueVectorRawConverter implements IRawConverter<ValueVector>
   public ArrowValueVectorRawConverter(
         final BufferAllocator allocator ,
         final StructContainerField schema ) {
+    this( allocator , schema , null );
+  }
+
+  /**
+   * Load the string columns as dictionary encoded vectors if dictionaryProvider is not null.
+   * The dictionaries are looked up from dictionaryProvider with the id of the field.
+   */
+  public ArrowValueVectorRawConverter(
+        final BufferAllocator allocator ,
+        final StructContainerField schema ,
+        final ArrowDictionaryProvider dictionaryProvider ) {
     SchemaChangeCallBack callBack = new SchemaChangeCallBack();
     this.root = new StructVector(
         "root" , allocator , new FieldType( true , Struct.INSTANCE , null , null ) , callBack );
     this.allocator = allocator;
     this.schema = schema;
+    this.dictionaryProvider = dictionaryProvider;
   }
 
   @Override
@@ -62,7 +75,8 @@ public class ArrowValueVectorRawConverter implements IRawConverter<ValueVector>
     root.clear();
     root.allocateNew();
     root.setValueCount( loadSize );
-    ArrowStructLoader loader = new ArrowStructLoader( root , allocator , currentSchema , loadSize );
+    ArrowStructLoader loader = new ArrowStructLoader(
+        root , allocator , currentSchema , loadSize , dictionaryProvider );
     for ( ColumnBinary child : raw ) {
       loader.loadChild( child , loadSize );
     }
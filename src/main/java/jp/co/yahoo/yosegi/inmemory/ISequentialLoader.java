@@ -43,18 +43,90 @@ public interface ISequentialLoader<T> extends ILoader<T> {
     setNull( index );
   }
 
+  /**
+   * Set the rows from startIndex to startIndex + isNullArray.length at once.
+   * values holds only the values of the non-null rows in order.
+   */
+  default void setIntegerArray(
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final int[] values ) throws IOException {
+    int valueIndex = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( isNullArray[i] ) {
+        setNull( startIndex + i );
+      } else {
+        setInteger( startIndex + i , values[valueIndex++] );
+      }
+    }
+  }
+
   default void setLong( final int index , final long value ) throws IOException {
     setNull( index );
   }
 
+  /**
+   * Set the rows from startIndex to startIndex + isNullArray.length at once.
+   * values holds only the values of the non-null rows in order.
+   */
+  default void setLongArray(
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final long[] values ) throws IOException {
+    int valueIndex = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( isNullArray[i] ) {
+        setNull( startIndex + i );
+      } else {
+        setLong( startIndex + i , values[valueIndex++] );
+      }
+    }
+  }
+
   default void setFloat( final int index , final float value ) throws IOException {
     setNull( index );
   }
 
+  /**
+   * Set the rows from startIndex to startIndex + isNullArray.length at once.
+   * values holds only the values of the non-null rows in order.
+   */
+  default void setFloatArray(
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final float[] values ) throws IOException {
+    int valueIndex = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( isNullArray[i] ) {
+        setNull( startIndex + i );
+      } else {
+        setFloat( startIndex + i , values[valueIndex++] );
+      }
+    }
+  }
+
   default void setDouble( final int index , final double value ) throws IOException {
     setNull( index );
   }
 
+  /**
+   * Set the rows from startIndex to startIndex + isNullArray.length at once.
+   * values holds only the values of the non-null rows in order.
+   */
+  default void setDoubleArray(
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final double[] values ) throws IOException {
+    int valueIndex = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( isNullArray[i] ) {
+        setNull( startIndex + i );
+      } else {
+        setDouble( startIndex + i , values[valueIndex++] );
+      }
+    }
+  }
+
   default void setBytes( final int index , final byte[] value ) throws IOException {
     setBytes( index , value , 0 , value.length );
   }
@@ -36,6 +36,8 @@ import jp.co.yahoo.yosegi.spread.column.ICellMaker;
 import jp.co.yahoo.yosegi.spread.column.ICellManager;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.FilterMatcher;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 
 import java.io.IOException;
 
@@ -46,6 +48,7 @@ public class YosegiDictionaryLoader implements IDictionaryLoader<IColumn> {
     private final PrimitiveObject[] dicArray;
     private final int[] idArray;
     private final boolean[] isNullArray;
+    private final ColumnType columnType;
     private final ICellMaker cellMaker;
 
     private DictionaryCellManager(
@@ -56,6 +59,7 @@ public class YosegiDictionaryLoader implements IDictionaryLoader<IColumn> {
       this. dicArray = dicArray;
       this.isNullArray = isNullArray;
       this.idArray = idArray;
+      this.columnType = columnType;
       cellMaker = CellMakerFactory.getCellMaker( columnType );
     }
 
@@ -78,6 +82,36 @@ public class YosegiDictionaryLoader implements IDictionaryLoader<IColumn> {
       return isNullArray.length;
     }
 
+    /**
+     * Evaluate each dictionary entry once and apply the result to the index of rows.
+     */
+    @Override
+    public boolean[] filter(
+        final IFilter filter , final boolean[] filterArray ) throws IOException {
+      FilterMatcher matcher = FilterMatcher.create( filter , columnType );
+      if ( matcher == null ) {
+        return null;
+      }
+      int dicSize = dicArray == null ? 0 : dicArray.length;
+      boolean[] dicMatchArray = new boolean[dicSize];
+      for ( int i = 0 ; i < dicSize ; i++ ) {
+        dicMatchArray[i] = dicArray[i] != null && matcher.isMatch( dicArray[i] );
+      }
+      boolean matchNull = matcher.isMatchNull();
+      int rowSize = Math.min( isNullArray.length , filterArray.length );
+      for ( int i = 0 ; i < rowSize ; i++ ) {
+        if ( isNullArray[i] ) {
+          filterArray[i] = matchNull;
+        } else {
+          filterArray[i] = dicMatchArray[idArray[i]];
+        }
+      }
+      for ( int i = rowSize ; i < filterArray.length ; i++ ) {
+        filterArray[i] = matchNull;
+      }
+      return filterArray;
+    }
+
     @Override
     public void clear() {}
 
@@ -45,7 +45,7 @@ public class YosegiLoaderFactory implements ILoaderFactory<IColumn> {
       case CONST :
         return new YosegiConstLoader( columnBinary , loadSize );
       case SEQUENTIAL :
-        return new YosegiSequentialLoader( columnBinary , loadSize );
+        return createSequentialLoader( columnBinary , loadSize );
       case DICTIONARY :
         return new YosegiDictionaryLoader( columnBinary , loadSize );
       default: throw new IOException(
@@ -53,4 +53,29 @@ public class YosegiLoaderFactory implements ILoaderFactory<IColumn> {
     }
   }
 
+  /**
+   * Primitive columns are held in primitive arrays instead of PrimitiveObject per row.
+   */
+  private ILoader<IColumn> createSequentialLoader(
+      final ColumnBinary columnBinary ,
+      final int loadSize ) throws IOException {
+    switch ( columnBinary.columnType ) {
+      case BOOLEAN :
+        return new YosegiSequentialBooleanLoader( columnBinary , loadSize );
+      case BYTE :
+      case SHORT :
+      case INTEGER :
+      case LONG :
+        return new YosegiSequentialLongLoader( columnBinary , loadSize );
+      case FLOAT :
+      case DOUBLE :
+        return new YosegiSequentialDoubleLoader( columnBinary , loadSize );
+      case STRING :
+      case BYTES :
+        return new YosegiSequentialBytesLoader( columnBinary , loadSize );
+      default:
+        return new YosegiSequentialLoader( columnBinary , loadSize );
+    }
+  }
+
 }
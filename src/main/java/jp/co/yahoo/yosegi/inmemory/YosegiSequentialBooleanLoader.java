@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.spread.column.CellMakerFactory;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.ICellMaker;
+import jp.co.yahoo.yosegi.spread.column.ICellManager;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A loader that holds BOOLEAN elements in a boolean array.
+ * If the rows are set by another setter, the rows are moved to YosegiSequentialLoader.
+ */
+public class YosegiSequentialBooleanLoader implements ISequentialLoader<IColumn> {
+
+  private class BooleanCellManager implements ICellManager<ICell> {
+
+    private final boolean[] valueArray;
+    private final boolean[] isNullArray;
+    private final ICellMaker cellMaker;
+
+    private BooleanCellManager(
+        final ColumnType columnType ,
+        final boolean[] valueArray ,
+        final boolean[] isNullArray ) throws IOException {
+      this.valueArray = valueArray;
+      this.isNullArray = isNullArray;
+      cellMaker = CellMakerFactory.getCellMaker( columnType );
+    }
+
+    @Override
+    public void add( final ICell cell , final int index ) {
+      throw new UnsupportedOperationException( "read only." );
+    }
+
+    @Override
+    public ICell get( final int index , final ICell defaultCell ) {
+      if ( isNull( index ) ) {
+        return defaultCell;
+      }
+      return cellMaker.create( new BooleanObj( valueArray[index] ) );
+    }
+
+    @Override
+    public boolean isNull( final int index ) {
+      return isNullArray.length <= index || isNullArray[index];
+    }
+
+    @Override
+    public boolean getBoolean( final int index ) {
+      return valueArray[index];
+    }
+
+    @Override
+    public String getString( final int index ) {
+      return Boolean.toString( valueArray[index] );
+    }
+
+    @Override
+    public int size() {
+      return isNullArray.length;
+    }
+
+    @Override
+    public void clear() {}
+
+  }
+
+  private final ColumnBinary columnBinary;
+  private final ColumnType columnType;
+  private final String columnName;
+  private final int loadSize;
+  private final boolean[] values;
+  private final boolean[] isNull;
+
+  private YosegiSequentialLoader fallbackLoader;
+
+  /**
+   * A loader that holds boolean elements sequentially in a primitive array.
+   */
+  public YosegiSequentialBooleanLoader( final ColumnBinary columnBinary , final int loadSize ) {
+    this.columnBinary = columnBinary;
+    this.columnName = columnBinary.columnName;
+    this.columnType = columnBinary.columnType;
+    this.loadSize = loadSize;
+    values = new boolean[loadSize];
+    isNull = new boolean[loadSize];
+    Arrays.fill( isNull , true );
+  }
+
+  @Override
+  public int getLoadSize() {
+    return loadSize;
+  }
+
+  @Override
+  public IColumn build() throws IOException {
+    if ( fallbackLoader != null ) {
+      return fallbackLoader.build();
+    }
+    IColumn column = new PrimitiveColumn( columnType , columnName );
+    column.setCellManager( new BooleanCellManager( columnType , values , isNull ) );
+    return column;
+  }
+
+  @Override
+  public void finish() throws IOException {
+  }
+
+  @Override
+  public void setNull( final int index ) throws IOException {
+    if ( fallbackLoader != null ) {
+      fallbackLoader.setNull( index );
+      return;
+    }
+    isNull[index] = true;
+  }
+
+  @Override
+  public void setBoolean( final int index , final boolean value ) throws IOException {
+    if ( fallbackLoader != null ) {
+      fallbackLoader.setBoolean( index , value );
+      return;
+    }
+    values[index] = value;
+    isNull[index] = false;
+  }
+
+  @Override
+  public void setByte( final int index , final byte value ) throws IOException {
+    getFallbackLoader().setByte( index , value );
+  }
+
+  @Override
+  public void setShort( final int index , final short value ) throws IOException {
+    getFallbackLoader().setShort( index , value );
+  }
+
+  @Override
+  public void setInteger( final int index , final int value ) throws IOException {
+    getFallbackLoader().setInteger( index , value );
+  }
+
+  @Override
+  public void setLong( final int index , final long value ) throws IOException {
+    getFallbackLoader().setLong( index , value );
+  }
+
+  @Override
+  public void setFloat( final int index , final float value ) throws IOException {
+    getFallbackLoader().setFloat( index , value );
+  }
+
+  @Override
+  public void setDouble( final int index , final double value ) throws IOException {
+    getFallbackLoader().setDouble( index , value );
+  }
+
+  @Override
+  public void setBytes(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    getFallbackLoader().setBytes( index , value , start , length );
+  }
+
+  @Override
+  public void setString( final int index , final String value ) throws IOException {
+    getFallbackLoader().setString( index , value );
+  }
+
+  private YosegiSequentialLoader getFallbackLoader() throws IOException {
+    if ( fallbackLoader == null ) {
+      fallbackLoader = new YosegiSequentialLoader( columnBinary , loadSize );
+      for ( int i = 0 ; i < loadSize ; i++ ) {
+        if ( ! isNull[i] ) {
+          fallbackLoader.setBoolean( i , values[i] );
+        }
+      }
+    }
+    return fallbackLoader;
+  }
+
+}
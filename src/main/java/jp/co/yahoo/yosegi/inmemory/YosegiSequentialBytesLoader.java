@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.message.objects.Utf8BytesLinkObj;
+import jp.co.yahoo.yosegi.spread.column.CellMakerFactory;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.ICellMaker;
+import jp.co.yahoo.yosegi.spread.column.ICellManager;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A loader that holds STRING and BYTES elements as ranges of byte arrays.
+ * The byte arrays are not copied, so each row refers to the decoded buffer.
+ * If the rows are set by another setter, the rows are moved to YosegiSequentialLoader.
+ */
+public class YosegiSequentialBytesLoader implements ISequentialLoader<IColumn> {
+
+  private class BytesCellManager implements ICellManager<ICell> {
+
+    private final byte[][] bufferArray;
+    private final int[] startArray;
+    private final int[] lengthArray;
+    private final ICellMaker cellMaker;
+
+    private BytesCellManager(
+        final ColumnType columnType ,
+        final byte[][] bufferArray ,
+        final int[] startArray ,
+        final int[] lengthArray ) throws IOException {
+      this.bufferArray = bufferArray;
+      this.startArray = startArray;
+      this.lengthArray = lengthArray;
+      cellMaker = CellMakerFactory.getCellMaker( columnType );
+    }
+
+    @Override
+    public void add( final ICell cell , final int index ) {
+      throw new UnsupportedOperationException( "read only." );
+    }
+
+    @Override
+    public ICell get( final int index , final ICell defaultCell ) {
+      if ( isNull( index ) ) {
+        return defaultCell;
+      }
+      return cellMaker.create( new Utf8BytesLinkObj(
+          bufferArray[index] , startArray[index] , lengthArray[index] ) );
+    }
+
+    @Override
+    public boolean isNull( final int index ) {
+      return bufferArray.length <= index || bufferArray[index] == null;
+    }
+
+    @Override
+    public String getString( final int index ) {
+      return new String(
+          bufferArray[index] , startArray[index] , lengthArray[index] , StandardCharsets.UTF_8 );
+    }
+
+    @Override
+    public int size() {
+      return bufferArray.length;
+    }
+
+    @Override
+    public void clear() {}
+
+  }
+
+  private final ColumnBinary columnBinary;
+  private final ColumnType columnType;
+  private final String columnName;
+  private final int loadSize;
+  private final byte[][] buffers;
+  private final int[] starts;
+  private final int[] lengths;
+
+  private YosegiSequentialLoader fallbackLoader;
+
+  /**
+   * A loader that holds byte array elements sequentially without copying.
+   */
+  public YosegiSequentialBytesLoader( final ColumnBinary columnBinary , final int loadSize ) {
+    this.columnBinary = columnBinary;
+    this.columnName = columnBinary.columnName;
+    this.columnType = columnBinary.columnType;
+    this.loadSize = loadSize;
+    buffers = new byte[loadSize][];
+    starts = new int[loadSize];
+    lengths = new int[loadSize];
+  }
+
+  @Override
+  public int getLoadSize() {
+    return loadSize;
+  }
+
+  @Override
+  public IColumn build() throws IOException {
+    if ( fallbackLoader != null ) {
+      return fallbackLoader.build();
+    }
+    IColumn column = new PrimitiveColumn( columnType , columnName );
+    column.setCellManager( new BytesCellManager( columnType , buffers , starts , lengths ) );
+    return column;
+  }
+
+  @Override
+  public void finish() throws IOException {
+  }
+
+  @Override
+  public void setNull( final int index ) throws IOException {
+    if ( fallbackLoader != null ) {
+      fallbackLoader.setNull( index );
+      return;
+    }
+    buffers[index] = null;
+  }
+
+  @Override
+  public void setBytes(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    if ( fallbackLoader != null ) {
+      fallbackLoader.setBytes( index , value , start , length );
+      return;
+    }
+    buffers[index] = value;
+    starts[index] = start;
+    lengths[index] = length;
+  }
+
+  @Override
+  public void setString( final int index , final String value ) throws IOException {
+    getFallbackLoader().setString( index , value );
+  }
+
+  @Override
+  public void setBoolean( final int index , final boolean value ) throws IOException {
+    getFallbackLoader().setBoolean( index , value );
+  }
+
+  @Override
+  public void setByte( final int index , final byte value ) throws IOException {
+    getFallbackLoader().setByte( index , value );
+  }
+
+  @Override
+  public void setShort( final int index , final short value ) throws IOException {
+    getFallbackLoader().setShort( index , value );
+  }
+
+  @Override
+  public void setInteger( final int index , final int value ) throws IOException {
+    getFallbackLoader().setInteger( index , value );
+  }
+
+  @Override
+  public void setLong( final int index , final long value ) throws IOException {
+    getFallbackLoader().setLong( index , value );
+  }
+
+  @Override
+  public void setFloat( final int index , final float value ) throws IOException {
+    getFallbackLoader().setFloat( index , value );
+  }
+
+  @Override
+  public void setDouble( final int index , final double value ) throws IOException {
+    getFallbackLoader().setDouble( index , value );
+  }
+
+  private YosegiSequentialLoader getFallbackLoader() throws IOException {
+    if ( fallbackLoader == null ) {
+      fallbackLoader = new YosegiSequentialLoader( columnBinary , loadSize );
+      for ( int i = 0 ; i < loadSize ; i++ ) {
+        if ( buffers[i] != null ) {
+          fallbackLoader.setBytes( i , buffers[i] , starts[i] , lengths[i] );
+        }
+      }
+    }
+    return fallbackLoader;
+  }
+
+}
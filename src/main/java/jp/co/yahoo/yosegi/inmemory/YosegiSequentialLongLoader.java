@@ -0,0 +1,301 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.message.objects.ByteObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.ShortObj;
+import jp.co.yahoo.yosegi.spread.column.CellMakerFactory;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.ICellMaker;
+import jp.co.yahoo.yosegi.spread.column.ICellManager;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.FilterMatcher;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A loader that holds BYTE, SHORT, INTEGER and LONG elements in a long array.
+ * The cells are made from the type of the setter as YosegiSequentialLoader does.
+ * If the rows are set by different setters or by a non-integral setter,
+ * the rows are moved to YosegiSequentialLoader.
+ */
+public class YosegiSequentialLongLoader implements ISequentialLoader<IColumn> {
+
+  private class LongCellManager implements ICellManager<ICell> {
+
+    private final ColumnType columnType;
+    private final ColumnType valueType;
+    private final long[] valueArray;
+    private final boolean[] isNullArray;
+    private final ICellMaker cellMaker;
+
+    private LongCellManager(
+        final ColumnType columnType ,
+        final ColumnType valueType ,
+        final long[] valueArray ,
+        final boolean[] isNullArray ) throws IOException {
+      this.columnType = columnType;
+      this.valueType = valueType;
+      this.valueArray = valueArray;
+      this.isNullArray = isNullArray;
+      cellMaker = CellMakerFactory.getCellMaker( columnType );
+    }
+
+    @Override
+    public void add( final ICell cell , final int index ) {
+      throw new UnsupportedOperationException( "read only." );
+    }
+
+    @Override
+    public ICell get( final int index , final ICell defaultCell ) {
+      if ( isNull( index ) ) {
+        return defaultCell;
+      }
+      return cellMaker.create( toPrimitiveObject( valueArray[index] ) );
+    }
+
+    private PrimitiveObject toPrimitiveObject( final long value ) {
+      switch ( valueType ) {
+        case BYTE:
+          return new ByteObj( (byte)value );
+        case SHORT:
+          return new ShortObj( (short)value );
+        case INTEGER:
+          return new IntegerObj( (int)value );
+        default:
+          return new LongObj( value );
+      }
+    }
+
+    @Override
+    public boolean isNull( final int index ) {
+      return isNullArray.length <= index || isNullArray[index];
+    }
+
+    @Override
+    public int getInt( final int index ) {
+      return (int)valueArray[index];
+    }
+
+    @Override
+    public long getLong( final int index ) {
+      return valueArray[index];
+    }
+
+    @Override
+    public float getFloat( final int index ) {
+      return (float)valueArray[index];
+    }
+
+    @Override
+    public double getDouble( final int index ) {
+      return (double)valueArray[index];
+    }
+
+    @Override
+    public String getString( final int index ) {
+      return Long.toString( valueArray[index] );
+    }
+
+    @Override
+    public int size() {
+      return isNullArray.length;
+    }
+
+    /**
+     * Evaluate the number filters against the array without creating cells.
+     */
+    @Override
+    public boolean[] filter(
+        final IFilter filter , final boolean[] filterArray ) throws IOException {
+      FilterMatcher matcher = FilterMatcher.create( filter , columnType );
+      if ( matcher == null || ! matcher.canMatchLong() ) {
+        return null;
+      }
+      boolean matchNull = matcher.isMatchNull();
+      int rowSize = Math.min( isNullArray.length , filterArray.length );
+      for ( int i = 0 ; i < rowSize ; i++ ) {
+        filterArray[i] = isNullArray[i] ? matchNull : matcher.isMatch( valueArray[i] );
+      }
+      for ( int i = rowSize ; i < filterArray.length ; i++ ) {
+        filterArray[i] = matchNull;
+      }
+      return filterArray;
+    }
+
+    @Override
+    public void clear() {}
+
+  }
+
+  private final ColumnBinary columnBinary;
+  private final ColumnType columnType;
+  private final String columnName;
+  private final int loadSize;
+  private final long[] values;
+  private final boolean[] isNull;
+
+  private ColumnType valueType = ColumnType.LONG;
+  private boolean hasValue;
+  private YosegiSequentialLoader fallbackLoader;
+
+  /**
+   * A loader that holds integral elements sequentially in a primitive array.
+   */
+  public YosegiSequentialLongLoader( final ColumnBinary columnBinary , final int loadSize ) {
+    this.columnBinary = columnBinary;
+    this.columnName = columnBinary.columnName;
+    this.columnType = columnBinary.columnType;
+    this.loadSize = loadSize;
+    values = new long[loadSize];
+    isNull = new boolean[loadSize];
+    Arrays.fill( isNull , true );
+  }
+
+  @Override
+  public int getLoadSize() {
+    return loadSize;
+  }
+
+  @Override
+  public IColumn build() throws IOException {
+    if ( fallbackLoader != null ) {
+      return fallbackLoader.build();
+    }
+    IColumn column = new PrimitiveColumn( columnType , columnName );
+    column.setCellManager( new LongCellManager( columnType , valueType , values , isNull ) );
+    return column;
+  }
+
+  @Override
+  public void finish() throws IOException {
+  }
+
+  @Override
+  public void setNull( final int index ) throws IOException {
+    if ( fallbackLoader != null ) {
+      fallbackLoader.setNull( index );
+      return;
+    }
+    isNull[index] = true;
+  }
+
+  @Override
+  public void setByte( final int index , final byte value ) throws IOException {
+    setValue( index , value , ColumnType.BYTE );
+  }
+
+  @Override
+  public void setShort( final int index , final short value ) throws IOException {
+    setValue( index , value , ColumnType.SHORT );
+  }
+
+  @Override
+  public void setInteger( final int index , final int value ) throws IOException {
+    setValue( index , value , ColumnType.INTEGER );
+  }
+
+  @Override
+  public void setLong( final int index , final long value ) throws IOException {
+    setValue( index , value , ColumnType.LONG );
+  }
+
+  private void setValue(
+      final int index , final long value , final ColumnType type ) throws IOException {
+    if ( fallbackLoader == null && ( ! hasValue || valueType == type ) ) {
+      valueType = type;
+      hasValue = true;
+      values[index] = value;
+      isNull[index] = false;
+      return;
+    }
+    setValue( getFallbackLoader() , index , value , type );
+  }
+
+  private static void setValue(
+      final YosegiSequentialLoader loader ,
+      final int index ,
+      final long value ,
+      final ColumnType type ) throws IOException {
+    switch ( type ) {
+      case BYTE:
+        loader.setByte( index , (byte)value );
+        break;
+      case SHORT:
+        loader.setShort( index , (short)value );
+        break;
+      case INTEGER:
+        loader.setInteger( index , (int)value );
+        break;
+      default:
+        loader.setLong( index , value );
+        break;
+    }
+  }
+
+  @Override
+  public void setFloat( final int index , final float value ) throws IOException {
+    getFallbackLoader().setFloat( index , value );
+  }
+
+  @Override
+  public void setDouble( final int index , final double value ) throws IOException {
+    getFallbackLoader().setDouble( index , value );
+  }
+
+  @Override
+  public void setBoolean( final int index , final boolean value ) throws IOException {
+    getFallbackLoader().setBoolean( index , value );
+  }
+
+  @Override
+  public void setBytes(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    getFallbackLoader().setBytes( index , value , start , length );
+  }
+
+  @Override
+  public void setString( final int index , final String value ) throws IOException {
+    getFallbackLoader().setString( index , value );
+  }
+
+  private YosegiSequentialLoader getFallbackLoader() throws IOException {
+    if ( fallbackLoader == null ) {
+      fallbackLoader = new YosegiSequentialLoader( columnBinary , loadSize );
+      for ( int i = 0 ; i < loadSize ; i++ ) {
+        if ( ! isNull[i] ) {
+          setValue( fallbackLoader , i , values[i] , valueType );
+        }
+      }
+    }
+    return fallbackLoader;
+  }
+
+}
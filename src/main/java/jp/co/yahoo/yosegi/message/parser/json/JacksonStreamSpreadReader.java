@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.message.parser.json;
+
+import static jp.co.yahoo.yosegi.constants.PrimitiveByteLength.JAVA_OBJECT_LENGTH;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.JsonNodeToPrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.Spread;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Read newline-delimited JSON records and add the values directly to Spread.
+ *
+ * <p>Unlike JacksonMessageReader , no JsonNode tree is built for a record.
+ * The values of objects are added to the columns while reading the tokens,
+ * and only arrays and objects in a column of another type are read as a tree.
+ * The field names are canonicalized by the JsonParser , which is reused for all records,
+ * so the same key String is used for the column lookup across records.
+ * The values are converted to the same PrimitiveObject as JsonNodeToPrimitiveObject.</p>
+ *
+ * <p>The input is not closed by close().</p>
+ */
+public class JacksonStreamSpreadReader implements AutoCloseable {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final JsonParser parser;
+  private JsonToken currentToken;
+
+  public JacksonStreamSpreadReader( final InputStream in ) throws IOException {
+    this( OBJECT_MAPPER.getFactory().createParser( in ) );
+  }
+
+  public JacksonStreamSpreadReader( final Reader reader ) throws IOException {
+    this( OBJECT_MAPPER.getFactory().createParser( reader ) );
+  }
+
+  private JacksonStreamSpreadReader( final JsonParser parser ) {
+    this.parser = parser;
+    parser.disable( JsonParser.Feature.AUTO_CLOSE_SOURCE );
+  }
+
+  /**
+   * Move to the next record and return false at the end of the input.
+   */
+  public boolean hasNext() throws IOException {
+    if ( currentToken == null ) {
+      currentToken = parser.nextToken();
+    }
+    return currentToken != null;
+  }
+
+  /**
+   * Add the next record to the spread as a row and return the added data size.
+   */
+  public int append( final Spread spread ) throws IOException {
+    if ( ! hasNext() ) {
+      throw new IOException( "There is no more record." );
+    }
+    if ( currentToken != JsonToken.START_OBJECT ) {
+      throw new IOException( "Record must be a JSON object : " + currentToken );
+    }
+    currentToken = null;
+    int totalBytes = appendObject( spread );
+    spread.nextRow();
+    return totalBytes;
+  }
+
+  private int appendObject( final Spread spread ) throws IOException {
+    int totalBytes = 0;
+    for ( JsonToken token = parser.nextToken() ;
+        token == JsonToken.FIELD_NAME ; token = parser.nextToken() ) {
+      String key = parser.getCurrentName();
+      totalBytes += appendValue( spread , key , parser.nextToken() );
+    }
+    return totalBytes;
+  }
+
+  private int appendValue(
+      final Spread spread , final String key , final JsonToken token ) throws IOException {
+    switch ( token ) {
+      case START_OBJECT:
+        return appendChildObject( spread , key );
+      case START_ARRAY:
+        return appendTree( spread , key );
+      case VALUE_STRING:
+        return spread.addValue( key , new StringObj( parser.getText() ) );
+      case VALUE_NUMBER_INT:
+        switch ( parser.getNumberType() ) {
+          case INT:
+            return spread.addValue( key , new IntegerObj( parser.getIntValue() ) );
+          case LONG:
+            return spread.addValue( key , new LongObj( parser.getLongValue() ) );
+          default:
+            return spread.addValue( key , new StringObj( parser.getText() ) );
+        }
+      case VALUE_NUMBER_FLOAT:
+        return spread.addValue( key , new DoubleObj( parser.getDoubleValue() ) );
+      case VALUE_TRUE:
+        return spread.addValue( key , new BooleanObj( true ) );
+      case VALUE_FALSE:
+        return spread.addValue( key , new BooleanObj( false ) );
+      case VALUE_NULL:
+        return 0;
+      default:
+        JsonNode node = parser.readValueAsTree();
+        return spread.addValue( key , JsonNodeToPrimitiveObject.get( node ) );
+    }
+  }
+
+  private int appendChildObject( final Spread spread , final String key ) throws IOException {
+    // NOTE: An empty object does not create a column , as same as JacksonObjectParser.
+    if ( parser.nextToken() == JsonToken.END_OBJECT ) {
+      return 0;
+    }
+    Spread childSpread = spread.getChildSpread( key );
+    if ( childSpread == null ) {
+      return appendTree( spread , key );
+    }
+    int totalBytes = 0;
+    int fieldCount = 0;
+    for ( JsonToken token = parser.currentToken() ;
+        token == JsonToken.FIELD_NAME ; token = parser.nextToken() ) {
+      String childKey = parser.getCurrentName();
+      totalBytes += appendValue( childSpread , childKey , parser.nextToken() );
+      fieldCount++;
+    }
+    childSpread.nextRow();
+    return totalBytes + JAVA_OBJECT_LENGTH * fieldCount;
+  }
+
+  private int appendTree( final Spread spread , final String key ) throws IOException {
+    JsonNode node = parser.readValueAsTree();
+    return spread.addValue( key , JsonNodeToParser.get( node ) );
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+}
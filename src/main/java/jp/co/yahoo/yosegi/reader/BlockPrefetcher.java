@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.reader;
+
+import jp.co.yahoo.yosegi.block.IBlockReader;
+import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read the blocks of a file ahead of the consumer.
+ * Block bytes are fetched from the InputStream in file order,
+ * and are set to IBlockReader on the worker pool.
+ * The decoder can also decompress the column data of the block on the worker pool,
+ * so that the consumer only loads the decompressed data.
+ * Without InputStream, the worker pool reads the blocks by itself.
+ * At most prefetchSize blocks are in flight, and blocks are returned in file order.
+ * The worker pool is shared by all prefetchers unless an Executor is given.
+ */
+public class BlockPrefetcher implements AutoCloseable {
+
+  private final List<YosegiReader.ReadBlockOffset> readTargetList;
+  private final Deque<CompletableFuture<IBlockReader>> pendingQueue =
+      new ArrayDeque<CompletableFuture<IBlockReader>>();
+  private final Deque<YosegiReader.ReadBlockOffset> pendingOffsetQueue =
+      new ArrayDeque<YosegiReader.ReadBlockOffset>();
+  private final InputStream in;
+  private final long dataSize;
+  private final IBlockDecoder decoder;
+  private final int prefetchSize;
+  private final Executor executor;
+
+  private CompletableFuture<byte[]> lastFetch = CompletableFuture.completedFuture( null );
+  private int submitIndex;
+  private volatile long inReadOffset;
+  private volatile boolean closed;
+
+  @FunctionalInterface
+  public interface IBlockDecoder {
+
+    /**
+     * Set the block to IBlockReader and prepare it for the consumer on the worker pool.
+     * If the prefetcher has no InputStream, blockBytes is null
+     * and the block is read from the position of readOffset.
+     */
+    IBlockReader decode(
+        final YosegiReader.ReadBlockOffset readOffset ,
+        final byte[] blockBytes ) throws IOException;
+
+  }
+
+  private static class SharedExecutorHolder {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * The size can be changed by the system property "yosegi.block.prefetch.threads".
+     */
+    private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(
+        Integer.getInteger( "yosegi.block.prefetch.threads" ,
+            Runtime.getRuntime().availableProcessors() ) ,
+        runnable -> {
+          Thread thread = new Thread(
+              runnable , "yosegi-block-prefetch-" + THREAD_COUNT.getAndIncrement() );
+          thread.setDaemon( true );
+          return thread;
+        } );
+
+  }
+
+  /**
+   * Get the worker pool shared by the prefetchers.
+   * The threads are daemon threads and live as long as the process.
+   */
+  public static Executor getSharedExecutor() {
+    return SharedExecutorHolder.INSTANCE;
+  }
+
+  /**
+   * Set blocks of readTargetList without reading the InputStream.
+   * Used when the decoder can read the block by itself.
+   */
+  public BlockPrefetcher(
+      final long dataSize ,
+      final List<YosegiReader.ReadBlockOffset> readTargetList ,
+      final IBlockDecoder decoder ,
+      final int prefetchSize ,
+      final Executor executor ) {
+    this( null , 0 , dataSize , readTargetList , decoder , prefetchSize , executor );
+  }
+
+  /**
+   * Start reading blocks of readTargetList from the current position of the InputStream.
+   * The executor is not shut down by this class.
+   */
+  public BlockPrefetcher(
+      final InputStream in ,
+      final long inReadOffset ,
+      final long dataSize ,
+      final List<YosegiReader.ReadBlockOffset> readTargetList ,
+      final IBlockDecoder decoder ,
+      final int prefetchSize ,
+      final Executor executor ) {
+    if ( prefetchSize <= 0 ) {
+      throw new IllegalArgumentException( "Prefetch size must be greater than 0." );
+    }
+    if ( executor == null ) {
+      throw new IllegalArgumentException( "Prefetch executor must not be null." );
+    }
+    this.in = in;
+    this.inReadOffset = inReadOffset;
+    this.dataSize = dataSize;
+    this.readTargetList = new ArrayList<YosegiReader.ReadBlockOffset>( readTargetList );
+    this.decoder = decoder;
+    this.prefetchSize = prefetchSize;
+    this.executor = executor;
+    while ( pendingQueue.size() < prefetchSize && submit() ) {
+      // Fill the prefetch window.
+    }
+  }
+
+  private boolean submit() {
+    if ( readTargetList.size() <= submitIndex ) {
+      return false;
+    }
+    YosegiReader.ReadBlockOffset readOffset = readTargetList.get( submitIndex );
+    submitIndex++;
+    CompletableFuture<IBlockReader> future;
+    if ( in == null ) {
+      future = CompletableFuture.supplyAsync( () -> decode( readOffset , null ) , executor );
+    } else {
+      // Each fetch starts after the previous one, so the InputStream is read in file order.
+      lastFetch = lastFetch.thenApplyAsync( previous -> fetch( readOffset ) , executor );
+      future = lastFetch.thenApplyAsync(
+          blockBytes -> decode( readOffset , blockBytes ) , executor );
+    }
+    pendingQueue.add( future );
+    pendingOffsetQueue.add( readOffset );
+    return true;
+  }
+
+  private byte[] fetch( final YosegiReader.ReadBlockOffset readOffset ) {
+    if ( closed ) {
+      throw new CancellationException();
+    }
+    try {
+      inReadOffset += InputStreamUtils.skip( in , readOffset.start - inReadOffset );
+      long remaining = Math.max( 0 , dataSize - inReadOffset );
+      byte[] blockBytes = new byte[ (int)Math.min( readOffset.length , remaining ) ];
+      inReadOffset += InputStreamUtils.read( in , blockBytes , 0 , blockBytes.length );
+      return blockBytes;
+    } catch ( IOException ex ) {
+      throw new UncheckedIOException( ex );
+    }
+  }
+
+  private IBlockReader decode(
+      final YosegiReader.ReadBlockOffset readOffset , final byte[] blockBytes ) {
+    if ( closed ) {
+      throw new CancellationException();
+    }
+    try {
+      return decoder.decode( readOffset , blockBytes );
+    } catch ( IOException ex ) {
+      throw new UncheckedIOException( ex );
+    }
+  }
+
+  /**
+   * It is judged whether there is the next block.
+   */
+  public boolean hasNext() {
+    return ! pendingQueue.isEmpty();
+  }
+
+  /**
+   * Wait for the next block and schedule the block after the prefetch window.
+   */
+  public IBlockReader next() throws IOException {
+    CompletableFuture<IBlockReader> future = pendingQueue.poll();
+    if ( future == null ) {
+      throw new IOException( "There is no block to read." );
+    }
+    YosegiReader.ReadBlockOffset readOffset = pendingOffsetQueue.poll();
+    if ( in == null ) {
+      inReadOffset = Math.min( dataSize , readOffset.start + readOffset.length );
+    }
+    submit();
+    try {
+      return future.get();
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    } catch ( ExecutionException ex ) {
+      Throwable cause = ex.getCause();
+      if ( cause instanceof UncheckedIOException ) {
+        throw ( (UncheckedIOException)cause ).getCause();
+      }
+      throw new IOException( cause );
+    }
+  }
+
+  /**
+   * Get the read position of the file.
+   * Without InputStream, it is the end of the last returned block.
+   */
+  public long getReadPos() {
+    return inReadOffset;
+  }
+
+  public int getPrefetchSize() {
+    return prefetchSize;
+  }
+
+  /**
+   * Discard the blocks in flight.
+   * The blocks that have not started are skipped, and the running reads are not interrupted.
+   * It returns after all the running tasks are finished,
+   * so the caller can close the InputStream or the block source afterwards.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    for ( CompletableFuture<IBlockReader> future : pendingQueue ) {
+      future.handle( ( blockReader , ex ) -> null ).join();
+    }
+    lastFetch.handle( ( blockBytes , ex ) -> null ).join();
+    pendingQueue.clear();
+    pendingOffsetQueue.clear();
+  }
+
+}
@@ -21,8 +21,11 @@ package jp.co.yahoo.yosegi.reader;
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
-import jp.co.yahoo.yosegi.block.BlockReaderNameShortCut;
+import jp.co.yahoo.yosegi.block.BlockSourceInputStream;
+import jp.co.yahoo.yosegi.block.FileFooter;
+import jp.co.yahoo.yosegi.block.FileHeader;
 import jp.co.yahoo.yosegi.block.IBlockReader;
+import jp.co.yahoo.yosegi.block.IBlockSource;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.spread.Spread;
@@ -31,42 +34,35 @@ import jp.co.yahoo.yosegi.stats.SummaryStats;
 import jp.co.yahoo.yosegi.util.FindClass;
 import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 
 public class YosegiReader implements AutoCloseable {
 
-  private static final byte[] MAGIC = new byte[]{'$','C','L','M'};
-
   private final Map<String,IBlockReader> blockReaderMap = new HashMap<String,IBlockReader>();
   private final List<ReadBlockOffset> readTargetList = new ArrayList<ReadBlockOffset>();
+  private final Queue<IBlockReader> idleBlockReaderQueue =
+      new ConcurrentLinkedQueue<IBlockReader>();
   private IBlockReader currentBlockReader;
   private IExpressionNode blockSkipIndex;
+  private BlockPrefetcher prefetcher;
+  private Executor prefetchExecutor = BlockPrefetcher.getSharedExecutor();
+  private IBlockSource blockSource;
+  private FileFooter fileFooter;
 
   private InputStream in;
   private int blockSize;
   private long inReadOffset;
 
-  private class FileHeaderMeta {
-    public final int blockSize;
-    public final int headerSize;
-    public final String className;
-
-    public FileHeaderMeta( final int blockSize , final String className , final int headerSize ) {
-      this.blockSize = blockSize;
-      this.className = className;
-      this.headerSize = headerSize;
-    }
-  }
-
-  private class ReadBlockOffset {
+  static class ReadBlockOffset {
     public final long start;
     public final int length;
 
@@ -76,42 +72,19 @@ public class YosegiReader implements AutoCloseable {
     }
   }
 
-  private FileHeaderMeta readFileHeader( final InputStream in ) throws IOException {
-    byte[] magic = new byte[MAGIC.length];
-    InputStreamUtils.read( in , magic , 0 , MAGIC.length );
-
-    if ( ! Arrays.equals( magic , MAGIC) ) {
-      throw new IOException( "Invalid binary." );
-    }
-
-    byte[] blockSizeBytes = new byte[Integer.BYTES];
-    InputStreamUtils.read( in , blockSizeBytes , 0 , Integer.BYTES );
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( blockSizeBytes );
-    final int readBlockSize = wrapBuffer.getInt( 0 );
-
-    byte[] blockClassLength = new byte[Integer.BYTES];
-    ByteBuffer wrapLengthBuffer = ByteBuffer.wrap( blockClassLength );
-    InputStreamUtils.read( in , blockClassLength , 0 , Integer.BYTES );
-    int classNameSize = wrapLengthBuffer.getInt( 0 );
-
-    byte[] blockClass = new byte[classNameSize];
-    InputStreamUtils.read( in , blockClass , 0 , classNameSize );
-    ByteBuffer classNameBuffer = ByteBuffer.wrap( blockClass );
-    CharBuffer viewCharBuffer = classNameBuffer.asCharBuffer();
-    char[] classNameChars = new char[ classNameSize / Character.BYTES ];
-    viewCharBuffer.get( classNameChars );
-    String blockReaderClass = BlockReaderNameShortCut.getClassName( new String( classNameChars ) );
-
-    return new FileHeaderMeta(
-        readBlockSize , 
-        blockReaderClass ,
-        ( MAGIC.length + ( Integer.BYTES * 2 ) + classNameSize ) );
-  }
-
   public void setBlockSkipIndex( final IExpressionNode blockSkipIndex ) {
     this.blockSkipIndex = blockSkipIndex;
   }
 
+  /**
+   * Set the worker pool of the block prefetch.
+   * By default, the pool shared by all readers is used.
+   * The reader does not shut down the pool.
+   */
+  public void setPrefetchExecutor( final Executor prefetchExecutor ) {
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
   public void setNewStream(
       final InputStream in , final long dataSize , final Configuration config ) throws IOException {
     setNewStream( in , dataSize , config , 0 , dataSize );
@@ -126,43 +99,187 @@ public class YosegiReader implements AutoCloseable {
       final Configuration config ,
       final long start ,
       final long length ) throws IOException {
+    open( in , null , dataSize , config , start , length );
+  }
+
+  public void setNewSource(
+      final IBlockSource source , final Configuration config ) throws IOException {
+    setNewSource( source , config , 0 , source.size() );
+  }
+
+  /**
+   * Set the file as IBlockSource.
+   * Blocks are read by the positional read instead of skipping the InputStream,
+   * so the block reader can read only the required columns.
+   */
+  public void setNewSource(
+      final IBlockSource source ,
+      final Configuration config ,
+      final long start ,
+      final long length ) throws IOException {
+    open( null , source , source.size() , config , start , length );
+  }
+
+  private void open(
+      final InputStream in ,
+      final IBlockSource source ,
+      final long dataSize ,
+      final Configuration config ,
+      final long start ,
+      final long length ) throws IOException {
+    closePrefetcher();
     inReadOffset = 0;
     readTargetList.clear();
+    idleBlockReaderQueue.clear();
 
     this.in = in;
-
-    FileHeaderMeta meta = readFileHeader( in );
-    inReadOffset += meta.headerSize;
-    if ( ! blockReaderMap.containsKey( meta.className ) ) {
+    this.blockSource = source;
+    fileFooter = null;
+
+    FileHeader meta;
+    if ( source == null ) {
+      meta = FileHeader.read( in );
+    } else {
+      meta = FileHeader.read( new BlockSourceInputStream( source , 0 , dataSize ) );
+    }
+    final String className = meta.getReaderClassName();
+    final int headerSize = meta.getBinarySize();
+    inReadOffset += headerSize;
+    if ( ! blockReaderMap.containsKey( className ) ) {
       IBlockReader blockReader = (IBlockReader)(
-          FindClass.getObject( meta.className , true , this.getClass().getClassLoader() ) );
-      blockReaderMap.put( meta.className , blockReader );
+          FindClass.getObject( className , true , this.getClass().getClassLoader() ) );
+      blockReaderMap.put( className , blockReader );
     }
 
-    currentBlockReader = blockReaderMap.get( meta.className );
+    currentBlockReader = blockReaderMap.get( className );
     currentBlockReader.setup( config );
     currentBlockReader.setBlockSkipIndex( blockSkipIndex );
 
-    blockSize = meta.blockSize;
+    blockSize = meta.getBlockSize();
 
-    int blockCount = Double.valueOf( Math.ceil( (double)dataSize / (double)blockSize ) ).intValue();
-    for ( int i = 0 ; i < blockCount ; i++ ) {
-      int targetBlockSize = blockSize;
-      if ( i == 0 ) {
-        targetBlockSize -= meta.headerSize;
+    if ( meta.isVariableBlock() ) {
+      if ( source == null ) {
+        throw new IOException(
+            "The file of variable-length blocks can not be read from InputStream."
+            + " Please use IBlockSource." );
       }
-      long readStartOffset = (long)i * (long)blockSize;
-      if ( start <= readStartOffset && readStartOffset < ( start + length ) ) {
-        readTargetList.add( new ReadBlockOffset( readStartOffset , targetBlockSize ) );
+      fileFooter = FileFooter.read( source );
+      if ( fileFooter == null ) {
+        throw new IOException( "The file of variable-length blocks has no file footer." );
       }
+    } else if ( source != null
+        && config.get( "reader.file.footer" , "true" ).equals( "true" ) ) {
+      fileFooter = FileFooter.read( source );
+    }
+    if ( fileFooter != null ) {
+      setFooterReadTarget( headerSize , start , length );
+    } else {
+      setReadTarget( headerSize , dataSize , start , length );
     }
     if ( readTargetList.isEmpty() ) {
       return;
     }
     currentBlockReader.setBlockSize( blockSize );
+
+    int prefetchSize = config.getInt( "reader.block.prefetch.size" , 0 );
+    if ( 0 < prefetchSize ) {
+      boolean predecompress =
+          config.get( "reader.block.prefetch.decompress" , "true" ).equals( "true" );
+      BlockPrefetcher.IBlockDecoder decoder = ( readOffset , blockBytes ) -> decodeBlock(
+          className , config , readOffset , blockBytes , predecompress );
+      if ( source == null ) {
+        prefetcher = new BlockPrefetcher( in , inReadOffset , dataSize ,
+            readTargetList , decoder , prefetchSize , prefetchExecutor );
+      } else {
+        prefetcher = new BlockPrefetcher(
+            dataSize , readTargetList , decoder , prefetchSize , prefetchExecutor );
+      }
+      readTargetList.clear();
+    }
     setNextBlock();
   }
 
+  private void setReadTarget(
+      final int headerSize ,
+      final long dataSize ,
+      final long start ,
+      final long length ) {
+    int blockCount = Double.valueOf( Math.ceil( (double)dataSize / (double)blockSize ) ).intValue();
+    for ( int i = 0 ; i < blockCount ; i++ ) {
+      int targetBlockSize = blockSize;
+      long readStartOffset = (long)i * (long)blockSize;
+      if ( start <= readStartOffset && readStartOffset < ( start + length ) ) {
+        if ( i == 0 ) {
+          readTargetList.add(
+              new ReadBlockOffset( headerSize , targetBlockSize - headerSize ) );
+        } else {
+          readTargetList.add( new ReadBlockOffset( readStartOffset , targetBlockSize ) );
+        }
+      }
+    }
+  }
+
+  /**
+   * Set the blocks in the footer as the read target.
+   * A block belongs to the range that contains the start of the block,
+   * and the first block starts at the beginning of the file.
+   * The blocks that do not match blockSkipIndex are skipped without reading.
+   */
+  private void setFooterReadTarget(
+      final int headerSize , final long start , final long length ) throws IOException {
+    for ( FileFooter.BlockEntry entry : fileFooter.getBlockEntryList() ) {
+      long blockStartOffset = entry.getOffset();
+      if ( blockStartOffset == headerSize ) {
+        blockStartOffset = 0;
+      }
+      if ( blockStartOffset < start || ( start + length ) <= blockStartOffset ) {
+        continue;
+      }
+      if ( blockSkipIndex != null ) {
+        BlockIndexNode blockIndexNode = entry.getBlockIndexNode();
+        if ( blockIndexNode != null ) {
+          List<Integer> spreadIndexList = blockSkipIndex.getBlockSpreadIndex( blockIndexNode );
+          if ( spreadIndexList != null && spreadIndexList.isEmpty() ) {
+            continue;
+          }
+        }
+      }
+      readTargetList.add( new ReadBlockOffset( entry.getOffset() , entry.getLength() ) );
+    }
+  }
+
+  private IBlockReader decodeBlock(
+      final String className ,
+      final Configuration config ,
+      final ReadBlockOffset readOffset ,
+      final byte[] blockBytes ,
+      final boolean predecompress ) throws IOException {
+    IBlockReader blockReader = idleBlockReaderQueue.poll();
+    if ( blockReader == null ) {
+      blockReader = (IBlockReader)(
+          FindClass.getObject( className , true , this.getClass().getClassLoader() ) );
+      blockReader.setup( config );
+      blockReader.setBlockSkipIndex( blockSkipIndex );
+      blockReader.setBlockSize( blockSize );
+    }
+    if ( blockBytes == null ) {
+      blockReader.setBlockSource( blockSource , readOffset.start , readOffset.length );
+    } else {
+      blockReader.setStream( new ByteArrayInputStream( blockBytes ) , readOffset.length );
+    }
+    if ( predecompress ) {
+      blockReader.predecompress();
+    }
+    return blockReader;
+  }
+
+  private void closePrefetcher() {
+    if ( prefetcher != null ) {
+      prefetcher.close();
+      prefetcher = null;
+    }
+  }
+
   /**
    * It is judged whether there is the next Spread.
    */
@@ -172,10 +289,26 @@ public class YosegiReader implements AutoCloseable {
 
   private boolean setNextBlock() throws IOException {
     while ( ! currentBlockReader.hasNext() ) {
+      if ( prefetcher != null ) {
+        if ( ! prefetcher.hasNext() ) {
+          return false;
+        }
+        IBlockReader nextBlockReader = prefetcher.next();
+        if ( ! blockReaderMap.containsValue( currentBlockReader ) ) {
+          idleBlockReaderQueue.add( currentBlockReader );
+        }
+        currentBlockReader = nextBlockReader;
+        continue;
+      }
       if ( readTargetList.isEmpty() ) {
         return false;
       }
       ReadBlockOffset readOffset = readTargetList.remove(0);
+      if ( blockSource != null ) {
+        currentBlockReader.setBlockSource( blockSource , readOffset.start , readOffset.length );
+        inReadOffset = Math.min( blockSource.size() , readOffset.start + readOffset.length );
+        continue;
+      }
       inReadOffset += InputStreamUtils.skip( in , readOffset.start - inReadOffset );
       currentBlockReader.setStream( in , readOffset.length );
       inReadOffset += readOffset.length;
@@ -220,6 +353,14 @@ public class YosegiReader implements AutoCloseable {
     return localSpredPushdown( currentBlockReader.nextRaw() );
   }
 
+  /**
+   * Get the footer of the current file.
+   * Returns null if the file has no footer or the file is read from InputStream.
+   */
+  public FileFooter getFileFooter() {
+    return fileFooter;
+  }
+
   public int getBlockReadCount() {
     return currentBlockReader.getBlockReadCount();
   }
@@ -228,7 +369,13 @@ public class YosegiReader implements AutoCloseable {
     return currentBlockReader.getBlockCount();
   }
 
+  /**
+   * Get the read position of the InputStream.
+   */
   public long getReadPos() {
+    if ( prefetcher != null ) {
+      return prefetcher.getReadPos();
+    }
     return inReadOffset;
   }
 
@@ -248,10 +395,16 @@ public class YosegiReader implements AutoCloseable {
    * Close InputStream and reset internal data.
    */
   public void close() throws IOException {
+    closePrefetcher();
+    idleBlockReaderQueue.clear();
     if ( in != null ) {
       in.close();
       in = null;
     }
+    if ( blockSource != null ) {
+      blockSource.close();
+      blockSource = null;
+    }
     inReadOffset = 0;
     readTargetList.clear();
     currentBlockReader.close();
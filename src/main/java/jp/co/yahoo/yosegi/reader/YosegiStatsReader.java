@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.reader;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.block.IBlockSource;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.stats.ColumnStats;
 import jp.co.yahoo.yosegi.stats.SpreadSummaryStats;
@@ -44,6 +45,7 @@ public class YosegiStatsReader {
 
   /**
    * Read statistics from file.
+   * Only the header and meta of the block are read, and the column data is skipped.
    */
   public void readStream(
       final InputStream in ,
@@ -53,24 +55,55 @@ public class YosegiStatsReader {
       final long length ) throws IOException {
     spreadSummaryStatsList.clear();
     columnStatsList.clear();
+    try ( YosegiReader reader = new YosegiReader(); ) {
+      reader.setNewStream( in , dataSize , createMetaOnlyConfig( config ) , start , length );
+      read( reader );
+    }
+  }
+
+  public void readSource(
+      final IBlockSource source , final Configuration config ) throws IOException {
+    readSource( source , config , 0 , source.size() );
+  }
 
+  /**
+   * Read statistics from the file as IBlockSource.
+   * Only the header and meta of the block are read by the positional read.
+   */
+  public void readSource(
+      final IBlockSource source ,
+      final Configuration config ,
+      final long start ,
+      final long length ) throws IOException {
+    spreadSummaryStatsList.clear();
+    columnStatsList.clear();
     try ( YosegiReader reader = new YosegiReader(); ) {
-      reader.setNewStream( in , dataSize , config , start , length );
-      while ( reader.hasNext() ) {
-        List<ColumnBinary> columnBinaryList = reader.nextRaw();
-        int lineCount = reader.getCurrentSpreadSize();
-        SummaryStats stats = new SummaryStats();
-        ColumnStats columnStats = new ColumnStats( "ROOT" );
-        for ( ColumnBinary columnBinary : columnBinaryList ) {
-          if ( columnBinary != null ) {
-            stats.merge( columnBinary.toSummaryStats() );
-            columnStats.addChild( columnBinary.columnName , columnBinary.toColumnStats() );
-          }
+      reader.setNewSource( source , createMetaOnlyConfig( config ) , start , length );
+      read( reader );
+    }
+  }
+
+  private Configuration createMetaOnlyConfig( final Configuration config ) {
+    Configuration metaOnlyConfig = new Configuration();
+    metaOnlyConfig.add( config );
+    metaOnlyConfig.set( "reader.block.meta.only" , "true" );
+    return metaOnlyConfig;
+  }
+
+  private void read( final YosegiReader reader ) throws IOException {
+    while ( reader.hasNext() ) {
+      List<ColumnBinary> columnBinaryList = reader.nextRaw();
+      int lineCount = reader.getCurrentSpreadSize();
+      SummaryStats stats = new SummaryStats();
+      ColumnStats columnStats = new ColumnStats( "ROOT" );
+      for ( ColumnBinary columnBinary : columnBinaryList ) {
+        if ( columnBinary != null ) {
+          stats.merge( columnBinary.toSummaryStats() );
+          columnStats.addChild( columnBinary.columnName , columnBinary.toColumnStats() );
         }
-        spreadSummaryStatsList.add( new SpreadSummaryStats( lineCount , stats ) );
-        columnStatsList.add( columnStats );
       }
-      reader.close();
+      spreadSummaryStatsList.add( new SpreadSummaryStats( lineCount , stats ) );
+      columnStatsList.add( columnStats );
     }
   }
 
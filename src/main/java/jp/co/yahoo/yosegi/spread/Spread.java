@@ -27,6 +27,7 @@ import jp.co.yahoo.yosegi.spread.column.ColumnTypeFactory;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.NullColumn;
+import jp.co.yahoo.yosegi.spread.column.SpreadColumn;
 import jp.co.yahoo.yosegi.spread.column.UnionColumn;
 
 import java.io.IOException;
@@ -139,6 +140,44 @@ public class Spread {
     return totalBytes;
   }
 
+  /**
+   * Add a value to the current row without moving to the next row.
+   * It is used to add the values of a row one by one , and the row is fixed by nextRow().
+   */
+  public int addValue( final String columnName , final Object value ) throws IOException {
+    return registerRow( columnName , value );
+  }
+
+  /**
+   * Get the Spread of the nested column to add the values of the current row one by one.
+   * Return null if the column already has another type,
+   * then the caller must add the nested value as a whole by addValue().
+   */
+  public Spread getChildSpread( final String columnName ) throws IOException {
+    int index = getColumnIndex( columnName );
+    if ( index == -1 ) {
+      SpreadColumn column = new SpreadColumn( columnName );
+      column.setParentsColumn( parentColumn );
+      columnIndexMapping.put( columnName , Integer.valueOf( columnList.size() ) );
+      columnList.add( column );
+      index = columnList.size() - 1;
+    }
+    IColumn column = columnList.get( index );
+    if ( ! ( column instanceof SpreadColumn ) ) {
+      return null;
+    }
+    Spread childSpread = ( (SpreadColumn)column ).getSpread();
+    childSpread.setRowCount( rowCount );
+    return childSpread;
+  }
+
+  /**
+   * Fix the current row added by addValue() and move to the next row.
+   */
+  public void nextRow() {
+    rowCount++;
+  }
+
   /**
    * Add rows data.
    */
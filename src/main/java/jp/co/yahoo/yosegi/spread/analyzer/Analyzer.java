@@ -33,10 +33,19 @@ public final class Analyzer {
    * Obtain an object for analyzing from Spread.
    */
   public static List<IColumnAnalizer> getAnalizer( final Spread spread ) throws IOException {
+    return getAnalizer( spread , 0 );
+  }
+
+  /**
+   * Obtain an object for analyzing from Spread.
+   * If sampleRows is greater than 0 , the columns are analyzed from a sample of the rows.
+   */
+  public static List<IColumnAnalizer> getAnalizer(
+      final Spread spread , final int sampleRows ) throws IOException {
     List<IColumnAnalizer> result = new ArrayList<IColumnAnalizer>();
     for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
       IColumn column = spread.getColumn( i );
-      result.add( ColumnAnalizerFactory.get( column ) );
+      result.add( ColumnAnalizerFactory.get( column , sampleRows ) );
     }
     return result;
   }
@@ -45,8 +54,17 @@ public final class Analyzer {
    * Analyze Spread and obtain the result.
    */
   public static List<IColumnAnalizeResult> analize( final Spread spread ) throws IOException {
+    return analize( spread , 0 );
+  }
+
+  /**
+   * Analyze Spread and obtain the result.
+   * If sampleRows is greater than 0 , the columns are analyzed from a sample of the rows.
+   */
+  public static List<IColumnAnalizeResult> analize(
+      final Spread spread , final int sampleRows ) throws IOException {
     List<IColumnAnalizeResult> result = new ArrayList<IColumnAnalizeResult>();
-    for ( IColumnAnalizer analizer : getAnalizer( spread ) ) {
+    for ( IColumnAnalizer analizer : getAnalizer( spread , sampleRows ) ) {
       if ( analizer != null ) {
         result.add( analizer.analize() );
       }
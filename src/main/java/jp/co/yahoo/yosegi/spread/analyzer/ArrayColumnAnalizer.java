@@ -27,16 +27,22 @@ import java.util.List;
 public class ArrayColumnAnalizer implements IColumnAnalizer {
 
   private final IColumn column;
+  private final int sampleRows;
 
   public ArrayColumnAnalizer( final IColumn column ) {
+    this( column , 0 );
+  }
+
+  public ArrayColumnAnalizer( final IColumn column , final int sampleRows ) {
     this.column = column;
+    this.sampleRows = sampleRows;
   }
 
   @Override
   public IColumnAnalizeResult analize() throws IOException {
     List<IColumnAnalizeResult> resultList = new ArrayList<IColumnAnalizeResult>();
     for ( IColumn childColumn : column.getListColumn() ) {
-      IColumnAnalizer analizer = ColumnAnalizerFactory.get( childColumn );
+      IColumnAnalizer analizer = ColumnAnalizerFactory.get( childColumn , sampleRows );
       resultList.add( analizer.analize() );
     }
 
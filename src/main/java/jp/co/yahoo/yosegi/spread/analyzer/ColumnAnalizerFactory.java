@@ -28,13 +28,35 @@ public final class ColumnAnalizerFactory {
    * Determine the column type and obtain IColumnAnalizer.
    */
   public static IColumnAnalizer get( final IColumn column ) {
+    return get( column , 0 );
+  }
+
+  /**
+   * Determine the column type and obtain IColumnAnalizer.
+   * If sampleRows is greater than 0 , string , long , integer and double columns
+   * are analyzed by the sketch based analyzers , which read at most sampleRows rows.
+   */
+  public static IColumnAnalizer get( final IColumn column , final int sampleRows ) {
+    if ( 0 < sampleRows ) {
+      switch ( column.getColumnType() ) {
+        case DOUBLE:
+          return new SampledDoubleColumnAnalizer( column , sampleRows );
+        case INTEGER:
+          return new SampledIntegerColumnAnalizer( column , sampleRows );
+        case LONG:
+          return new SampledLongColumnAnalizer( column , sampleRows );
+        case STRING:
+          return new SampledStringColumnAnalizer( column , sampleRows );
+        default:
+      }
+    }
     switch ( column.getColumnType() ) {
       case UNION:
-        return new UnionColumnAnalizer( column );
+        return new UnionColumnAnalizer( column , sampleRows );
       case ARRAY:
-        return new ArrayColumnAnalizer( column );
+        return new ArrayColumnAnalizer( column , sampleRows );
       case SPREAD:
-        return new SpreadColumnAnalizer( column );
+        return new SpreadColumnAnalizer( column , sampleRows );
       case BOOLEAN:
         return new BooleanColumnAnalizer( column );
       case BYTE:
@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+
+/**
+ * Rows of a column read by the sampled analyzers.
+ *
+ * <p>The sample is made of chunks of contiguous rows placed evenly over the column,
+ * so that the runs and the order of the values can be estimated in each chunk.
+ * The counts of the sample are scaled to the whole column by the methods of this class.</p>
+ */
+final class ColumnSample {
+
+  static final int CHUNK_ROWS = 64;
+
+  private final int columnSize;
+  private final int chunkCount;
+  private final int chunkRows;
+  private final int startIndex;
+  private final int lastIndex;
+
+  private int sampleRowCount;
+  private int sampleNullCount;
+  private int comparedCount;
+  private int changedCount;
+  private int currentRunLength;
+  private int maxRunLength;
+  private int checkpointRowCount = -1;
+  private int checkpointUniqCount;
+
+  ColumnSample( final IColumn column , final int sampleRows ) {
+    columnSize = column.size();
+    if ( columnSize <= sampleRows ) {
+      chunkCount = 1;
+      chunkRows = columnSize;
+    } else {
+      chunkCount = Math.max( 1 , sampleRows / CHUNK_ROWS );
+      chunkRows = Math.max( 1 , sampleRows / chunkCount );
+    }
+    int start = 0;
+    while ( start < columnSize && column.get( start ).getType() == ColumnType.NULL ) {
+      start++;
+    }
+    int last = columnSize - 1;
+    while ( start < last && column.get( last ).getType() == ColumnType.NULL ) {
+      last--;
+    }
+    startIndex = start < columnSize ? start : -1;
+    lastIndex = Math.max( 0 , last );
+  }
+
+  int getChunkCount() {
+    return chunkCount;
+  }
+
+  int getChunkStart( final int chunk ) {
+    if ( chunkCount == 1 ) {
+      return 0;
+    }
+    return (int)( (long)( columnSize - chunkRows ) * chunk / ( chunkCount - 1 ) );
+  }
+
+  int getChunkEnd( final int chunk ) {
+    return getChunkStart( chunk ) + chunkRows;
+  }
+
+  /**
+   * Called at the start of each chunk.
+   * The distinct count of the first half of the sample is kept
+   * to know how fast new values still appear at the end of the sample.
+   */
+  void startChunk( final int chunk , final CardinalitySketch sketch ) {
+    if ( 1 < chunkCount && chunk == chunkCount / 2 ) {
+      checkpointRowCount = sampleRowCount;
+      checkpointUniqCount = sketch.estimate();
+    }
+  }
+
+  /**
+   * Count a null row.
+   */
+  void addNull() {
+    sampleNullCount++;
+  }
+
+  /**
+   * Count a row and whether it is equal to the previous not null row in the chunk.
+   * The first row of a chunk must be added with isFirst.
+   */
+  void addRow( final boolean isFirst , final boolean isSameAsPrevious ) {
+    sampleRowCount++;
+    if ( isFirst ) {
+      currentRunLength = 1;
+    } else {
+      comparedCount++;
+      if ( isSameAsPrevious ) {
+        currentRunLength++;
+      } else {
+        changedCount++;
+        currentRunLength = 1;
+      }
+    }
+    maxRunLength = Math.max( maxRunLength , currentRunLength );
+  }
+
+  int getStartIndex() {
+    return startIndex;
+  }
+
+  int getLastIndex() {
+    return lastIndex;
+  }
+
+  int getSampleRowCount() {
+    return sampleRowCount;
+  }
+
+  /**
+   * Estimate the number of not null rows of the column.
+   */
+  int getRowCount() {
+    int sampledRows = sampleRowCount + sampleNullCount;
+    if ( sampledRows == 0 || sampledRows == columnSize ) {
+      return sampleRowCount;
+    }
+    return (int)Math.round( (double)sampleRowCount * columnSize / sampledRows );
+  }
+
+  int getNullCount() {
+    return columnSize - getRowCount();
+  }
+
+  /**
+   * Scale the value of the sample to the whole column.
+   */
+  int scale( final long sampleValue ) {
+    if ( sampleRowCount == 0 ) {
+      return 0;
+    }
+    return (int)Math.min(
+        Integer.MAX_VALUE , Math.round( (double)sampleValue * getRowCount() / sampleRowCount ) );
+  }
+
+  /**
+   * Estimate the number of distinct values of the column from the distinct count of the sample.
+   * The rate of new values in the second half of the sample is extrapolated to the rest rows,
+   * so a saturated distinct count is not scaled.
+   * The number of runs is the upper bound of the distinct count.
+   */
+  int getUniqCount( final int sampleUniqCount ) {
+    if ( sampleRowCount == 0 ) {
+      return 0;
+    }
+    int uniqCount = Math.max( 1 , Math.min( sampleUniqCount , sampleRowCount ) );
+    int rowCount = getRowCount();
+    if ( rowCount <= sampleRowCount ) {
+      return uniqCount;
+    }
+    double newValueRate = (double)uniqCount / sampleRowCount;
+    if ( 0 <= checkpointRowCount && checkpointRowCount < sampleRowCount ) {
+      newValueRate = (double)Math.max( 0 , uniqCount - checkpointUniqCount )
+          / ( sampleRowCount - checkpointRowCount );
+    }
+    long result = uniqCount + Math.round( ( rowCount - sampleRowCount ) * newValueRate );
+    return (int)Math.max( uniqCount , Math.min( Math.min( rowCount , getRunCount() ) , result ) );
+  }
+
+  /**
+   * Estimate the number of runs ignoring nulls.
+   */
+  int getRunCount() {
+    int rowCount = getRowCount();
+    if ( rowCount == 0 ) {
+      return 0;
+    }
+    if ( comparedCount == 0 ) {
+      return rowCount;
+    }
+    long changed = Math.round( (double)changedCount * ( rowCount - 1 ) / comparedCount );
+    return (int)Math.min( rowCount , 1 + changed );
+  }
+
+  /**
+   * Estimate the longest run ignoring nulls.
+   * A run may be longer than a chunk , so the average run length is the lower bound.
+   */
+  int getMaxRunLength() {
+    int runCount = getRunCount();
+    if ( runCount == 0 ) {
+      return 0;
+    }
+    int averageRunLength = ( getRowCount() + runCount - 1 ) / runCount;
+    return Math.max( maxRunLength , averageRunLength );
+  }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+
+import java.io.IOException;
+
+/**
+ * Analyze a long column from a sample of rows.
+ * The distinct count is estimated by CardinalitySketch instead of a set of the values.
+ */
+public class SampledLongColumnAnalizer implements IColumnAnalizer {
+
+  private final IColumn column;
+  private final int sampleRows;
+
+  public SampledLongColumnAnalizer( final IColumn column , final int sampleRows ) {
+    this.column = column;
+    this.sampleRows = sampleRows;
+  }
+
+  @Override
+  public IColumnAnalizeResult analize() throws IOException {
+    ColumnSample sample = new ColumnSample( column , sampleRows );
+    CardinalitySketch sketch = new CardinalitySketch();
+    boolean maybeSorted = true;
+    long currentSortCheckValue = Long.MIN_VALUE;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+
+    for ( int chunk = 0 ; chunk < sample.getChunkCount() ; chunk++ ) {
+      sample.startChunk( chunk , sketch );
+      boolean isFirst = true;
+      long previous = 0;
+      for ( int i = sample.getChunkStart( chunk ) ; i < sample.getChunkEnd( chunk ) ; i++ ) {
+        ICell cell = column.get(i);
+        if ( cell.getType() == ColumnType.NULL ) {
+          sample.addNull();
+          continue;
+        }
+        long target = ( (PrimitiveCell) cell ).getRow().getLong();
+        if ( maybeSorted && currentSortCheckValue <= target ) {
+          currentSortCheckValue = target;
+        } else {
+          maybeSorted = false;
+        }
+        sample.addRow( isFirst , previous == target );
+        isFirst = false;
+        previous = target;
+        sketch.addLong( target );
+        min = Math.min( min , target );
+        max = Math.max( max , target );
+      }
+    }
+
+    return new LongColumnAnalizeResult(
+        column.getColumnName() ,
+        column.size() ,
+        maybeSorted ,
+        sample.getNullCount() ,
+        sample.getRowCount() ,
+        sample.getUniqCount( sketch.estimate() ) ,
+        min ,
+        max ,
+        sample.getRunCount() ,
+        sample.getMaxRunLength() );
+  }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+
+import java.io.IOException;
+
+/**
+ * Analyze a string column from a sample of rows.
+ *
+ * <p>The distinct count is estimated by CardinalitySketch instead of a set of the values,
+ * and the UTF-8 length is counted from the chars without encoding.
+ * The sizes of the distinct values are estimated from the average size of the sample.</p>
+ */
+public class SampledStringColumnAnalizer implements IColumnAnalizer {
+
+  private final IColumn column;
+  private final int sampleRows;
+
+  public SampledStringColumnAnalizer( final IColumn column , final int sampleRows ) {
+    this.column = column;
+    this.sampleRows = sampleRows;
+  }
+
+  @Override
+  public IColumnAnalizeResult analize() throws IOException {
+    ColumnSample sample = new ColumnSample( column , sampleRows );
+    CardinalitySketch sketch = new CardinalitySketch();
+    boolean maybeSorted = true;
+    String currentSortCheckValue = "";
+    long totalLogicalDataSize = 0;
+    long totalUtf8ByteSize = 0;
+    int minCharLength = Integer.MAX_VALUE;
+    int maxCharLength = 0;
+    int minUtfBytes = Integer.MAX_VALUE;
+    int maxUtfBytes = 0;
+    String min = null;
+    String max = null;
+
+    for ( int chunk = 0 ; chunk < sample.getChunkCount() ; chunk++ ) {
+      sample.startChunk( chunk , sketch );
+      String previous = null;
+      for ( int i = sample.getChunkStart( chunk ) ; i < sample.getChunkEnd( chunk ) ; i++ ) {
+        ICell cell = column.get(i);
+        if ( cell.getType() == ColumnType.NULL ) {
+          sample.addNull();
+          continue;
+        }
+        String target = ( (PrimitiveCell) cell ).getRow().getString();
+        if ( maybeSorted && currentSortCheckValue.compareTo( target ) <= 0 ) {
+          currentSortCheckValue = target;
+        } else {
+          maybeSorted = false;
+        }
+        sample.addRow( previous == null , target.equals( previous ) );
+        previous = target;
+        sketch.addString( target );
+
+        int charLength = target.length() * Character.BYTES;
+        int utf8Length = getUtf8Length( target );
+        totalLogicalDataSize += charLength;
+        totalUtf8ByteSize += utf8Length;
+        minCharLength = Math.min( minCharLength , charLength );
+        maxCharLength = Math.max( maxCharLength , charLength );
+        minUtfBytes = Math.min( minUtfBytes , utf8Length );
+        maxUtfBytes = Math.max( maxUtfBytes , utf8Length );
+        if ( min == null || 0 < min.compareTo( target ) ) {
+          min = target;
+        }
+        if ( max == null || max.compareTo( target ) < 0 ) {
+          max = target;
+        }
+      }
+    }
+
+    int sampleRowCount = sample.getSampleRowCount();
+    int uniqCount = sample.getUniqCount( sketch.estimate() );
+    int runCount = sample.getRunCount();
+    double averageLogicalDataSize = 0;
+    double averageUtf8ByteSize = 0;
+    if ( 0 < sampleRowCount ) {
+      averageLogicalDataSize = (double)totalLogicalDataSize / sampleRowCount;
+      averageUtf8ByteSize = (double)totalUtf8ByteSize / sampleRowCount;
+    }
+
+    return new StringColumnAnalizeResult(
+        column.getColumnName() ,
+        column.size() ,
+        maybeSorted ,
+        sample.getNullCount() ,
+        sample.getRowCount() ,
+        uniqCount ,
+        sample.scale( totalLogicalDataSize ) ,
+        sample.getStartIndex() ,
+        sample.getLastIndex() ,
+        sample.scale( totalUtf8ByteSize ) ,
+        (int)Math.round( averageLogicalDataSize * uniqCount ) ,
+        (int)Math.round( averageUtf8ByteSize * uniqCount ) ,
+        minCharLength ,
+        maxCharLength ,
+        minUtfBytes ,
+        maxUtfBytes ,
+        min == null ? "" : min ,
+        max == null ? "" : max ,
+        runCount ,
+        sample.getMaxRunLength() ,
+        (int)Math.round( averageUtf8ByteSize * runCount ) );
+  }
+
+  /**
+   * Count the UTF-8 bytes of the string without encoding.
+   */
+  static int getUtf8Length( final String target ) {
+    int length = 0;
+    for ( int i = 0 ; i < target.length() ; i++ ) {
+      char ch = target.charAt( i );
+      if ( ch < 0x80 ) {
+        length++;
+      } else if ( ch < 0x800 ) {
+        length += 2;
+      } else if ( Character.isHighSurrogate( ch )
+          && i + 1 < target.length() && Character.isLowSurrogate( target.charAt( i + 1 ) ) ) {
+        length += 4;
+        i++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+}
@@ -33,4 +33,45 @@ public interface ICellManager<T> {
 
   void clear();
 
+  /**
+   * Set true to the rows that match the filter and return filterArray.
+   * Returns null if this manager does not evaluate the filter by itself.
+   */
+  default boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    return null;
+  }
+
+  /**
+   * Whether the row is null.
+   * The primitive accessors below can be used only for the rows that are not null.
+   */
+  default boolean isNull( final int index ) {
+    return get( index , null ) == null;
+  }
+
+  default boolean getBoolean( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index , null ) ).getRow().getBoolean();
+  }
+
+  default int getInt( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index , null ) ).getRow().getInt();
+  }
+
+  default long getLong( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index , null ) ).getRow().getLong();
+  }
+
+  default float getFloat( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index , null ) ).getRow().getFloat();
+  }
+
+  default double getDouble( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index , null ) ).getRow().getDouble();
+  }
+
+  default String getString( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index , null ) ).getRow().getString();
+  }
+
 }
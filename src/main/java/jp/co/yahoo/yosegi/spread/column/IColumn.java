@@ -20,6 +20,8 @@ package jp.co.yahoo.yosegi.spread.column;
 
 import jp.co.yahoo.yosegi.message.design.IField;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.filter.FilterMatcher;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 
 import java.io.IOException;
 import java.util.List;
@@ -98,4 +100,61 @@ public interface IColumn {
     throw new UnsupportedOperationException( "This method only supports dictionary columns." );
   }
 
+  /**
+   * Set true to the rows that match the filter and return filterArray.
+   * Returns null if the filter can not be evaluated against this column.
+   */
+  default boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    FilterMatcher matcher = FilterMatcher.create( filter , getColumnType() );
+    if ( matcher == null ) {
+      return null;
+    }
+    int columnSize = Math.min( size() , filterArray.length );
+    for ( int i = 0 ; i < filterArray.length ; i++ ) {
+      ICell cell = null;
+      if ( i < columnSize ) {
+        cell = get( i );
+      }
+      if ( cell instanceof PrimitiveCell ) {
+        filterArray[i] = matcher.isMatch( ( (PrimitiveCell)cell ).getRow() );
+      } else {
+        filterArray[i] = matcher.isMatchNull();
+      }
+    }
+    return filterArray;
+  }
+
+  /**
+   * Whether the row is null.
+   * The primitive accessors below can be used only for the rows that are not null.
+   */
+  default boolean isNull( final int index ) {
+    return get( index ).getType() == ColumnType.NULL;
+  }
+
+  default boolean getBoolean( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index ) ).getRow().getBoolean();
+  }
+
+  default int getInt( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index ) ).getRow().getInt();
+  }
+
+  default long getLong( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index ) ).getRow().getLong();
+  }
+
+  default float getFloat( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index ) ).getRow().getFloat();
+  }
+
+  default double getDouble( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index ) ).getRow().getDouble();
+  }
+
+  default String getString( final int index ) throws IOException {
+    return ( (PrimitiveCell)get( index ) ).getRow().getString();
+  }
+
 }
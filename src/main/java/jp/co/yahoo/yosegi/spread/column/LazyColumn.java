@@ -20,6 +20,7 @@ package jp.co.yahoo.yosegi.spread.column;
 
 import jp.co.yahoo.yosegi.message.design.IField;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 
 import java.io.IOException;
 import java.util.List;
@@ -95,6 +96,47 @@ public class LazyColumn implements IColumn {
     return columnManager.get().get( index );
   }
 
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    return columnManager.get().filter( filter , filterArray );
+  }
+
+  @Override
+  public boolean isNull( final int index ) {
+    return columnManager.get().isNull( index );
+  }
+
+  @Override
+  public boolean getBoolean( final int index ) throws IOException {
+    return columnManager.get().getBoolean( index );
+  }
+
+  @Override
+  public int getInt( final int index ) throws IOException {
+    return columnManager.get().getInt( index );
+  }
+
+  @Override
+  public long getLong( final int index ) throws IOException {
+    return columnManager.get().getLong( index );
+  }
+
+  @Override
+  public float getFloat( final int index ) throws IOException {
+    return columnManager.get().getFloat( index );
+  }
+
+  @Override
+  public double getDouble( final int index ) throws IOException {
+    return columnManager.get().getDouble( index );
+  }
+
+  @Override
+  public String getString( final int index ) throws IOException {
+    return columnManager.get().getString( index );
+  }
+
   @Override
   public List<String> getColumnKeys() {
     return columnManager.getColumnKeys();
@@ -103,6 +103,51 @@ public class PrimitiveColumn implements IColumn {
     return cellManager.get( index , defaultCell );
   }
 
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    boolean[] result = cellManager.filter( filter , filterArray );
+    if ( result != null ) {
+      return result;
+    }
+    return IColumn.super.filter( filter , filterArray );
+  }
+
+  @Override
+  public boolean isNull( final int index ) {
+    return cellManager.isNull( index );
+  }
+
+  @Override
+  public boolean getBoolean( final int index ) throws IOException {
+    return cellManager.getBoolean( index );
+  }
+
+  @Override
+  public int getInt( final int index ) throws IOException {
+    return cellManager.getInt( index );
+  }
+
+  @Override
+  public long getLong( final int index ) throws IOException {
+    return cellManager.getLong( index );
+  }
+
+  @Override
+  public float getFloat( final int index ) throws IOException {
+    return cellManager.getFloat( index );
+  }
+
+  @Override
+  public double getDouble( final int index ) throws IOException {
+    return cellManager.getDouble( index );
+  }
+
+  @Override
+  public String getString( final int index ) throws IOException {
+    return cellManager.getString( index );
+  }
+
   @Override
   public void setDefaultCell( final ICell defaultCell ) {
     this.defaultCell = defaultCell;
@@ -110,6 +110,10 @@ public class SpreadColumn implements IColumn {
     this.spread = spread;
   }
 
+  public Spread getSpread() {
+    return spread;
+  }
+
   @Override
   public List<String> getColumnKeys() {
     return spread.getColumnKeys();
@@ -0,0 +1,408 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.column.filter;
+
+import jp.co.yahoo.yosegi.message.objects.IBytesLink;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluate IFilter against a value of a primitive column.
+ * Null values match only NullFilter.
+ */
+public final class FilterMatcher {
+
+  private final boolean matchNull;
+  private final IValueMatcher valueMatcher;
+  private final LongPredicate longMatcher;
+  private final DoublePredicate doubleMatcher;
+
+  @FunctionalInterface
+  private interface IValueMatcher {
+
+    boolean isMatch( final PrimitiveObject value ) throws IOException;
+
+  }
+
+  @FunctionalInterface
+  private interface ILongComparator {
+
+    int compare( final long value );
+
+  }
+
+  @FunctionalInterface
+  private interface IDoubleComparator {
+
+    int compare( final double value );
+
+  }
+
+  private FilterMatcher( final boolean matchNull , final IValueMatcher valueMatcher ) {
+    this( matchNull , valueMatcher , null , null );
+  }
+
+  private FilterMatcher(
+      final boolean matchNull ,
+      final IValueMatcher valueMatcher ,
+      final LongPredicate longMatcher ,
+      final DoublePredicate doubleMatcher ) {
+    this.matchNull = matchNull;
+    this.valueMatcher = valueMatcher;
+    this.longMatcher = longMatcher;
+    this.doubleMatcher = doubleMatcher;
+  }
+
+  /**
+   * Create a matcher of the filter for the column type.
+   * Returns null if the filter can not be evaluated against the column type.
+   */
+  public static FilterMatcher create(
+      final IFilter filter , final ColumnType columnType ) throws IOException {
+    if ( ! isPrimitive( columnType ) ) {
+      return null;
+    }
+    switch ( filter.getFilterType() ) {
+      case NULL:
+        return new FilterMatcher( true , value -> false , value -> false , value -> false );
+      case NOT_NULL:
+        return new FilterMatcher( false , value -> true , value -> true , value -> true );
+      case NUMBER:
+        return createNumberMatcher( (NumberFilter)filter , columnType );
+      case NUMBER_RANGE:
+        return createNumberRangeMatcher( (NumberRangeFilter)filter , columnType );
+      default:
+        IValueMatcher valueMatcher = createValueMatcher( filter , columnType );
+        if ( valueMatcher == null ) {
+          return null;
+        }
+        return new FilterMatcher( false , valueMatcher );
+    }
+  }
+
+  private static boolean isPrimitive( final ColumnType columnType ) {
+    switch ( columnType ) {
+      case BOOLEAN:
+      case BYTE:
+      case BYTES:
+      case DOUBLE:
+      case FLOAT:
+      case INTEGER:
+      case LONG:
+      case SHORT:
+      case STRING:
+      case NULL:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isIntegral( final ColumnType columnType ) {
+    switch ( columnType ) {
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static IValueMatcher createValueMatcher(
+      final IFilter filter , final ColumnType columnType ) throws IOException {
+    switch ( filter.getFilterType() ) {
+      case STRING:
+        if ( columnType != ColumnType.STRING ) {
+          return null;
+        }
+        return createStringMatcher( (IStringFilter)filter );
+      case STRING_COMPARE:
+        if ( columnType != ColumnType.STRING ) {
+          return null;
+        }
+        IStringComparator comparator =
+            ( (IStringCompareFilter)filter ).getStringComparator();
+        return value -> ! comparator.isFilterString( value.getString() );
+      case STRING_DICTIONARY:
+        if ( columnType != ColumnType.STRING ) {
+          return null;
+        }
+        Set<String> dictionary = ( (IStringDictionaryFilter)filter ).getDictionary();
+        return value -> dictionary.contains( value.getString() );
+      case BOOLEAN:
+        if ( columnType != ColumnType.BOOLEAN ) {
+          return null;
+        }
+        boolean flag = ( (BooleanFilter)filter ).getFlag();
+        return value -> value.getBoolean() == flag;
+      default:
+        return null;
+    }
+  }
+
+  private static IValueMatcher createStringMatcher(
+      final IStringFilter stringFilter ) throws IOException {
+    String search = stringFilter.getSearchString();
+    byte[] searchBytes = search.getBytes( "UTF-8" );
+    switch ( stringFilter.getStringFilterType() ) {
+      case PERFECT:
+        return value -> {
+          if ( value instanceof IBytesLink ) {
+            IBytesLink link = (IBytesLink)value;
+            return link.getLength() == searchBytes.length
+                && equalsBytes( link , link.getStart() , searchBytes );
+          }
+          return search.equals( value.getString() );
+        };
+      case PARTIAL:
+        return value -> value.getString().contains( search );
+      case FORWARD:
+        return value -> {
+          if ( value instanceof IBytesLink ) {
+            IBytesLink link = (IBytesLink)value;
+            return searchBytes.length <= link.getLength()
+                && equalsBytes( link , link.getStart() , searchBytes );
+          }
+          return value.getString().startsWith( search );
+        };
+      case BACKWARD:
+        return value -> {
+          if ( value instanceof IBytesLink ) {
+            IBytesLink link = (IBytesLink)value;
+            return searchBytes.length <= link.getLength() && equalsBytes(
+                link , link.getStart() + link.getLength() - searchBytes.length , searchBytes );
+          }
+          return value.getString().endsWith( search );
+        };
+      case REGEXP:
+        Pattern pattern = Pattern.compile( search );
+        return value -> pattern.matcher( value.getString() ).matches();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Compare UTF-8 bytes without decoding the value to String.
+   */
+  private static boolean equalsBytes(
+      final IBytesLink link , final int start , final byte[] searchBytes ) {
+    byte[] linkBytes = link.getLinkBytes();
+    for ( int i = 0 ; i < searchBytes.length ; i++ ) {
+      if ( linkBytes[start + i] != searchBytes[i] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static ILongComparator createLongComparator(
+      final PrimitiveObject target ) throws IOException {
+    try {
+      switch ( target.getPrimitiveType() ) {
+        case BYTE:
+        case SHORT:
+        case INTEGER:
+        case LONG:
+          long longTarget = target.getLong();
+          return value -> Long.compare( value , longTarget );
+        default:
+          return createLongComparator( target.getDouble() );
+      }
+    } catch ( NumberFormatException ex ) {
+      return null;
+    }
+  }
+
+  /**
+   * Compare integral values with the target without truncating it.
+   * A fractional target is never equal to an integral value.
+   */
+  private static ILongComparator createLongComparator( final double target ) {
+    if ( Double.isNaN( target ) ) {
+      return null;
+    }
+    if ( 0x1p63 <= target ) {
+      return value -> -1;
+    }
+    if ( target < -0x1p63 ) {
+      return value -> 1;
+    }
+    long floorTarget = (long)Math.floor( target );
+    if ( floorTarget == target ) {
+      return value -> Long.compare( value , floorTarget );
+    }
+    return value -> value <= floorTarget ? -1 : 1;
+  }
+
+  private static IDoubleComparator createDoubleComparator(
+      final PrimitiveObject target , final ColumnType columnType ) throws IOException {
+    try {
+      switch ( columnType ) {
+        case FLOAT:
+          float floatTarget = target.getFloat();
+          return value -> Float.compare( (float)value , floatTarget );
+        case DOUBLE:
+          double doubleTarget = target.getDouble();
+          return value -> Double.compare( value , doubleTarget );
+        default:
+          return null;
+      }
+    } catch ( NumberFormatException ex ) {
+      return null;
+    }
+  }
+
+  private static IntPredicate createCompareResultMatcher(
+      final NumberFilterType numberFilterType ) {
+    switch ( numberFilterType ) {
+      case EQUAL:
+        return result -> result == 0;
+      case NOT_EQUAL:
+        return result -> result != 0;
+      case LT:
+        return result -> result < 0;
+      case LE:
+        return result -> result <= 0;
+      case GT:
+        return result -> 0 < result;
+      case GE:
+        return result -> 0 <= result;
+      default:
+        return null;
+    }
+  }
+
+  private static FilterMatcher createNumberMatcher(
+      final NumberFilter numberFilter , final ColumnType columnType ) throws IOException {
+    IntPredicate resultMatcher =
+        createCompareResultMatcher( numberFilter.getNumberFilterType() );
+    if ( resultMatcher == null ) {
+      return null;
+    }
+    PrimitiveObject target = numberFilter.getNumberObject();
+    if ( isIntegral( columnType ) ) {
+      ILongComparator comparator = createLongComparator( target );
+      if ( comparator == null ) {
+        return null;
+      }
+      return createLongMatcher( value -> resultMatcher.test( comparator.compare( value ) ) );
+    }
+    IDoubleComparator comparator = createDoubleComparator( target , columnType );
+    if ( comparator == null ) {
+      return null;
+    }
+    return createDoubleMatcher( value -> resultMatcher.test( comparator.compare( value ) ) );
+  }
+
+  private static boolean isInRange(
+      final int minResult ,
+      final int maxResult ,
+      final boolean minHasEquals ,
+      final boolean maxHasEquals ) {
+    return ( minHasEquals ? 0 <= minResult : 0 < minResult )
+        && ( maxHasEquals ? maxResult <= 0 : maxResult < 0 );
+  }
+
+  private static FilterMatcher createNumberRangeMatcher(
+      final NumberRangeFilter rangeFilter , final ColumnType columnType ) throws IOException {
+    boolean minHasEquals = rangeFilter.isMinHasEquals();
+    boolean maxHasEquals = rangeFilter.isMaxHasEquals();
+    boolean invert = rangeFilter.isInvert();
+    if ( isIntegral( columnType ) ) {
+      ILongComparator minComparator = createLongComparator( rangeFilter.getMinObject() );
+      ILongComparator maxComparator = createLongComparator( rangeFilter.getMaxObject() );
+      if ( minComparator == null || maxComparator == null ) {
+        return null;
+      }
+      return createLongMatcher( value -> isInRange( minComparator.compare( value ) ,
+          maxComparator.compare( value ) , minHasEquals , maxHasEquals ) != invert );
+    }
+    IDoubleComparator minComparator =
+        createDoubleComparator( rangeFilter.getMinObject() , columnType );
+    IDoubleComparator maxComparator =
+        createDoubleComparator( rangeFilter.getMaxObject() , columnType );
+    if ( minComparator == null || maxComparator == null ) {
+      return null;
+    }
+    return createDoubleMatcher( value -> isInRange( minComparator.compare( value ) ,
+        maxComparator.compare( value ) , minHasEquals , maxHasEquals ) != invert );
+  }
+
+  private static FilterMatcher createLongMatcher( final LongPredicate longMatcher ) {
+    return new FilterMatcher(
+        false , value -> longMatcher.test( value.getLong() ) , longMatcher , null );
+  }
+
+  private static FilterMatcher createDoubleMatcher( final DoublePredicate doubleMatcher ) {
+    return new FilterMatcher(
+        false , value -> doubleMatcher.test( value.getDouble() ) , null , doubleMatcher );
+  }
+
+  public boolean isMatchNull() {
+    return matchNull;
+  }
+
+  /**
+   * Whether isMatch( long ) can be used.
+   * It is true for the number filters against BYTE, SHORT, INTEGER and LONG columns.
+   */
+  public boolean canMatchLong() {
+    return longMatcher != null;
+  }
+
+  /**
+   * Whether isMatch( double ) can be used.
+   * It is true for the number filters against FLOAT and DOUBLE columns.
+   */
+  public boolean canMatchDouble() {
+    return doubleMatcher != null;
+  }
+
+  /**
+   * Determine whether the non-null value matches the filter.
+   */
+  public boolean isMatch( final PrimitiveObject value ) throws IOException {
+    return valueMatcher.isMatch( value );
+  }
+
+  /**
+   * Determine whether the non-null value of an integral column matches the filter.
+   */
+  public boolean isMatch( final long value ) {
+    return longMatcher.test( value );
+  }
+
+  /**
+   * Determine whether the non-null value of a FLOAT or DOUBLE column matches the filter.
+   */
+  public boolean isMatch( final double value ) {
+    return doubleMatcher.test( value );
+  }
+
+}
@@ -62,4 +62,61 @@ public class AndExpressionNode implements IExpressionNode {
     return currentNode;
   }
 
+  /**
+   * The children that can not be evaluated are skipped,
+   * so the rows that are not selected by the other children are never selected.
+   */
+  @Override
+  public boolean[] exec( final Spread spread ) throws IOException {
+    return intersect( childNode , spread , false );
+  }
+
+  @Override
+  public boolean[] execNot( final Spread spread ) throws IOException {
+    // NOTE: NOT ( A AND B ) is NOT A OR NOT B.
+    return OrExpressionNode.union( childNode , spread , true );
+  }
+
+  /**
+   * Select the rows selected by all the nodes that can be evaluated.
+   * If not is true, the negation of each node is used.
+   * Returns null if no node can be evaluated.
+   */
+  static boolean[] intersect(
+      final List<IExpressionNode> nodeList ,
+      final Spread spread ,
+      final boolean not ) throws IOException {
+    boolean[] result = null;
+    for ( IExpressionNode node : nodeList ) {
+      boolean[] childResult = not ? node.execNot( spread ) : node.exec( spread );
+      if ( childResult == null ) {
+        continue;
+      }
+      if ( result == null ) {
+        result = childResult;
+      } else {
+        for ( int i = 0 ; i < result.length ; i++ ) {
+          result[i] &= childResult[i];
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<String[]> getColumnPathList() {
+    if ( childNode.isEmpty() ) {
+      return null;
+    }
+    List<String[]> result = new ArrayList<String[]>();
+    for ( IExpressionNode node : childNode ) {
+      List<String[]> childResult = node.getColumnPathList();
+      if ( childResult == null ) {
+        return null;
+      }
+      result.addAll( childResult );
+    }
+    return result;
+  }
+
 }
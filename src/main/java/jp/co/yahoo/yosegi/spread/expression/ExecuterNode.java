@@ -21,9 +21,11 @@ package jp.co.yahoo.yosegi.spread.expression;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.FilterType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class ExecuterNode implements IExpressionNode {
@@ -56,4 +58,38 @@ public class ExecuterNode implements IExpressionNode {
     return currentNode.getBlockIndex().getBlockSpreadIndex( filter );
   }
 
+  @Override
+  public boolean[] exec( final Spread spread ) throws IOException {
+    IColumn column = columnExtractNode.get( spread );
+    return column.filter( filter , new boolean[ spread.size() ] );
+  }
+
+  @Override
+  public boolean[] execNot( final Spread spread ) throws IOException {
+    IColumn column = columnExtractNode.get( spread );
+    boolean[] result = column.filter( filter , new boolean[ spread.size() ] );
+    if ( result == null ) {
+      return null;
+    }
+    boolean isNullFilter = filter.getFilterType() == FilterType.NULL
+        || filter.getFilterType() == FilterType.NOT_NULL;
+    int columnSize = Math.min( column.size() , result.length );
+    for ( int i = 0 ; i < result.length ; i++ ) {
+      boolean isNull = columnSize <= i || column.isNull( i );
+      result[i] = ! result[i] && ( isNullFilter || ! isNull );
+    }
+    return result;
+  }
+
+  @Override
+  public List<String[]> getColumnPathList() {
+    String[] columnPath = columnExtractNode.getColumnPath();
+    if ( columnPath == null ) {
+      return null;
+    }
+    List<String[]> result = new ArrayList<String[]>();
+    result.add( columnPath );
+    return result;
+  }
+
 }
@@ -31,4 +31,32 @@ public interface IExpressionNode extends Serializable {
 
   List<Integer> getBlockSpreadIndex( final BlockIndexNode indexNode ) throws IOException;
 
+  /**
+   * Evaluate the expression against the rows of the Spread.
+   * Returns an array of the Spread size in which matched rows are true,
+   * or null if the expression can not be evaluated.
+   * The rows that are false never match,
+   * but if a part of the expression can not be evaluated, true rows may not match.
+   */
+  default boolean[] exec( final Spread spread ) throws IOException {
+    return null;
+  }
+
+  /**
+   * Evaluate the negation of the expression in the same way as exec().
+   * As in the filters, the rows whose value is null match neither the expression
+   * nor its negation, except for the null filters.
+   */
+  default boolean[] execNot( final Spread spread ) throws IOException {
+    return null;
+  }
+
+  /**
+   * Returns the paths of the columns read by exec(),
+   * or null if the columns are not known.
+   */
+  default List<String[]> getColumnPathList() {
+    return null;
+  }
+
 }
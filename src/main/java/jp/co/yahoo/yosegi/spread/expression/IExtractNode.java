@@ -34,4 +34,11 @@ public interface IExtractNode extends Serializable {
 
   void pushChild( final IExtractNode childColumnNode );
 
+  /**
+   * Returns the path of the extracted column from the root, or null if it is not known.
+   */
+  default String[] getColumnPath() {
+    return null;
+  }
+
 }
@@ -44,4 +44,28 @@ public class NotExpressionNode implements IExpressionNode {
     return null;
   }
 
+  @Override
+  public boolean[] exec( final Spread spread ) throws IOException {
+    if ( childNode == null ) {
+      return null;
+    }
+    return childNode.execNot( spread );
+  }
+
+  @Override
+  public boolean[] execNot( final Spread spread ) throws IOException {
+    if ( childNode == null ) {
+      return null;
+    }
+    return childNode.exec( spread );
+  }
+
+  @Override
+  public List<String[]> getColumnPathList() {
+    if ( childNode == null ) {
+      return null;
+    }
+    return childNode.getColumnPathList();
+  }
+
 }
@@ -59,4 +59,60 @@ public class OrExpressionNode implements IExpressionNode {
     return currentNode;
   }
 
+  @Override
+  public boolean[] exec( final Spread spread ) throws IOException {
+    return union( childNode , spread , false );
+  }
+
+  @Override
+  public boolean[] execNot( final Spread spread ) throws IOException {
+    // NOTE: NOT ( A OR B ) is NOT A AND NOT B.
+    return AndExpressionNode.intersect( childNode , spread , true );
+  }
+
+  /**
+   * Select the rows selected by any of the nodes.
+   * If not is true, the negation of each node is used.
+   * Returns null if a node can not be evaluated.
+   */
+  static boolean[] union(
+      final List<IExpressionNode> nodeList ,
+      final Spread spread ,
+      final boolean not ) throws IOException {
+    if ( nodeList.isEmpty() ) {
+      return null;
+    }
+    boolean[] result = null;
+    for ( IExpressionNode node : nodeList ) {
+      boolean[] childResult = not ? node.execNot( spread ) : node.exec( spread );
+      if ( childResult == null ) {
+        return null;
+      }
+      if ( result == null ) {
+        result = childResult;
+      } else {
+        for ( int i = 0 ; i < result.length ; i++ ) {
+          result[i] |= childResult[i];
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<String[]> getColumnPathList() {
+    if ( childNode.isEmpty() ) {
+      return null;
+    }
+    List<String[]> result = new ArrayList<String[]>();
+    for ( IExpressionNode node : childNode ) {
+      List<String[]> childResult = node.getColumnPathList();
+      if ( childResult == null ) {
+        return null;
+      }
+      result.addAll( childResult );
+    }
+    return result;
+  }
+
 }
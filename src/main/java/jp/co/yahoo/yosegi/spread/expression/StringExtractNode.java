@@ -73,4 +73,19 @@ public class StringExtractNode implements IExtractNode {
     }
   }
 
+  @Override
+  public String[] getColumnPath() {
+    if ( childColumnNode == null ) {
+      return new String[]{ columnName };
+    }
+    String[] childPath = childColumnNode.getColumnPath();
+    if ( childPath == null ) {
+      return null;
+    }
+    String[] result = new String[ childPath.length + 1 ];
+    result[0] = columnName;
+    System.arraycopy( childPath , 0 , result , 1 , childPath.length );
+    return result;
+  }
+
 }
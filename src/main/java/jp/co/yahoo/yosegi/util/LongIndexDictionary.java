@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util;
+
+/**
+ * An open addressing hash table that assigns a dictionary index to each distinct long.
+ * Indexes are assigned in the order of addition starting from 0.
+ * Keys are held in primitive arrays, so adding a value does not allocate objects.
+ * Double and float values are added as the bit pattern of
+ * Double.doubleToLongBits and Float.floatToIntBits,
+ * which is the same equality as Double.equals and Float.equals.
+ */
+public class LongIndexDictionary {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] keyArray;
+  // Dictionary index + 1. 0 means an empty slot.
+  private int[] valueArray;
+  private int mask;
+  private int size;
+
+  public LongIndexDictionary() {
+    this( DEFAULT_CAPACITY );
+  }
+
+  /**
+   * Create a table that can hold expectedSize keys without resizing.
+   */
+  public LongIndexDictionary( final int expectedSize ) {
+    int capacity = DEFAULT_CAPACITY;
+    while ( capacity < expectedSize * 2 ) {
+      capacity <<= 1;
+    }
+    keyArray = new long[capacity];
+    valueArray = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  private static int hash( final long key ) {
+    long mixed = ( key ^ ( key >>> 33 ) ) * 0xff51afd7ed558ccdL;
+    mixed = ( mixed ^ ( mixed >>> 33 ) ) * 0xc4ceb9fe1a85ec53L;
+    return (int)( mixed ^ ( mixed >>> 33 ) );
+  }
+
+  /**
+   * Get the dictionary index of the key.
+   * If the key is not registered, it is registered with the index of size().
+   */
+  public int add( final long key ) {
+    int slot = hash( key ) & mask;
+    while ( valueArray[slot] != 0 ) {
+      if ( keyArray[slot] == key ) {
+        return valueArray[slot] - 1;
+      }
+      slot = ( slot + 1 ) & mask;
+    }
+    int index = size;
+    keyArray[slot] = key;
+    valueArray[slot] = index + 1;
+    size++;
+    if ( keyArray.length < size * 2 ) {
+      resize( keyArray.length * 2 );
+    }
+    return index;
+  }
+
+  public int add( final double key ) {
+    return add( Double.doubleToLongBits( key ) );
+  }
+
+  public int add( final float key ) {
+    return add( (long)Float.floatToIntBits( key ) );
+  }
+
+  /**
+   * Get the dictionary index of the key.
+   * Returns -1 if the key is not registered.
+   */
+  public int get( final long key ) {
+    int slot = hash( key ) & mask;
+    while ( valueArray[slot] != 0 ) {
+      if ( keyArray[slot] == key ) {
+        return valueArray[slot] - 1;
+      }
+      slot = ( slot + 1 ) & mask;
+    }
+    return -1;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private void resize( final int capacity ) {
+    final long[] oldKeyArray = keyArray;
+    final int[] oldValueArray = valueArray;
+    keyArray = new long[capacity];
+    valueArray = new int[capacity];
+    mask = capacity - 1;
+    for ( int i = 0 ; i < oldKeyArray.length ; i++ ) {
+      if ( oldValueArray[i] == 0 ) {
+        continue;
+      }
+      int slot = hash( oldKeyArray[i] ) & mask;
+      while ( valueArray[slot] != 0 ) {
+        slot = ( slot + 1 ) & mask;
+      }
+      keyArray[slot] = oldKeyArray[i];
+      valueArray[slot] = oldValueArray[i];
+    }
+  }
+
+}
@@ -40,6 +40,11 @@ public class ByteBufferSupporter implements IWriteSupporter,IReadSupporter {
     return buffer.get();
   }
 
+  @Override
+  public void getByte( final byte[] values , final int start , final int length ) {
+    buffer.get( values , start , length );
+  }
+
   @Override
   public void putShort( final short value ) {
     buffer.putShort( value );
@@ -50,6 +55,12 @@ public class ByteBufferSupporter implements IWriteSupporter,IReadSupporter {
     return buffer.getShort();
   }
 
+  @Override
+  public void getShort( final short[] values , final int start , final int length ) {
+    buffer.asShortBuffer().get( values , start , length );
+    buffer.position( buffer.position() + length * Short.BYTES );
+  }
+
   @Override
   public void putInt( final int value ) {
     buffer.putInt( value );
@@ -60,6 +71,12 @@ public class ByteBufferSupporter implements IWriteSupporter,IReadSupporter {
     return buffer.getInt();
   }
 
+  @Override
+  public void getInt( final int[] values , final int start , final int length ) {
+    buffer.asIntBuffer().get( values , start , length );
+    buffer.position( buffer.position() + length * Integer.BYTES );
+  }
+
   @Override
   public void putLong( final long value ) {
     buffer.putLong( value );
@@ -70,6 +87,12 @@ public class ByteBufferSupporter implements IWriteSupporter,IReadSupporter {
     return buffer.getLong();
   }
 
+  @Override
+  public void getLong( final long[] values , final int start , final int length ) {
+    buffer.asLongBuffer().get( values , start , length );
+    buffer.position( buffer.position() + length * Long.BYTES );
+  }
+
   @Override
   public void putFloat( final float value ) {
     buffer.putFloat( value );
@@ -80,6 +103,12 @@ public class ByteBufferSupporter implements IWriteSupporter,IReadSupporter {
     return buffer.getFloat();
   }
 
+  @Override
+  public void getFloat( final float[] values , final int start , final int length ) {
+    buffer.asFloatBuffer().get( values , start , length );
+    buffer.position( buffer.position() + length * Float.BYTES );
+  }
+
   @Override
   public void putDouble( final double value ) {
     buffer.putDouble( value );
@@ -90,4 +119,10 @@ public class ByteBufferSupporter implements IWriteSupporter,IReadSupporter {
     return buffer.getDouble();
   }
 
+  @Override
+  public void getDouble( final double[] values , final int start , final int length ) {
+    buffer.asDoubleBuffer().get( values , start , length );
+    buffer.position( buffer.position() + length * Double.BYTES );
+  }
+
 }
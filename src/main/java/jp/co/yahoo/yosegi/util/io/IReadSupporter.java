@@ -18,6 +18,12 @@
 
 package jp.co.yahoo.yosegi.util.io;
 
+/**
+ * Read values in order from a binary.
+ * The array methods read length values into the array from start at once.
+ * They are equivalent to calling the single value method length times,
+ * and implementations override them to avoid a call per value.
+ */
 public interface IReadSupporter {
 
   default boolean getBoolean() {
@@ -28,24 +34,78 @@ public interface IReadSupporter {
     throw new UnsupportedOperationException( "Unsupported method getByte()" );
   }
 
+  /**
+   * Read length values at once and set them to values from start.
+   */
+  default void getByte( final byte[] values , final int start , final int length ) {
+    for ( int i = start ; i < start + length ; i++ ) {
+      values[i] = getByte();
+    }
+  }
+
   default short getShort() {
     throw new UnsupportedOperationException( "Unsupported method getShort()" );
   }
 
+  /**
+   * Read length values at once and set them to values from start.
+   */
+  default void getShort( final short[] values , final int start , final int length ) {
+    for ( int i = start ; i < start + length ; i++ ) {
+      values[i] = getShort();
+    }
+  }
+
   default int getInt() {
     throw new UnsupportedOperationException( "Unsupported method getInt()" );
   }
 
+  /**
+   * Read length values at once and set them to values from start.
+   */
+  default void getInt( final int[] values , final int start , final int length ) {
+    for ( int i = start ; i < start + length ; i++ ) {
+      values[i] = getInt();
+    }
+  }
+
   default long getLong() {
     throw new UnsupportedOperationException( "Unsupported method getLong()" );
   }
 
+  /**
+   * Read length values at once and set them to values from start.
+   */
+  default void getLong( final long[] values , final int start , final int length ) {
+    for ( int i = start ; i < start + length ; i++ ) {
+      values[i] = getLong();
+    }
+  }
+
   default float getFloat() {
     throw new UnsupportedOperationException( "Unsupported method getFloat()" );
   }
 
+  /**
+   * Read length values at once and set them to values from start.
+   */
+  default void getFloat( final float[] values , final int start , final int length ) {
+    for ( int i = start ; i < start + length ; i++ ) {
+      values[i] = getFloat();
+    }
+  }
+
   default double getDouble() {
     throw new UnsupportedOperationException( "Unsupported method getDouble()" );
   }
 
+  /**
+   * Read length values at once and set them to values from start.
+   */
+  default void getDouble( final double[] values , final int start , final int length ) {
+    for ( int i = start ; i < start + length ; i++ ) {
+      values[i] = getDouble();
+    }
+  }
+
 }
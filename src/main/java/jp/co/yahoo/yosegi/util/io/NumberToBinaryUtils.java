@@ -29,6 +29,7 @@ import jp.co.yahoo.yosegi.util.io.unsafe.ByteBufferSupporterFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 
 public final class NumberToBinaryUtils {
 
@@ -121,6 +122,22 @@ public final class NumberToBinaryUtils {
         );
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      byte[] byteArray = new byte[length];
+      short[] shortArray = new short[length];
+      int[] intArray = new int[length];
+      byteSupporter.getByte( byteArray , 0 , length );
+      shortSupporter.getShort( shortArray , 0 , length );
+      intSupporter.getInt( intArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] =
+              ( getUnsignedByteToLong( byteArray[i] ) << 48 )
+            + ( getUnsignedShortToLong( shortArray[i] ) << 32 )
+            + getUnsignedIntToLong( intArray[i] );
+      }
+    }
+
   }
 
   public static class WriteSupporter6 implements IWriteSupporter {
@@ -163,6 +180,19 @@ public final class NumberToBinaryUtils {
         );
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      short[] shortArray = new short[length];
+      int[] intArray = new int[length];
+      shortSupporter.getShort( shortArray , 0 , length );
+      intSupporter.getInt( intArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] =
+              ( getUnsignedShortToLong( shortArray[i] ) << 32 )
+            + getUnsignedIntToLong( intArray[i] );
+      }
+    }
+
   }
 
   public static class WriteSupporter5 implements IWriteSupporter {
@@ -205,6 +235,19 @@ public final class NumberToBinaryUtils {
         );
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      byte[] byteArray = new byte[length];
+      int[] intArray = new int[length];
+      byteSupporter.getByte( byteArray , 0 , length );
+      intSupporter.getInt( intArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] =
+              ( getUnsignedByteToLong( byteArray[i] ) << 32 )
+            + getUnsignedIntToLong( intArray[i] );
+      }
+    }
+
   }
 
   public static class WriteSupporter4 implements IWriteSupporter {
@@ -240,11 +283,25 @@ public final class NumberToBinaryUtils {
       return intSupporter.getInt();
     }
 
+    @Override
+    public void getInt( final int[] values , final int start , final int length ) {
+      intSupporter.getInt( values , start , length );
+    }
+
     @Override
     public  long getLong() {
       return getUnsignedIntToLong( intSupporter.getInt() );
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      int[] intArray = new int[length];
+      intSupporter.getInt( intArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] = getUnsignedIntToLong( intArray[i] );
+      }
+    }
+
   }
 
   public static class WriteSupporter3 implements IWriteSupporter {
@@ -293,6 +350,19 @@ public final class NumberToBinaryUtils {
         );
     }
 
+    @Override
+    public void getInt( final int[] values , final int start , final int length ) {
+      byte[] byteArray = new byte[length];
+      short[] shortArray = new short[length];
+      byteSupporter.getByte( byteArray , 0 , length );
+      shortSupporter.getShort( shortArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] =
+              ( getUnsignedByteToInt( byteArray[i] ) << 16 )
+            + getUnsignedShortToInt( shortArray[i] );
+      }
+    }
+
     @Override
     public  long getLong() {
       return (
@@ -301,6 +371,19 @@ public final class NumberToBinaryUtils {
         );
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      byte[] byteArray = new byte[length];
+      short[] shortArray = new short[length];
+      byteSupporter.getByte( byteArray , 0 , length );
+      shortSupporter.getShort( shortArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] =
+              ( getUnsignedByteToLong( byteArray[i] ) << 16 )
+            + getUnsignedShortToLong( shortArray[i] );
+      }
+    }
+
   }
 
   public static class WriteSupporter2 implements IWriteSupporter {
@@ -336,11 +419,29 @@ public final class NumberToBinaryUtils {
       return getUnsignedShortToInt( shortSupporter.getShort() );
     }
 
+    @Override
+    public void getInt( final int[] values , final int start , final int length ) {
+      short[] shortArray = new short[length];
+      shortSupporter.getShort( shortArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] = getUnsignedShortToInt( shortArray[i] );
+      }
+    }
+
     @Override
     public long getLong() {
       return getUnsignedShortToLong( shortSupporter.getShort() );
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      short[] shortArray = new short[length];
+      shortSupporter.getShort( shortArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] = getUnsignedShortToLong( shortArray[i] );
+      }
+    }
+
   }
 
   public static class WriteSupporter1 implements IWriteSupporter {
@@ -376,11 +477,29 @@ public final class NumberToBinaryUtils {
       return getUnsignedByteToInt( byteSupporter.getByte() );
     }
 
+    @Override
+    public void getInt( final int[] values , final int start , final int length ) {
+      byte[] byteArray = new byte[length];
+      byteSupporter.getByte( byteArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] = getUnsignedByteToInt( byteArray[i] );
+      }
+    }
+
     @Override
     public long getLong() {
       return getUnsignedByteToLong( byteSupporter.getByte() );
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      byte[] byteArray = new byte[length];
+      byteSupporter.getByte( byteArray , 0 , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[start + i] = getUnsignedByteToLong( byteArray[i] );
+      }
+    }
+
   }
 
   public static class WriteSupporter0 implements IWriteSupporter {
@@ -402,11 +521,21 @@ public final class NumberToBinaryUtils {
       return 0;
     }
 
+    @Override
+    public void getInt( final int[] values , final int start , final int length ) {
+      Arrays.fill( values , start , start + length , 0 );
+    }
+
     @Override
     public long getLong() {
       return 0L;
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      Arrays.fill( values , start , start + length , 0L );
+    }
+
   }
 
   public static class FixedLongReadSupporter implements IReadSupporter {
@@ -422,6 +551,11 @@ public final class NumberToBinaryUtils {
       return num;
     }
 
+    @Override
+    public void getLong( final long[] values , final int start , final int length ) {
+      Arrays.fill( values , start , start + length , num );
+    }
+
   }
 
   public static class FixedIntReadSupporter implements IReadSupporter {
@@ -437,6 +571,11 @@ public final class NumberToBinaryUtils {
       return num;
     }
 
+    @Override
+    public void getInt( final int[] values , final int start , final int length ) {
+      Arrays.fill( values , start , start + length , num );
+    }
+
   }
 
   public interface IIntConverter {
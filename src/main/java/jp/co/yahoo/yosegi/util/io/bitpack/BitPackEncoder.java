@@ -0,0 +1,360 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.bitpack;
+
+import java.io.IOException;
+
+/**
+ * Bit-packed frame of reference encoding for integral values.
+ *
+ * <p>Values are split into blocks of BLOCK_SIZE rows. Each block stores a reference
+ * and packs every value as the difference from the reference using the smallest bit width.
+ * In delta mode, the block stores its first value and packs the differences
+ * between neighboring values instead.</p>
+ *
+ * <pre>
+ * byte : mode
+ * block:
+ *   byte : bit width
+ *   long : reference ( minimum value or minimum delta )
+ *   long : first value ( delta mode only )
+ *   packed values , little endian bit order
+ * </pre>
+ */
+public final class BitPackEncoder {
+
+  public static final int BLOCK_SIZE = 128;
+
+  public static final byte MODE_FRAME_OF_REFERENCE = (byte)0;
+  public static final byte MODE_DELTA = (byte)1;
+
+  private static final int MODE_SIZE = Byte.BYTES;
+  private static final int BLOCK_HEADER_SIZE = Byte.BYTES + Long.BYTES;
+
+  private BitPackEncoder() {}
+
+  /**
+   * Calculate the number of bits needed to hold the unsigned value.
+   */
+  public static int getBitWidth( final long range ) {
+    return Long.SIZE - Long.numberOfLeadingZeros( range );
+  }
+
+  private static int getPackedSize( final int count , final int bitWidth ) {
+    return ( count * bitWidth + 7 ) / 8;
+  }
+
+  /**
+   * Estimate the binary size in frame of reference mode from the range of the whole values.
+   * Since each block uses its own range, the actual size is equal or smaller.
+   */
+  public static int calcBinarySize( final int rows , final long min , final long max ) {
+    int bitWidth = getBitWidth( max - min );
+    int blockCount = ( rows + BLOCK_SIZE - 1 ) / BLOCK_SIZE;
+    return MODE_SIZE + blockCount * BLOCK_HEADER_SIZE + getPackedSize( rows , bitWidth );
+  }
+
+  /**
+   * Calculate the exact binary size of the values.
+   */
+  public static int calcBinarySize(
+      final long[] values , final int rows , final boolean isDelta ) {
+    int length = MODE_SIZE;
+    for ( int blockStart = 0 ; blockStart < rows ; blockStart += BLOCK_SIZE ) {
+      int count = Math.min( BLOCK_SIZE , rows - blockStart );
+      length += BLOCK_HEADER_SIZE;
+      if ( isDelta ) {
+        length += Long.BYTES;
+        length += getPackedSize( count - 1 , getDeltaBitWidth( values , blockStart , count ) );
+      } else {
+        length += getPackedSize( count , getBlockBitWidth( values , blockStart , count ) );
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Whether delta mode is smaller than frame of reference mode for the values.
+   */
+  public static boolean isDeltaSmaller( final long[] values , final int rows ) {
+    return calcBinarySize( values , rows , true ) < calcBinarySize( values , rows , false );
+  }
+
+  /**
+   * Write the values to the buffer and return the written length.
+   */
+  public static int toBinary(
+      final long[] values ,
+      final int rows ,
+      final boolean isDelta ,
+      final byte[] buffer ,
+      final int start ) {
+    int offset = start;
+    buffer[offset++] = isDelta ? MODE_DELTA : MODE_FRAME_OF_REFERENCE;
+    for ( int blockStart = 0 ; blockStart < rows ; blockStart += BLOCK_SIZE ) {
+      int count = Math.min( BLOCK_SIZE , rows - blockStart );
+      if ( isDelta ) {
+        long reference = getMinDelta( values , blockStart , count );
+        int bitWidth = getDeltaBitWidth( values , blockStart , count );
+        buffer[offset++] = (byte)bitWidth;
+        offset = putLong( buffer , offset , reference );
+        offset = putLong( buffer , offset , values[blockStart] );
+        offset = pack( values , blockStart + 1 , count - 1 , reference , true ,
+            bitWidth , buffer , offset );
+      } else {
+        long reference = getMin( values , blockStart , count );
+        int bitWidth = getBlockBitWidth( values , blockStart , count );
+        buffer[offset++] = (byte)bitWidth;
+        offset = putLong( buffer , offset , reference );
+        offset = pack( values , blockStart , count , reference , false ,
+            bitWidth , buffer , offset );
+      }
+    }
+    return offset - start;
+  }
+
+  /**
+   * Decode all values at once into the array.
+   */
+  public static void unpack(
+      final byte[] buffer ,
+      final int start ,
+      final int length ,
+      final long[] values ,
+      final int rows ) throws IOException {
+    unpack( buffer , start , length , values , null , rows );
+  }
+
+  /**
+   * Decode all values at once into the int array.
+   * It is intended for dictionary indexes.
+   */
+  public static void unpack(
+      final byte[] buffer ,
+      final int start ,
+      final int length ,
+      final int[] values ,
+      final int rows ) throws IOException {
+    unpack( buffer , start , length , null , values , rows );
+  }
+
+  /**
+   * Decode into longValues, or into intValues if longValues is null.
+   */
+  private static void unpack(
+      final byte[] buffer ,
+      final int start ,
+      final int length ,
+      final long[] longValues ,
+      final int[] intValues ,
+      final int rows ) throws IOException {
+    if ( length < MODE_SIZE ) {
+      throw new IOException( "Invalid binary." );
+    }
+    int end = start + length;
+    int offset = start;
+    byte mode = buffer[offset++];
+    if ( mode != MODE_FRAME_OF_REFERENCE && mode != MODE_DELTA ) {
+      throw new IOException( "Unknown bit pack mode : " + mode );
+    }
+    boolean isDelta = mode == MODE_DELTA;
+    for ( int blockStart = 0 ; blockStart < rows ; blockStart += BLOCK_SIZE ) {
+      int count = Math.min( BLOCK_SIZE , rows - blockStart );
+      int headerSize = isDelta ? BLOCK_HEADER_SIZE + Long.BYTES : BLOCK_HEADER_SIZE;
+      if ( end < offset + headerSize ) {
+        throw new IOException( "Invalid binary." );
+      }
+      int bitWidth = buffer[offset++];
+      long reference = getLong( buffer , offset );
+      offset += Long.BYTES;
+      if ( isDelta ) {
+        long first = getLong( buffer , offset );
+        offset += Long.BYTES;
+        if ( longValues != null ) {
+          longValues[blockStart] = first;
+        } else {
+          intValues[blockStart] = (int)first;
+        }
+        offset = unpackBlock( buffer , offset , end , bitWidth , reference , first , true ,
+            longValues , intValues , blockStart + 1 , count - 1 );
+      } else {
+        offset = unpackBlock( buffer , offset , end , bitWidth , reference , 0 , false ,
+            longValues , intValues , blockStart , count );
+      }
+    }
+  }
+
+  private static long getMin( final long[] values , final int start , final int count ) {
+    long min = values[start];
+    for ( int i = start + 1 ; i < start + count ; i++ ) {
+      min = Math.min( min , values[i] );
+    }
+    return min;
+  }
+
+  private static int getBlockBitWidth( final long[] values , final int start , final int count ) {
+    long min = getMin( values , start , count );
+    long range = 0;
+    for ( int i = start ; i < start + count ; i++ ) {
+      range |= values[i] - min;
+    }
+    return getBitWidth( range );
+  }
+
+  private static long getMinDelta( final long[] values , final int start , final int count ) {
+    if ( count < 2 ) {
+      return 0;
+    }
+    long min = values[start + 1] - values[start];
+    for ( int i = start + 2 ; i < start + count ; i++ ) {
+      min = Math.min( min , values[i] - values[i - 1] );
+    }
+    return min;
+  }
+
+  private static int getDeltaBitWidth( final long[] values , final int start , final int count ) {
+    long minDelta = getMinDelta( values , start , count );
+    long range = 0;
+    for ( int i = start + 1 ; i < start + count ; i++ ) {
+      range |= ( values[i] - values[i - 1] ) - minDelta;
+    }
+    return getBitWidth( range );
+  }
+
+  private static int pack(
+      final long[] values ,
+      final int start ,
+      final int count ,
+      final long reference ,
+      final boolean isDelta ,
+      final int bitWidth ,
+      final byte[] buffer ,
+      final int offset ) {
+    if ( bitWidth == 0 ) {
+      return offset;
+    }
+    int currentOffset = offset;
+    long current = 0;
+    int currentBits = 0;
+    for ( int i = start ; i < start + count ; i++ ) {
+      long value = isDelta ? values[i] - values[i - 1] - reference : values[i] - reference;
+      current |= value << currentBits;
+      int freeBits = Long.SIZE - currentBits;
+      if ( freeBits <= bitWidth ) {
+        currentOffset = putLongLittleEndian( buffer , currentOffset , current , Long.BYTES );
+        current = freeBits == Long.SIZE ? 0 : value >>> freeBits;
+        currentBits = bitWidth - freeBits;
+      } else {
+        currentBits += bitWidth;
+      }
+    }
+    if ( 0 < currentBits ) {
+      currentOffset =
+          putLongLittleEndian( buffer , currentOffset , current , ( currentBits + 7 ) / 8 );
+    }
+    return currentOffset;
+  }
+
+  private static int unpackBlock(
+      final byte[] buffer ,
+      final int offset ,
+      final int end ,
+      final int bitWidth ,
+      final long reference ,
+      final long first ,
+      final boolean isDelta ,
+      final long[] longValues ,
+      final int[] intValues ,
+      final int start ,
+      final int count ) throws IOException {
+    if ( bitWidth < 0 || Long.SIZE < bitWidth ) {
+      throw new IOException( "Invalid bit width : " + bitWidth );
+    }
+    int packedEnd = offset + getPackedSize( count , bitWidth );
+    if ( end < packedEnd ) {
+      throw new IOException( "Invalid binary." );
+    }
+    long mask = bitWidth == Long.SIZE ? -1L : ( 1L << bitWidth ) - 1;
+    long previous = first;
+    int currentOffset = offset;
+    long current = 0;
+    int currentBits = 0;
+    for ( int i = start ; i < start + count ; i++ ) {
+      long value;
+      if ( bitWidth <= currentBits ) {
+        value = current & mask;
+        current >>>= bitWidth;
+        currentBits -= bitWidth;
+      } else {
+        int readBytes = Math.min( Long.BYTES , packedEnd - currentOffset );
+        long next = getLongLittleEndian( buffer , currentOffset , readBytes );
+        currentOffset += readBytes;
+        value = ( current | ( next << currentBits ) ) & mask;
+        int takenBits = bitWidth - currentBits;
+        current = takenBits == Long.SIZE ? 0 : next >>> takenBits;
+        currentBits = readBytes * 8 - takenBits;
+      }
+      if ( isDelta ) {
+        previous += reference + value;
+        value = previous;
+      } else {
+        value += reference;
+      }
+      if ( longValues != null ) {
+        longValues[i] = value;
+      } else {
+        intValues[i] = (int)value;
+      }
+    }
+    return packedEnd;
+  }
+
+  private static int putLong( final byte[] buffer , final int offset , final long value ) {
+    for ( int i = 0 ; i < Long.BYTES ; i++ ) {
+      buffer[offset + i] = (byte)( value >>> ( ( Long.BYTES - 1 - i ) * 8 ) );
+    }
+    return offset + Long.BYTES;
+  }
+
+  private static long getLong( final byte[] buffer , final int offset ) {
+    long value = 0;
+    for ( int i = 0 ; i < Long.BYTES ; i++ ) {
+      value = ( value << 8 ) | ( buffer[offset + i] & 0xFFL );
+    }
+    return value;
+  }
+
+  private static int putLongLittleEndian(
+      final byte[] buffer , final int offset , final long value , final int length ) {
+    for ( int i = 0 ; i < length ; i++ ) {
+      buffer[offset + i] = (byte)( value >>> ( i * 8 ) );
+    }
+    return offset + length;
+  }
+
+  private static long getLongLittleEndian(
+      final byte[] buffer , final int offset , final int length ) {
+    long value = 0;
+    for ( int i = 0 ; i < length ; i++ ) {
+      value |= ( buffer[offset + i] & 0xFFL ) << ( i * 8 );
+    }
+    return value;
+  }
+
+}
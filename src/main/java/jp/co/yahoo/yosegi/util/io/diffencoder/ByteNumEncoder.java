@@ -74,8 +74,10 @@ public class ByteNumEncoder implements INumEncoder {
       final IDictionary dic ) throws IOException {
     IReadSupporter wrapBuffer = ByteBufferSupporterFactory
         .createReadSupporter( buffer , start , calcBinarySize( rows ) , order );
+    byte[] values = new byte[rows];
+    wrapBuffer.getByte( values , 0 , rows );
     for ( int i = 0 ; i < rows ; i++ ) {
-      dic.setByte( i , wrapBuffer.getByte() );
+      dic.setByte( i , values[i] );
     }
   }
 
@@ -91,6 +93,9 @@ public class ByteNumEncoder implements INumEncoder {
       throws IOException {
     IReadSupporter wrapBuffer =
         ByteBufferSupporterFactory.createReadSupporter(buffer, start, calcBinarySize(rows), order);
+    byte[] values = new byte[rows];
+    wrapBuffer.getByte(values, 0, rows);
+    int valueIndex = 0;
     int index = 0;
     for (; index < startIndex; index++) {
       loader.setNull(index);
@@ -99,7 +104,7 @@ public class ByteNumEncoder implements INumEncoder {
       if (isNullArray[i]) {
         loader.setNull(index);
       } else {
-        loader.setByte(index, wrapBuffer.getByte());
+        loader.setByte(index, values[valueIndex++]);
       }
     }
     // NOTE: null padding up to load size
@@ -81,8 +81,10 @@ public class IntegerNumEncoder implements INumEncoder {
       final IDictionary dic ) throws IOException {
     IReadSupporter wrapBuffer =
         converter.toReadSupporter( buffer , start , calcBinarySize( rows ) );
+    int[] values = new int[rows];
+    wrapBuffer.getInt( values , 0 , rows );
     for ( int i = 0 ; i < rows ; i++ ) {
-      dic.setInteger( i , wrapBuffer.getInt() );
+      dic.setInteger( i , values[i] );
     }
   }
 
@@ -97,19 +99,14 @@ public class IntegerNumEncoder implements INumEncoder {
       final int startIndex)
       throws IOException {
     IReadSupporter wrapBuffer = converter.toReadSupporter(buffer, start, calcBinarySize(rows));
-    int index = 0;
-    for (; index < startIndex; index++) {
-      loader.setNull(index);
-    }
-    for (int i = 0; i < isNullArray.length; i++, index++) {
-      if (isNullArray[i]) {
-        loader.setNull(index);
-      } else {
-        loader.setInteger(index, wrapBuffer.getInt());
-      }
+    int[] values = new int[rows];
+    wrapBuffer.getInt(values, 0, rows);
+    for (int i = 0; i < startIndex; i++) {
+      loader.setNull(i);
     }
+    loader.setIntegerArray(startIndex, isNullArray, values);
     // NOTE: null padding up to load size
-    for (int i = index; i < loader.getLoadSize(); i++) {
+    for (int i = startIndex + isNullArray.length; i < loader.getLoadSize(); i++) {
       loader.setNull(i);
     }
   }
@@ -74,8 +74,10 @@ public class ShortNumEncoder implements INumEncoder {
       final IDictionary dic ) throws IOException {
     IReadSupporter wrapBuffer = ByteBufferSupporterFactory
         .createReadSupporter( buffer , start , calcBinarySize( rows ) , order );
+    short[] values = new short[rows];
+    wrapBuffer.getShort( values , 0 , rows );
     for ( int i = 0 ; i < rows ; i++ ) {
-      dic.setShort( i , wrapBuffer.getShort() );
+      dic.setShort( i , values[i] );
     }
   }
 
@@ -91,6 +93,9 @@ public class ShortNumEncoder implements INumEncoder {
       throws IOException {
     IReadSupporter wrapBuffer =
         ByteBufferSupporterFactory.createReadSupporter(buffer, start, calcBinarySize(rows), order);
+    short[] values = new short[rows];
+    wrapBuffer.getShort(values, 0, rows);
+    int valueIndex = 0;
     int index = 0;
     for (; index < startIndex; index++) {
       loader.setNull(index);
@@ -99,7 +104,7 @@ public class ShortNumEncoder implements INumEncoder {
       if (isNullArray[i]) {
         loader.setNull(index);
       } else {
-        loader.setShort(index, wrapBuffer.getShort());
+        loader.setShort(index, values[valueIndex++]);
       }
     }
     // NOTE: null padding up to load size
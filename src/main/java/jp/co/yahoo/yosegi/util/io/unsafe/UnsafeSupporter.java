@@ -54,6 +54,11 @@ public class UnsafeSupporter implements IWriteSupporter,IReadSupporter {
     return result;
   }
 
+  @Override
+  public void getByte( final byte[] values , final int start , final int length ) {
+    copyTo( values , values.length , ARRAY_BYTE_BASE_OFFSET , start , length , Byte.BYTES );
+  }
+
   @Override
   public void putShort( final short value ) {
     UnsafeUtil.putShort( binary , currentOffset , value );
@@ -67,6 +72,12 @@ public class UnsafeSupporter implements IWriteSupporter,IReadSupporter {
     return result;
   }
 
+  @Override
+  public void getShort( final short[] values , final int start , final int length ) {
+    copyTo( values , values.length , UnsafeUtil.ARRAY_SHORT_BASE_OFFSET ,
+        start , length , Short.BYTES );
+  }
+
   @Override
   public void putInt( final int value ) {
     UnsafeUtil.putInt( binary , currentOffset , value );
@@ -80,6 +91,12 @@ public class UnsafeSupporter implements IWriteSupporter,IReadSupporter {
     return result;
   }
 
+  @Override
+  public void getInt( final int[] values , final int start , final int length ) {
+    copyTo( values , values.length , UnsafeUtil.ARRAY_INT_BASE_OFFSET ,
+        start , length , Integer.BYTES );
+  }
+
   @Override
   public void putLong( final long value ) {
     UnsafeUtil.putLong( binary , currentOffset , value );
@@ -93,6 +110,12 @@ public class UnsafeSupporter implements IWriteSupporter,IReadSupporter {
     return result;
   }
 
+  @Override
+  public void getLong( final long[] values , final int start , final int length ) {
+    copyTo( values , values.length , UnsafeUtil.ARRAY_LONG_BASE_OFFSET ,
+        start , length , Long.BYTES );
+  }
+
   @Override
   public void putFloat( final float value ) {
     UnsafeUtil.putFloat( binary , currentOffset , value );
@@ -106,6 +129,12 @@ public class UnsafeSupporter implements IWriteSupporter,IReadSupporter {
     return result;
   }
 
+  @Override
+  public void getFloat( final float[] values , final int start , final int length ) {
+    copyTo( values , values.length , UnsafeUtil.ARRAY_FLOAT_BASE_OFFSET ,
+        start , length , Float.BYTES );
+  }
+
   @Override
   public void putDouble( final double value ) {
     UnsafeUtil.putDouble( binary , currentOffset , value );
@@ -119,4 +148,30 @@ public class UnsafeSupporter implements IWriteSupporter,IReadSupporter {
     return result;
   }
 
+  @Override
+  public void getDouble( final double[] values , final int start , final int length ) {
+    copyTo( values , values.length , UnsafeUtil.ARRAY_DOUBLE_BASE_OFFSET ,
+        start , length , Double.BYTES );
+  }
+
+  private void copyTo(
+      final Object values ,
+      final int valuesLength ,
+      final long baseOffset ,
+      final int start ,
+      final int length ,
+      final int valueBytes ) {
+    if ( start < 0 || length < 0 || valuesLength - length < start ) {
+      throw new ArrayIndexOutOfBoundsException(
+          String.format( "start=%d length=%d array length=%d" , start , length , valuesLength ) );
+    }
+    int bytes = length * valueBytes;
+    if ( ARRAY_BYTE_BASE_OFFSET + this.start + this.length - currentOffset < bytes ) {
+      throw new IndexOutOfBoundsException( "Read beyond the end of the binary." );
+    }
+    UnsafeUtil.copyMemory(
+        binary , currentOffset , values , baseOffset + (long)start * valueBytes , bytes );
+    currentOffset += bytes;
+  }
+
 }
@@ -38,6 +38,16 @@ public final class UnsafeUtil {
     UNSAFE_OBJ = unsafe;
   }
 
+  public static final int ARRAY_SHORT_BASE_OFFSET = arrayBaseOffset( short[].class );
+  public static final int ARRAY_INT_BASE_OFFSET = arrayBaseOffset( int[].class );
+  public static final int ARRAY_LONG_BASE_OFFSET = arrayBaseOffset( long[].class );
+  public static final int ARRAY_FLOAT_BASE_OFFSET = arrayBaseOffset( float[].class );
+  public static final int ARRAY_DOUBLE_BASE_OFFSET = arrayBaseOffset( double[].class );
+
+  private static int arrayBaseOffset( final Class<?> arrayClass ) {
+    return UNSAFE_OBJ == null ? 0 : UNSAFE_OBJ.arrayBaseOffset( arrayClass );
+  }
+
   public static void putBoolean( final Object obj , final long offset , final boolean value ) {
     UNSAFE_OBJ.putBoolean( obj , offset , value );
   }
@@ -94,4 +104,17 @@ public final class UnsafeUtil {
     return UNSAFE_OBJ.getDouble( obj , offset );
   }
 
+  /**
+   * Copy bytes between arrays.
+   * The values are copied in native byte order.
+   */
+  public static void copyMemory(
+      final Object src ,
+      final long srcOffset ,
+      final Object dest ,
+      final long destOffset ,
+      final long bytes ) {
+    UNSAFE_OBJ.copyMemory( src , srcOffset , dest , destOffset , bytes );
+  }
+
 }
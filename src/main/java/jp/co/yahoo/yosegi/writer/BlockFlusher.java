@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.writer;
+
+import jp.co.yahoo.yosegi.block.IBlockWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write the full blocks on a background thread.
+ * The blocks are written in the submitted order on a single thread,
+ * and at most queueSize blocks are in flight.
+ * If a block fails to be written, the following blocks are not written
+ * and the error is thrown to the caller by submit() or drain().
+ */
+public class BlockFlusher implements AutoCloseable {
+
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  private final Deque<CompletableFuture<IBlockWriter>> pendingQueue =
+      new ArrayDeque<CompletableFuture<IBlockWriter>>();
+  private final IBlockFlush flush;
+  private final int queueSize;
+  private final ExecutorService flushExecutor;
+
+  private volatile boolean failed;
+  private volatile boolean closed;
+
+  @FunctionalInterface
+  public interface IBlockFlush {
+
+    /**
+     * Write the block of the IBlockWriter.
+     */
+    void flush( final IBlockWriter blockWriter ) throws IOException;
+
+  }
+
+  /**
+   * Start the flush thread.
+   */
+  public BlockFlusher( final IBlockFlush flush , final int queueSize ) {
+    if ( queueSize <= 0 ) {
+      throw new IllegalArgumentException( "Flush queue size must be greater than 0." );
+    }
+    this.flush = flush;
+    this.queueSize = queueSize;
+    flushExecutor = Executors.newSingleThreadExecutor( createThreadFactory() );
+  }
+
+  private static ThreadFactory createThreadFactory() {
+    return runnable -> {
+      Thread thread = new Thread(
+          runnable , "yosegi-block-flush-" + THREAD_COUNT.getAndIncrement() );
+      thread.setDaemon( true );
+      return thread;
+    };
+  }
+
+  /**
+   * Hand the IBlockWriter of the full block to the flush thread.
+   * If queueSize blocks are already in flight, wait for the oldest one.
+   * Returns the IBlockWriter whose block has been written,
+   * or null if there is no such writer.
+   */
+  public IBlockWriter submit( final IBlockWriter blockWriter ) throws IOException {
+    IBlockWriter result = null;
+    if ( queueSize <= pendingQueue.size() ) {
+      result = waitFor( pendingQueue.poll() );
+    }
+    pendingQueue.add( CompletableFuture.supplyAsync(
+        () -> write( blockWriter ) , flushExecutor ) );
+    return result;
+  }
+
+  private IBlockWriter write( final IBlockWriter blockWriter ) {
+    if ( closed ) {
+      throw new UncheckedIOException( new IOException( "The flusher is closed." ) );
+    }
+    if ( failed ) {
+      throw new UncheckedIOException(
+          new IOException( "The previous block was not written." ) );
+    }
+    try {
+      flush.flush( blockWriter );
+      return blockWriter;
+    } catch ( IOException | RuntimeException ex ) {
+      failed = true;
+      if ( ex instanceof IOException ) {
+        throw new UncheckedIOException( (IOException)ex );
+      }
+      throw (RuntimeException)ex;
+    }
+  }
+
+  /**
+   * Wait for all the blocks in flight.
+   * Returns the IBlockWriters whose block has been written.
+   */
+  public List<IBlockWriter> drain() throws IOException {
+    List<IBlockWriter> result = new ArrayList<IBlockWriter>();
+    while ( ! pendingQueue.isEmpty() ) {
+      result.add( waitFor( pendingQueue.poll() ) );
+    }
+    return result;
+  }
+
+  private IBlockWriter waitFor( final CompletableFuture<IBlockWriter> future ) throws IOException {
+    try {
+      return future.get();
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    } catch ( ExecutionException ex ) {
+      failed = true;
+      Throwable cause = ex.getCause();
+      if ( cause instanceof UncheckedIOException ) {
+        throw ( (UncheckedIOException)cause ).getCause();
+      }
+      throw new IOException( cause );
+    }
+  }
+
+  public int getPendingSize() {
+    return pendingQueue.size();
+  }
+
+  /**
+   * Discard the blocks that have not started and stop the flush thread.
+   * The block being written is not interrupted,
+   * and this method returns after the flush thread is terminated.
+   * So the caller can close the IBlockWriters and the output stream afterwards.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    pendingQueue.clear();
+    flushExecutor.shutdown();
+    boolean interrupted = false;
+    while ( ! flushExecutor.isTerminated() ) {
+      try {
+        flushExecutor.awaitTermination( 1 , TimeUnit.SECONDS );
+      } catch ( InterruptedException ex ) {
+        interrupted = true;
+      }
+    }
+    if ( interrupted ) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
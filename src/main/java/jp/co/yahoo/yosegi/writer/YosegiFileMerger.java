@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.writer;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.block.BlockSourceInputStream;
+import jp.co.yahoo.yosegi.block.FileFooter;
+import jp.co.yahoo.yosegi.block.FileHeader;
+import jp.co.yahoo.yosegi.block.IBlockSource;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merge Yosegi files into one file.
+ * The blocks are copied byte-for-byte if YosegiWriter#canAppendRawBlock allows it.
+ * The last block of each file, which is usually smaller than the block size,
+ * is read in units of Spread and re-packed with the other re-packed Spreads.
+ * Therefore, the order of the Spreads in the merged file may differ from the input order.
+ */
+public class YosegiFileMerger implements AutoCloseable {
+
+  private final YosegiWriter writer;
+  private final Configuration config;
+
+  private long copyBlockCount;
+  private long repackBlockCount;
+
+  private static class UnclosableBlockSource implements IBlockSource {
+
+    private final IBlockSource source;
+
+    UnclosableBlockSource( final IBlockSource source ) {
+      this.source = source;
+    }
+
+    @Override
+    public long size() throws IOException {
+      return source.size();
+    }
+
+    @Override
+    public void read(
+        final long position ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ) throws IOException {
+      source.read( position , buffer , start , length );
+    }
+
+    @Override
+    public String getSourceId() throws IOException {
+      return source.getSourceId();
+    }
+
+    @Override
+    public void close() {
+      // The source is closed by the caller.
+    }
+
+  }
+
+  /**
+   * Set the OutputStream of the merged file.
+   * config is used for both YosegiWriter and YosegiReader.
+   */
+  public YosegiFileMerger(
+      final OutputStream out , final Configuration config ) throws IOException {
+    this.config = config;
+    writer = new YosegiWriter( out , config );
+  }
+
+  /**
+   * Append all blocks of the file.
+   * The source is not closed.
+   */
+  public void append( final IBlockSource source ) throws IOException {
+    FileHeader header = FileHeader.read( new BlockSourceInputStream( source , 0 , source.size() ) );
+    FileFooter footer = FileFooter.read( source );
+    List<FileFooter.BlockEntry> entryList;
+    if ( footer == null ) {
+      if ( header.isVariableBlock() ) {
+        throw new IOException( "The file of variable-length blocks has no file footer." );
+      }
+      entryList = createBlockEntryList( header , source.size() );
+    } else {
+      entryList = footer.getBlockEntryList();
+    }
+    boolean canCopy = writer.canAppendRawBlock( header , footer != null );
+    for ( int i = 0 ; i < entryList.size() ; i++ ) {
+      FileFooter.BlockEntry entry = entryList.get( i );
+      if ( canCopy && i < entryList.size() - 1 ) {
+        byte[] block = new byte[ entry.getLength() ];
+        source.read( entry.getOffset() , block , 0 , block.length );
+        if ( writer.appendRawBlock( block , footer == null ? null : entry ) ) {
+          copyBlockCount++;
+          continue;
+        }
+      }
+      long blockStartOffset = i == 0 ? 0 : entry.getOffset();
+      repack( source , blockStartOffset );
+      repackBlockCount++;
+    }
+  }
+
+  private List<FileFooter.BlockEntry> createBlockEntryList(
+      final FileHeader header , final long dataSize ) {
+    List<FileFooter.BlockEntry> result = new ArrayList<FileFooter.BlockEntry>();
+    int blockSize = header.getBlockSize();
+    int headerSize = header.getBinarySize();
+    result.add( new FileFooter.BlockEntry( headerSize , blockSize - headerSize , -1 , -1 , null ) );
+    for ( long offset = blockSize ; offset < dataSize ; offset += blockSize ) {
+      int length = (int)Math.min( blockSize , dataSize - offset );
+      result.add( new FileFooter.BlockEntry( offset , length , -1 , -1 , null ) );
+    }
+    return result;
+  }
+
+  private void repack(
+      final IBlockSource source , final long blockStartOffset ) throws IOException {
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new UnclosableBlockSource( source ) , config , blockStartOffset , 1 );
+    while ( reader.hasNext() ) {
+      List<ColumnBinary> columnBinaryList = reader.nextRaw();
+      writer.appendRow( columnBinaryList , reader.getCurrentSpreadSize() );
+    }
+    reader.close();
+  }
+
+  /**
+   * Get the number of blocks copied without decoding.
+   */
+  public long getCopyBlockCount() {
+    return copyBlockCount;
+  }
+
+  /**
+   * Get the number of blocks re-packed in units of Spread.
+   */
+  public long getRepackBlockCount() {
+    return repackBlockCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+}
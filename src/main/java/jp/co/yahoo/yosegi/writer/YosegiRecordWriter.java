@@ -21,9 +21,11 @@ package jp.co.yahoo.yosegi.writer;
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.message.parser.IParser;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonStreamSpreadReader;
 import jp.co.yahoo.yosegi.spread.Spread;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +83,19 @@ public class YosegiRecordWriter implements AutoCloseable {
     flushSpread();
   }
 
+  /**
+   * Add all records of the newline-delimited JSON without building a JsonNode tree.
+   */
+  public void addJsonRows( final InputStream in ) throws IOException {
+    try ( JacksonStreamSpreadReader reader = new JacksonStreamSpreadReader( in ) ) {
+      while ( reader.hasNext() ) {
+        currentDataSize += reader.append( currentSpread );
+        currentRows++;
+        flushSpread();
+      }
+    }
+  }
+
   private void flushSpread() throws IOException {
     if ( spreadSize < currentDataSize || maxRows <= currentRows ) {
       List<ColumnBinary> columnBinary = fileWriter.convertRow( currentSpread );
@@ -19,55 +19,126 @@
 package jp.co.yahoo.yosegi.writer;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
-import jp.co.yahoo.yosegi.block.BlockReaderNameShortCut;
+import jp.co.yahoo.yosegi.block.FileFooter;
+import jp.co.yahoo.yosegi.block.FileHeader;
 import jp.co.yahoo.yosegi.block.FindBlockWriter;
 import jp.co.yahoo.yosegi.block.IBlockWriter;
 import jp.co.yahoo.yosegi.block.PushdownSupportedBlockWriter;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.spread.Spread;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 public class YosegiWriter implements AutoCloseable {
 
-  private static final byte[] MAGIC = new byte[]{'$','C','L','M'};
-
-  private final OutputStream out;
+  private final CountingOutputStream out;
   private final IBlockWriter blockMaker;
+  private final int blockSize;
+  private final int headerSize;
+  private final boolean variableBlock;
+  private final FileHeader fileHeader;
+  private boolean headerWritten;
+  private final List<FileFooter.BlockEntry> footerEntryList;
+  private final Configuration config;
+  private final String blockMakerClassName;
+  private final BlockFlusher flusher;
+  private final Deque<IBlockWriter> idleBlockWriterQueue = new ArrayDeque<IBlockWriter>();
+  private final List<IBlockWriter> flushBlockWriterList = new ArrayList<IBlockWriter>();
+  private IBlockWriter currentBlockWriter;
+
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    private CountingOutputStream( final OutputStream out ) {
+      super( out );
+    }
+
+    @Override
+    public void write( final int data ) throws IOException {
+      out.write( data );
+      count++;
+    }
+
+    @Override
+    public void write( final byte[] data , final int start , final int length ) throws IOException {
+      out.write( data , start , length );
+      count += length;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+  }
 
   /**
    * Initialize by setting OutputStream.
+   * If "writer.file.footer" is true, the file footer is written at close.
+   * If "writer.variable.block" is true, blocks are written without padding
+   * and the reader locates the blocks by the file footer.
+   * If "writer.async.flush" is true, the full blocks are written on a background thread
+   * while the caller converts the next Spreads.
+   * "writer.async.flush.queue.size" is the number of the blocks in flight.
+   * The blocks that depend on the file can not be copied by canCopyBlock,
+   * so they are always written on the caller thread.
    */
   public YosegiWriter( final OutputStream out , final Configuration config ) throws IOException {
-    this.out = out;
+    this.out = new CountingOutputStream( out );
+    this.config = config;
 
-    int blockSize = config.getInt( "block.size" , 1024 * 1024 * 64 );
+    blockSize = config.getInt( "block.size" , 1024 * 1024 * 64 );
+    variableBlock = config.get( "writer.variable.block" , "false" ).equals( "true" );
+    if ( variableBlock || config.get( "writer.file.footer" , "false" ).equals( "true" ) ) {
+      footerEntryList = new ArrayList<FileFooter.BlockEntry>();
+    } else {
+      footerEntryList = null;
+    }
 
-    blockMaker = FindBlockWriter.get(
-        config.get( "block.maker.class" , PushdownSupportedBlockWriter.class.getName() ) );
+    blockMakerClassName =
+        config.get( "block.maker.class" , PushdownSupportedBlockWriter.class.getName() );
+    blockMaker = FindBlockWriter.get( blockMakerClassName );
     blockMaker.setup( blockSize , config );
-    String blockMakerClassName = BlockReaderNameShortCut
-        .getShortCutName( blockMaker.getReaderClassName() );
-    int classNameLength = blockMakerClassName.length() * Character.BYTES;
-
-    byte[] header = new byte[MAGIC.length + Integer.BYTES + Integer.BYTES + classNameLength ];
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( header );
-    final CharBuffer viewCharBuffer = wrapBuffer.asCharBuffer();
-    int offset = 0;
-    wrapBuffer.put( MAGIC , 0 , MAGIC.length );
-    offset += MAGIC.length;
-    wrapBuffer.putInt( offset , blockSize );
-    offset += Integer.BYTES;
-    wrapBuffer.putInt( offset , classNameLength );
-    offset += Integer.BYTES;
-    viewCharBuffer.position( offset / Character.BYTES );
-    viewCharBuffer.put( blockMakerClassName.toCharArray() );
-
-    blockMaker.appendHeader( header );
+    fileHeader = new FileHeader( blockSize , blockMaker.getReaderClassName() , variableBlock );
+    headerSize = fileHeader.getBinarySize();
+
+    if ( config.get( "writer.async.flush" , "false" ).equals( "true" )
+        && blockMaker.canCopyBlock() ) {
+      // NOTE: blockMaker only converts Spreads, and the blocks are made by other writers.
+      flusher = new BlockFlusher(
+          blockWriter -> writeBlock( blockWriter , variableBlock ) ,
+          config.getInt( "writer.async.flush.queue.size" , 1 ) );
+      currentBlockWriter = createBlockWriter();
+    } else {
+      flusher = null;
+      currentBlockWriter = blockMaker;
+    }
+  }
+
+  private IBlockWriter createBlockWriter() throws IOException {
+    IBlockWriter blockWriter = idleBlockWriterQueue.poll();
+    if ( blockWriter == null ) {
+      blockWriter = FindBlockWriter.get( blockMakerClassName );
+      blockWriter.setup( blockSize , config );
+      flushBlockWriterList.add( blockWriter );
+    }
+    return blockWriter;
+  }
+
+  /**
+   * The file header is written with the first block.
+   */
+  private void appendHeader() {
+    if ( ! headerWritten ) {
+      currentBlockWriter.appendHeader( fileHeader.toBinary() );
+      headerWritten = true;
+    }
   }
 
   /**
@@ -90,25 +161,207 @@ public class YosegiWriter implements AutoCloseable {
    */
   public void appendRow(
       final List<ColumnBinary> binaryList, final int spreadSize ) throws IOException {
-    if ( ! blockMaker.canAppend( binaryList ) ) {
-      blockMaker.writeFixedBlock( out );
+    appendHeader();
+    if ( ! currentBlockWriter.canAppend( binaryList ) ) {
+      writeFixedBlock();
     }
-    blockMaker.append( spreadSize , binaryList );
+    currentBlockWriter.append( spreadSize , binaryList );
   }
 
+  /**
+   * Write the current block padded to the block size.
+   * If the blocks are variable-length, the block is written without padding.
+   * If the blocks are written asynchronously, the block is handed to the flush thread.
+   */
   public void writeFixedBlock() throws IOException {
-    blockMaker.writeFixedBlock( out );
+    appendHeader();
+    if ( flusher == null ) {
+      writeBlock( currentBlockWriter , variableBlock );
+      return;
+    }
+    IBlockWriter writtenBlockWriter = flusher.submit( currentBlockWriter );
+    if ( writtenBlockWriter != null ) {
+      idleBlockWriterQueue.add( writtenBlockWriter );
+    }
+    currentBlockWriter = createBlockWriter();
+  }
+
+  private void writeBlock(
+      final IBlockWriter blockWriter , final boolean isVariable ) throws IOException {
+    FileFooter.BlockEntry entry = createFooterEntry( blockWriter );
+    if ( isVariable ) {
+      blockWriter.writeVariableBlock( out );
+    } else {
+      blockWriter.writeFixedBlock( out );
+    }
+    addFooterEntry( entry );
+  }
+
+  /**
+   * Wait until the blocks handed to the flush thread are written.
+   */
+  private void drainFlush() throws IOException {
+    if ( flusher != null ) {
+      idleBlockWriterQueue.addAll( flusher.drain() );
+    }
+  }
+
+  /**
+   * Check whether the blocks of the file can be appended without decoding.
+   * The block size, the block layout and the block reader class must be the same.
+   * If this writer writes the file footer, the file must have the footer.
+   */
+  public boolean canAppendRawBlock( final FileHeader header , final boolean hasFooter ) {
+    return blockMaker.canCopyBlock()
+        && header.getBlockSize() == blockSize
+        && header.isVariableBlock() == variableBlock
+        && header.getReaderClassName().equals( fileHeader.getReaderClassName() )
+        && ( footerEntryList == null || hasFooter );
+  }
+
+  /**
+   * Append a block of another file byte-for-byte.
+   * The file of the block must be checked by canAppendRawBlock.
+   * entry is the footer entry of the block, or null if the file has no footer.
+   * Returns false if the block can not be placed at the current position,
+   * in which case the caller appends the Spreads of the block.
+   */
+  public boolean appendRawBlock(
+      final byte[] block , final FileFooter.BlockEntry entry ) throws IOException {
+    drainFlush();
+    long offset = out.getCount();
+    if ( offset == 0 ) {
+      if ( headerWritten ) {
+        // The first block that has the file header is not written yet.
+        return false;
+      }
+      offset = headerSize;
+    }
+    int remaining = blockSize - (int)( offset % blockSize );
+    if ( ! variableBlock && remaining < block.length ) {
+      return false;
+    }
+    if ( ! headerWritten ) {
+      out.write( fileHeader.toBinary() );
+      headerWritten = true;
+    }
+    out.write( block );
+    if ( ! variableBlock ) {
+      out.write( new byte[ remaining - block.length ] );
+    }
+    if ( footerEntryList != null ) {
+      footerEntryList.add( new FileFooter.BlockEntry(
+          offset ,
+          (int)( out.getCount() - offset ) ,
+          entry.getSpreadCount() ,
+          entry.getRowCount() ,
+          entry.getBlockIndexBinary() ) );
+    }
+    return true;
+  }
+
+  private FileFooter.BlockEntry createFooterEntry(
+      final IBlockWriter blockWriter ) throws IOException {
+    if ( footerEntryList == null ) {
+      return null;
+    }
+    long offset = out.getCount();
+    if ( offset == 0 ) {
+      offset = headerSize;
+    }
+    return new FileFooter.BlockEntry(
+        offset ,
+        0 ,
+        blockWriter.getSpreadCount() ,
+        blockWriter.getRowCount() ,
+        blockWriter.getBlockIndexBinary() );
+  }
+
+  private void addFooterEntry( final FileFooter.BlockEntry entry ) throws IOException {
+    if ( entry == null ) {
+      return;
+    }
+    footerEntryList.add( new FileFooter.BlockEntry(
+        entry.getOffset() ,
+        (int)( out.getCount() - entry.getOffset() ) ,
+        entry.getSpreadCount() ,
+        entry.getRowCount() ,
+        entry.getBlockIndexBinary() ) );
+  }
+
+  /**
+   * Write the file footer into the rest of the last block.
+   * If the footer does not fit, the last block is padded
+   * and the footer is written after an empty block.
+   * The readers without the footer support read the footer as the padding of the last block.
+   * If the blocks are variable-length, the footer is always written after the last block.
+   * If the footer is larger than the block, IOException is thrown.
+   */
+  private void writeFooter() throws IOException {
+    if ( footerEntryList == null ) {
+      return;
+    }
+    byte[] footer = new FileFooter( footerEntryList ).toBinary();
+    if ( variableBlock ) {
+      out.write( footer );
+      return;
+    }
+    if ( blockSize < footer.length ) {
+      throw new IOException( createFooterSizeErrorMessage( footer.length ) );
+    }
+    // NOTE: If the last block ends at the end of the slot , the footer would be read
+    // as the next block , so an empty block is written before the footer.
+    long remaining = blockSize - ( out.getCount() % blockSize );
+    if ( remaining < footer.length || remaining == blockSize ) {
+      if ( remaining != blockSize ) {
+        out.write( new byte[ (int)remaining ] );
+      }
+      currentBlockWriter.writeVariableBlock( out );
+      if ( blockSize - ( out.getCount() % blockSize ) < footer.length ) {
+        throw new IOException( createFooterSizeErrorMessage( footer.length ) );
+      }
+    }
+    out.write( footer );
+  }
+
+  private String createFooterSizeErrorMessage( final int footerSize ) {
+    return String.format(
+        "The file footer does not fit in the block. footer size=%d, block size=%d."
+        + " Please increase block.size or set writer.file.footer to false." ,
+        footerSize , blockSize );
   }
 
   /**
    * Close.
+   * The blocks in flight are written before the last block,
+   * and the error of writing them is thrown here.
    */
   public void close() throws IOException {
-    blockMaker.writeVariableBlock( out );
+    try {
+      appendHeader();
+      drainFlush();
+      writeBlock( currentBlockWriter , true );
+      writeFooter();
+    } finally {
+      closeFlusher();
+    }
     blockMaker.close();
     out.close();
   }
 
+  private void closeFlusher() throws IOException {
+    if ( flusher == null ) {
+      return;
+    }
+    // NOTE: The writers still held by the flush thread are closed after it is terminated.
+    flusher.close();
+    for ( IBlockWriter blockWriter : flushBlockWriterList ) {
+      blockWriter.close();
+    }
+    flushBlockWriterList.clear();
+    idleBlockWriterQueue.clear();
+  }
+
   public IBlockWriter getBlockWriter() {
     return blockMaker;
   }
@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import jp.co.yahoo.yosegi.compressor.GzipCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+
+public class TestColumnBinaryCache {
+
+  private final ICompressor compressor = new GzipCompressor();
+
+  private byte[] createData( final int size , final int seed ) {
+    byte[] data = new byte[size];
+    for ( int i = 0 ; i < size ; i++ ) {
+      data[i] = (byte)( i * seed );
+    }
+    return data;
+  }
+
+  private ColumnBinaryCacheKey createKey( final String columnName ) {
+    return new ColumnBinaryCacheKey( "file" , 0 , 0 ).getChild( columnName );
+  }
+
+  @Test
+  public void T_decompress_countHitAndMiss() throws IOException {
+    ColumnBinaryCache cache = new ColumnBinaryCache( 1024 * 1024 );
+    byte[] data = createData( 1000 , 3 );
+    byte[] binary = compressor.compress( data , 0 , data.length );
+
+    byte[] first = cache.decompress( createKey( "a" ) , compressor , binary , 0 , binary.length );
+    byte[] second = cache.decompress( createKey( "a" ) , compressor , binary , 0 , binary.length );
+    assertArrayEquals( data , first );
+    assertSame( first , second );
+    assertEquals( 1 , cache.getHitCount() );
+    assertEquals( 1 , cache.getMissCount() );
+    assertEquals( 1 , cache.size() );
+    assertEquals( 1000 , cache.getCurrentBytes() );
+  }
+
+  @Test
+  public void T_decompress_distinguishKey() throws IOException {
+    ColumnBinaryCache cache = new ColumnBinaryCache( 1024 * 1024 );
+    byte[] data = createData( 1000 , 3 );
+    byte[] binary = compressor.compress( data , 0 , data.length );
+
+    cache.decompress( createKey( "a" ) , compressor , binary , 0 , binary.length );
+    cache.decompress( createKey( "b" ) , compressor , binary , 0 , binary.length );
+    cache.decompress( new ColumnBinaryCacheKey( "file" , 1 , 0 ).getChild( "a" ) ,
+        compressor , binary , 0 , binary.length );
+    cache.decompress( new ColumnBinaryCacheKey( "file" , 0 , 1 ).getChild( "a" ) ,
+        compressor , binary , 0 , binary.length );
+    cache.decompress( new ColumnBinaryCacheKey( "file2" , 0 , 0 ).getChild( "a" ) ,
+        compressor , binary , 0 , binary.length );
+    assertEquals( 0 , cache.getHitCount() );
+    assertEquals( 5 , cache.getMissCount() );
+    cache.decompress( new ColumnBinaryCacheKey( "file" , 0 , 0 ).getChild( "a" ) ,
+        compressor , binary , 0 , binary.length );
+    assertEquals( 1 , cache.getHitCount() );
+  }
+
+  @Test
+  public void T_getChild_distinguishColumnNameWithSlash() {
+    ColumnBinaryCacheKey root = new ColumnBinaryCacheKey( "file" , 0 , 0 );
+    assertNotEquals( root.getChild( "a" ).getChild( "b" ) , root.getChild( "a/b" ) );
+    assertEquals( root.getChild( "a" ).getChild( "b" ) , root.getChild( "a" ).getChild( "b" ) );
+  }
+
+  @Test
+  public void T_decompress_evictLeastRecentlyUsed() throws IOException {
+    ColumnBinaryCache cache = new ColumnBinaryCache( 2500 );
+    byte[] binary = compressor.compress( createData( 1000 , 3 ) , 0 , 1000 );
+
+    cache.decompress( createKey( "a" ) , compressor , binary , 0 , binary.length );
+    cache.decompress( createKey( "b" ) , compressor , binary , 0 , binary.length );
+    cache.decompress( createKey( "a" ) , compressor , binary , 0 , binary.length );
+    cache.decompress( createKey( "c" ) , compressor , binary , 0 , binary.length );
+    assertEquals( 2 , cache.size() );
+    assertEquals( 2000 , cache.getCurrentBytes() );
+    assertEquals( 1 , cache.getEvictionCount() );
+
+    long missCount = cache.getMissCount();
+    cache.decompress( createKey( "a" ) , compressor , binary , 0 , binary.length );
+    assertEquals( missCount , cache.getMissCount() );
+    cache.decompress( createKey( "b" ) , compressor , binary , 0 , binary.length );
+    assertEquals( missCount + 1 , cache.getMissCount() );
+  }
+
+  @Test
+  public void T_decompress_withLargerThanMaxBytes_notCached() throws IOException {
+    ColumnBinaryCache cache = new ColumnBinaryCache( 100 );
+    byte[] data = createData( 1000 , 3 );
+    byte[] binary = compressor.compress( data , 0 , data.length );
+
+    assertArrayEquals( data ,
+        cache.decompress( createKey( "a" ) , compressor , binary , 0 , binary.length ) );
+    assertEquals( 0 , cache.size() );
+    assertEquals( 0 , cache.getCurrentBytes() );
+  }
+
+  @Test
+  public void T_setMaxBytes_evictOverEntries() throws IOException {
+    ColumnBinaryCache cache = new ColumnBinaryCache( 1024 * 1024 );
+    byte[] binary = compressor.compress( createData( 1000 , 3 ) , 0 , 1000 );
+    for ( int i = 0 ; i < 5 ; i++ ) {
+      cache.decompress( createKey( "c" + i ) , compressor , binary , 0 , binary.length );
+    }
+    cache.setMaxBytes( 2000 );
+    assertEquals( 2 , cache.size() );
+    assertEquals( 3 , cache.getEvictionCount() );
+    cache.clear();
+    assertEquals( 0 , cache.size() );
+    assertEquals( 0 , cache.getCurrentBytes() );
+  }
+
+  @Test
+  public void T_decompress_fromMultiThread() throws Exception {
+    ColumnBinaryCache cache = new ColumnBinaryCache( 8000 );
+    byte[][] dataArray = new byte[16][];
+    byte[][] binaryArray = new byte[16][];
+    for ( int i = 0 ; i < dataArray.length ; i++ ) {
+      dataArray[i] = createData( 1000 , i + 1 );
+      binaryArray[i] = compressor.compress( dataArray[i] , 0 , 1000 );
+    }
+    ExecutorService executor = Executors.newFixedThreadPool( 4 );
+    try {
+      List<Future<Boolean>> futureList = new ArrayList<Future<Boolean>>();
+      for ( int t = 0 ; t < 4 ; t++ ) {
+        Callable<Boolean> task = () -> {
+          for ( int n = 0 ; n < 200 ; n++ ) {
+            int i = n % dataArray.length;
+            byte[] result = cache.decompress( createKey( "c" + i ) ,
+                compressor , binaryArray[i] , 0 , binaryArray[i].length );
+            if ( ! Arrays.equals( dataArray[i] , result ) ) {
+              return false;
+            }
+          }
+          return true;
+        };
+        futureList.add( executor.submit( task ) );
+      }
+      for ( Future<Boolean> future : futureList ) {
+        assertTrue( future.get() );
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals( 800 , cache.getHitCount() + cache.getMissCount() );
+    assertTrue( cache.getCurrentBytes() <= 8000 );
+  }
+
+}
@@ -50,7 +50,8 @@ public class TestBytePrimitiveColumn {
     return Stream.of(
       arguments( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ),
-      arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" )
+      arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" )
     );
   }
 
@@ -58,7 +59,8 @@ public class TestBytePrimitiveColumn {
     return Stream.of(
         arguments("jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker"),
         arguments("jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker"),
-        arguments("jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker"));
+        arguments("jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker"),
+        arguments("jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker"));
   }
 
   public IColumn toColumn(final ColumnBinary columnBinary) throws IOException {
@@ -40,6 +40,7 @@ public class TestCalcLogicalDataSizeByte {
     return Stream.of(
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ),
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ),
       arguments( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" )
     );
   }
@@ -41,6 +41,7 @@ public class TestCalcLogicalDataSizeString {
       arguments( "jp.co.yahoo.yosegi.binary.maker.RleStringColumnBinaryMaker" ) , 
       arguments( "jp.co.yahoo.yosegi.binary.maker.DictionaryRleStringColumnBinaryMaker" ) , 
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker" ) , 
+      arguments( "jp.co.yahoo.yosegi.binary.maker.BitPackedIndexStringColumnBinaryMaker" ) ,
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker" )
     );
   }
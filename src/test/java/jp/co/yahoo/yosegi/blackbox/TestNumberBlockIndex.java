@@ -47,18 +47,22 @@ public class TestNumberBlockIndex{
   public static IBlockIndex[] createBlockIndex() throws IOException{
     return  new IBlockIndex[] {
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ) ,
+      createByteTestData( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ) ,
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ) ,
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
 
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ) ,
+      createShortTestData( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ) ,
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ) ,
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
 
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ) ,
+      createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ) ,
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ) ,
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
 
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ) ,
+      createLongTestData( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ) ,
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ) ,
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
 
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestBlockSource {
+
+  private byte[] createData( final int length ) {
+    byte[] data = new byte[length];
+    for ( int i = 0 ; i < length ; i++ ) {
+      data[i] = (byte)i;
+    }
+    return data;
+  }
+
+  private void assertRead( final IBlockSource source , final byte[] data ) throws IOException {
+    assertEquals( data.length , source.size() );
+    byte[] buffer = new byte[10];
+    source.read( 5 , buffer , 2 , 8 );
+    for ( int i = 0 ; i < 8 ; i++ ) {
+      assertEquals( data[ 5 + i ] , buffer[ 2 + i ] );
+    }
+    byte[] all = new byte[data.length];
+    source.read( 0 , all , 0 , all.length );
+    assertArrayEquals( data , all );
+  }
+
+  @Test
+  public void T_read_withByteArray() throws IOException {
+    byte[] data = createData( 100 );
+    assertRead( new ByteArrayBlockSource( data ) , data );
+  }
+
+  @Test
+  public void T_read_withByteArrayRange() throws IOException {
+    byte[] data = createData( 100 );
+    IBlockSource source = new ByteArrayBlockSource( data , 10 , 50 );
+    assertEquals( 50 , source.size() );
+    byte[] buffer = new byte[1];
+    source.read( 0 , buffer , 0 , 1 );
+    assertEquals( data[10] , buffer[0] );
+    assertThrows( IOException.class , () -> {
+      source.read( 49 , new byte[2] , 0 , 2 );
+    } );
+  }
+
+  @Test
+  public void T_getSourceId_changeWithFile( @TempDir final Path dir ) throws IOException {
+    Path path = dir.resolve( "test.yosegi" );
+    Files.write( path , createData( 1000 ) );
+    String sourceId;
+    try ( IBlockSource source = new FileChannelBlockSource( path ) ) {
+      sourceId = source.getSourceId();
+    }
+    try ( IBlockSource source = new MappedFileBlockSource( path ) ) {
+      assertEquals( sourceId , source.getSourceId() );
+    }
+    Files.write( path , createData( 999 ) );
+    try ( IBlockSource source = new FileChannelBlockSource( path ) ) {
+      assertNotEquals( sourceId , source.getSourceId() );
+    }
+    assertNotEquals( new ByteArrayBlockSource( new byte[1] ).getSourceId() ,
+        new ByteArrayBlockSource( new byte[1] ).getSourceId() );
+  }
+
+  @Test
+  public void T_read_withFileChannel( @TempDir final Path dir ) throws IOException {
+    byte[] data = createData( 1000 );
+    Path path = dir.resolve( "test.yosegi" );
+    Files.write( path , data );
+    try ( IBlockSource source = new FileChannelBlockSource( path ) ) {
+      assertRead( source , data );
+      assertThrows( EOFException.class , () -> {
+        source.read( 999 , new byte[2] , 0 , 2 );
+      } );
+    }
+  }
+
+  @Test
+  public void T_read_withMappedFile( @TempDir final Path dir ) throws IOException {
+    byte[] data = createData( 1000 );
+    Path path = dir.resolve( "test.yosegi" );
+    Files.write( path , data );
+    try ( IBlockSource source = new MappedFileBlockSource( path ) ) {
+      assertRead( source , data );
+      assertThrows( IOException.class , () -> {
+        source.read( 999 , new byte[2] , 0 , 2 );
+      } );
+    }
+  }
+
+  @Test
+  public void T_read_withMappedFileAcrossSegment( @TempDir final Path dir ) throws IOException {
+    byte[] data = createData( 1000 );
+    Path path = dir.resolve( "test.yosegi" );
+    Files.write( path , data );
+    try ( IBlockSource source = new MappedFileBlockSource( path , 64 ) ) {
+      assertRead( source , data );
+      byte[] buffer = new byte[200];
+      source.read( 60 , buffer , 0 , buffer.length );
+      for ( int i = 0 ; i < buffer.length ; i++ ) {
+        assertEquals( data[ 60 + i ] , buffer[i] );
+      }
+    }
+  }
+
+  @Test
+  public void T_read_withInputStream() throws IOException {
+    byte[] data = createData( 100 );
+    InputStream in = new BlockSourceInputStream( new ByteArrayBlockSource( data ) , 10 , 20 );
+    assertEquals( 20 , in.available() );
+    assertEquals( 10 , in.read() );
+    assertEquals( 5 , in.skip( 5 ) );
+    byte[] buffer = new byte[100];
+    assertEquals( 14 , in.read( buffer , 0 , buffer.length ) );
+    assertEquals( 16 , buffer[0] );
+    assertEquals( -1 , in.read() );
+    assertEquals( -1 , in.read( buffer , 0 , buffer.length ) );
+    assertEquals( 0 , in.skip( 5 ) );
+  }
+
+}
@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.block;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestFileFooter {
+
+  private byte[] createIndexBinary() throws IOException {
+    BlockIndexNode node = new BlockIndexNode();
+    node.getChildNode( "column" ).setBlockIndex( new StringRangeBlockIndex( "a" , "c" ) );
+    byte[] binary = new byte[ node.getBinarySize() ];
+    node.toBinary( binary , 0 );
+    return binary;
+  }
+
+  private ColumnBinary createColumnBinary() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    for ( int i = 0 ; i < 4 ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( "D" ) , i );
+    }
+    return new OptimizedNullArrayDumpStringColumnBinaryMaker().toBinary(
+        new ColumnBinaryMakerConfig() , null , new CompressResultNode() , column );
+  }
+
+  private byte[] createFile( final int blockSize , final int fixedBlockCount ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( blockSize ) );
+    config.set( "writer.file.footer" , "true" );
+    YosegiWriter writer = new YosegiWriter( out , config );
+    List<ColumnBinary> list = Arrays.asList( createColumnBinary() );
+    for ( int i = 0 ; i < fixedBlockCount ; i++ ) {
+      writer.appendRow( list , 4 );
+      writer.writeFixedBlock();
+    }
+    writer.appendRow( list , 4 );
+    writer.close();
+    return out.toByteArray();
+  }
+
+  private int countStreamSpread( final byte[] file ) throws IOException {
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( file ) , file.length , new Configuration() );
+    int count = 0;
+    while ( reader.hasNext() ) {
+      reader.nextRaw();
+      count++;
+    }
+    reader.close();
+    return count;
+  }
+
+  @Test
+  public void T_createFromBinary_equalsSetValue() throws IOException {
+    byte[] indexBinary = createIndexBinary();
+    List<FileFooter.BlockEntry> entryList = new ArrayList<FileFooter.BlockEntry>();
+    entryList.add( new FileFooter.BlockEntry( 30 , 994 , 2 , 100 , indexBinary ) );
+    entryList.add( new FileFooter.BlockEntry( 1024 , 512 , 1 , 50 , null ) );
+    byte[] binary = new FileFooter( entryList ).toBinary();
+    assertEquals( new FileFooter( entryList ).getBinarySize() , binary.length );
+
+    FileFooter footer = FileFooter.createFromBinary( binary , 0 , binary.length );
+    assertEquals( 2 , footer.getBlockEntryList().size() );
+    assertEquals( 150 , footer.getRowCount() );
+    FileFooter.BlockEntry entry = footer.getBlockEntryList().get( 0 );
+    assertEquals( 30 , entry.getOffset() );
+    assertEquals( 994 , entry.getLength() );
+    assertEquals( 2 , entry.getSpreadCount() );
+    assertEquals( 100 , entry.getRowCount() );
+    assertArrayEquals( indexBinary , entry.getBlockIndexBinary() );
+    assertTrue( entry.getBlockIndexNode().containsKey( "column" ) );
+    entry = footer.getBlockEntryList().get( 1 );
+    assertEquals( 1024 , entry.getOffset() );
+    assertNull( entry.getBlockIndexBinary() );
+    assertNull( entry.getBlockIndexNode() );
+  }
+
+  @Test
+  public void T_read_withFooter() throws IOException {
+    List<FileFooter.BlockEntry> entryList = new ArrayList<FileFooter.BlockEntry>();
+    entryList.add( new FileFooter.BlockEntry( 30 , 994 , 2 , 100 , null ) );
+    byte[] footer = new FileFooter( entryList ).toBinary();
+    byte[] file = new byte[ 100 + footer.length ];
+    System.arraycopy( footer , 0 , file , 100 , footer.length );
+    FileFooter result = FileFooter.read( new ByteArrayBlockSource( file ) );
+    assertNotNull( result );
+    assertEquals( 100 , result.getRowCount() );
+  }
+
+  @Test
+  public void T_read_withoutFooter() throws IOException {
+    assertNull( FileFooter.read( new ByteArrayBlockSource( new byte[100] ) ) );
+    assertNull( FileFooter.read( new ByteArrayBlockSource( new byte[2] ) ) );
+  }
+
+  @Test
+  public void T_write_footerInLastBlock() throws IOException {
+    byte[] file = createFile( 400 , 1 );
+    // The footer is written in the rest of the last block.
+    assertEquals( 2 , ( file.length + 399 ) / 400 );
+    FileFooter footer = FileFooter.read( new ByteArrayBlockSource( file ) );
+    assertNotNull( footer );
+    assertEquals( 2 , footer.getBlockEntryList().size() );
+    assertEquals( 400 , footer.getBlockEntryList().get( 1 ).getOffset() );
+    assertEquals( 2 , countStreamSpread( file ) );
+  }
+
+  @Test
+  public void T_write_footerAfterEmptyBlock() throws IOException {
+    byte[] file = createFile( 400 , 2 );
+    // The footer does not fit in the last block, so it is written after an empty block.
+    assertEquals( 4 , ( file.length + 399 ) / 400 );
+    FileFooter footer = FileFooter.read( new ByteArrayBlockSource( file ) );
+    assertNotNull( footer );
+    assertEquals( 3 , footer.getBlockEntryList().size() );
+    assertEquals( 3 , countStreamSpread( file ) );
+  }
+
+  @Test
+  public void T_write_withFooterLargerThanBlock_throwsException() {
+    assertThrows( IOException.class , () -> createFile( 400 , 4 ) );
+  }
+
+  @Test
+  public void T_createFromBinary_withTruncatedBinary_throwsException() throws IOException {
+    List<FileFooter.BlockEntry> entryList = new ArrayList<FileFooter.BlockEntry>();
+    entryList.add( new FileFooter.BlockEntry( 30 , 994 , 2 , 100 , createIndexBinary() ) );
+    byte[] binary = new FileFooter( entryList ).toBinary();
+    for ( int length = 0 ; length < binary.length - FileFooter.TAIL_SIZE ; length++ ) {
+      final int footerLength = length;
+      assertThrows( IOException.class ,
+          () -> FileFooter.createFromBinary( binary , 0 , footerLength ) );
+    }
+  }
+
+  @Test
+  public void T_createFromBinary_withInvalidCount_throwsException() {
+    byte[] binary = new byte[]{ '$' , 'C' , 'F' , 'T' , 0x7f , -1 , -1 , -1 };
+    assertThrows( IOException.class , () -> FileFooter.createFromBinary( binary , 0 , 8 ) );
+    binary[4] = -1;
+    assertThrows( IOException.class , () -> FileFooter.createFromBinary( binary , 0 , 8 ) );
+  }
+
+  @Test
+  public void T_createFromBinary_withInvalidIndexLength_throwsException() throws IOException {
+    List<FileFooter.BlockEntry> entryList = new ArrayList<FileFooter.BlockEntry>();
+    entryList.add( new FileFooter.BlockEntry( 30 , 994 , 2 , 100 , null ) );
+    byte[] binary = new FileFooter( entryList ).toBinary();
+    // NOTE: The index length is after MAGIC, block count, offset and three ints.
+    int indexLengthPos = 4 + Integer.BYTES + Long.BYTES + Integer.BYTES * 3;
+    ByteBuffer.wrap( binary ).putInt( indexLengthPos , Integer.MAX_VALUE );
+    assertThrows( IOException.class ,
+        () -> FileFooter.createFromBinary( binary , 0 , binary.length ) );
+    ByteBuffer.wrap( binary ).putInt( indexLengthPos , -2 );
+    assertThrows( IOException.class ,
+        () -> FileFooter.createFromBinary( binary , 0 , binary.length ) );
+  }
+
+}
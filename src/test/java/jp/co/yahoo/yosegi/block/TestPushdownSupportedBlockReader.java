@@ -19,13 +19,18 @@
 package jp.co.yahoo.yosegi.block;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryCache;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.inmemory.SpreadRawConverter;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
@@ -43,8 +48,10 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class TestPushdownSupportedBlockReader {
 
@@ -115,4 +122,397 @@ public class TestPushdownSupportedBlockReader {
     assertEquals( reader.getBlockCount() , 0 );
   }
 
+
+  private ColumnBinary createStringColumn(
+      final String columnName , final String value , final int rows ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , columnName );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( value + i ) , i );
+    }
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    IColumnBinaryMaker maker = defaultConfig.getColumnMaker( ColumnType.STRING );
+    return maker.toBinary( defaultConfig , null , new CompressResultNode() , column );
+  }
+
+  private byte[] createWideBlock( final int blockSize ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( blockSize , new Configuration() );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      writer.append( 1000 , Arrays.asList(
+          createStringColumn( "a" , "a" , 1000 ) ,
+          createStringColumn( "b" , "b" , 1000 ) ,
+          createStringColumn( "c" , "c" , 1000 ) ) );
+    }
+    writer.writeFixedBlock( out );
+    writer.close();
+    return out.toByteArray();
+  }
+
+  private class CountBlockSource extends ByteArrayBlockSource {
+
+    private long readLength;
+    private int readCount;
+
+    public CountBlockSource( final byte[] data ) {
+      super( data );
+    }
+
+    @Override
+    public void read(
+        final long position ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ) throws IOException {
+      super.read( position , buffer , start , length );
+      readLength += length;
+      readCount++;
+    }
+
+  }
+
+  private byte[] toBytes( final ColumnBinary columnBinary ) {
+    return Arrays.copyOfRange(
+        columnBinary.binary ,
+        columnBinary.binaryStart ,
+        columnBinary.binaryStart + columnBinary.binaryLength );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "coalesceSizeProvider" )
+  public void T_setBlockSource_equalsSetStream( final int coalesceSize ) throws IOException {
+    int blockSize = 1024 * 1024;
+    byte[] block = createWideBlock( blockSize );
+    Configuration config = new Configuration();
+    config.set( "reader.block.read.coalesce.size" , Integer.toString( coalesceSize ) );
+
+    PushdownSupportedBlockReader streamReader = new PushdownSupportedBlockReader();
+    streamReader.setup( config );
+    streamReader.setStream( new ByteArrayInputStream( block ) , blockSize );
+    PushdownSupportedBlockReader sourceReader = new PushdownSupportedBlockReader();
+    sourceReader.setup( config );
+    sourceReader.setBlockSource( new ByteArrayBlockSource( block ) , 0 , blockSize );
+
+    assertEquals( streamReader.getBlockCount() , sourceReader.getBlockCount() );
+    while ( streamReader.hasNext() ) {
+      assertTrue( sourceReader.hasNext() );
+      List<ColumnBinary> expected = streamReader.nextRaw();
+      List<ColumnBinary> actual = sourceReader.nextRaw();
+      assertEquals( expected.size() , actual.size() );
+      for ( int i = 0 ; i < expected.size() ; i++ ) {
+        assertEquals( expected.get( i ).columnName , actual.get( i ).columnName );
+        assertArrayEquals( toBytes( expected.get( i ) ) , toBytes( actual.get( i ) ) );
+      }
+    }
+    assertFalse( sourceReader.hasNext() );
+  }
+
+  @Test
+  public void T_setBlockSource_readOnlyNeedColumn() throws IOException {
+    int blockSize = 1024 * 1024;
+    byte[] block = createWideBlock( blockSize );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.column.names" , "[[\"b\"]]" );
+    config.set( "reader.block.read.coalesce.size" , "0" );
+
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    CountBlockSource source = new CountBlockSource( block );
+    reader.setBlockSource( source , 0 , blockSize );
+
+    int spreadCount = 0;
+    long columnLength = 0;
+    while ( reader.hasNext() ) {
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 1 , raw.size() );
+      assertEquals( "b" , raw.get( 0 ).columnName );
+      columnLength += raw.get( 0 ).binaryLength;
+      spreadCount++;
+    }
+    assertEquals( 3 , spreadCount );
+    // The data of column "a" and "c" and the padding of the block are not read.
+    assertTrue( source.readLength < columnLength * 2 );
+  }
+
+  @Test
+  public void T_setBlockSource_coalesceNearRange() throws IOException {
+    int blockSize = 1024 * 1024;
+    byte[] block = createWideBlock( blockSize );
+
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.column.names" , "[[\"a\"],[\"c\"]]" );
+    config.set( "reader.block.read.coalesce.size" , "0" );
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    CountBlockSource source = new CountBlockSource( block );
+    reader.setBlockSource( source , 0 , blockSize );
+    int readCountWithoutCoalesce = source.readCount;
+
+    config.set( "reader.block.read.coalesce.size" , Integer.toString( blockSize ) );
+    reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    source = new CountBlockSource( block );
+    reader.setBlockSource( source , 0 , blockSize );
+    assertTrue( source.readCount < readCountWithoutCoalesce );
+  }
+
+  private List<String> readAll(
+      final IBlockSource source ,
+      final int blockSize ,
+      final Configuration config ) throws IOException {
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    reader.setBlockSource( source , 0 , blockSize );
+    List<String> result = new ArrayList<String>();
+    while ( reader.hasNext() ) {
+      Spread spread = reader.next();
+      assertEquals( 1000 , spread.size() );
+      result.add( spread.toString() );
+    }
+    return result;
+  }
+
+  @Test
+  public void T_setBlockSource_withColumnCache_shareDecompressedColumn() throws IOException {
+    int blockSize = 1024 * 1024;
+    byte[] block = createWideBlock( blockSize );
+    IBlockSource source = new ByteArrayBlockSource( block );
+    Configuration config = new Configuration();
+    config.set( "reader.column.cache" , "true" );
+
+    ColumnBinaryCache cache = ColumnBinaryCache.getInstance();
+    long hitCount = cache.getHitCount();
+    long missCount = cache.getMissCount();
+    List<String> expected = readAll( source , blockSize , new Configuration() );
+    assertEquals( hitCount , cache.getHitCount() );
+    assertEquals( missCount , cache.getMissCount() );
+
+    List<String> first = readAll( source , blockSize , config );
+    assertEquals( hitCount , cache.getHitCount() );
+    long firstMissCount = cache.getMissCount() - missCount;
+    assertTrue( 0 < firstMissCount );
+    List<String> second = readAll( source , blockSize , config );
+    assertEquals( hitCount + firstMissCount , cache.getHitCount() );
+
+    assertEquals( 3 , expected.size() );
+    assertEquals( expected , first );
+    assertEquals( expected , second );
+  }
+
+  @Test
+  public void T_setBlockSource_withColumnCache_distinguishSource() throws IOException {
+    int blockSize = 1024 * 1024;
+    byte[] block = createWideBlock( blockSize );
+    Configuration config = new Configuration();
+    config.set( "reader.column.cache" , "true" );
+
+    ColumnBinaryCache cache = ColumnBinaryCache.getInstance();
+    long hitCount = cache.getHitCount();
+    readAll( new ByteArrayBlockSource( block ) , blockSize , config );
+    readAll( new ByteArrayBlockSource( block ) , blockSize , config );
+    // The sources have the same block offsets, but they are not the same file.
+    assertEquals( hitCount , cache.getHitCount() );
+  }
+
+  private ColumnBinary createSameStringColumn(
+      final String columnName , final String value , final int rows ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , columnName );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( value ) , i );
+    }
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    IColumnBinaryMaker maker = defaultConfig.getColumnMaker( ColumnType.STRING );
+    return maker.toBinary( defaultConfig , null , new CompressResultNode() , column );
+  }
+
+  private byte[] createSelectiveBlock( final int blockSize ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( blockSize , new Configuration() );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      ColumnBinary key = i == 1
+          ? createSameStringColumn( "key" , "skip" , 1000 )
+          : createStringColumn( "key" , "k" , 1000 );
+      writer.append( 1000 , Arrays.asList(
+          key ,
+          createStringColumn( "b" , "b" , 1000 ) ,
+          createStringColumn( "c" , "c" , 1000 ) ) );
+    }
+    writer.writeFixedBlock( out );
+    writer.close();
+    return out.toByteArray();
+  }
+
+  private List<List<ColumnBinary>> readSelectiveBlock(
+      final byte[] block ,
+      final int blockSize ,
+      final boolean lateMaterialization ,
+      final CountBlockSource source ) throws IOException {
+    Configuration config = new Configuration();
+    config.set( "reader.block.read.coalesce.size" , "0" );
+    config.set( "reader.block.late.materialization" , Boolean.toString( lateMaterialization ) );
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    reader.setBlockSkipIndex( new NotExpressionNode( new ExecuterNode(
+        new StringExtractNode( "key" ) , new PerfectMatchStringFilter( "skip" ) ) ) );
+    reader.setBlockSource( source , 0 , blockSize );
+    List<List<ColumnBinary>> result = new ArrayList<List<ColumnBinary>>();
+    while ( reader.hasNext() ) {
+      result.add( reader.nextRaw() );
+    }
+    return result;
+  }
+
+  @Test
+  public void T_setBlockSource_withLateMaterialization_skipUnmatchedSpread() throws IOException {
+    int blockSize = 1024 * 1024;
+    byte[] block = createSelectiveBlock( blockSize );
+    CountBlockSource expectedSource = new CountBlockSource( block );
+    List<List<ColumnBinary>> expected =
+        readSelectiveBlock( block , blockSize , false , expectedSource );
+    CountBlockSource actualSource = new CountBlockSource( block );
+    List<List<ColumnBinary>> actual =
+        readSelectiveBlock( block , blockSize , true , actualSource );
+
+    assertEquals( 3 , expected.size() );
+    assertEquals( 3 , actual.size() );
+    assertEquals( 3 , expected.get( 1 ).size() );
+    assertTrue( actual.get( 1 ).isEmpty() );
+    for ( int i : new int[]{ 0 , 2 } ) {
+      assertEquals( expected.get( i ).size() , actual.get( i ).size() );
+      for ( int n = 0 ; n < expected.get( i ).size() ; n++ ) {
+        assertEquals( expected.get( i ).get( n ).columnName , actual.get( i ).get( n ).columnName );
+        assertArrayEquals(
+            toBytes( expected.get( i ).get( n ) ) , toBytes( actual.get( i ).get( n ) ) );
+      }
+    }
+    // The column "b" and "c" of the spread 1 are not read.
+    long skipLength = expected.get( 1 ).get( 1 ).binaryLength
+        + expected.get( 1 ).get( 2 ).binaryLength;
+    assertTrue( actualSource.readLength <= expectedSource.readLength - skipLength );
+  }
+
+  @Test
+  public void T_setBlockSource_withLateMaterializationAndCache_decompressPredicateOnce()
+      throws IOException {
+    int blockSize = 1024 * 1024;
+    byte[] block = createSelectiveBlock( blockSize );
+    Configuration config = new Configuration();
+    config.set( "reader.block.late.materialization" , "true" );
+    config.set( "reader.column.cache" , "true" );
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    reader.setBlockSkipIndex( new NotExpressionNode( new ExecuterNode(
+        new StringExtractNode( "key" ) , new PerfectMatchStringFilter( "skip" ) ) ) );
+
+    ColumnBinaryCache cache = ColumnBinaryCache.getInstance();
+    long hitCount = cache.getHitCount();
+    long missCount = cache.getMissCount();
+    reader.setBlockSource( new ByteArrayBlockSource( block ) , 0 , blockSize );
+    // The column "key" is decompressed to evaluate the expression.
+    long evaluateMissCount = cache.getMissCount();
+    assertTrue( missCount < evaluateMissCount );
+    assertEquals( hitCount , cache.getHitCount() );
+
+    SpreadRawConverter converter = new SpreadRawConverter();
+    int spreadCount = 0;
+    while ( reader.hasNext() ) {
+      List<ColumnBinary> raw = reader.nextRaw();
+      if ( raw.isEmpty() ) {
+        continue;
+      }
+      Spread spread = converter.convert( raw , reader.getCurrentSpreadSize() );
+      assertEquals( "k0" , spread.getColumn( "key" ).getString( 0 ) );
+      spreadCount++;
+    }
+    assertEquals( 2 , spreadCount );
+    // The consumer reuses the decompressed "key" of the matched spreads,
+    // and only "b" and "c" of the 2 matched spreads are decompressed.
+    assertEquals( evaluateMissCount + 4 , cache.getMissCount() );
+    assertTrue( hitCount < cache.getHitCount() );
+  }
+
+  @Test
+  public void T_setBlockSource_withLateMaterialization_keepUnknownExpression()
+      throws IOException {
+    int blockSize = 1024 * 1024;
+    byte[] block = createSelectiveBlock( blockSize );
+    Configuration config = new Configuration();
+    config.set( "reader.block.late.materialization" , "true" );
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    // NOTE: The number filter can not be evaluated for the string column.
+    reader.setBlockSkipIndex( new ExecuterNode(
+        new StringExtractNode( "key" ) ,
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 1 ) ) ) );
+    reader.setBlockSource( new ByteArrayBlockSource( block ) , 0 , blockSize );
+    int spreadCount = 0;
+    while ( reader.hasNext() ) {
+      assertEquals( 3 , reader.nextRaw().size() );
+      spreadCount++;
+    }
+    assertEquals( 3 , spreadCount );
+  }
+
+  private ColumnBinary createLongColumn(
+      final String columnName , final long value , final int rows ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , columnName );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      column.add( ColumnType.LONG , new LongObj( value - ( i % 2 ) ) , i );
+    }
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    IColumnBinaryMaker maker = defaultConfig.getColumnMaker( ColumnType.LONG );
+    return maker.toBinary( defaultConfig , null , new CompressResultNode() , column );
+  }
+
+  private List<Integer> readLateMaterializationSpreadSize(
+      final byte[] block , final int blockSize , final IFilter filter ) throws IOException {
+    Configuration config = new Configuration();
+    config.set( "reader.block.late.materialization" , "true" );
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    reader.setBlockSkipIndex( new ExecuterNode( new StringExtractNode( "num" ) , filter ) );
+    reader.setBlockSource( new ByteArrayBlockSource( block ) , 0 , blockSize );
+    List<Integer> result = new ArrayList<Integer>();
+    while ( reader.hasNext() ) {
+      result.add( reader.nextRaw().size() );
+    }
+    return result;
+  }
+
+  @Test
+  public void T_setBlockSource_withLateMaterialization_keepSpread_withFractionalNumberFilter()
+      throws IOException {
+    int blockSize = 1024 * 1024;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( blockSize , new Configuration() );
+    // The values of the spreads are {1,0} , {6,5} and {2,1}.
+    for ( long value : new long[]{ 1L , 6L , 2L } ) {
+      writer.append( 1000 , Arrays.asList(
+          createLongColumn( "num" , value , 1000 ) ,
+          createStringColumn( "b" , "b" , 1000 ) ) );
+    }
+    writer.writeFixedBlock( out );
+    writer.close();
+    byte[] block = out.toByteArray();
+
+    assertEquals( Arrays.asList( 2 , 0 , 2 ) , readLateMaterializationSpreadSize(
+        block , blockSize , new NumberFilter( NumberFilterType.LT , new DoubleObj( 1.5d ) ) ) );
+    assertEquals( Arrays.asList( 0 , 0 , 0 ) , readLateMaterializationSpreadSize(
+        block , blockSize , new NumberFilter( NumberFilterType.LE , new DoubleObj( -0.5d ) ) ) );
+    assertEquals( Arrays.asList( 0 , 2 , 0 ) , readLateMaterializationSpreadSize(
+        block , blockSize , new NumberFilter( NumberFilterType.GT , new DoubleObj( 4.5d ) ) ) );
+    assertEquals( Arrays.asList( 0 , 0 , 0 ) , readLateMaterializationSpreadSize(
+        block , blockSize , new NumberFilter( NumberFilterType.EQUAL , new DoubleObj( 1.5d ) ) ) );
+  }
+
+  public static Stream<Arguments> coalesceSizeProvider() {
+    return Stream.of(
+      arguments( 0 ),
+      arguments( 16 ),
+      arguments( 1024 * 1024 )
+    );
+  }
+
 }
@@ -30,6 +30,9 @@ import jp.co.yahoo.yosegi.compressor.GzipCompressor;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
 import jp.co.yahoo.yosegi.message.objects.StringObj;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
@@ -53,6 +56,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class TestPushdownSupportedBlockWriter {
 
@@ -580,4 +585,195 @@ public class TestPushdownSupportedBlockWriter {
     assertEquals( blockSize + 1 , block.length );
   }
 
+  private Spread createMultiColumnSpread( final int seed ) throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      Map<String,Object> data = new HashMap<String,Object>();
+      data.put( "long" , new LongObj( ( i * seed ) % 97 ) );
+      data.put( "int" , new IntegerObj( i ) );
+      data.put( "double" , new DoubleObj( i * 0.5d ) );
+      data.put( "str" , new StringObj( "s" + ( i % 13 ) ) );
+      data.put( "bool" , new BooleanObj( i % 3 == 0 ) );
+      if ( i % 5 != 0 ) {
+        Map<String,Object> child = new HashMap<String,Object>();
+        child.put( "a" , new StringObj( "c" + ( i % 7 ) ) );
+        child.put( "b" , new LongObj( i ) );
+        data.put( "nest" , child );
+      }
+      spread.addRow( data );
+    }
+    return spread;
+  }
+
+  private byte[] writeMultiColumnBlock(
+      final PushdownSupportedBlockWriter writer ) throws IOException {
+    for ( int i = 1 ; i <= 3 ; i++ ) {
+      Spread spread = createMultiColumnSpread( i );
+      writer.append( spread.size() , writer.convertRow( spread ) );
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writeVariableBlock( out );
+    writer.close();
+    return out.toByteArray();
+  }
+
+  @Test
+  public void T_convertRow_equalsSerialBinary_withEncodeThreads() throws IOException {
+    PushdownSupportedBlockWriter serialWriter = new PushdownSupportedBlockWriter();
+    serialWriter.setup( 1024 * 1024 * 8 , new Configuration() );
+    byte[] expected = writeMultiColumnBlock( serialWriter );
+
+    Configuration config = new Configuration();
+    config.set( "block.maker.encode.threads" , "4" );
+    PushdownSupportedBlockWriter parallelWriter = new PushdownSupportedBlockWriter();
+    parallelWriter.setup( 1024 * 1024 * 8 , config );
+    assertArrayEquals( expected , writeMultiColumnBlock( parallelWriter ) );
+  }
+
+  @Test
+  public void T_convertRow_equalsSerialBinary_withEncodeExecutor() throws IOException {
+    PushdownSupportedBlockWriter serialWriter = new PushdownSupportedBlockWriter();
+    serialWriter.setup( 1024 * 1024 * 8 , new Configuration() );
+    byte[] expected = writeMultiColumnBlock( serialWriter );
+
+    ExecutorService executor = Executors.newFixedThreadPool( 3 );
+    try {
+      PushdownSupportedBlockWriter parallelWriter = new PushdownSupportedBlockWriter();
+      parallelWriter.setup( 1024 * 1024 * 8 , new Configuration() );
+      parallelWriter.setEncodeExecutor( executor );
+      assertArrayEquals( expected , writeMultiColumnBlock( parallelWriter ) );
+      assertFalse( executor.isShutdown() );
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private Spread createDriftSpread( final boolean isUnique ) throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      Map<String,Object> data = new HashMap<String,Object>();
+      String prefix = "drift-test-value-with-a-long-common-prefix-";
+      if ( isUnique ) {
+        data.put( "str" , new StringObj( prefix + i ) );
+      } else {
+        data.put( "str" , new StringObj( prefix + ( i % 3 ) ) );
+      }
+      spread.addRow( data );
+    }
+    return spread;
+  }
+
+  private String convertDriftSpread(
+      final PushdownSupportedBlockWriter writer , final boolean isUnique ) throws IOException {
+    List<ColumnBinary> binaryList = writer.convertRow( createDriftSpread( isUnique ) );
+    writer.append( 1000 , binaryList );
+    return binaryList.get( 0 ).makerClassName;
+  }
+
+  @Test
+  public void T_convertRow_keepsFirstMaker_withoutReoptimize() throws IOException {
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 8 , new Configuration() );
+    String firstMaker = convertDriftSpread( writer , true );
+    assertEquals( firstMaker , convertDriftSpread( writer , false ) );
+    writer.close();
+  }
+
+  @Test
+  public void T_convertRow_replacesMaker_withReoptimize() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.reoptimize" , "true" );
+    config.set( "spread.column.maker.reoptimize.interval" , "1" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 8 , config );
+    String firstMaker = convertDriftSpread( writer , true );
+    String secondMaker = convertDriftSpread( writer , false );
+    assertNotEquals( firstMaker , secondMaker );
+    // NOTE: The maker is kept while the estimated size is within the ratio.
+    assertEquals( secondMaker , convertDriftSpread( writer , false ) );
+    writer.close();
+  }
+
+  @Test
+  public void T_convertRow_reoptimizesOnInterval_withReoptimizeInterval() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.reoptimize" , "true" );
+    config.set( "spread.column.maker.reoptimize.interval" , "2" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 8 , config );
+    String firstMaker = convertDriftSpread( writer , true );
+    assertEquals( firstMaker , convertDriftSpread( writer , false ) );
+    assertNotEquals( firstMaker , convertDriftSpread( writer , false ) );
+    writer.close();
+  }
+
+  @Test
+  public void T_convertRow_keepsMakerWithinDefaultInterval_withReoptimize() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.reoptimize" , "true" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 8 , config );
+    String firstMaker = convertDriftSpread( writer , true );
+    for ( int i = 1 ; i < 10 ; i++ ) {
+      assertEquals( firstMaker , convertDriftSpread( writer , false ) );
+    }
+    assertNotEquals( firstMaker , convertDriftSpread( writer , false ) );
+    writer.close();
+  }
+
+  @Test
+  public void T_convertRow_readsAllSpreads_withReoptimize() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.reoptimize" , "true" );
+    config.set( "spread.column.maker.reoptimize.interval" , "1" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 8 , config );
+    convertDriftSpread( writer , true );
+    convertDriftSpread( writer , false );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writeVariableBlock( out );
+    writer.close();
+    byte[] block = out.toByteArray();
+
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( new Configuration() );
+    reader.setStream( new ByteArrayInputStream( block ) , block.length );
+    assertTrue( reader.hasNext() );
+    Spread first = reader.next();
+    assertEquals( "drift-test-value-with-a-long-common-prefix-999" ,
+        ( (PrimitiveObject)first.getColumn( "str" ).get( 999 ).getRow() ).getString() );
+    assertTrue( reader.hasNext() );
+    Spread second = reader.next();
+    assertEquals( "drift-test-value-with-a-long-common-prefix-2" ,
+        ( (PrimitiveObject)second.getColumn( "str" ).get( 998 ).getRow() ).getString() );
+  }
+
+  @Test
+  public void T_setCompressDictionary_throwsException_withoutExternalDictionary() throws IOException {
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 , new Configuration() );
+    assertThrows( IOException.class ,
+      () -> {
+        writer.setCompressDictionary( "c" , new byte[16] );
+      }
+    );
+  }
+
+  @Test
+  public void T_setCompressDictionary_throwsException_withoutDictionaryCompressor()
+      throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.compress.external.dictionary" , "true" );
+    config.set( "spread.column.maker.default.compress.class" ,
+        "jp.co.yahoo.yosegi.compressor.GzipCompressor" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 , config );
+    assertThrows( IOException.class ,
+      () -> {
+        writer.setCompressDictionary( "c" , new byte[16] );
+      }
+    );
+  }
+
+
 }
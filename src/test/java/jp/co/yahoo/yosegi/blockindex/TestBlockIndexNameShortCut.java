@@ -40,7 +40,8 @@ public class TestBlockIndexNameShortCut {
       arguments( "jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex" , "R5" ),
       arguments( "jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex" , "R6" ),
       arguments( "jp.co.yahoo.yosegi.blockindex.FullRangeBlockIndex" , "FR0" ),
-      arguments( "jp.co.yahoo.yosegi.blockindex.BooleanBlockIndex" , "BI0" )
+      arguments( "jp.co.yahoo.yosegi.blockindex.BooleanBlockIndex" , "BI0" ),
+      arguments( "jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex" , "BF0" )
     );
   }
 
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.blockindex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.*;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.filter.*;
+import jp.co.yahoo.yosegi.spread.expression.*;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+public class TestBloomFilterBlockIndex {
+
+  private BloomFilter createStringFilter( final String... values ) {
+    BloomFilter bloomFilter = BloomFilter.create( values.length , 20 );
+    for ( String value : values ) {
+      bloomFilter.add( BloomFilter.hash( value ) );
+    }
+    return bloomFilter;
+  }
+
+  private BloomFilter createLongFilter( final long... values ) {
+    BloomFilter bloomFilter = BloomFilter.create( values.length , 20 );
+    for ( long value : values ) {
+      bloomFilter.add( BloomFilter.hash( value ) );
+    }
+    return bloomFilter;
+  }
+
+  private IBlockIndex createStringIndex() {
+    IBlockIndex index = new BloomFilterBlockIndex(
+        new StringRangeBlockIndex( "a" , "c" ) , 0 , createStringFilter( "a" , "b" , "c" ) );
+    index.merge( new BloomFilterBlockIndex(
+        new StringRangeBlockIndex( "d" , "f" ) , 1 , createStringFilter( "d" , "e" , "f" ) ) );
+    return index;
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_returnsSpreadIndex_withPerfectMatch() {
+    IBlockIndex index = createStringIndex();
+    assertEquals( Arrays.asList( 0 ) , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "b" ) ) );
+    assertEquals( Arrays.asList( 1 ) , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "e" ) ) );
+    assertTrue( index.getBlockSpreadIndex( new PerfectMatchStringFilter( "bb" ) ).isEmpty() );
+    assertTrue( index.getBlockSpreadIndex( new PerfectMatchStringFilter( "z" ) ).isEmpty() );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_returnsSpreadIndex_withDictionary() {
+    IBlockIndex index = createStringIndex();
+    List<Integer> result = index.getBlockSpreadIndex(
+        new StringDictionaryFilter( new HashSet<String>( Arrays.asList( "a" , "f" ) ) ) );
+    assertEquals( Arrays.asList( 0 , 1 ) , result );
+    result = index.getBlockSpreadIndex(
+        new StringDictionaryFilter( new HashSet<String>( Arrays.asList( "bb" , "e" ) ) ) );
+    assertEquals( Arrays.asList( 1 ) , result );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_returnsNull_withUnsupportedFilter() {
+    IBlockIndex index = createStringIndex();
+    assertNull( index.getBlockSpreadIndex( new ForwardMatchStringFilter( "b" ) ) );
+    assertNull( index.getBlockSpreadIndex( new GeStringCompareFilter( "b" ) ) );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_returnsSpreadIndex_withNumberEqual() {
+    IBlockIndex index = new BloomFilterBlockIndex(
+        new LongRangeBlockIndex( 1 , 300 ) , 2 , createLongFilter( 1 , 100 , 300 ) );
+    assertEquals( Arrays.asList( 2 ) , index.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 100 ) ) ) );
+    assertTrue( index.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 101 ) ) ).isEmpty() );
+    assertTrue( index.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 1000 ) ) ).isEmpty() );
+    assertNull( index.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.GE , new LongObj( 101 ) ) ) );
+  }
+
+  @Test
+  public void T_setFromBinary_equalsIndex_withToBinary() {
+    IBlockIndex index = createStringIndex();
+    byte[] binary = index.toBinary();
+    assertEquals( index.getBinarySize() , binary.length );
+    IBlockIndex readIndex = new BloomFilterBlockIndex();
+    readIndex.setFromBinary( binary , 0 , binary.length );
+    assertEquals( BlockIndexType.BLOOM_FILTER , readIndex.getBlockIndexType() );
+    assertEquals( Arrays.asList( 1 ) , readIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "e" ) ) );
+    assertTrue( readIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "bb" ) ).isEmpty() );
+  }
+
+  @Test
+  public void T_merge_dropBloomFilter_withRangeIndex() {
+    IBlockIndex index = createStringIndex();
+    assertTrue( index.merge( new StringRangeBlockIndex( "b" , "g" ) ) );
+    assertNull( index.getBlockSpreadIndex( new PerfectMatchStringFilter( "bb" ) ) );
+    assertTrue( index.getBlockSpreadIndex( new PerfectMatchStringFilter( "z" ) ).isEmpty() );
+    assertFalse( index.merge( new LongRangeBlockIndex( 1 , 2 ) ) );
+
+    IBlockIndex rangeIndex = new StringRangeBlockIndex( "x" , "y" );
+    assertTrue( rangeIndex.merge( createStringIndex() ) );
+    assertNull( rangeIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "b" ) ) );
+  }
+
+  @Test
+  public void T_clone_isIndependent_withMerge() {
+    IBlockIndex index = createStringIndex();
+    IBlockIndex cloneIndex = index.clone();
+    cloneIndex.merge( new BloomFilterBlockIndex(
+        new StringRangeBlockIndex( "g" , "g" ) , 2 , createStringFilter( "g" ) ) );
+    assertEquals( Arrays.asList( 2 ) , cloneIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "g" ) ) );
+    assertTrue( index.getBlockSpreadIndex( new PerfectMatchStringFilter( "g" ) ).isEmpty() );
+  }
+
+  @Test
+  public void T_read_skipSpread_withBloomFilter() throws IOException {
+    Configuration writerConfig = new Configuration();
+    writerConfig.set( "spread.column.maker.default.bloom.filter.bits.per.key" , "10" );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( YosegiWriter writer = new YosegiWriter( out , writerConfig ) ) {
+      for ( int i = 0 ; i < 4 ; i++ ) {
+        Spread spread = new Spread();
+        for ( int j = 0 ; j < 100 ; j++ ) {
+          Map<String,Object> data = new HashMap<String,Object>();
+          data.put( "id" , new StringObj( "id-" + ( i * 1000 + j * 7 ) ) );
+          data.put( "num" , new LongObj( i * 1000 + j * 7 ) );
+          spread.addRow( data );
+        }
+        writer.append( spread );
+      }
+    }
+    byte[] binary = out.toByteArray();
+
+    AndExpressionNode node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode(
+        new StringExtractNode( "id" ) , new PerfectMatchStringFilter( "id-2014" ) ) );
+    assertEquals( 100 , countReadRows( binary , node ) );
+
+    node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode(
+        new StringExtractNode( "num" ) ,
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 3007 ) ) ) );
+    assertEquals( 100 , countReadRows( binary , node ) );
+
+    node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode(
+        new StringExtractNode( "id" ) , new PerfectMatchStringFilter( "id-2015" ) ) );
+    assertEquals( 0 , countReadRows( binary , node ) );
+  }
+
+  private int countReadRows(
+      final byte[] binary , final IExpressionNode node ) throws IOException {
+    int rows = 0;
+    try ( YosegiReader reader = new YosegiReader() ) {
+      reader.setBlockSkipIndex( node );
+      reader.setNewStream( new ByteArrayInputStream( binary ) , binary.length , new Configuration() );
+      while ( reader.hasNext() ) {
+        Spread spread = reader.next();
+        if ( spread.getColumnSize() != 0 ) {
+          rows += spread.size();
+        }
+      }
+    }
+    return rows;
+  }
+
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.blockindex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.*;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.filter.*;
+import jp.co.yahoo.yosegi.spread.expression.*;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+public class TestFullRangeBlockIndex {
+
+  private IBlockIndex createLongIndex() {
+    IBlockIndex index = new FullRangeBlockIndex( 0 , new LongRangeBlockIndex( 0L , 99L ) );
+    index.merge( new FullRangeBlockIndex( 1 , new LongRangeBlockIndex( 100L , 199L ) ) );
+    index.merge( new FullRangeBlockIndex( 2 , new LongRangeBlockIndex( 200L , 299L ) ) );
+    return index;
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_returnsMatchSpread_withNumberFilter() {
+    IBlockIndex index = createLongIndex();
+    assertEquals( Arrays.asList( 1 ) , index.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 150 ) ) ) );
+    assertEquals( Arrays.asList( 1 , 2 ) , index.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.GE , new LongObj( 199 ) ) ) );
+    assertTrue( index.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.GT , new LongObj( 299 ) ) ).isEmpty() );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_returnsMatchSpread_withBloomFilter() {
+    BloomFilter bloomFilter = BloomFilter.create( 2 , 20 );
+    bloomFilter.add( BloomFilter.hash( "a" ) );
+    bloomFilter.add( BloomFilter.hash( "c" ) );
+    IBlockIndex index = new FullRangeBlockIndex( 0 , new BloomFilterBlockIndex(
+        new StringRangeBlockIndex( "a" , "c" ) , 0 , bloomFilter ) );
+    index.merge( new FullRangeBlockIndex( 1 , new StringRangeBlockIndex( "b" , "d" ) ) );
+    assertEquals( Arrays.asList( 1 ) ,
+        index.getBlockSpreadIndex( new PerfectMatchStringFilter( "b" ) ) );
+    assertEquals( Arrays.asList( 0 , 1 ) ,
+        index.getBlockSpreadIndex( new PerfectMatchStringFilter( "c" ) ) );
+  }
+
+  @Test
+  public void T_setFromBinary_equalsIndex_withToBinary() {
+    IBlockIndex index = createLongIndex();
+    byte[] binary = index.toBinary();
+    assertEquals( index.getBinarySize() , binary.length );
+    IBlockIndex decoded = new FullRangeBlockIndex();
+    decoded.setFromBinary( binary , 0 , binary.length );
+    assertEquals( Arrays.asList( 0 , 1 ) , decoded.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.LT , new LongObj( 150 ) ) ) );
+  }
+
+  @Test
+  public void T_constructor_throwsException_withUnsupportedIndex() {
+    assertThrows( UnsupportedOperationException.class ,
+        () -> new FullRangeBlockIndex( 0 , new BooleanBlockIndex() ) );
+  }
+
+  @Test
+  public void T_setSpreadBlockIndex_keepSpreadRange() {
+    BlockIndexNode blockNode = new BlockIndexNode();
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      BlockIndexNode spreadNode = new BlockIndexNode();
+      spreadNode.getChildNode( "ts" ).setBlockIndex(
+          new LongRangeBlockIndex( i * 100L , i * 100L + 99L ) );
+      blockNode.setSpreadBlockIndex( spreadNode , i );
+    }
+    IBlockIndex index = blockNode.getChildNode( "ts" ).getBlockIndex();
+    assertEquals( BlockIndexType.FULL_RANGE , index.getBlockIndexType() );
+    assertEquals( Arrays.asList( 2 ) , index.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 250 ) ) ) );
+  }
+
+  @Test
+  public void T_read_skipSpread_withSpreadRangeIndex() throws IOException {
+    byte[] binary = createSortedFile( "true" );
+    AndExpressionNode node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode( new StringExtractNode( "ts" ) ,
+        new NumberRangeFilter( new LongObj( 2010 ) , true , new LongObj( 2050 ) , true ) ) );
+    assertEquals( 100 , countReadRows( binary , node ) );
+
+    node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode( new StringExtractNode( "ts" ) ,
+        new NumberFilter( NumberFilterType.GE , new LongObj( 1700 ) ) ) );
+    assertEquals( 200 , countReadRows( binary , node ) );
+  }
+
+  @Test
+  public void T_read_readAllSpread_withoutSpreadRangeIndex() throws IOException {
+    byte[] binary = createSortedFile( "false" );
+    AndExpressionNode node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode( new StringExtractNode( "ts" ) ,
+        new NumberRangeFilter( new LongObj( 2010 ) , true , new LongObj( 2050 ) , true ) ) );
+    assertEquals( 400 , countReadRows( binary , node ) );
+  }
+
+  @Test
+  public void T_read_readAllSpread_withNullFilterAndSpreadWithoutColumn() throws IOException {
+    AndExpressionNode node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode( new StringExtractNode( "ts" ) ,
+        new NullFilter( ColumnType.LONG ) ) );
+    int expected = countReadRows( createSortedFile( "false" , 1 ) , node );
+    assertEquals( 400 , expected );
+    assertEquals( expected , countReadRows( createSortedFile( "true" , 1 ) , node ) );
+  }
+
+  private byte[] createSortedFile( final String spreadRangeIndex ) throws IOException {
+    return createSortedFile( spreadRangeIndex , -1 );
+  }
+
+  private byte[] createSortedFile(
+      final String spreadRangeIndex , final int spreadWithoutTs ) throws IOException {
+    Configuration writerConfig = new Configuration();
+    writerConfig.set( "block.maker.spread.range.index" , spreadRangeIndex );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( YosegiWriter writer = new YosegiWriter( out , writerConfig ) ) {
+      for ( int i = 0 ; i < 4 ; i++ ) {
+        Spread spread = new Spread();
+        for ( int j = 0 ; j < 100 ; j++ ) {
+          Map<String,Object> data = new HashMap<String,Object>();
+          if ( i != spreadWithoutTs ) {
+            data.put( "ts" , new LongObj( i * 1000 + j * 7 ) );
+          }
+          data.put( "name" , new StringObj( "name-" + j ) );
+          spread.addRow( data );
+        }
+        writer.append( spread );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private int countReadRows(
+      final byte[] binary , final IExpressionNode node ) throws IOException {
+    int rows = 0;
+    try ( YosegiReader reader = new YosegiReader() ) {
+      reader.setBlockSkipIndex( node );
+      reader.setNewStream( new ByteArrayInputStream( binary ) , binary.length , new Configuration() );
+      while ( reader.hasNext() ) {
+        Spread spread = reader.next();
+        if ( spread.getColumnSize() != 0 ) {
+          rows += spread.size();
+        }
+      }
+    }
+    return rows;
+  }
+
+}
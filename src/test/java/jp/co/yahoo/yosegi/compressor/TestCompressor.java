@@ -46,6 +46,7 @@ public class TestCompressor {
       SnappyCommonsCompressor.class.getName(),
       //FramedLZ4CommonsCompressor.class.getName(),
       ZstdCommonsCompressor.class.getName(),
+      ZstdCompressor.class.getName(),
     };
   }
 
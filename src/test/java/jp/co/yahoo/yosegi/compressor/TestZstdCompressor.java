@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.compressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestZstdCompressor {
+
+  private static List<byte[]> createSampleList() {
+    List<byte[]> sampleList = new ArrayList<byte[]>();
+    for ( int i = 0 ; i < 2000 ; i++ ) {
+      String json = "{\"user_id\":" + i + ",\"service\":\"search\",\"device\":\"smartphone\""
+          + ",\"region\":\"tokyo-" + ( i % 17 ) + "\",\"status\":\"ok\"}";
+      sampleList.add( json.getBytes( StandardCharsets.UTF_8 ) );
+    }
+    return sampleList;
+  }
+
+  @Test
+  public void T_compress_decreaseLevel_withBestSpeed() throws IOException {
+    CompressResult cr = new CompressResult( CompressionPolicy.BEST_SPEED , (double)100.0 );
+    byte[] t = new byte[Integer.BYTES * 1024 * 100];
+    ZstdCompressor compressor = new ZstdCompressor();
+    assertEquals( 0 , cr.getCurrentLevel() );
+    compressor.compress( t , 0 , t.length , cr );
+    assertEquals( 1 , cr.getCurrentLevel() );
+    compressor.compress( t , 0 , t.length , cr );
+    assertEquals( 0 , cr.getCurrentLevel() );
+  }
+
+  @Test
+  public void T_compress_isSmaller_withDictionary() throws IOException {
+    List<byte[]> sampleList = createSampleList();
+    byte[] dictionary = ZstdCompressor.trainDictionary( sampleList , 4096 );
+    byte[] target = sampleList.get( 100 );
+
+    ZstdCompressor compressor = new ZstdCompressor();
+    byte[] plain = compressor.compress(
+        target , 0 , target.length , new CompressResult( CompressionPolicy.DEFAULT , 1.0d ) );
+    CompressResult cr = new CompressResult( CompressionPolicy.DEFAULT , 1.0d );
+    cr.setDictionary( dictionary );
+    byte[] withDictionary = compressor.compress( target , 0 , target.length , cr );
+    assertTrue( withDictionary.length < plain.length );
+
+    ZstdCompressor.registerDictionary( dictionary );
+    byte[] buffer = new byte[ compressor.getDecompressSize( withDictionary , 0 , withDictionary.length ) ];
+    assertEquals( target.length ,
+        compressor.decompressAndSet( withDictionary , 0 , withDictionary.length , buffer ) );
+    assertTrue( Arrays.equals( target , buffer ) );
+  }
+
+  @Test
+  public void T_registerCompressDictionary_decompress_withICompressor() throws IOException {
+    List<byte[]> sampleList = createSampleList();
+    byte[] dictionary = ZstdCompressor.trainDictionary( sampleList , 4096 );
+    byte[] target = sampleList.get( 10 );
+
+    ICompressor compressor = new ZstdCompressor();
+    compressor.registerCompressDictionary( dictionary );
+    CompressResult cr = new CompressResult( CompressionPolicy.DEFAULT , 1.0d );
+    cr.setDictionary( dictionary );
+    byte[] compressed = compressor.compress( target , 0 , target.length , cr );
+    assertTrue( Arrays.equals(
+        target , compressor.decompress( compressed , 0 , compressed.length ) ) );
+  }
+
+  @Test
+  public void T_registerCompressDictionary_throwsException_withGzipCompressor() {
+    ICompressor compressor = new GzipCompressor();
+    assertThrows( IOException.class ,
+        () -> compressor.registerCompressDictionary( new byte[16] ) );
+  }
+
+  @Test
+  public void T_decompress_throwsException_withUnregisteredDictionary() throws IOException {
+    byte[] target = "abcdeabcde".getBytes( StandardCharsets.UTF_8 );
+    ZstdCompressor compressor = new ZstdCompressor();
+    byte[] compressData = compressor.compress( target , 0 , target.length );
+    ByteBuffer.wrap( compressData ).putInt( Integer.BYTES , 0x7ffffff0 );
+    assertThrows( IOException.class ,
+      () -> {
+        compressor.decompress( compressData , 0 , compressData.length );
+      }
+    );
+  }
+
+  @Test
+  public void T_compress_equalsDecompress_withManyThreads() throws Exception {
+    List<byte[]> sampleList = createSampleList();
+    ZstdCompressor compressor = new ZstdCompressor();
+    List<Thread> threadList = new ArrayList<Thread>();
+    List<Throwable> errorList = Collections.synchronizedList( new ArrayList<Throwable>() );
+    for ( int i = 0 ; i < 16 ; i++ ) {
+      Thread thread = new Thread( () -> {
+        try {
+          for ( byte[] target : sampleList ) {
+            byte[] compressData = compressor.compress( target , 0 , target.length );
+            assertTrue( Arrays.equals(
+                target , compressor.decompress( compressData , 0 , compressData.length ) ) );
+          }
+        } catch ( Throwable ex ) {
+          errorList.add( ex );
+        }
+      } );
+      thread.start();
+      threadList.add( thread );
+    }
+    for ( Thread thread : threadList ) {
+      thread.join();
+    }
+    assertTrue( errorList.isEmpty() );
+  }
+
+  @Test
+  public void T_registerDictionary_throwsException_withInvalidDictionary() {
+    assertThrows( IOException.class ,
+      () -> {
+        ZstdCompressor.registerDictionary( new byte[16] );
+      }
+    );
+  }
+
+}
@@ -57,14 +57,16 @@ public final class ColumnBinaryTestCase {
         "jp.co.yahoo.yosegi.binary.maker.RleStringColumnBinaryMaker",
         "jp.co.yahoo.yosegi.binary.maker.DictionaryRleStringColumnBinaryMaker",
         "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker",
-        "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker"};
+        "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker",
+        "jp.co.yahoo.yosegi.binary.maker.BitPackedIndexStringColumnBinaryMaker"};
   }
 
   public static String[] numberClassNames() throws IOException {
     return new String[]{
         "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker",
         "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker",
-        "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker"};
+        "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker",
+        "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker"};
   }
 
   public static String[] floatClassNames() throws IOException {
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.maker.ConstantColumnBinaryMaker;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+public class TestArrowDictionaryEncodedStringLoader {
+
+  public static Stream<Arguments> data1() throws IOException {
+    return Arrays.stream( ColumnBinaryTestCase.stringClassNames() ).map( name -> arguments( name ) );
+  }
+
+  private String[] toStringArray( final IntVector indexVector , final Dictionary dictionary ) {
+    VarCharVector decoded = (VarCharVector)DictionaryEncoder.decode( indexVector , dictionary );
+    String[] result = new String[decoded.getValueCount()];
+    for ( int i = 0 ; i < result.length ; i++ ) {
+      if ( ! decoded.isNull( i ) ) {
+        result[i] = new String( decoded.get( i ) );
+      }
+    }
+    decoded.close();
+    return result;
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_convert_equalsSetValue( final String targetClassName ) throws IOException {
+    String[] data = new String[]{ "a" , null , "b" , "a" , null , "a" , "c" , "b" };
+    boolean[] isNullArray = new boolean[data.length];
+    for ( int i = 0 ; i < data.length ; i++ ) {
+      isNullArray[i] = data[i] == null;
+    }
+    ColumnBinary columnBinary = ColumnBinaryTestCase.createStringColumnBinaryFromString(
+        targetClassName , data , isNullArray );
+
+    BufferAllocator allocator = new RootAllocator( 1024 * 1024 * 10 );
+    ArrowDictionaryProvider provider = new ArrowDictionaryProvider( allocator );
+    ArrowValueVectorRawConverter converter =
+        new ArrowValueVectorRawConverter( allocator , null , provider );
+    StructVector root = (StructVector)converter.convert(
+        Arrays.asList( columnBinary ) , data.length + 2 );
+
+    IntVector indexVector = (IntVector)root.getChild( "column" );
+    assertNotNull( indexVector.getField().getDictionary() );
+    Dictionary dictionary = provider.lookup( indexVector.getField().getDictionary().getId() );
+    // NOTE: RLE makers hold one entry for each run.
+    assertTrue( dictionary.getVector().getValueCount() <= 6 );
+    String[] result = toStringArray( indexVector , dictionary );
+    assertEquals( data.length + 2 , result.length );
+    for ( int i = 0 ; i < data.length ; i++ ) {
+      assertEquals( data[i] , result[i] );
+    }
+    assertNull( result[data.length] );
+    assertNull( result[data.length + 1] );
+    provider.close();
+  }
+
+  @Test
+  public void T_convert_keepsDictionaryId_withEachBatch() throws IOException {
+    String[] data = new String[]{ "a" , "b" , "a" };
+    ColumnBinary columnBinary = ColumnBinaryTestCase.createStringColumnBinaryFromString(
+        data , new boolean[data.length] );
+    ColumnBinary constBinary =
+        ConstantColumnBinaryMaker.createColumnBinary( new StringObj( "x" ) , "column" , 3 );
+
+    BufferAllocator allocator = new RootAllocator( 1024 * 1024 * 10 );
+    ArrowDictionaryProvider provider = new ArrowDictionaryProvider( allocator );
+    ArrowValueVectorRawConverter converter =
+        new ArrowValueVectorRawConverter( allocator , null , provider );
+
+    StructVector root = (StructVector)converter.convert( Arrays.asList( columnBinary ) , 3 );
+    IntVector indexVector = (IntVector)root.getChild( "column" );
+    long id = indexVector.getField().getDictionary().getId();
+    assertEquals( "a" , toStringArray( indexVector , provider.lookup( id ) )[2] );
+
+    root = (StructVector)converter.convert( Arrays.asList( constBinary ) , 3 );
+    indexVector = (IntVector)root.getChild( "column" );
+    assertEquals( id , indexVector.getField().getDictionary().getId() );
+    assertEquals( 1 , provider.lookup( id ).getVector().getValueCount() );
+    String[] result = toStringArray( indexVector , provider.lookup( id ) );
+    assertEquals( "x" , result[0] );
+    assertEquals( "x" , result[2] );
+    assertEquals( 1 , provider.getDictionaryIds().size() );
+    provider.close();
+  }
+
+  @Test
+  public void T_convert_sharesDictionary_withDistinctValues() throws IOException {
+    String[] data = new String[]{ "a" , "b" , "a" , "a" , "b" };
+    ColumnBinary columnBinary = ColumnBinaryTestCase.createStringColumnBinaryFromString(
+        "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker" ,
+        data ,
+        new boolean[data.length] );
+
+    BufferAllocator allocator = new RootAllocator( 1024 * 1024 * 10 );
+    ArrowDictionaryProvider provider = new ArrowDictionaryProvider( allocator );
+    ArrowValueVectorRawConverter converter =
+        new ArrowValueVectorRawConverter( allocator , null , provider );
+    StructVector root = (StructVector)converter.convert( Arrays.asList( columnBinary ) , 5 );
+
+    IntVector indexVector = (IntVector)root.getChild( "column" );
+    Dictionary dictionary = provider.lookup( indexVector.getField().getDictionary().getId() );
+    assertEquals( 2 , dictionary.getVector().getValueCount() );
+    assertEquals( indexVector.get( 0 ) , indexVector.get( 2 ) );
+    assertEquals( indexVector.get( 1 ) , indexVector.get( 4 ) );
+    provider.close();
+  }
+
+}
@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.inmemory;
 
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ArrowColumnFactory;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 
@@ -163,4 +164,60 @@ public class TestArrowSequentialLongLoader {
     assertNull(column.get(4).getRow());
   }
 
+  @Test
+  public void T_setLongArray_equalsSetValue() throws IOException {
+    boolean[] isNullArray = new boolean[20];
+    long[] values = new long[20];
+    int valueCount = 0;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      isNullArray[i] = i % 3 == 0;
+      if ( ! isNullArray[i] ) {
+        values[valueCount++] = (long)( i * 10 );
+      }
+    }
+    ISequentialLoader<ValueVector> loader = createLoader( 25 );
+    for ( int i = 0 ; i < 2 ; i++ ) {
+      loader.setNull( i );
+    }
+    loader.setLongArray( 2 , isNullArray , values );
+    for ( int i = 22 ; i < 25 ; i++ ) {
+      loader.setNull( i );
+    }
+    loader.finish();
+    IColumn column = ArrowColumnFactory.convert( "vector" , loader.build() );
+
+    for ( int i = 0 ; i < 25 ; i++ ) {
+      if ( i < 2 || 22 <= i || isNullArray[i - 2] ) {
+        assertNull( column.get( i ).getRow() );
+      } else {
+        assertEquals( (long)( ( i - 2 ) * 10 ) ,
+            ( (PrimitiveObject)( column.get( i ).getRow() ) ).getLong() );
+      }
+    }
+  }
+
+  @Test
+  public void T_setLongArray_equalsSetValue_withoutNull() throws IOException {
+    boolean[] isNullArray = new boolean[20];
+    long[] values = new long[20];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = (long)( i * 10 );
+    }
+    ISequentialLoader<ValueVector> loader = createLoader( 23 );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      loader.setNull( i );
+    }
+    loader.setLongArray( 3 , isNullArray , values );
+    loader.finish();
+    IColumn column = ArrowColumnFactory.convert( "vector" , loader.build() );
+
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      assertNull( column.get( i ).getRow() );
+    }
+    for ( int i = 3 ; i < 23 ; i++ ) {
+      assertEquals( (long)( ( i - 3 ) * 10 ) ,
+          ( (PrimitiveObject)( column.get( i ).getRow() ) ).getLong() );
+    }
+  }
+
 }
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.inmemory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.*;
+
+public class TestYosegiDictionaryLoader {
+
+  private IColumn createStringColumn() throws IOException {
+    ColumnBinary columnBinary = new ColumnBinary(
+        null , null , "status" , ColumnType.STRING , 6 , 0 , 0 , 0 , null , 0 , 0 , null );
+    YosegiDictionaryLoader loader = new YosegiDictionaryLoader( columnBinary , 6 );
+    byte[] binary = "okngerror".getBytes( StandardCharsets.UTF_8 );
+    loader.createDictionary( 3 );
+    loader.setBytesToDic( 0 , binary , 0 , 2 );
+    loader.setBytesToDic( 1 , binary , 2 , 2 );
+    loader.setBytesToDic( 2 , binary , 4 , 5 );
+    int[] ids = new int[]{ 0 , 1 , 0 , 2 , 0 };
+    for ( int i = 0 ; i < ids.length ; i++ ) {
+      loader.setDictionaryIndex( i , ids[i] );
+    }
+    loader.setNull( 5 );
+    return loader.build();
+  }
+
+  @Test
+  public void T_filter_applyDictionaryResult_withPerfectMatch() throws IOException {
+    IColumn column = createStringColumn();
+    boolean[] result = column.filter( new PerfectMatchStringFilter( "ok" ) , new boolean[6] );
+    assertArrayEquals( new boolean[]{ true , false , true , false , true , false } , result );
+  }
+
+  @Test
+  public void T_filter_applyDictionaryResult_withRegexpAndForwardMatch() throws IOException {
+    IColumn column = createStringColumn();
+    boolean[] result = column.filter( new RegexpMatchStringFilter( "(ng|error)" ) , new boolean[6] );
+    assertArrayEquals( new boolean[]{ false , true , false , true , false , false } , result );
+    result = column.filter( new ForwardMatchStringFilter( "er" ) , new boolean[6] );
+    assertArrayEquals( new boolean[]{ false , false , false , true , false , false } , result );
+    result = column.filter( new BackwardMatchStringFilter( "or" ) , new boolean[6] );
+    assertArrayEquals( new boolean[]{ false , false , false , true , false , false } , result );
+  }
+
+  @Test
+  public void T_filter_matchNullAndOutOfColumnRows_withNullFilter() throws IOException {
+    IColumn column = createStringColumn();
+    boolean[] result = column.filter( new NullFilter( ColumnType.STRING ) , new boolean[8] );
+    assertArrayEquals(
+        new boolean[]{ false , false , false , false , false , true , true , true } , result );
+  }
+
+  @Test
+  public void T_filter_returnsNull_withUnsupportedFilter() throws IOException {
+    IColumn column = createStringColumn();
+    assertNull( column.filter(
+        new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 1 ) ) ,
+        new boolean[6] ) );
+  }
+
+}
@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.inmemory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NullFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+
+public class TestYosegiSequentialPrimitiveLoader {
+
+  private ColumnBinary createColumnBinary( final ColumnType columnType , final int rowCount ) {
+    return new ColumnBinary(
+        null , null , "target" , columnType , rowCount , 0 , 0 , 0 , null , 0 , 0 , null );
+  }
+
+  @Test
+  public void T_getLong_readPrimitiveAndCell_withIntegerColumn() throws IOException {
+    YosegiSequentialLongLoader loader =
+        new YosegiSequentialLongLoader( createColumnBinary( ColumnType.INTEGER , 4 ) , 4 );
+    loader.setInteger( 0 , 10 );
+    loader.setNull( 1 );
+    loader.setInteger( 2 , -5 );
+    IColumn column = loader.build();
+
+    assertFalse( column.isNull( 0 ) );
+    assertEquals( 10L , column.getLong( 0 ) );
+    assertEquals( 10 , column.getInt( 0 ) );
+    assertTrue( column.isNull( 1 ) );
+    assertEquals( -5.0d , column.getDouble( 2 ) );
+    assertTrue( column.isNull( 3 ) );
+    assertTrue( column.isNull( 4 ) );
+    assertTrue( ( (PrimitiveCell)column.get( 0 ) ).getRow() instanceof IntegerObj );
+
+    PrimitiveCell cell = (PrimitiveCell)column.get( 2 );
+    assertEquals( ColumnType.INTEGER , cell.getType() );
+    assertEquals( -5 , cell.getRow().getInt() );
+    assertEquals( ColumnType.NULL , column.get( 1 ).getType() );
+  }
+
+  @Test
+  public void T_filter_equalsCellFilter_withIntegerColumn() throws IOException {
+    YosegiSequentialLongLoader loader =
+        new YosegiSequentialLongLoader( createColumnBinary( ColumnType.INTEGER , 4 ) , 4 );
+    loader.setInteger( 0 , 1 );
+    loader.setNull( 1 );
+    loader.setInteger( 2 , 2 );
+    loader.setInteger( 3 , 0 );
+    IColumn column = loader.build();
+
+    IFilter filter = new NumberFilter( NumberFilterType.LT , new DoubleObj( 1.5d ) );
+    boolean[] result = column.filter( filter , new boolean[5] );
+    assertTrue( Arrays.equals( new boolean[]{ true , false , false , true , false } , result ) );
+    result = column.filter( new NullFilter( ColumnType.INTEGER ) , new boolean[5] );
+    assertTrue( Arrays.equals( new boolean[]{ false , true , false , false , true } , result ) );
+  }
+
+  @Test
+  public void T_filter_equalsCellFilter_withDoubleColumn() throws IOException {
+    YosegiSequentialDoubleLoader loader =
+        new YosegiSequentialDoubleLoader( createColumnBinary( ColumnType.DOUBLE , 3 ) , 3 );
+    loader.setDouble( 0 , 1.5d );
+    loader.setDouble( 2 , 0.5d );
+    IColumn column = loader.build();
+
+    IFilter filter = new NumberRangeFilter( new LongObj( 1 ) , true , new LongObj( 2 ) , false );
+    boolean[] result = column.filter( filter , new boolean[3] );
+    assertTrue( Arrays.equals( new boolean[]{ true , false , false } , result ) );
+  }
+
+  @Test
+  public void T_getDouble_readPrimitiveAndCell_withFloatColumn() throws IOException {
+    YosegiSequentialDoubleLoader loader =
+        new YosegiSequentialDoubleLoader( createColumnBinary( ColumnType.FLOAT , 3 ) , 3 );
+    loader.setFloat( 0 , 1.5f );
+    loader.setFloat( 2 , 2.25f );
+    IColumn column = loader.build();
+
+    assertEquals( 1.5f , column.getFloat( 0 ) );
+    assertTrue( column.isNull( 1 ) );
+    assertEquals( 2.25d , column.getDouble( 2 ) );
+    assertEquals( ColumnType.FLOAT , column.get( 0 ).getType() );
+    assertEquals( 1.5f , ( (PrimitiveCell)column.get( 0 ) ).getRow().getFloat() );
+  }
+
+  @Test
+  public void T_getBoolean_readPrimitiveAndCell_withBooleanColumn() throws IOException {
+    YosegiSequentialBooleanLoader loader =
+        new YosegiSequentialBooleanLoader( createColumnBinary( ColumnType.BOOLEAN , 3 ) , 3 );
+    loader.setBoolean( 0 , true );
+    loader.setNull( 1 );
+    loader.setBoolean( 2 , false );
+    IColumn column = loader.build();
+
+    assertTrue( column.getBoolean( 0 ) );
+    assertTrue( column.isNull( 1 ) );
+    assertFalse( column.getBoolean( 2 ) );
+    assertEquals( "true" , column.getString( 0 ) );
+    assertTrue( ( (PrimitiveCell)column.get( 0 ) ).getRow().getBoolean() );
+  }
+
+  @Test
+  public void T_getString_readRangeOfBuffer_withStringColumn() throws IOException {
+    YosegiSequentialBytesLoader loader =
+        new YosegiSequentialBytesLoader( createColumnBinary( ColumnType.STRING , 3 ) , 3 );
+    byte[] binary = "helloworld".getBytes( StandardCharsets.UTF_8 );
+    loader.setBytes( 0 , binary , 0 , 5 );
+    loader.setNull( 1 );
+    loader.setBytes( 2 , binary , 5 , 5 );
+    IColumn column = loader.build();
+
+    assertEquals( "hello" , column.getString( 0 ) );
+    assertTrue( column.isNull( 1 ) );
+    assertEquals( "world" , column.getString( 2 ) );
+    assertEquals( "world" , ( (PrimitiveCell)column.get( 2 ) ).getRow().getString() );
+  }
+
+  private void assertSameCells(
+      final ISequentialLoader<IColumn> expectedLoader ,
+      final ISequentialLoader<IColumn> loader ,
+      final int rowCount ) throws IOException {
+    IColumn expected = expectedLoader.build();
+    IColumn column = loader.build();
+    for ( int i = 0 ; i < rowCount ; i++ ) {
+      assertEquals( expected.isNull( i ) , column.isNull( i ) );
+      assertEquals( expected.get( i ).getType() , column.get( i ).getType() );
+      if ( ! expected.isNull( i ) ) {
+        PrimitiveObject expectedObj = ( (PrimitiveCell)expected.get( i ) ).getRow();
+        PrimitiveObject obj = ( (PrimitiveCell)column.get( i ) ).getRow();
+        assertEquals( expectedObj.getClass() , obj.getClass() );
+        assertEquals( expectedObj.getString() , obj.getString() );
+      }
+    }
+  }
+
+  @Test
+  public void T_get_equalsSequentialLoader_withNarrowSetter() throws IOException {
+    // The value of a LONG column is set by setByte when the range is small.
+    ColumnBinary columnBinary = createColumnBinary( ColumnType.LONG , 3 );
+    YosegiSequentialLoader expectedLoader = new YosegiSequentialLoader( columnBinary , 3 );
+    YosegiSequentialLongLoader loader = new YosegiSequentialLongLoader( columnBinary , 3 );
+    for ( ISequentialLoader<IColumn> target : Arrays.asList( expectedLoader , loader ) ) {
+      target.setByte( 0 , (byte)1 );
+      target.setNull( 1 );
+      target.setByte( 2 , (byte)-3 );
+    }
+    assertSameCells( expectedLoader , loader , 3 );
+    assertEquals( -3L , loader.build().getLong( 2 ) );
+  }
+
+  @Test
+  public void T_get_equalsSequentialLoader_withMismatchedSetter() throws IOException {
+    ColumnBinary columnBinary = createColumnBinary( ColumnType.INTEGER , 5 );
+    YosegiSequentialLoader expectedLoader = new YosegiSequentialLoader( columnBinary , 5 );
+    YosegiSequentialLongLoader loader = new YosegiSequentialLongLoader( columnBinary , 5 );
+    for ( ISequentialLoader<IColumn> target : Arrays.asList( expectedLoader , loader ) ) {
+      target.setInteger( 0 , 10 );
+      target.setLong( 1 , 20L );
+      target.setDouble( 2 , 1.5d );
+      target.setString( 3 , "abc" );
+      target.setNull( 4 );
+    }
+    assertSameCells( expectedLoader , loader , 5 );
+  }
+
+  @Test
+  public void T_get_equalsSequentialLoader_withMismatchedDoubleSetter() throws IOException {
+    ColumnBinary columnBinary = createColumnBinary( ColumnType.DOUBLE , 4 );
+    YosegiSequentialLoader expectedLoader = new YosegiSequentialLoader( columnBinary , 4 );
+    YosegiSequentialDoubleLoader loader = new YosegiSequentialDoubleLoader( columnBinary , 4 );
+    for ( ISequentialLoader<IColumn> target : Arrays.asList( expectedLoader , loader ) ) {
+      target.setDouble( 0 , 0.5d );
+      target.setFloat( 1 , 1.5f );
+      target.setLong( 2 , 3L );
+      target.setString( 3 , "x" );
+    }
+    assertSameCells( expectedLoader , loader , 4 );
+  }
+
+  @Test
+  public void T_get_equalsSequentialLoader_withMismatchedBooleanSetter() throws IOException {
+    ColumnBinary columnBinary = createColumnBinary( ColumnType.BOOLEAN , 3 );
+    YosegiSequentialLoader expectedLoader = new YosegiSequentialLoader( columnBinary , 3 );
+    YosegiSequentialBooleanLoader loader = new YosegiSequentialBooleanLoader( columnBinary , 3 );
+    for ( ISequentialLoader<IColumn> target : Arrays.asList( expectedLoader , loader ) ) {
+      target.setBoolean( 0 , true );
+      target.setString( 1 , "false" );
+      target.setInteger( 2 , 1 );
+    }
+    assertSameCells( expectedLoader , loader , 3 );
+  }
+
+  @Test
+  public void T_get_equalsSequentialLoader_withMismatchedBytesSetter() throws IOException {
+    ColumnBinary columnBinary = createColumnBinary( ColumnType.STRING , 4 );
+    YosegiSequentialLoader expectedLoader = new YosegiSequentialLoader( columnBinary , 4 );
+    YosegiSequentialBytesLoader loader = new YosegiSequentialBytesLoader( columnBinary , 4 );
+    byte[] binary = "hello".getBytes( StandardCharsets.UTF_8 );
+    for ( ISequentialLoader<IColumn> target : Arrays.asList( expectedLoader , loader ) ) {
+      target.setBytes( 0 , binary , 0 , 5 );
+      target.setString( 1 , "world" );
+      target.setLong( 2 , 7L );
+      target.setNull( 3 );
+    }
+    assertSameCells( expectedLoader , loader , 4 );
+  }
+
+}
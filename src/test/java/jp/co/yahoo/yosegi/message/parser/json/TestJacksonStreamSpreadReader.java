@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.message.parser.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.Arguments;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+
+public class TestJacksonStreamSpreadReader {
+
+  public static Stream<Arguments> data1() {
+    return Stream.of(
+      arguments( "{\"a\":123,\"b\":true,\"c\":\"abc\",\"d\":0.1}\n{\"a\":456,\"b\":false,\"c\":\"def\",\"d\":1.5}" ),
+      arguments( "{\"a\":123}\n{\"b\":\"x\"}\n{\"a\":null,\"b\":\"y\"}\n{}\n{\"a\":5}" ),
+      arguments( "{\"a\":1}\n{\"a\":\"1\"}\n{\"a\":1.0}\n{\"a\":10000000000}\n{\"a\":100000000000000000000}" ),
+      arguments( "{\"c\":{\"c-1\":\"x\",\"c-2\":{\"c-2-1\":1}}}\n{\"c\":{}}\n{\"c\":{\"c-1\":\"y\"}}\n{\"c\":null}" ),
+      arguments( "{\"d\":[10,\"20\",0.1]}\n{\"d\":[]}\n{\"d\":[{\"x\":1},{\"x\":2}]}" ),
+      arguments( "{\"e\":\"text\"}\n{\"e\":{\"e-1\":1}}\n{\"e\":[1,2]}" ),
+      arguments( "{\"f\":{\"f-1\":1}}\n{\"f\":\"text\"}\n{\"f\":{\"f-1\":2}}" )
+    );
+  }
+
+  private Spread readTree( final String data ) throws IOException {
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    for ( String line : data.split( "\n" ) ) {
+      spread.addParserRow( messageReader.create( line ) );
+    }
+    return spread;
+  }
+
+  private Spread readStream( final String data ) throws IOException {
+    Spread spread = new Spread();
+    byte[] binary = data.getBytes( StandardCharsets.UTF_8 );
+    try ( JacksonStreamSpreadReader reader =
+        new JacksonStreamSpreadReader( new ByteArrayInputStream( binary ) ) ) {
+      while ( reader.hasNext() ) {
+        reader.append( spread );
+      }
+    }
+    return spread;
+  }
+
+  private void assertColumn( final IColumn expected , final IColumn actual , final int rows ) {
+    assertEquals( expected.getColumnName() , actual.getColumnName() );
+    assertEquals( expected.getColumnType() , actual.getColumnType() );
+    assertEquals( expected.getColumnSize() , actual.getColumnSize() );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      assertEquals( expected.get( i ).toString() , actual.get( i ).toString() );
+    }
+    if ( expected.getColumnType() == ColumnType.SPREAD ) {
+      for ( int i = 0 ; i < expected.getColumnSize() ; i++ ) {
+        assertColumn( expected.getColumn( i ) , actual.getColumn( i ) , rows );
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_append_equalsJsonNodeTree( final String data ) throws IOException {
+    Spread expected = readTree( data );
+    Spread actual = readStream( data );
+    assertEquals( expected.size() , actual.size() );
+    assertEquals( expected.getColumnSize() , actual.getColumnSize() );
+    for ( int i = 0 ; i < expected.getColumnSize() ; i++ ) {
+      assertColumn( expected.getColumn( i ) , actual.getColumn( i ) , expected.size() );
+    }
+    assertEquals( expected.toString() , actual.toString() );
+  }
+
+  @Test
+  public void T_append_fromReader() throws IOException {
+    Spread spread = new Spread();
+    try ( JacksonStreamSpreadReader reader =
+        new JacksonStreamSpreadReader( new StringReader( "{\"a\":1} {\"a\":2}\n\n{\"a\":3}\n" ) ) ) {
+      while ( reader.hasNext() ) {
+        assertTrue( 0 < reader.append( spread ) );
+      }
+    }
+    assertEquals( 3 , spread.size() );
+    assertEquals( 3 , ( (PrimitiveObject)spread.getColumn( "a" ).get( 2 ).getRow() ).getInt() );
+  }
+
+  @Test
+  public void T_append_withNotObject_throwsException() throws IOException {
+    Spread spread = new Spread();
+    try ( JacksonStreamSpreadReader reader =
+        new JacksonStreamSpreadReader( new StringReader( "[1,2]" ) ) ) {
+      assertTrue( reader.hasNext() );
+      assertThrows( IOException.class , () -> reader.append( spread ) );
+    }
+  }
+
+  @Test
+  public void T_append_withoutRecord_throwsException() throws IOException {
+    Spread spread = new Spread();
+    try ( JacksonStreamSpreadReader reader =
+        new JacksonStreamSpreadReader( new StringReader( "\n" ) ) ) {
+      assertFalse( reader.hasNext() );
+      assertThrows( IOException.class , () -> reader.append( spread ) );
+    }
+  }
+
+}
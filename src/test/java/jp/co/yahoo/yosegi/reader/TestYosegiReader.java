@@ -23,18 +23,27 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.*;
+import jp.co.yahoo.yosegi.block.ByteArrayBlockSource;
+import jp.co.yahoo.yosegi.block.FileChannelBlockSource;
+import jp.co.yahoo.yosegi.block.FileFooter;
+import jp.co.yahoo.yosegi.block.IBlockSource;
+import jp.co.yahoo.yosegi.block.MappedFileBlockSource;
 import jp.co.yahoo.yosegi.block.PushdownSupportedBlockWriter;
+import jp.co.yahoo.yosegi.compressor.GzipCompressor;
 import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.inmemory.SpreadRawConverter;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.objects.StringObj;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.filter.*;
 import jp.co.yahoo.yosegi.spread.expression.*;
 import jp.co.yahoo.yosegi.writer.YosegiWriter;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.Arguments;
@@ -45,8 +54,18 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
 
 public class TestYosegiReader {
 
@@ -79,8 +98,11 @@ public class TestYosegiReader {
   }
 
   private byte[] createTestBinary() throws IOException {
+    return createTestBinary( new Configuration() );
+  }
+
+  private byte[] createTestBinary( final Configuration writerConfig ) throws IOException {
     ByteArrayOutputStream out = new ByteArrayOutputStream();
-    Configuration writerConfig = new Configuration();
     writerConfig.set( "block.size" , Integer.toString( blockSize ) );
     YosegiWriter writer = new YosegiWriter( out , writerConfig );
     List<ColumnBinary> list = Arrays.asList( createStringPushdownTestColumn() );
@@ -303,4 +325,605 @@ public class TestYosegiReader {
     assertEquals( reader.hasNext() , false );
   }
 
+
+  private Configuration createPrefetchConfig( final int prefetchSize ) {
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "reader.block.prefetch.size" , Integer.toString( prefetchSize ) );
+    return readerConfig;
+  }
+
+  @ParameterizedTest
+  @MethodSource( "prefetchSizeProvider" )
+  public void T_read_withPrefetch( final int prefetchSize ) throws IOException {
+    byte[] blocks = createTestBinary();
+    ByteArrayInputStream in = new ByteArrayInputStream( blocks );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( in , blocks.length , createPrefetchConfig( prefetchSize ) );
+
+    String[] expected = new String[]{ "column" , "column" , "column" , "column" , "column2" };
+    for ( String columnName : expected ) {
+      assertTrue( reader.hasNext() );
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 4 , reader.getCurrentSpreadSize().intValue() );
+      assertEquals( 1 , raw.size() );
+      assertEquals( columnName , raw.get( 0 ).columnName );
+    }
+    assertFalse( reader.hasNext() );
+    assertEquals( blocks.length , reader.getReadPos() );
+    reader.close();
+  }
+
+  @ParameterizedTest
+  @MethodSource( "prefetchSizeProvider" )
+  public void T_EmptyPushdown_withPrefetch( final int prefetchSize ) throws IOException {
+    byte[] blocks = createTestBinary();
+    ByteArrayInputStream in = new ByteArrayInputStream( blocks );
+    YosegiReader reader = new YosegiReader();
+    AndExpressionNode index = new AndExpressionNode();
+    index.addChildNode(
+        new ExecuterNode( new StringExtractNode( "column" )
+        , new PerfectMatchStringFilter( "p" ) )
+    );
+    // Skip Block-1, Block-2
+    reader.setBlockSkipIndex( index );
+    reader.setNewStream( in , blocks.length , createPrefetchConfig( prefetchSize ) );
+    assertTrue( reader.hasNext() );
+
+    // Block-3 Spread-1
+    List<ColumnBinary> raw = reader.nextRaw();
+    assertEquals( 4 , reader.getCurrentSpreadSize().intValue() );
+    assertEquals( 1 , raw.size() );
+    assertEquals( "column2" , raw.get( 0 ).columnName );
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @Test
+  public void T_close_withPrefetchExecutor_readsNoBlockAfterClose() throws Exception {
+    byte[] blocks = createTestBinary();
+    ByteArrayBlockSource data = new ByteArrayBlockSource( blocks );
+    AtomicBoolean closed = new AtomicBoolean();
+    AtomicInteger readAfterClose = new AtomicInteger();
+    IBlockSource source = new IBlockSource() {
+      @Override
+      public long size() {
+        return data.size();
+      }
+
+      @Override
+      public void read(
+          final long position ,
+          final byte[] buffer ,
+          final int start ,
+          final int length ) throws IOException {
+        if ( closed.get() ) {
+          readAfterClose.incrementAndGet();
+        }
+        data.read( position , buffer , start , length );
+      }
+
+      @Override
+      public void close() {
+        closed.set( true );
+      }
+    };
+    ExecutorService executor = Executors.newFixedThreadPool( 2 );
+    try {
+      YosegiReader reader = new YosegiReader();
+      reader.setPrefetchExecutor( executor );
+      reader.setNewSource( source , createPrefetchConfig( 3 ) );
+      assertTrue( reader.hasNext() );
+      reader.close();
+      assertTrue( closed.get() );
+      assertFalse( executor.isShutdown() );
+      executor.shutdown();
+      assertTrue( executor.awaitTermination( 10 , TimeUnit.SECONDS ) );
+      assertEquals( 0 , readAfterClose.get() );
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void T_read_withPrefetchAndBlockRead() throws IOException {
+    byte[] blocks = createTestBinary();
+    ByteArrayInputStream in = new ByteArrayInputStream( blocks );
+    YosegiReader reader = new YosegiReader();
+    // Read Block-2
+    reader.setNewStream(
+        in , blocks.length , createPrefetchConfig( 2 ) , blockSize , blockSize );
+    for ( int i = 0 ; i < 2 ; i++ ) {
+      assertTrue( reader.hasNext() );
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 1 , raw.size() );
+      assertEquals( "column" , raw.get( 0 ).columnName );
+    }
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_throwsException_withPrefetchAndBrokenBlock() throws IOException {
+    byte[] blocks = createTestBinary();
+    // Break the compressor name of Block-2.
+    blocks[blockSize + Integer.BYTES] = (byte)'X';
+    ByteArrayInputStream in = new ByteArrayInputStream( blocks );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( in , blocks.length , createPrefetchConfig( 2 ) );
+    assertTrue( reader.hasNext() );
+    reader.nextRaw();
+    reader.nextRaw();
+    assertThrows( IOException.class , () -> {
+      reader.hasNext();
+    } );
+    reader.close();
+  }
+
+  public static class ThreadRecordingCompressor extends GzipCompressor {
+
+    public static final Queue<String> DECOMPRESS_THREAD_NAME_QUEUE =
+        new ConcurrentLinkedQueue<String>();
+
+    @Override
+    public byte[] decompress(
+        final byte[] data , final int start , final int length ) throws IOException {
+      DECOMPRESS_THREAD_NAME_QUEUE.add( Thread.currentThread().getName() );
+      return super.decompress( data , start , length );
+    }
+
+  }
+
+  private byte[] createThreadRecordingTestBinary() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    for ( int i = 0 ; i < 4 ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( "D" + i ) , i );
+    }
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    defaultConfig.compressorClass = new ThreadRecordingCompressor();
+    List<ColumnBinary> list = Arrays.asList(
+        new OptimizedNullArrayDumpStringColumnBinaryMaker().toBinary(
+            defaultConfig , null , new CompressResultNode() , column ) );
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Configuration writerConfig = new Configuration();
+    writerConfig.set( "block.size" , Integer.toString( blockSize ) );
+    YosegiWriter writer = new YosegiWriter( out , writerConfig );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      writer.appendRow( list , 4 );
+      writer.writeFixedBlock();
+    }
+    writer.close();
+    return out.toByteArray();
+  }
+
+  private void assertLoadAll( final YosegiReader reader ) throws IOException {
+    SpreadRawConverter converter = new SpreadRawConverter();
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      assertTrue( reader.hasNext() );
+      List<ColumnBinary> raw = reader.nextRaw();
+      Spread spread = converter.convert( raw , reader.getCurrentSpreadSize() );
+      IColumn column = spread.getColumn( "column" );
+      for ( int j = 0 ; j < 4 ; j++ ) {
+        assertEquals( "D" + j , ( (PrimitiveObject)column.get( j ).getRow() ).getString() );
+      }
+    }
+    assertFalse( reader.hasNext() );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "prefetchSizeProvider" )
+  public void T_read_withPrefetch_decompressOnWorkerThread(
+      final int prefetchSize ) throws IOException {
+    byte[] blocks = createThreadRecordingTestBinary();
+    ThreadRecordingCompressor.DECOMPRESS_THREAD_NAME_QUEUE.clear();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream(
+        new ByteArrayInputStream( blocks ) , blocks.length , createPrefetchConfig( prefetchSize ) );
+    assertLoadAll( reader );
+    reader.close();
+    reader.setNewSource(
+        new ByteArrayBlockSource( blocks ) , createPrefetchConfig( prefetchSize ) );
+    assertLoadAll( reader );
+    reader.close();
+
+    assertEquals( 6 , ThreadRecordingCompressor.DECOMPRESS_THREAD_NAME_QUEUE.size() );
+    for ( String threadName : ThreadRecordingCompressor.DECOMPRESS_THREAD_NAME_QUEUE ) {
+      assertTrue( threadName.startsWith( "yosegi-block-prefetch-" ) );
+    }
+  }
+
+  @Test
+  public void T_read_withPrefetchAndPredecompressDisabled_decompressOnConsumerThread()
+      throws IOException {
+    byte[] blocks = createThreadRecordingTestBinary();
+    ThreadRecordingCompressor.DECOMPRESS_THREAD_NAME_QUEUE.clear();
+    Configuration readerConfig = createPrefetchConfig( 2 );
+    readerConfig.set( "reader.block.prefetch.decompress" , "false" );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( blocks ) , blocks.length , readerConfig );
+    assertLoadAll( reader );
+    reader.close();
+
+    assertEquals( 3 , ThreadRecordingCompressor.DECOMPRESS_THREAD_NAME_QUEUE.size() );
+    for ( String threadName : ThreadRecordingCompressor.DECOMPRESS_THREAD_NAME_QUEUE ) {
+      assertEquals( Thread.currentThread().getName() , threadName );
+    }
+  }
+
+  public static Stream<Arguments> prefetchSizeProvider() {
+    return Stream.of(
+      arguments( 1 ),
+      arguments( 2 ),
+      arguments( 8 )
+    );
+  }
+
+
+  private void assertReadAll( final YosegiReader reader , final long dataSize ) throws IOException {
+    String[] expected = new String[]{ "column" , "column" , "column" , "column" , "column2" };
+    for ( String columnName : expected ) {
+      assertTrue( reader.hasNext() );
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 4 , reader.getCurrentSpreadSize().intValue() );
+      assertEquals( 1 , raw.size() );
+      assertEquals( columnName , raw.get( 0 ).columnName );
+    }
+    assertFalse( reader.hasNext() );
+    assertEquals( dataSize , reader.getReadPos() );
+  }
+
+  @Test
+  public void T_read_withBlockSource() throws IOException {
+    byte[] blocks = createTestBinary();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , new Configuration() );
+    assertReadAll( reader , blocks.length );
+    reader.close();
+  }
+
+  @ParameterizedTest
+  @MethodSource( "prefetchSizeProvider" )
+  public void T_read_withBlockSourceAndPrefetch( final int prefetchSize ) throws IOException {
+    byte[] blocks = createTestBinary();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource(
+        new ByteArrayBlockSource( blocks ) , createPrefetchConfig( prefetchSize ) );
+    assertReadAll( reader , blocks.length );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_withFileChannelSource( @TempDir final Path dir ) throws IOException {
+    byte[] blocks = createTestBinary();
+    Path path = dir.resolve( "test.yosegi" );
+    Files.write( path , blocks );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new FileChannelBlockSource( path ) , new Configuration() );
+    assertReadAll( reader , blocks.length );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_withMappedFileSource( @TempDir final Path dir ) throws IOException {
+    byte[] blocks = createTestBinary();
+    Path path = dir.resolve( "test.yosegi" );
+    Files.write( path , blocks );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new MappedFileBlockSource( path ) , new Configuration() );
+    assertReadAll( reader , blocks.length );
+    reader.close();
+  }
+
+  @Test
+  public void T_EmptyPushdownAndBlockRead_withBlockSource() throws IOException {
+    byte[] blocks = createTestBinary();
+    YosegiReader reader = new YosegiReader();
+    AndExpressionNode index = new AndExpressionNode();
+    index.addChildNode(
+        new ExecuterNode( new StringExtractNode( "column" )
+        , new PerfectMatchStringFilter( "p" ) )
+    );
+    reader.setBlockSkipIndex( index );
+    // Read Block-2, Block-3
+    reader.setNewSource(
+        new ByteArrayBlockSource( blocks ) , new Configuration() , blockSize , blockSize * 2 );
+    assertTrue( reader.hasNext() );
+    // Block-3 Spread-1
+    List<ColumnBinary> raw = reader.nextRaw();
+    assertEquals( 1 , raw.size() );
+    assertEquals( "column2" , raw.get( 0 ).columnName );
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  private byte[] createFooterTestBinary() throws IOException {
+    Configuration writerConfig = new Configuration();
+    writerConfig.set( "writer.file.footer" , "true" );
+    return createTestBinary( writerConfig );
+  }
+
+  @Test
+  public void T_getFileFooter_withFooter() throws IOException {
+    byte[] blocks = createFooterTestBinary();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , new Configuration() );
+    FileFooter footer = reader.getFileFooter();
+    assertNotNull( footer );
+    assertEquals( 3 , footer.getBlockEntryList().size() );
+    assertEquals( 20 , footer.getRowCount() );
+    assertEquals( 2 , footer.getBlockEntryList().get( 0 ).getSpreadCount() );
+    assertEquals( 1 , footer.getBlockEntryList().get( 2 ).getSpreadCount() );
+    assertEquals( blockSize * 2 , footer.getBlockEntryList().get( 2 ).getOffset() );
+    assertNotNull( footer.getBlockEntryList().get( 0 ).getBlockIndexNode() );
+    reader.close();
+  }
+
+  @Test
+  public void T_getFileFooter_withoutFooter() throws IOException {
+    byte[] blocks = createTestBinary();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , new Configuration() );
+    assertNull( reader.getFileFooter() );
+    reader.close();
+  }
+
+  @Test
+  public void T_getFileFooter_withDisabledFooter() throws IOException {
+    byte[] blocks = createFooterTestBinary();
+    YosegiReader reader = new YosegiReader();
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "reader.file.footer" , "false" );
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , readerConfig );
+    assertNull( reader.getFileFooter() );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_withFileFooter() throws IOException {
+    byte[] blocks = createFooterTestBinary();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , new Configuration() );
+    String[] expected = new String[]{ "column" , "column" , "column" , "column" , "column2" };
+    for ( String columnName : expected ) {
+      assertTrue( reader.hasNext() );
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 4 , reader.getCurrentSpreadSize().intValue() );
+      assertEquals( 1 , raw.size() );
+      assertEquals( columnName , raw.get( 0 ).columnName );
+    }
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_withFileFooterAndStream() throws IOException {
+    byte[] blocks = createFooterTestBinary();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( blocks ) , blocks.length , new Configuration() );
+    String[] expected = new String[]{ "column" , "column" , "column" , "column" , "column2" };
+    for ( String columnName : expected ) {
+      assertTrue( reader.hasNext() );
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 1 , raw.size() );
+      assertEquals( columnName , raw.get( 0 ).columnName );
+    }
+    assertFalse( reader.hasNext() );
+    assertNull( reader.getFileFooter() );
+    reader.close();
+  }
+
+  private byte[] createAlignedFooterTestBinary(
+      final int testBlockSize , final boolean footer ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Configuration writerConfig = new Configuration();
+    writerConfig.set( "block.size" , Integer.toString( testBlockSize ) );
+    writerConfig.set( "writer.file.footer" , Boolean.toString( footer ) );
+    YosegiWriter writer = new YosegiWriter( out , writerConfig );
+    List<ColumnBinary> list = Arrays.asList( createStringPushdownTestColumn() );
+    // Block-1 Spread-1
+    writer.appendRow( list , 4 );
+    writer.writeFixedBlock();
+    // Block-2 Spread-1 , Spread-2 , Spread-3
+    writer.appendRow( list , 4 );
+    writer.appendRow( list , 4 );
+    writer.appendRow( list , 4 );
+    writer.close();
+    return out.toByteArray();
+  }
+
+  private void assertReadAlignedFooterTestBinary( final YosegiReader reader ) throws IOException {
+    for ( int i = 0 ; i < 4 ; i++ ) {
+      assertTrue( reader.hasNext() );
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 4 , reader.getCurrentSpreadSize().intValue() );
+      assertEquals( 1 , raw.size() );
+      assertEquals( "column" , raw.get( 0 ).columnName );
+    }
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_withFileFooter_afterFullBlocks() throws IOException {
+    // NOTE: The last block fills its slot when the block size is the size of the last block.
+    int largeBlockSize = 1024 * 64;
+    int testBlockSize =
+        createAlignedFooterTestBinary( largeBlockSize , false ).length - largeBlockSize;
+    assertEquals( testBlockSize * 2 , createAlignedFooterTestBinary( testBlockSize , false ).length );
+
+    byte[] blocks = createAlignedFooterTestBinary( testBlockSize , true );
+    assertTrue( testBlockSize * 2 < blocks.length );
+
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( blocks ) , blocks.length , new Configuration() );
+    assertReadAlignedFooterTestBinary( reader );
+
+    reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , new Configuration() );
+    FileFooter footer = reader.getFileFooter();
+    assertEquals( 2 , footer.getBlockEntryList().size() );
+    assertEquals( 16 , footer.getRowCount() );
+    assertEquals( testBlockSize , footer.getBlockEntryList().get( 1 ).getOffset() );
+    assertReadAlignedFooterTestBinary( reader );
+
+    reader = new YosegiReader();
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "reader.file.footer" , "false" );
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , readerConfig );
+    assertReadAlignedFooterTestBinary( reader );
+  }
+
+  @Test
+  public void T_EmptyPushdown_withFileFooter() throws IOException {
+    byte[] blocks = createFooterTestBinary();
+    YosegiReader reader = new YosegiReader();
+    AndExpressionNode index = new AndExpressionNode();
+    index.addChildNode(
+        new ExecuterNode( new StringExtractNode( "column" )
+        , new PerfectMatchStringFilter( "p" ) )
+    );
+    reader.setBlockSkipIndex( index );
+    // Skip Block-1, Block-2 without reading
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , new Configuration() );
+    assertTrue( reader.hasNext() );
+    // Block-3 Spread-1
+    List<ColumnBinary> raw = reader.nextRaw();
+    assertEquals( 1 , raw.size() );
+    assertEquals( "column2" , raw.get( 0 ).columnName );
+    assertEquals( 1 , reader.getBlockReadCount() );
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @Test
+  public void T_EmptyPushdownAndBlockRead_withFileFooter() throws IOException {
+    byte[] blocks = createFooterTestBinary();
+    YosegiReader reader = new YosegiReader();
+    AndExpressionNode index = new AndExpressionNode();
+    index.addChildNode(
+        new ExecuterNode( new StringExtractNode( "column" )
+        , new PerfectMatchStringFilter( "p" ) )
+    );
+    reader.setBlockSkipIndex( index );
+    // Read Block-1, Block-2
+    reader.setNewSource(
+        new ByteArrayBlockSource( blocks ) , new Configuration() , 0 , blockSize * 2 );
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @ParameterizedTest
+  @MethodSource( "prefetchSizeProvider" )
+  public void T_read_withFileFooterAndPrefetch( final int prefetchSize ) throws IOException {
+    byte[] blocks = createFooterTestBinary();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource(
+        new ByteArrayBlockSource( blocks ) , createPrefetchConfig( prefetchSize ) );
+    for ( int i = 0 ; i < 5 ; i++ ) {
+      assertTrue( reader.hasNext() );
+      assertEquals( 1 , reader.nextRaw().size() );
+    }
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  private byte[] createVariableBlockTestBinary() throws IOException {
+    Configuration writerConfig = new Configuration();
+    writerConfig.set( "writer.variable.block" , "true" );
+    return createTestBinary( writerConfig );
+  }
+
+  @Test
+  public void T_read_withVariableBlock() throws IOException {
+    byte[] blocks = createVariableBlockTestBinary();
+    assertTrue( blocks.length < blockSize );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , new Configuration() );
+    assertEquals( 3 , reader.getFileFooter().getBlockEntryList().size() );
+    String[] expected = new String[]{ "column" , "column" , "column" , "column" , "column2" };
+    for ( String columnName : expected ) {
+      assertTrue( reader.hasNext() );
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 4 , reader.getCurrentSpreadSize().intValue() );
+      assertEquals( 1 , raw.size() );
+      assertEquals( columnName , raw.get( 0 ).columnName );
+    }
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_withVariableBlockAndDisabledFooter() throws IOException {
+    byte[] blocks = createVariableBlockTestBinary();
+    YosegiReader reader = new YosegiReader();
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "reader.file.footer" , "false" );
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , readerConfig );
+    assertNotNull( reader.getFileFooter() );
+    for ( int i = 0 ; i < 5 ; i++ ) {
+      assertTrue( reader.hasNext() );
+      assertEquals( 1 , reader.nextRaw().size() );
+    }
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_withVariableBlockAndSplit() throws IOException {
+    byte[] blocks = createVariableBlockTestBinary();
+    List<FileFooter.BlockEntry> entryList = FileFooter.read( new ByteArrayBlockSource( blocks ) ).getBlockEntryList();
+    long splitOffset = entryList.get( 1 ).getOffset();
+    // Block-1
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource(
+        new ByteArrayBlockSource( blocks ) , new Configuration() , 0 , splitOffset );
+    int count = 0;
+    while ( reader.hasNext() ) {
+      reader.nextRaw();
+      count++;
+    }
+    assertEquals( 2 , count );
+    reader.close();
+    // Block-2 , Block-3
+    reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) ,
+        new Configuration() , splitOffset , blocks.length - splitOffset );
+    count = 0;
+    while ( reader.hasNext() ) {
+      reader.nextRaw();
+      count++;
+    }
+    assertEquals( 3 , count );
+    reader.close();
+  }
+
+  @Test
+  public void T_EmptyPushdown_withVariableBlock() throws IOException {
+    byte[] blocks = createVariableBlockTestBinary();
+    YosegiReader reader = new YosegiReader();
+    AndExpressionNode index = new AndExpressionNode();
+    index.addChildNode(
+        new ExecuterNode( new StringExtractNode( "column" )
+        , new PerfectMatchStringFilter( "p" ) )
+    );
+    reader.setBlockSkipIndex( index );
+    reader.setNewSource( new ByteArrayBlockSource( blocks ) , new Configuration() );
+    assertTrue( reader.hasNext() );
+    List<ColumnBinary> raw = reader.nextRaw();
+    assertEquals( 1 , raw.size() );
+    assertEquals( "column2" , raw.get( 0 ).columnName );
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  @Test
+  public void T_read_throwsException_withVariableBlockAndStream() throws IOException {
+    byte[] blocks = createVariableBlockTestBinary();
+    YosegiReader reader = new YosegiReader();
+    assertThrows( IOException.class , () -> {
+      reader.setNewStream(
+          new ByteArrayInputStream( blocks ) , blocks.length , new Configuration() );
+    } );
+  }
+
 }
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.reader;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.block.ByteArrayBlockSource;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.stats.SpreadSummaryStats;
+import jp.co.yahoo.yosegi.stats.SummaryStats;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestYosegiStatsReader {
+
+  private List<ColumnBinary> createSpread( final int rows ) throws IOException {
+    IColumn stringColumn = new PrimitiveColumn( ColumnType.STRING , "s" );
+    IColumn longColumn = new PrimitiveColumn( ColumnType.LONG , "l" );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      stringColumn.add( ColumnType.STRING , new StringObj( "value" + ( i % 7 ) ) , i );
+      longColumn.add( ColumnType.LONG , new LongObj( i * 3L ) , i );
+    }
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    return Arrays.asList(
+        new OptimizedNullArrayDumpStringColumnBinaryMaker().toBinary(
+            config , null , new CompressResultNode() , stringColumn ) ,
+        new OptimizedNullArrayDumpLongColumnBinaryMaker().toBinary(
+            config , null , new CompressResultNode() , longColumn ) );
+  }
+
+  private byte[] createFile() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( 1024 * 64 ) );
+    YosegiWriter writer = new YosegiWriter( out , config );
+    writer.appendRow( createSpread( 100 ) , 100 );
+    writer.appendRow( createSpread( 50 ) , 50 );
+    writer.writeFixedBlock();
+    writer.appendRow( createSpread( 30 ) , 30 );
+    writer.close();
+    return out.toByteArray();
+  }
+
+  private SummaryStats readFullStats( final byte[] file ) throws IOException {
+    SummaryStats stats = new SummaryStats();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( file ) , new Configuration() );
+    while ( reader.hasNext() ) {
+      for ( ColumnBinary columnBinary : reader.nextRaw() ) {
+        stats.merge( columnBinary.toSummaryStats() );
+      }
+    }
+    reader.close();
+    return stats;
+  }
+
+  private void assertStats( final SummaryStats expected , final SummaryStats actual ) {
+    assertEquals( expected.getRowCount() , actual.getRowCount() );
+    assertEquals( expected.getRawDataSize() , actual.getRawDataSize() );
+    assertEquals( expected.getRealDataSize() , actual.getRealDataSize() );
+    assertEquals( expected.getLogicalDataSize() , actual.getLogicalDataSize() );
+    assertEquals( expected.getCardinality() , actual.getCardinality() );
+  }
+
+  @Test
+  public void T_readStream_equalsFullRead() throws IOException {
+    byte[] file = createFile();
+    YosegiStatsReader statsReader = new YosegiStatsReader();
+    statsReader.readStream( new ByteArrayInputStream( file ) , file.length , new Configuration() );
+    assertEquals( 3 , statsReader.getSpreadSummaryStatsList().size() );
+    SpreadSummaryStats total = statsReader.getTotalSummaryStats();
+    assertEquals( 180 , total.getLineCount() );
+    assertStats( readFullStats( file ) , total.getSummaryStats() );
+    assertNotNull( statsReader.getTotalColumn().getChildColumnStats().get( "s" ) );
+  }
+
+  @Test
+  public void T_readSource_equalsFullRead() throws IOException {
+    byte[] file = createFile();
+    YosegiStatsReader statsReader = new YosegiStatsReader();
+    statsReader.readSource( new ByteArrayBlockSource( file ) , new Configuration() );
+    assertEquals( 3 , statsReader.getSpreadSummaryStatsList().size() );
+    assertStats( readFullStats( file ) , statsReader.getTotalSummaryStats().getSummaryStats() );
+  }
+
+  private long readFirstBlockBytes( final byte[] file , final Configuration config )
+      throws IOException {
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( file ) , config );
+    reader.nextRaw();
+    long readBytes = reader.getReadBytes();
+    reader.close();
+    return readBytes;
+  }
+
+  @Test
+  public void T_nextRaw_withMetaOnly() throws IOException {
+    byte[] file = createFile();
+    Configuration config = new Configuration();
+    config.set( "reader.block.meta.only" , "true" );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( file ) , config );
+    int spreadCount = 0;
+    while ( reader.hasNext() ) {
+      List<ColumnBinary> columnBinaryList = reader.nextRaw();
+      assertEquals( 2 , columnBinaryList.size() );
+      for ( ColumnBinary columnBinary : columnBinaryList ) {
+        assertNull( columnBinary.binary );
+        assertTrue( 0 < columnBinary.rowCount );
+      }
+      spreadCount++;
+    }
+    assertEquals( 3 , spreadCount );
+    reader.close();
+    // The column data is not read.
+    assertTrue( readFirstBlockBytes( file , config )
+        < readFirstBlockBytes( file , new Configuration() ) );
+  }
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCardinalitySketch {
+
+  @Test
+  public void T_estimate_equalsZero_withEmpty() {
+    assertEquals( 0 , new CardinalitySketch().estimate() );
+  }
+
+  @Test
+  public void T_estimate_isNearExactCount_withSmallCardinality() {
+    CardinalitySketch sketch = new CardinalitySketch();
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      sketch.addString( "value-" + ( i % 3 ) );
+    }
+    assertEquals( 3 , sketch.estimate() );
+
+    CardinalitySketch longSketch = new CardinalitySketch();
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      longSketch.addLong( i % 100 );
+    }
+    assertEquals( 100 , longSketch.estimate() , 3 );
+  }
+
+  @Test
+  public void T_estimate_isWithinError_withLargeCardinality() {
+    CardinalitySketch sketch = new CardinalitySketch();
+    for ( int i = 0 ; i < 200000 ; i++ ) {
+      sketch.addString( "value-" + i );
+    }
+    assertEquals( 200000 , sketch.estimate() , 200000 * 0.05 );
+
+    CardinalitySketch doubleSketch = new CardinalitySketch();
+    for ( int i = 0 ; i < 200000 ; i++ ) {
+      doubleSketch.addDouble( i * 0.1d );
+    }
+    assertEquals( 200000 , doubleSketch.estimate() , 200000 * 0.05 );
+  }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import java.io.IOException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.*;
+
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+public class TestSampledColumnAnalizer {
+
+  private IColumn createStringColumn( final int rows , final int cardinality ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      if ( i % 10 == 0 ) {
+        continue;
+      }
+      column.add( ColumnType.STRING , new StringObj( "value-あ-" + ( i % cardinality ) ) , i );
+    }
+    return column;
+  }
+
+  private IColumn createLongColumn( final int rows , final int runLength ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      if ( i % 10 == 0 ) {
+        continue;
+      }
+      column.add( ColumnType.LONG , new LongObj( i / runLength ) , i );
+    }
+    return column;
+  }
+
+  @Test
+  public void T_analize_equalsFullAnalizer_withStringColumnSmallerThanSample() throws IOException {
+    IColumn column = createStringColumn( 1000 , 7 );
+    StringColumnAnalizeResult expected =
+        (StringColumnAnalizeResult)new StringColumnAnalizer( column ).analize();
+    StringColumnAnalizeResult actual =
+        (StringColumnAnalizeResult)new SampledStringColumnAnalizer( column , 5000 ).analize();
+    assertEquals( expected.getColumnSize() , actual.getColumnSize() );
+    assertEquals( expected.getNullCount() , actual.getNullCount() );
+    assertEquals( expected.getRowCount() , actual.getRowCount() );
+    assertEquals( expected.getUniqCount() , actual.getUniqCount() );
+    assertEquals( expected.getRowStart() , actual.getRowStart() );
+    assertEquals( expected.getRowEnd() , actual.getRowEnd() );
+    assertEquals( expected.getLogicalDataSize() , actual.getLogicalDataSize() );
+    assertEquals( expected.getTotalUtf8ByteSize() , actual.getTotalUtf8ByteSize() );
+    assertEquals( expected.getMinUtf8Bytes() , actual.getMinUtf8Bytes() );
+    assertEquals( expected.getMaxUtf8Bytes() , actual.getMaxUtf8Bytes() );
+    assertEquals( expected.getMin() , actual.getMin() );
+    assertEquals( expected.getMax() , actual.getMax() );
+    assertEquals( expected.getNullIgnoreRleGroupCount() , actual.getNullIgnoreRleGroupCount() );
+  }
+
+  @Test
+  public void T_analize_estimatesStringColumn_withSample() throws IOException {
+    IColumn column = createStringColumn( 100000 , 100000 );
+    StringColumnAnalizeResult expected =
+        (StringColumnAnalizeResult)new StringColumnAnalizer( column ).analize();
+    StringColumnAnalizeResult actual =
+        (StringColumnAnalizeResult)new SampledStringColumnAnalizer( column , 4096 ).analize();
+    assertEquals( expected.getColumnSize() , actual.getColumnSize() );
+    assertEquals( expected.getRowCount() , actual.getRowCount() , expected.getRowCount() * 0.05 );
+    assertEquals( expected.getNullCount() , actual.getNullCount() , expected.getRowCount() * 0.05 );
+    assertEquals( expected.getUniqCount() , actual.getUniqCount() , expected.getUniqCount() * 0.1 );
+    assertEquals( expected.getTotalUtf8ByteSize() , actual.getTotalUtf8ByteSize() ,
+        expected.getTotalUtf8ByteSize() * 0.1 );
+    assertEquals( expected.getNullIgnoreRleGroupCount() , actual.getNullIgnoreRleGroupCount() ,
+        expected.getNullIgnoreRleGroupCount() * 0.1 );
+  }
+
+  @Test
+  public void T_analize_estimatesLowCardinalityStringColumn_withSample() throws IOException {
+    IColumn column = createStringColumn( 100000 , 5 );
+    StringColumnAnalizeResult actual =
+        (StringColumnAnalizeResult)new SampledStringColumnAnalizer( column , 4096 ).analize();
+    assertEquals( 5 , actual.getUniqCount() );
+  }
+
+  @Test
+  public void T_analize_estimatesLongColumn_withSample() throws IOException {
+    IColumn column = createLongColumn( 100000 , 100 );
+    LongColumnAnalizeResult expected =
+        (LongColumnAnalizeResult)new LongColumnAnalizer( column ).analize();
+    LongColumnAnalizeResult actual =
+        (LongColumnAnalizeResult)new SampledLongColumnAnalizer( column , 4096 ).analize();
+    assertTrue( actual.maybeSorted() );
+    assertEquals( expected.getRowCount() , actual.getRowCount() , expected.getRowCount() * 0.05 );
+    assertEquals( expected.getUniqCount() , actual.getUniqCount() , expected.getUniqCount() * 0.2 );
+    assertEquals( expected.getNullIgnoreRleGroupCount() , actual.getNullIgnoreRleGroupCount() ,
+        expected.getNullIgnoreRleGroupCount() * 0.2 );
+    assertTrue( expected.getMin() <= actual.getMin() );
+    assertTrue( actual.getMax() <= expected.getMax() );
+  }
+
+  @Test
+  public void T_analize_equalsFullAnalizer_withConstantLongColumn() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for ( int i = 0 ; i < 100000 ; i++ ) {
+      column.add( ColumnType.LONG , new LongObj( 5L ) , i );
+    }
+    LongColumnAnalizeResult actual =
+        (LongColumnAnalizeResult)new SampledLongColumnAnalizer( column , 4096 ).analize();
+    assertEquals( 100000 , actual.getRowCount() );
+    assertEquals( 0 , actual.getNullCount() );
+    assertEquals( 1 , actual.getUniqCount() );
+    assertEquals( 1 , actual.getNullIgnoreRleGroupCount() );
+    assertEquals( 100000 , actual.getNullIgonoreRleMaxRowGroupLength() );
+    assertEquals( 5L , actual.getMin() );
+    assertEquals( 5L , actual.getMax() );
+  }
+
+  @Test
+  public void T_analize_usesSampledAnalizer_withNestedColumn() throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 100 ; i++ ) {
+      Map<String,Object> child = new HashMap<String,Object>();
+      child.put( "i" , new IntegerObj( i ) );
+      child.put( "d" , new DoubleObj( i * 0.5d ) );
+      Map<String,Object> data = new HashMap<String,Object>();
+      data.put( "nest" , child );
+      spread.addRow( data );
+    }
+    List<IColumnAnalizeResult> resultList = Analyzer.analize( spread , 10 );
+    assertEquals( 1 , resultList.size() );
+    for ( IColumnAnalizeResult childResult : resultList.get( 0 ).getChild() ) {
+      assertTrue( childResult.getRowCount() <= 100 );
+      assertEquals( childResult.getRowCount() , childResult.getUniqCount() );
+    }
+    assertTrue( ColumnAnalizerFactory.get( spread.getColumn( "nest" ).getColumn( "i" ) , 10 )
+        instanceof SampledIntegerColumnAnalizer );
+    assertTrue( ColumnAnalizerFactory.get( spread.getColumn( "nest" ).getColumn( "d" ) , 10 )
+        instanceof SampledDoubleColumnAnalizer );
+    assertTrue( ColumnAnalizerFactory.get( spread.getColumn( "nest" ).getColumn( "i" ) )
+        instanceof IntegerColumnAnalizer );
+  }
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.column.filter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.*;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+
+public class TestFilterMatcher {
+
+  @Test
+  public void T_isMatch_string_withStringFilter() throws IOException {
+    StringObj value = new StringObj( "abcde" );
+    assertTrue( FilterMatcher.create( new PerfectMatchStringFilter( "abcde" ) , ColumnType.STRING ).isMatch( value ) );
+    assertFalse( FilterMatcher.create( new PerfectMatchStringFilter( "abc" ) , ColumnType.STRING ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new PartialMatchStringFilter( "bcd" ) , ColumnType.STRING ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new ForwardMatchStringFilter( "ab" ) , ColumnType.STRING ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new BackwardMatchStringFilter( "de" ) , ColumnType.STRING ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new RegexpMatchStringFilter( "a.*e" ) , ColumnType.STRING ).isMatch( value ) );
+    assertFalse( FilterMatcher.create( new RegexpMatchStringFilter( "b.*" ) , ColumnType.STRING ).isMatch( value ) );
+  }
+
+  @Test
+  public void T_isMatch_string_withCompareAndDictionaryFilter() throws IOException {
+    StringObj value = new StringObj( "b" );
+    assertTrue( FilterMatcher.create( new GeStringCompareFilter( "b" ) , ColumnType.STRING ).isMatch( value ) );
+    assertFalse( FilterMatcher.create( new GtStringCompareFilter( "b" ) , ColumnType.STRING ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new RangeStringCompareFilter( "a" , true , "c" , false ) , ColumnType.STRING ).isMatch( value ) );
+    assertFalse( FilterMatcher.create( new RangeStringCompareFilter( "a" , true , "c" , false , true ) , ColumnType.STRING ).isMatch( value ) );
+    IFilter dictionaryFilter = new StringDictionaryFilter( new HashSet<String>( Arrays.asList( "a" , "b" ) ) );
+    assertTrue( FilterMatcher.create( dictionaryFilter , ColumnType.STRING ).isMatch( value ) );
+    assertFalse( FilterMatcher.create( dictionaryFilter , ColumnType.STRING ).isMatch( new StringObj( "c" ) ) );
+  }
+
+  @Test
+  public void T_isMatch_number_withNumberFilter() throws IOException {
+    LongObj value = new LongObj( 10 );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 10 ) ) , ColumnType.LONG ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.NOT_EQUAL , new IntegerObj( 9 ) ) , ColumnType.LONG ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.LT , new LongObj( 11 ) ) , ColumnType.LONG ).isMatch( value ) );
+    assertFalse( FilterMatcher.create( new NumberFilter( NumberFilterType.LT , new LongObj( 10 ) ) , ColumnType.LONG ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.LE , new LongObj( 10 ) ) , ColumnType.LONG ).isMatch( value ) );
+    assertFalse( FilterMatcher.create( new NumberFilter( NumberFilterType.GT , new LongObj( 10 ) ) , ColumnType.LONG ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.GE , new LongObj( 10 ) ) , ColumnType.LONG ).isMatch( value ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.GT , new DoubleObj( 1.5d ) ) , ColumnType.DOUBLE ).isMatch( new DoubleObj( 1.6d ) ) );
+    assertFalse( FilterMatcher.create( new NumberFilter( NumberFilterType.EQUAL , new FloatObj( 1.5f ) ) , ColumnType.FLOAT ).isMatch( new FloatObj( 1.6f ) ) );
+  }
+
+  @Test
+  public void T_isMatch_number_withNumberRangeFilter() throws IOException {
+    IFilter filter = new NumberRangeFilter( new LongObj( 10 ) , true , new LongObj( 20 ) , false );
+    FilterMatcher matcher = FilterMatcher.create( filter , ColumnType.INTEGER );
+    assertTrue( matcher.isMatch( new IntegerObj( 10 ) ) );
+    assertTrue( matcher.isMatch( new IntegerObj( 19 ) ) );
+    assertFalse( matcher.isMatch( new IntegerObj( 20 ) ) );
+    IFilter invertFilter = new NumberRangeFilter( true , new LongObj( 10 ) , true , new LongObj( 20 ) , false );
+    matcher = FilterMatcher.create( invertFilter , ColumnType.INTEGER );
+    assertFalse( matcher.isMatch( new IntegerObj( 10 ) ) );
+    assertTrue( matcher.isMatch( new IntegerObj( 20 ) ) );
+  }
+
+  @Test
+  public void T_isMatch_integral_withFractionalNumberFilter() throws IOException {
+    LongObj one = new LongObj( 1 );
+    assertFalse( FilterMatcher.create( new NumberFilter( NumberFilterType.EQUAL , new DoubleObj( 1.5d ) ) , ColumnType.LONG ).isMatch( one ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.NOT_EQUAL , new DoubleObj( 1.5d ) ) , ColumnType.LONG ).isMatch( one ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.LT , new DoubleObj( 1.5d ) ) , ColumnType.LONG ).isMatch( one ) );
+    assertFalse( FilterMatcher.create( new NumberFilter( NumberFilterType.GT , new DoubleObj( 1.5d ) ) , ColumnType.LONG ).isMatch( one ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.GT , new DoubleObj( 0.5d ) ) , ColumnType.LONG ).isMatch( one ) );
+    FilterMatcher matcher = FilterMatcher.create( new NumberFilter( NumberFilterType.LE , new DoubleObj( -0.5d ) ) , ColumnType.INTEGER );
+    assertFalse( matcher.isMatch( new IntegerObj( 0 ) ) );
+    assertTrue( matcher.isMatch( new IntegerObj( -1 ) ) );
+    assertTrue( matcher.canMatchLong() );
+    assertFalse( matcher.isMatch( 0L ) );
+    assertTrue( matcher.isMatch( -1L ) );
+    assertTrue( FilterMatcher.create( new NumberFilter( NumberFilterType.LT , new DoubleObj( 1e19d ) ) , ColumnType.LONG ).isMatch( Long.MAX_VALUE ) );
+    IFilter rangeFilter = new NumberRangeFilter( new DoubleObj( 0.5d ) , true , new DoubleObj( 2.5d ) , true );
+    matcher = FilterMatcher.create( rangeFilter , ColumnType.SHORT );
+    assertFalse( matcher.isMatch( 0L ) );
+    assertTrue( matcher.isMatch( 1L ) );
+    assertTrue( matcher.isMatch( 2L ) );
+    assertFalse( matcher.isMatch( 3L ) );
+  }
+
+  @Test
+  public void T_isMatch_double_withNumberFilter() throws IOException {
+    FilterMatcher matcher = FilterMatcher.create( new NumberFilter( NumberFilterType.GE , new LongObj( 2 ) ) , ColumnType.DOUBLE );
+    assertTrue( matcher.canMatchDouble() );
+    assertFalse( matcher.canMatchLong() );
+    assertTrue( matcher.isMatch( 2.0d ) );
+    assertFalse( matcher.isMatch( 1.9d ) );
+    assertFalse( FilterMatcher.create( new PerfectMatchStringFilter( "a" ) , ColumnType.STRING ).canMatchLong() );
+  }
+
+  @Test
+  public void T_isMatchNull_withNullFilter() throws IOException {
+    assertTrue( FilterMatcher.create( new NullFilter( ColumnType.STRING ) , ColumnType.STRING ).isMatchNull() );
+    assertFalse( FilterMatcher.create( new NotNullFilter( ColumnType.STRING ) , ColumnType.STRING ).isMatchNull() );
+    assertTrue( FilterMatcher.create( new NotNullFilter( ColumnType.STRING ) , ColumnType.STRING ).isMatch( new StringObj( "a" ) ) );
+    assertFalse( FilterMatcher.create( new PerfectMatchStringFilter( "a" ) , ColumnType.STRING ).isMatchNull() );
+  }
+
+  @Test
+  public void T_create_returnsNull_withUnsupportedColumnType() throws IOException {
+    assertNull( FilterMatcher.create( new PerfectMatchStringFilter( "a" ) , ColumnType.LONG ) );
+    assertNull( FilterMatcher.create( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 1 ) ) , ColumnType.STRING ) );
+    assertNull( FilterMatcher.create( new NumberFilter( NumberFilterType.EQUAL , new StringObj( "a" ) ) , ColumnType.LONG ) );
+    assertNull( FilterMatcher.create( new NullFilter( ColumnType.SPREAD ) , ColumnType.SPREAD ) );
+  }
+
+}
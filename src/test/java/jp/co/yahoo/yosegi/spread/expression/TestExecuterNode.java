@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.expression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.*;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.filter.*;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+public class TestExecuterNode {
+
+  private Spread createSpread() throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 10 ; i++ ) {
+      Map<String,Object> data = new HashMap<String,Object>();
+      data.put( "status" , new StringObj( "s" + ( i % 3 ) ) );
+      if ( i % 4 != 0 ) {
+        data.put( "num" , new LongObj( i ) );
+      }
+      spread.addRow( data );
+    }
+    return spread;
+  }
+
+  private Spread writeAndRead( final Spread spread ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( YosegiWriter writer = new YosegiWriter( out , new Configuration() ) ) {
+      writer.append( spread );
+    }
+    byte[] binary = out.toByteArray();
+    try ( YosegiReader reader = new YosegiReader() ) {
+      reader.setNewStream( new ByteArrayInputStream( binary ) , binary.length , new Configuration() );
+      assertTrue( reader.hasNext() );
+      return reader.next();
+    }
+  }
+
+  private void assertSelection( final boolean[] result , final int... expected ) {
+    assertNotNull( result );
+    assertEquals( 10 , result.length );
+    boolean[] expectedArray = new boolean[10];
+    for ( int index : expected ) {
+      expectedArray[index] = true;
+    }
+    assertArrayEquals( expectedArray , result );
+  }
+
+  private void assertExpression( final Spread spread ) throws IOException {
+    IExpressionNode status = new ExecuterNode(
+        new StringExtractNode( "status" ) , new PerfectMatchStringFilter( "s1" ) );
+    assertSelection( status.exec( spread ) , 1 , 4 , 7 );
+
+    IExpressionNode num = new ExecuterNode(
+        new StringExtractNode( "num" ) ,
+        new NumberFilter( NumberFilterType.GE , new LongObj( 5 ) ) );
+    assertSelection( num.exec( spread ) , 5 , 6 , 7 , 9 );
+
+    IExpressionNode and = new AndExpressionNode();
+    and.addChildNode( status );
+    and.addChildNode( num );
+    assertSelection( and.exec( spread ) , 7 );
+
+    IExpressionNode or = new OrExpressionNode();
+    or.addChildNode( status );
+    or.addChildNode( num );
+    assertSelection( or.exec( spread ) , 1 , 4 , 5 , 6 , 7 , 9 );
+
+    assertSelection( new NotExpressionNode( status ).exec( spread ) , 0 , 2 , 3 , 5 , 6 , 8 , 9 );
+
+    IExpressionNode isNull = new ExecuterNode(
+        new StringExtractNode( "num" ) , new NullFilter( ColumnType.LONG ) );
+    assertSelection( isNull.exec( spread ) , 0 , 4 , 8 );
+
+    IExpressionNode missing = new ExecuterNode(
+        new StringExtractNode( "missing" ) , new NullFilter( ColumnType.STRING ) );
+    assertSelection( missing.exec( spread ) , 0 , 1 , 2 , 3 , 4 , 5 , 6 , 7 , 8 , 9 );
+    assertSelection( new NotExpressionNode( missing ).exec( spread ) );
+
+    // The null rows of num match neither num >= 5 nor NOT num >= 5.
+    assertSelection( new NotExpressionNode( num ).exec( spread ) , 1 , 2 , 3 );
+    assertSelection( new NotExpressionNode( new NotExpressionNode( num ) ).exec( spread ) ,
+        5 , 6 , 7 , 9 );
+    assertSelection( new NotExpressionNode( isNull ).exec( spread ) , 1 , 2 , 3 , 5 , 6 , 7 , 9 );
+    assertSelection( new NotExpressionNode( and ).exec( spread ) , 0 , 1 , 2 , 3 , 5 , 6 , 8 , 9 );
+    assertSelection( new NotExpressionNode( or ).exec( spread ) , 2 , 3 );
+  }
+
+  @Test
+  public void T_exec_returnsSelection_withSpread() throws IOException {
+    assertExpression( createSpread() );
+  }
+
+  @Test
+  public void T_exec_returnsSelection_withReadSpread() throws IOException {
+    assertExpression( writeAndRead( createSpread() ) );
+  }
+
+  @Test
+  public void T_exec_skipsUnsupportedFilter() throws IOException {
+    Spread spread = createSpread();
+    IExpressionNode unsupported = new ExecuterNode(
+        new StringExtractNode( "num" ) , new PerfectMatchStringFilter( "1" ) );
+    assertNull( unsupported.exec( spread ) );
+
+    IExpressionNode status = new ExecuterNode(
+        new StringExtractNode( "status" ) , new PerfectMatchStringFilter( "s1" ) );
+    IExpressionNode and = new AndExpressionNode();
+    and.addChildNode( unsupported );
+    and.addChildNode( status );
+    // The rows that are not selected by status never match.
+    assertSelection( and.exec( spread ) , 1 , 4 , 7 );
+    assertNull( new NotExpressionNode( and ).exec( spread ) );
+    assertNull( new NotExpressionNode( unsupported ).exec( spread ) );
+
+    IExpressionNode or = new OrExpressionNode();
+    or.addChildNode( unsupported );
+    or.addChildNode( status );
+    assertNull( or.exec( spread ) );
+    assertSelection( new NotExpressionNode( or ).exec( spread ) , 0 , 2 , 3 , 5 , 6 , 8 , 9 );
+  }
+
+  @Test
+  public void T_getColumnPathList_returnsColumnOfExpression() {
+    IExpressionNode status = new ExecuterNode(
+        new StringExtractNode( "status" ) , new PerfectMatchStringFilter( "s1" ) );
+    IExpressionNode child = new ExecuterNode(
+        new StringExtractNode( "parent" , new StringExtractNode( "child" ) ) ,
+        new PerfectMatchStringFilter( "s1" ) );
+    IExpressionNode or = new OrExpressionNode();
+    or.addChildNode( status );
+    or.addChildNode( new NotExpressionNode( child ) );
+
+    List<String[]> pathList = or.getColumnPathList();
+    assertEquals( 2 , pathList.size() );
+    assertArrayEquals( new String[]{ "status" } , pathList.get( 0 ) );
+    assertArrayEquals( new String[]{ "parent" , "child" } , pathList.get( 1 ) );
+
+    IExpressionNode and = new AndExpressionNode();
+    and.addChildNode( or );
+    assertEquals( 2 , and.getColumnPathList().size() );
+  }
+
+  @Test
+  public void T_getColumnPathList_returnsNull_withUnknownColumn() {
+    assertNull( new AndExpressionNode().getColumnPathList() );
+    assertNull( new NotExpressionNode().getColumnPathList() );
+
+    IExpressionNode unknown = new IExpressionNode() {
+      @Override
+      public void addChildNode( final IExpressionNode node ) {}
+
+      @Override
+      public List<Integer> getBlockSpreadIndex( final BlockIndexNode indexNode ) {
+        return null;
+      }
+    };
+    IExpressionNode or = new OrExpressionNode();
+    or.addChildNode( new ExecuterNode(
+        new StringExtractNode( "status" ) , new PerfectMatchStringFilter( "s1" ) ) );
+    or.addChildNode( unknown );
+    assertNull( or.getColumnPathList() );
+  }
+
+}
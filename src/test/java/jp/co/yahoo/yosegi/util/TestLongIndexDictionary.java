@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLongIndexDictionary {
+
+  @Test
+  public void T_add_returnsIndexInAdditionOrder() {
+    LongIndexDictionary dic = new LongIndexDictionary();
+    assertEquals( 0 , dic.add( 100L ) );
+    assertEquals( 1 , dic.add( -5L ) );
+    assertEquals( 0 , dic.add( 100L ) );
+    assertEquals( 2 , dic.add( 0L ) );
+    assertEquals( 3 , dic.size() );
+  }
+
+  @Test
+  public void T_get_returnsMinusOne_withUnregisteredKey() {
+    LongIndexDictionary dic = new LongIndexDictionary();
+    dic.add( 1L );
+    assertEquals( 0 , dic.get( 1L ) );
+    assertEquals( -1 , dic.get( 2L ) );
+    assertEquals( 1 , dic.size() );
+  }
+
+  @Test
+  public void T_add_keepsIndex_afterResize() {
+    LongIndexDictionary dic = new LongIndexDictionary( 1 );
+    for ( int i = 0 ; i < 10000 ; i++ ) {
+      assertEquals( i , dic.add( (long)i * 31 - 5000 ) );
+    }
+    for ( int i = 0 ; i < 10000 ; i++ ) {
+      assertEquals( i , dic.get( (long)i * 31 - 5000 ) );
+    }
+    assertEquals( 10000 , dic.size() );
+  }
+
+  @Test
+  public void T_add_equalsDoubleEquals_withDouble() {
+    LongIndexDictionary dic = new LongIndexDictionary();
+    assertEquals( 0 , dic.add( 0.0d ) );
+    assertEquals( 1 , dic.add( -0.0d ) );
+    assertEquals( 2 , dic.add( Double.NaN ) );
+    assertEquals( 2 , dic.add( 0.0d / 0.0d ) );
+    assertEquals( 3 , dic.size() );
+  }
+
+  @Test
+  public void T_add_equalsFloatEquals_withFloat() {
+    LongIndexDictionary dic = new LongIndexDictionary();
+    assertEquals( 0 , dic.add( 1.5f ) );
+    assertEquals( 1 , dic.add( -0.0f ) );
+    assertEquals( 2 , dic.add( 0.0f ) );
+    assertEquals( 0 , dic.add( 1.5f ) );
+    assertEquals( 3 , dic.size() );
+  }
+
+}
@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.io.IOException;
+import java.util.stream.Stream;
 
 public class TestNumberToBinaryUtils {
 
@@ -502,4 +503,59 @@ public class TestNumberToBinaryUtils {
     assertEquals( 0 , reader.getLong() );
   }
 
+  public static Stream<Arguments> data1() {
+    return Stream.of(
+      arguments( 0L ),
+      arguments( 1L ),
+      arguments( ( 1L << 8 ) - 1L ),
+      arguments( ( 1L << 16 ) - 1L ),
+      arguments( ( 1L << 24 ) - 1L ),
+      arguments( ( 1L << 32 ) - 1L ),
+      arguments( ( 1L << 40 ) - 1L ),
+      arguments( ( 1L << 48 ) - 1L ),
+      arguments( ( 1L << 56 ) - 1L ),
+      arguments( Long.MAX_VALUE )
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_getLongConverter_bulkEqualsGetLong( final long max ) throws IOException {
+    NumberToBinaryUtils.ILongConverter converter = NumberToBinaryUtils.getLongConverter( 0 , max );
+    byte[] buffer = new byte[ converter.calcBinarySize( 300 ) ];
+    IWriteSupporter writer = converter.toWriteSuppoter( 300 , buffer , 0 , buffer.length );
+    for ( int i = 0 ; i < 300 ; i++ ) {
+      writer.putLong( max - ( max / 300 ) * i );
+    }
+
+    IReadSupporter expectedReader = converter.toReadSupporter( buffer , 0 , buffer.length );
+    IReadSupporter reader = converter.toReadSupporter( buffer , 0 , buffer.length );
+    long[] values = new long[301];
+    reader.getLong( values , 1 , 100 );
+    reader.getLong( values , 101 , 200 );
+    for ( int i = 1 ; i <= 300 ; i++ ) {
+      assertEquals( expectedReader.getLong() , values[i] );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_getIntConverter_bulkEqualsGetInt( final long longMax ) throws IOException {
+    int max = (int)Math.min( longMax , Integer.MAX_VALUE );
+    NumberToBinaryUtils.IIntConverter converter = NumberToBinaryUtils.getIntConverter( 0 , max );
+    byte[] buffer = new byte[ converter.calcBinarySize( 300 ) ];
+    IWriteSupporter writer = converter.toWriteSuppoter( 300 , buffer , 0 , buffer.length );
+    for ( int i = 0 ; i < 300 ; i++ ) {
+      writer.putInt( max - ( max / 300 ) * i );
+    }
+
+    IReadSupporter expectedReader = converter.toReadSupporter( buffer , 0 , buffer.length );
+    IReadSupporter reader = converter.toReadSupporter( buffer , 0 , buffer.length );
+    int[] values = new int[300];
+    reader.getInt( values , 0 , 300 );
+    for ( int i = 0 ; i < 300 ; i++ ) {
+      assertEquals( expectedReader.getInt() , values[i] );
+    }
+  }
+
 }
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.bitpack;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.Arguments;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public class TestBitPackEncoder {
+
+  public static Stream<Arguments> D_values() {
+    Random random = new Random( 10 );
+    long[] small = new long[300];
+    long[] sorted = new long[1000];
+    long[] wide = new long[257];
+    for ( int i = 0 ; i < small.length ; i++ ) {
+      small[i] = random.nextInt( 301 );
+    }
+    for ( int i = 1 ; i < sorted.length ; i++ ) {
+      sorted[i] = sorted[i - 1] + random.nextInt( 21 );
+    }
+    for ( int i = 0 ; i < wide.length ; i++ ) {
+      wide[i] = random.nextLong();
+    }
+    wide[0] = Long.MIN_VALUE;
+    wide[1] = Long.MAX_VALUE;
+    return Stream.of(
+        arguments( new long[]{ 5 } ),
+        arguments( new long[]{ 7 , 7 , 7 , 7 } ),
+        arguments( new long[]{ -3 , 0 , 3 } ),
+        arguments( small ),
+        arguments( sorted ),
+        arguments( wide ) );
+  }
+
+  private long[] writeAndRead( final long[] values , final boolean isDelta ) throws IOException {
+    int length = BitPackEncoder.calcBinarySize( values , values.length , isDelta );
+    byte[] buffer = new byte[length + 4];
+    int written = BitPackEncoder.toBinary( values , values.length , isDelta , buffer , 2 );
+    assertEquals( length , written );
+    long[] result = new long[values.length];
+    BitPackEncoder.unpack( buffer , 2 , length , result , values.length );
+    return result;
+  }
+
+  @ParameterizedTest
+  @MethodSource( "D_values" )
+  public void T_unpack_equalsWrittenValues_withFrameOfReference( final long[] values )
+      throws IOException {
+    assertArrayEquals( values , writeAndRead( values , false ) );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "D_values" )
+  public void T_unpack_equalsWrittenValues_withDelta( final long[] values ) throws IOException {
+    assertArrayEquals( values , writeAndRead( values , true ) );
+  }
+
+  @Test
+  public void T_calcBinarySize_usesBitWidthOfEachBlock() {
+    long[] values = new long[256];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = i + 45;
+    }
+    // mode + 2 blocks * ( width + reference ) + 256 rows * 7 bits
+    assertEquals( 1 + 2 * 9 + 256 * 7 / 8 , BitPackEncoder.calcBinarySize( values , 256 , false ) );
+    values[0] = 300;
+    // The first block needs 8 bits for 46 to 300 , the second block keeps 7 bits.
+    assertEquals( 1 + 2 * 9 + 128 + 128 * 7 / 8 ,
+        BitPackEncoder.calcBinarySize( values , 256 , false ) );
+    assertTrue( BitPackEncoder.calcBinarySize( 256 , 0 , 300 )
+        >= BitPackEncoder.calcBinarySize( values , 256 , false ) );
+  }
+
+  @Test
+  public void T_isDeltaSmaller_true_withSortedValues() {
+    long[] values = new long[512];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = 1000000L + i * 3;
+    }
+    assertTrue( BitPackEncoder.isDeltaSmaller( values , values.length ) );
+    assertFalse( BitPackEncoder.isDeltaSmaller( new long[]{ 3 , 1 , 3 , 1 } , 4 ) );
+  }
+
+  @Test
+  public void T_unpack_readIntArray() throws IOException {
+    long[] values = new long[]{ 0 , 300 , 2 , 17 , 299 };
+    byte[] buffer = new byte[BitPackEncoder.calcBinarySize( values , values.length , false )];
+    BitPackEncoder.toBinary( values , values.length , false , buffer , 0 );
+    int[] result = new int[values.length];
+    BitPackEncoder.unpack( buffer , 0 , buffer.length , result , values.length );
+    assertArrayEquals( new int[]{ 0 , 300 , 2 , 17 , 299 } , result );
+  }
+
+  @Test
+  public void T_unpack_readIntArray_withDelta() throws IOException {
+    long[] values = new long[300];
+    int[] expected = new int[values.length];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = 1000 + i * 7 - ( i % 3 );
+      expected[i] = (int)values[i];
+    }
+    byte[] buffer = new byte[BitPackEncoder.calcBinarySize( values , values.length , true )];
+    BitPackEncoder.toBinary( values , values.length , true , buffer , 0 );
+    int[] result = new int[values.length];
+    BitPackEncoder.unpack( buffer , 0 , buffer.length , result , values.length );
+    assertArrayEquals( expected , result );
+  }
+
+  @Test
+  public void T_unpack_throwsException_withBrokenBinary() {
+    long[] values = new long[]{ 1 , 100 , 1000 };
+    byte[] buffer = new byte[BitPackEncoder.calcBinarySize( values , values.length , false )];
+    BitPackEncoder.toBinary( values , values.length , false , buffer , 0 );
+    assertThrows( IOException.class ,
+        () -> BitPackEncoder.unpack( buffer , 0 , buffer.length - 1 , new long[3] , 3 ) );
+    buffer[0] = (byte)9;
+    assertThrows( IOException.class ,
+        () -> BitPackEncoder.unpack( buffer , 0 , buffer.length , new long[3] , 3 ) );
+  }
+
+}
@@ -17,6 +17,7 @@
  */
 package jp.co.yahoo.yosegi.util.io.unsafe;
 
+import java.nio.ByteOrder;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -45,4 +46,116 @@ public class TestUnsafeSupporter{
     }
   }
 
+  public static Stream<Arguments> data1() {
+    return Stream.of(
+      arguments( "unsafe" ),
+      arguments( "big" ),
+      arguments( "little" )
+    );
+  }
+
+  private static IReadSupporter createReader(
+      final String target , final byte[] buffer , final int start , final int length ){
+    if ( "unsafe".equals( target ) ) {
+      return new UnsafeSupporter( buffer , start , length );
+    }
+    ByteOrder order = "big".equals( target ) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    return new ByteBufferSupporter( buffer , start , length , order );
+  }
+
+  private static IWriteSupporter createWriter(
+      final String target , final byte[] buffer , final int start , final int length ){
+    if ( "unsafe".equals( target ) ) {
+      return new UnsafeSupporter( buffer , start , length );
+    }
+    ByteOrder order = "big".equals( target ) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    return new ByteBufferSupporter( buffer , start , length , order );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_getLong_bulk_equalsGetLong( final String target ){
+    int size = 100 * Long.BYTES;
+    byte[] buffer = new byte[size + 3];
+    IWriteSupporter writer = createWriter( target , buffer , 3 , size );
+    for( int i = 0 ; i < 100 ; i++ ){
+      writer.putLong( Long.MAX_VALUE - i * 3L );
+    }
+    IReadSupporter reader = createReader( target , buffer , 3 , size );
+    long[] values = new long[102];
+    reader.getLong( values , 1 , 50 );
+    reader.getLong( values , 51 , 50 );
+    IReadSupporter expectedReader = createReader( target , buffer , 3 , size );
+    assertEquals( 0 , values[0] );
+    for( int i = 1 ; i <= 100 ; i++ ){
+      assertEquals( expectedReader.getLong() , values[i] );
+    }
+    assertEquals( 0 , values[101] );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_getInt_bulk_equalsGetInt( final String target ){
+    int size = 100 * Integer.BYTES;
+    byte[] buffer = new byte[size + 1];
+    IWriteSupporter writer = createWriter( target , buffer , 1 , size );
+    for( int i = 0 ; i < 100 ; i++ ){
+      writer.putInt( Integer.MIN_VALUE + i * 7 );
+    }
+    IReadSupporter reader = createReader( target , buffer , 1 , size );
+    int[] values = new int[100];
+    reader.getInt( values , 0 , 100 );
+    IReadSupporter expectedReader = createReader( target , buffer , 1 , size );
+    for( int i = 0 ; i < 100 ; i++ ){
+      assertEquals( expectedReader.getInt() , values[i] );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_getDouble_bulk_equalsGetDouble( final String target ){
+    int size = 100 * Double.BYTES;
+    byte[] buffer = new byte[size];
+    IWriteSupporter writer = createWriter( target , buffer , 0 , size );
+    for( int i = 0 ; i < 100 ; i++ ){
+      writer.putDouble( i * 0.5d );
+    }
+    IReadSupporter reader = createReader( target , buffer , 0 , size );
+    double[] values = new double[100];
+    reader.getDouble( values , 0 , 100 );
+    for( int i = 0 ; i < 100 ; i++ ){
+      assertEquals( i * 0.5d , values[i] );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_getFloat_bulk_equalsGetFloat( final String target ){
+    int size = 100 * Float.BYTES;
+    byte[] buffer = new byte[size];
+    IWriteSupporter writer = createWriter( target , buffer , 0 , size );
+    for( int i = 0 ; i < 100 ; i++ ){
+      writer.putFloat( i * 0.5f );
+    }
+    IReadSupporter reader = createReader( target , buffer , 0 , size );
+    float[] values = new float[100];
+    reader.getFloat( values , 0 , 100 );
+    for( int i = 0 ; i < 100 ; i++ ){
+      assertEquals( i * 0.5f , values[i] );
+    }
+  }
+
+  @Test
+  public void T_getLong_bulk_throwsException_withOverBinaryLength(){
+    int size = 10 * Long.BYTES;
+    byte[] buffer = new byte[size * 2];
+    IReadSupporter reader = new UnsafeSupporter( buffer , 0 , size );
+    long[] values = new long[11];
+    assertThrows( IndexOutOfBoundsException.class ,
+      () -> {
+        reader.getLong( values , 0 , 11 );
+      }
+    );
+  }
+
 }
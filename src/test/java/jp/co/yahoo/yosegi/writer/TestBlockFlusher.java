@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.writer;
+
+import jp.co.yahoo.yosegi.block.IBlockWriter;
+import jp.co.yahoo.yosegi.block.PushdownSupportedBlockWriter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestBlockFlusher {
+
+  @Test
+  public void T_submit_writesInOrder() throws IOException {
+    List<IBlockWriter> written = new ArrayList<IBlockWriter>();
+    IBlockWriter writer1 = new PushdownSupportedBlockWriter();
+    IBlockWriter writer2 = new PushdownSupportedBlockWriter();
+    IBlockWriter writer3 = new PushdownSupportedBlockWriter();
+    try ( BlockFlusher flusher = new BlockFlusher( written::add , 1 ) ) {
+      assertNull( flusher.submit( writer1 ) );
+      assertSame( writer1 , flusher.submit( writer2 ) );
+      assertSame( writer2 , flusher.submit( writer3 ) );
+      assertEquals( 1 , flusher.getPendingSize() );
+      List<IBlockWriter> drained = flusher.drain();
+      assertEquals( 1 , drained.size() );
+      assertSame( writer3 , drained.get( 0 ) );
+      assertEquals( 0 , flusher.getPendingSize() );
+    }
+    assertEquals( 3 , written.size() );
+    assertSame( writer1 , written.get( 0 ) );
+    assertSame( writer2 , written.get( 1 ) );
+    assertSame( writer3 , written.get( 2 ) );
+  }
+
+  @Test
+  public void T_drain_afterError_throwsException() throws IOException {
+    List<IBlockWriter> written = new ArrayList<IBlockWriter>();
+    BlockFlusher.IBlockFlush flush = blockWriter -> {
+      if ( written.isEmpty() ) {
+        written.add( blockWriter );
+        throw new IOException( "write error" );
+      }
+      written.add( blockWriter );
+    };
+    try ( BlockFlusher flusher = new BlockFlusher( flush , 2 ) ) {
+      flusher.submit( new PushdownSupportedBlockWriter() );
+      flusher.submit( new PushdownSupportedBlockWriter() );
+      IOException ex = assertThrows( IOException.class , () -> flusher.drain() );
+      assertEquals( "write error" , ex.getMessage() );
+    }
+    // NOTE: The block after the failed one is not written.
+    assertEquals( 1 , written.size() );
+  }
+
+  @Test
+  public void T_close_waitsForRunningBlock() throws Exception {
+    List<IBlockWriter> written = new ArrayList<IBlockWriter>();
+    CountDownLatch started = new CountDownLatch( 1 );
+    AtomicBoolean finished = new AtomicBoolean();
+    BlockFlusher.IBlockFlush flush = blockWriter -> {
+      written.add( blockWriter );
+      started.countDown();
+      try {
+        Thread.sleep( 200 );
+      } catch ( InterruptedException ex ) {
+        throw new IOException( ex );
+      }
+      finished.set( true );
+    };
+    BlockFlusher flusher = new BlockFlusher( flush , 2 );
+    flusher.submit( new PushdownSupportedBlockWriter() );
+    started.await();
+    flusher.close();
+    assertTrue( finished.get() );
+    // NOTE: The block that has not started is not written.
+    assertEquals( 1 , written.size() );
+  }
+
+  @Test
+  public void T_new_withInvalidQueueSize_throwsException() {
+    assertThrows( IllegalArgumentException.class , () -> new BlockFlusher( b -> { } , 0 ) );
+  }
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.writer;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.block.ByteArrayBlockSource;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestYosegiFileMerger {
+
+  private ColumnBinary createColumnBinary( final String columnName ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , columnName );
+    for ( int i = 0 ; i < 4 ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( columnName + i ) , i );
+    }
+    return new OptimizedNullArrayDumpStringColumnBinaryMaker().toBinary(
+        new ColumnBinaryMakerConfig() , null , new CompressResultNode() , column );
+  }
+
+  private Configuration createConfig( final int blockSize ) {
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( blockSize ) );
+    return config;
+  }
+
+  private byte[] createFile(
+      final Configuration config ,
+      final String columnName ,
+      final int fixedBlockCount ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiWriter writer = new YosegiWriter( out , config );
+    List<ColumnBinary> list = Arrays.asList( createColumnBinary( columnName ) );
+    for ( int i = 0 ; i < fixedBlockCount ; i++ ) {
+      writer.appendRow( list , 4 );
+      writer.appendRow( list , 4 );
+      writer.writeFixedBlock();
+    }
+    writer.appendRow( list , 4 );
+    writer.close();
+    return out.toByteArray();
+  }
+
+  private Map<String,Integer> countRows( final byte[] file ) throws IOException {
+    Map<String,Integer> result = new HashMap<String,Integer>();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( file ) , new Configuration() );
+    while ( reader.hasNext() ) {
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( 1 , raw.size() );
+      result.merge( raw.get( 0 ).columnName , reader.getCurrentSpreadSize() , Integer::sum );
+    }
+    reader.close();
+    return result;
+  }
+
+  private void merge( final YosegiFileMerger merger , final byte[]... files ) throws IOException {
+    for ( byte[] file : files ) {
+      merger.append( new ByteArrayBlockSource( file ) );
+    }
+    merger.close();
+  }
+
+  @Test
+  public void T_append_copyBlocks() throws IOException {
+    Configuration config = createConfig( 1024 );
+    byte[] file1 = createFile( config , "a" , 2 );
+    byte[] file2 = createFile( config , "b" , 2 );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiFileMerger merger = new YosegiFileMerger( out , config );
+    merge( merger , file1 , file2 );
+    assertEquals( 4 , merger.getCopyBlockCount() );
+    assertEquals( 2 , merger.getRepackBlockCount() );
+
+    Map<String,Integer> rows = countRows( out.toByteArray() );
+    assertEquals( 20 , rows.get( "a" ).intValue() );
+    assertEquals( 20 , rows.get( "b" ).intValue() );
+  }
+
+  @Test
+  public void T_append_repackBlocks_withDifferentBlockSize() throws IOException {
+    byte[] file1 = createFile( createConfig( 1024 ) , "a" , 2 );
+    byte[] file2 = createFile( createConfig( 1024 ) , "b" , 1 );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiFileMerger merger = new YosegiFileMerger( out , createConfig( 2048 ) );
+    merge( merger , file1 , file2 );
+    assertEquals( 0 , merger.getCopyBlockCount() );
+    assertEquals( 5 , merger.getRepackBlockCount() );
+
+    Map<String,Integer> rows = countRows( out.toByteArray() );
+    assertEquals( 20 , rows.get( "a" ).intValue() );
+    assertEquals( 12 , rows.get( "b" ).intValue() );
+  }
+
+  @Test
+  public void T_append_copyBlocks_afterRepackedSpread() throws IOException {
+    Configuration config = createConfig( 1024 );
+    byte[] file1 = createFile( config , "a" , 0 );
+    byte[] file2 = createFile( config , "b" , 2 );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiFileMerger merger = new YosegiFileMerger( out , config );
+    merge( merger , file1 , file2 );
+    // The first block of file2 is re-packed with the Spread of file1 that has the file header.
+    assertTrue( merger.getCopyBlockCount() < 2 );
+
+    Map<String,Integer> rows = countRows( out.toByteArray() );
+    assertEquals( 4 , rows.get( "a" ).intValue() );
+    assertEquals( 20 , rows.get( "b" ).intValue() );
+  }
+
+  @Test
+  public void T_append_copyBlocks_withVariableBlock() throws IOException {
+    Configuration config = createConfig( 1024 );
+    config.set( "writer.variable.block" , "true" );
+    byte[] file1 = createFile( config , "a" , 2 );
+    byte[] file2 = createFile( config , "b" , 2 );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiFileMerger merger = new YosegiFileMerger( out , config );
+    merge( merger , file1 , file2 );
+    assertEquals( 4 , merger.getCopyBlockCount() );
+    assertEquals( 2 , merger.getRepackBlockCount() );
+
+    byte[] merged = out.toByteArray();
+    assertTrue( merged.length < file1.length + file2.length );
+    Map<String,Integer> rows = countRows( merged );
+    assertEquals( 20 , rows.get( "a" ).intValue() );
+    assertEquals( 20 , rows.get( "b" ).intValue() );
+  }
+
+  @Test
+  public void T_append_copyBlocks_withFileFooter() throws IOException {
+    Configuration config = createConfig( 1024 );
+    config.set( "writer.file.footer" , "true" );
+    byte[] file1 = createFile( config , "a" , 2 );
+    byte[] file2 = createFile( createConfig( 1024 ) , "b" , 2 );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiFileMerger merger = new YosegiFileMerger( out , config );
+    merge( merger , file1 , file2 );
+    // file2 has no footer , so the blocks of file2 are re-packed.
+    assertEquals( 2 , merger.getCopyBlockCount() );
+    assertEquals( 4 , merger.getRepackBlockCount() );
+
+    byte[] merged = out.toByteArray();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( merged ) , new Configuration() );
+    assertEquals( 40 , reader.getFileFooter().getRowCount() );
+    reader.close();
+    Map<String,Integer> rows = countRows( merged );
+    assertEquals( 20 , rows.get( "a" ).intValue() );
+    assertEquals( 20 , rows.get( "b" ).intValue() );
+  }
+
+}
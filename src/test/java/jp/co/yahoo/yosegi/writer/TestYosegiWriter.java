@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.writer;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.block.ByteArrayBlockSource;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestYosegiWriter {
+
+  private ColumnBinary createColumnBinary( final int index ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "a" );
+    for ( int i = 0 ; i < 4 ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( "a" + index + "_" + i ) , i );
+    }
+    return new OptimizedNullArrayDumpStringColumnBinaryMaker().toBinary(
+        new ColumnBinaryMakerConfig() , null , new CompressResultNode() , column );
+  }
+
+  private Configuration createConfig( final boolean asyncFlush ) {
+    Configuration config = new Configuration();
+    config.set( "block.size" , "1024" );
+    config.set( "writer.async.flush" , Boolean.toString( asyncFlush ) );
+    return config;
+  }
+
+  private void write( final YosegiWriter writer , final int blockCount ) throws IOException {
+    for ( int i = 0 ; i < blockCount ; i++ ) {
+      List<ColumnBinary> list = Arrays.asList( createColumnBinary( i ) );
+      writer.appendRow( list , 4 );
+      writer.appendRow( list , 4 );
+      writer.writeFixedBlock();
+    }
+    writer.appendRow( Arrays.asList( createColumnBinary( blockCount ) ) , 4 );
+    writer.close();
+  }
+
+  private byte[] createFile( final Configuration config , final int blockCount )
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    write( new YosegiWriter( out , config ) , blockCount );
+    return out.toByteArray();
+  }
+
+  private int countRows( final byte[] file ) throws IOException {
+    int rows = 0;
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( file ) , new Configuration() );
+    while ( reader.hasNext() ) {
+      reader.nextRaw();
+      rows += reader.getCurrentSpreadSize();
+    }
+    reader.close();
+    return rows;
+  }
+
+  @Test
+  public void T_close_asyncFlush_equalsSyncFlush() throws IOException {
+    byte[] expected = createFile( createConfig( false ) , 5 );
+    byte[] actual = createFile( createConfig( true ) , 5 );
+    assertArrayEquals( expected , actual );
+    assertEquals( 44 , countRows( actual ) );
+  }
+
+  @Test
+  public void T_close_asyncFlush_withQueueSize() throws IOException {
+    Configuration config = createConfig( true );
+    config.set( "writer.async.flush.queue.size" , "3" );
+    byte[] expected = createFile( createConfig( false ) , 8 );
+    byte[] actual = createFile( config , 8 );
+    assertArrayEquals( expected , actual );
+    assertEquals( 68 , countRows( actual ) );
+  }
+
+  @Test
+  public void T_close_asyncFlush_withVariableBlockAndFileFooter() throws IOException {
+    Configuration expectedConfig = createConfig( false );
+    expectedConfig.set( "writer.variable.block" , "true" );
+    expectedConfig.set( "writer.file.footer" , "true" );
+    Configuration config = createConfig( true );
+    config.set( "writer.variable.block" , "true" );
+    config.set( "writer.file.footer" , "true" );
+    byte[] expected = createFile( expectedConfig , 5 );
+    byte[] actual = createFile( config , 5 );
+    assertArrayEquals( expected , actual );
+
+    YosegiReader reader = new YosegiReader();
+    reader.setNewSource( new ByteArrayBlockSource( actual ) , new Configuration() );
+    assertEquals( 44 , reader.getFileFooter().getRowCount() );
+    reader.close();
+  }
+
+  @Test
+  public void T_close_asyncFlush_throwsWriteError() throws IOException {
+    OutputStream out = new OutputStream() {
+      @Override
+      public void write( final int b ) throws IOException {
+        throw new IOException( "write error" );
+      }
+    };
+    YosegiWriter writer = new YosegiWriter( out , createConfig( true ) );
+    IOException ex = assertThrows( IOException.class , () -> write( writer , 1 ) );
+    assertEquals( "write error" , ex.getMessage() );
+  }
+
+}